@@ -0,0 +1,140 @@
+package com.firecaptain.common.client;
+
+import feign.Feign;
+import feign.Param;
+import feign.RequestLine;
+import feign.jackson.JacksonDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.Http2AllocationStrategy;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * サービス間ファンアウト ベンチマーク
+ *
+ * 1リクエストあたり fanOut 件の下流呼び出しを行う処理を、64並行で実行した場合の
+ * スループットとレイテンシを比較します。
+ * - feignFanOut: ブロッキング OpenFeign を asyncExecutor 相当（最大50スレッド）のプールで並行実行
+ * - webClientFanOut: WebClient + Reactor Netty（h2c 多重化接続）で並行実行
+ *
+ * 下流サービスは downstreamLatencyMillis の遅延を持つスタブ（Reactor Netty）です。
+ * 実行: ./gradlew :fire-captain-common:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+public class FanOutBenchmark {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    /** asyncExecutor の最大プールサイズ */
+    private static final int BLOCKING_POOL_SIZE = 50;
+
+    @org.openjdk.jmh.annotations.Param({"3", "6"})
+    public int fanOut;
+
+    @org.openjdk.jmh.annotations.Param({"20"})
+    public int downstreamLatencyMillis;
+
+    private DisposableServer downstream;
+    private ExecutorService blockingPool;
+    private StubApi feignApi;
+    private ConnectionProvider connectionProvider;
+    private WebClient webClient;
+
+    interface StubApi {
+        @RequestLine("GET /resources/{id}")
+        Map<String, Object> get(@Param("id") long id);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        downstream = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .protocol(HttpProtocol.H2C, HttpProtocol.HTTP11)
+                .route(routes -> routes.get("/resources/{id}", (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.delay(Duration.ofMillis(downstreamLatencyMillis))
+                                .map(tick -> "{\"id\":" + request.param("id") + "}"))))
+                .bindNow();
+        String baseUrl = "http://127.0.0.1:" + downstream.port();
+
+        blockingPool = Executors.newFixedThreadPool(BLOCKING_POOL_SIZE);
+        feignApi = Feign.builder()
+                .decoder(new JacksonDecoder())
+                .target(StubApi.class, baseUrl);
+
+        connectionProvider = ConnectionProvider.builder("benchmark")
+                .maxConnections(4)
+                .allocationStrategy(Http2AllocationStrategy.builder()
+                        .maxConnections(4)
+                        .minConnections(1)
+                        .maxConcurrentStreams(256)
+                        .build())
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        blockingPool.shutdownNow();
+        connectionProvider.dispose();
+        downstream.disposeNow();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> feignFanOut() {
+        List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>(fanOut);
+        for (int i = 0; i < fanOut; i++) {
+            long id = i;
+            futures.add(CompletableFuture.supplyAsync(() -> feignApi.get(id), blockingPool));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> webClientFanOut() {
+        return Flux.range(0, fanOut)
+                .flatMap(id -> webClient.get()
+                        .uri("/resources/{id}", id)
+                        .retrieve()
+                        .bodyToMono(MAP_TYPE))
+                .collectList()
+                .block();
+    }
+}
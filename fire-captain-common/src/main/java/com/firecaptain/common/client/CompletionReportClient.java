@@ -0,0 +1,27 @@
+package com.firecaptain.common.client;
+
+import com.firecaptain.common.dto.DurationEstimateDto;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import java.util.List;
+
+/**
+ * 完了報告サービス クライアント
+ *
+ * fire-captain-completion-report の参照系APIを呼び出すOpenFeignクライアントです。
+ * 活動時間推定モデルの取得は起動時・定期的な全件同期にのみ使用し、
+ * 推定値の参照はプロセス内のスナップショットで行ってください。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@FeignClient(
+        name = "fire-captain-completion-report",
+        url = "${fire-captain.completion-report.url:}"
+)
+public interface CompletionReportClient {
+
+    @GetMapping("/api/completion-reports/duration-model")
+    List<DurationEstimateDto> getDurationModel();
+}
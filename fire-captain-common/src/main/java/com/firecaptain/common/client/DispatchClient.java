@@ -0,0 +1,38 @@
+package com.firecaptain.common.client;
+
+import com.firecaptain.common.dto.DispatchDto;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 指令サービス クライアント
+ *
+ * fire-captain-dispatch の参照系APIを呼び出すOpenFeignクライアントです。
+ * ID単位の呼び出しは {@link RequestCollapser} を経由してマルチゲットに集約してください。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@FeignClient(
+        name = "fire-captain-dispatch",
+        url = "${fire-captain.dispatch.url:}"
+)
+public interface DispatchClient {
+
+    /** マルチゲット1回あたりの最大ID数 */
+    int MAX_BATCH_SIZE = 200;
+
+    @GetMapping("/api/dispatches/{id}")
+    DispatchDto getDispatch(@PathVariable("id") Long id);
+
+    @GetMapping("/api/dispatches/batch")
+    List<DispatchDto> getDispatches(@RequestParam("ids") Collection<Long> ids);
+
+    @GetMapping("/api/dispatches/by-reports")
+    List<DispatchDto> getDispatchesByReports(@RequestParam("reportIds") Collection<Long> emergencyReportIds);
+}
@@ -0,0 +1,35 @@
+package com.firecaptain.common.client;
+
+import com.firecaptain.common.dto.EmergencyReportDto;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 緊急通報サービス クライアント
+ *
+ * fire-captain-emergency-report の参照系APIを呼び出すOpenFeignクライアントです。
+ * ID単位の呼び出しは {@link RequestCollapser} を経由してマルチゲットに集約してください。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@FeignClient(
+        name = "fire-captain-emergency-report",
+        url = "${fire-captain.emergency-report.url:}"
+)
+public interface EmergencyReportClient {
+
+    /** マルチゲット1回あたりの最大ID数 */
+    int MAX_BATCH_SIZE = 200;
+
+    @GetMapping("/api/emergency-reports/{id}")
+    EmergencyReportDto getEmergencyReport(@PathVariable("id") Long id);
+
+    @GetMapping("/api/emergency-reports/batch")
+    List<EmergencyReportDto> getEmergencyReports(@RequestParam("ids") Collection<Long> ids);
+}
@@ -0,0 +1,77 @@
+package com.firecaptain.common.client;
+
+import com.firecaptain.common.dto.DispatchDto;
+import com.firecaptain.common.dto.EmergencyReportDto;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 事案参照サービス
+ *
+ * 緊急通報・出動指令をID単位で参照するためのファサードです。
+ * 並行した呼び出しはコラプサーによってマルチゲットに集約されるため、
+ * 呼び出し側は1件ずつ参照するコードのままでHTTP呼び出し回数を削減できます。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@RequiredArgsConstructor
+public class IncidentLookupService {
+
+    private final RequestCollapser<Long, EmergencyReportDto> emergencyReportCollapser;
+    private final RequestCollapser<Long, DispatchDto> dispatchCollapser;
+    private final RequestCollapser<Long, List<DispatchDto>> dispatchesByReportCollapser;
+
+    /**
+     * 緊急通報を取得します。
+     *
+     * @param emergencyReportId 通報ID
+     * @return 緊急通報
+     */
+    public EmergencyReportDto getEmergencyReport(Long emergencyReportId) {
+        return emergencyReportCollapser.get(emergencyReportId);
+    }
+
+    /**
+     * 複数の緊急通報を取得します。見つからなかった通報は含まれません。
+     *
+     * @param emergencyReportIds 通報ID
+     * @return 通報IDごとの緊急通報
+     */
+    public Map<Long, EmergencyReportDto> getEmergencyReports(Collection<Long> emergencyReportIds) {
+        return emergencyReportCollapser.getAll(emergencyReportIds);
+    }
+
+    /**
+     * 出動指令を取得します。
+     *
+     * @param dispatchId 指令ID
+     * @return 出動指令
+     */
+    public DispatchDto getDispatch(Long dispatchId) {
+        return dispatchCollapser.get(dispatchId);
+    }
+
+    /**
+     * 通報に紐づく出動指令を取得します。
+     *
+     * @param emergencyReportId 通報ID
+     * @return 出動指令のリスト
+     */
+    public List<DispatchDto> getDispatchesForReport(Long emergencyReportId) {
+        return dispatchesByReportCollapser.get(emergencyReportId);
+    }
+
+    /**
+     * 複数の通報に紐づく出動指令を取得します。
+     *
+     * @param emergencyReportIds 通報ID
+     * @return 通報IDごとの出動指令のリスト
+     */
+    public Map<Long, List<DispatchDto>> getDispatchesForReports(Collection<Long> emergencyReportIds) {
+        return dispatchesByReportCollapser.getAll(emergencyReportIds);
+    }
+}
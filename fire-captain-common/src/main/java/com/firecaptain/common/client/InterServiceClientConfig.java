@@ -0,0 +1,123 @@
+package com.firecaptain.common.client;
+
+import com.firecaptain.common.dto.DispatchDto;
+import com.firecaptain.common.dto.EmergencyReportDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * サービス間参照クライアント設定クラス
+ *
+ * 他サービスのエンティティをID単位で参照するサービスが {@code @Import} して使用します。
+ * - ID単位の検索を時間窓内でマルチゲットに集約するコラプサー
+ * - 一括検索用スレッドプール
+ * - 参照用ファサード（{@link IncidentLookupService}）
+ */
+@Configuration
+public class InterServiceClientConfig {
+
+    /** 集約する時間窓（ミリ秒） */
+    @Value("${fire-captain.collapser.window-ms:10}")
+    private long windowMillis;
+
+    /**
+     * コラプサーの時間窓タイマー
+     */
+    @Bean(name = "collapserScheduler", destroyMethod = "shutdown")
+    public ScheduledExecutorService collapserScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Collapser-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 一括検索用スレッドプール
+     *
+     * マルチゲットのHTTP呼び出しに使用
+     * - コアプールサイズ: 4（常時稼働スレッド数）
+     * - 最大プールサイズ: 16（最大スレッド数）
+     * - キュー容量: 200（待機タスク数）
+     */
+    @Bean(name = "lookupExecutor")
+    public Executor lookupExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(16);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("Lookup-");
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public RequestCollapser<Long, EmergencyReportDto> emergencyReportCollapser(
+            EmergencyReportClient emergencyReportClient,
+            @Qualifier("collapserScheduler") ScheduledExecutorService collapserScheduler,
+            @Qualifier("lookupExecutor") Executor lookupExecutor,
+            MeterRegistry meterRegistry) {
+        return new RequestCollapser<>("EmergencyReport",
+                ids -> emergencyReportClient.getEmergencyReports(ids).stream()
+                        .collect(Collectors.toMap(EmergencyReportDto::getId, Function.identity())),
+                Duration.ofMillis(windowMillis), EmergencyReportClient.MAX_BATCH_SIZE,
+                collapserScheduler, lookupExecutor, meterRegistry);
+    }
+
+    @Bean
+    public RequestCollapser<Long, DispatchDto> dispatchCollapser(
+            DispatchClient dispatchClient,
+            @Qualifier("collapserScheduler") ScheduledExecutorService collapserScheduler,
+            @Qualifier("lookupExecutor") Executor lookupExecutor,
+            MeterRegistry meterRegistry) {
+        return new RequestCollapser<>("Dispatch",
+                ids -> dispatchClient.getDispatches(ids).stream()
+                        .collect(Collectors.toMap(DispatchDto::getId, Function.identity())),
+                Duration.ofMillis(windowMillis), DispatchClient.MAX_BATCH_SIZE,
+                collapserScheduler, lookupExecutor, meterRegistry);
+    }
+
+    @Bean
+    public RequestCollapser<Long, List<DispatchDto>> dispatchesByReportCollapser(
+            DispatchClient dispatchClient,
+            @Qualifier("collapserScheduler") ScheduledExecutorService collapserScheduler,
+            @Qualifier("lookupExecutor") Executor lookupExecutor,
+            MeterRegistry meterRegistry) {
+        return new RequestCollapser<>("DispatchesByReport",
+                reportIds -> {
+                    // 指令が0件の通報も「見つかった」として空リストを返す
+                    Map<Long, List<DispatchDto>> grouped = new HashMap<>();
+                    reportIds.forEach(reportId -> grouped.put(reportId, new ArrayList<>()));
+                    dispatchClient.getDispatchesByReports(reportIds).forEach(dispatch ->
+                            grouped.computeIfAbsent(dispatch.getEmergencyReportId(), k -> new ArrayList<>())
+                                    .add(dispatch));
+                    return grouped;
+                },
+                Duration.ofMillis(windowMillis), DispatchClient.MAX_BATCH_SIZE,
+                collapserScheduler, lookupExecutor, meterRegistry);
+    }
+
+    @Bean
+    public IncidentLookupService incidentLookupService(
+            RequestCollapser<Long, EmergencyReportDto> emergencyReportCollapser,
+            RequestCollapser<Long, DispatchDto> dispatchCollapser,
+            RequestCollapser<Long, List<DispatchDto>> dispatchesByReportCollapser) {
+        return new IncidentLookupService(emergencyReportCollapser, dispatchCollapser, dispatchesByReportCollapser);
+    }
+}
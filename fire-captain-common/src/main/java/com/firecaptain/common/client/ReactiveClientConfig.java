@@ -0,0 +1,85 @@
+package com.firecaptain.common.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.Http2AllocationStrategy;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * ノンブロッキング サービス間クライアント設定クラス
+ *
+ * OpenFeign（ブロッキング）の代替として、WebClient + Reactor Netty による
+ * ノンブロッキングなサービス間通信を提供します。使用するサービスが {@code @Import} します。
+ * - HTTP/2 cleartext（h2c）による接続の多重化（HTTP/1.1 へのフォールバックあり）
+ * - Eureka によるクライアントサイドロードバランシング
+ * - resilience4j サーキットブレーカー（resilience4j.circuitbreaker.instances.&lt;サービス名&gt;）
+ */
+@Configuration
+public class ReactiveClientConfig {
+
+    /** 接続先1ホストあたりの最大接続数 */
+    @Value("${fire-captain.reactive-client.max-connections:4}")
+    private int maxConnections;
+
+    /** 1接続あたりの最大同時ストリーム数 */
+    @Value("${fire-captain.reactive-client.max-concurrent-streams:100}")
+    private long maxConcurrentStreams;
+
+    /** レスポンスタイムアウト（ミリ秒） */
+    @Value("${fire-captain.reactive-client.response-timeout-ms:5000}")
+    private long responseTimeoutMillis;
+
+    /**
+     * HTTP/2 多重化接続プール
+     */
+    @Bean(name = "interServiceConnectionProvider", destroyMethod = "dispose")
+    public ConnectionProvider interServiceConnectionProvider() {
+        return ConnectionProvider.builder("inter-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofSeconds(5))
+                .allocationStrategy(Http2AllocationStrategy.builder()
+                        .maxConnections(maxConnections)
+                        .minConnections(1)
+                        .maxConcurrentStreams(maxConcurrentStreams)
+                        .build())
+                .build();
+    }
+
+    /**
+     * ロードバランス対応 WebClient ビルダー
+     */
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder interServiceWebClientBuilder(
+            @Qualifier("interServiceConnectionProvider") ConnectionProvider connectionProvider) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .protocol(HttpProtocol.H2C, HttpProtocol.HTTP11)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 2000)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMillis));
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient));
+    }
+
+    @Bean
+    public ReactiveServiceClient reactiveServiceClient(
+            @LoadBalanced WebClient.Builder interServiceWebClientBuilder,
+            ReactiveCircuitBreakerFactory<?, ?> reactiveCircuitBreakerFactory) {
+        return new ReactiveServiceClient(interServiceWebClientBuilder.build(), reactiveCircuitBreakerFactory);
+    }
+
+    @Bean
+    public ReactiveIncidentClient reactiveIncidentClient(ReactiveServiceClient reactiveServiceClient) {
+        return new ReactiveIncidentClient(reactiveServiceClient);
+    }
+}
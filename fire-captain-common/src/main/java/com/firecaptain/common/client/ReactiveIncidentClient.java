@@ -0,0 +1,85 @@
+package com.firecaptain.common.client;
+
+import com.firecaptain.common.dto.DispatchDto;
+import com.firecaptain.common.dto.EmergencyReportDto;
+import com.firecaptain.common.dto.IncidentContextDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.ParameterizedTypeReference;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ノンブロッキング 事案参照クライアント
+ *
+ * 緊急通報サービス・指令サービスへの呼び出しを並行に発行（ファンアウト）し、
+ * 結果を合成（ファンイン）します。HTTP/2 接続上で多重化されるため、
+ * ファンアウト数に比例したスレッドや接続を必要としません。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@RequiredArgsConstructor
+public class ReactiveIncidentClient {
+
+    private static final String EMERGENCY_REPORT_SERVICE = "fire-captain-emergency-report";
+    private static final String DISPATCH_SERVICE = "fire-captain-dispatch";
+
+    private static final ParameterizedTypeReference<List<DispatchDto>> DISPATCH_LIST =
+            new ParameterizedTypeReference<>() {
+            };
+
+    /** 複数事案の同時取得における最大並行数 */
+    private static final int MAX_CONCURRENT_CONTEXTS = 32;
+
+    private final ReactiveServiceClient reactiveServiceClient;
+
+    /**
+     * 緊急通報を取得します。
+     *
+     * @param emergencyReportId 通報ID
+     * @return 緊急通報
+     */
+    public Mono<EmergencyReportDto> getEmergencyReport(Long emergencyReportId) {
+        return reactiveServiceClient.get(EMERGENCY_REPORT_SERVICE, "/api/emergency-reports/{id}",
+                EmergencyReportDto.class, emergencyReportId);
+    }
+
+    /**
+     * 通報に紐づく出動指令を取得します。
+     *
+     * @param emergencyReportId 通報ID
+     * @return 出動指令のリスト
+     */
+    public Mono<List<DispatchDto>> getDispatchesForReport(Long emergencyReportId) {
+        return reactiveServiceClient.get(DISPATCH_SERVICE, "/api/dispatches/by-reports?reportIds={id}",
+                DISPATCH_LIST, emergencyReportId);
+    }
+
+    /**
+     * 緊急通報と出動指令を並行に取得し、事案コンテキストに合成します。
+     *
+     * @param emergencyReportId 通報ID
+     * @return 事案コンテキスト
+     */
+    public Mono<IncidentContextDto> getIncidentContext(Long emergencyReportId) {
+        return Mono.zip(getEmergencyReport(emergencyReportId), getDispatchesForReport(emergencyReportId))
+                .map(tuple -> IncidentContextDto.builder()
+                        .emergencyReport(tuple.getT1())
+                        .dispatches(tuple.getT2())
+                        .build());
+    }
+
+    /**
+     * 複数事案のコンテキストを並行数を制限しながら取得します。
+     *
+     * @param emergencyReportIds 通報ID
+     * @return 事案コンテキスト（完了順）
+     */
+    public Flux<IncidentContextDto> getIncidentContexts(Collection<Long> emergencyReportIds) {
+        return Flux.fromIterable(emergencyReportIds)
+                .flatMap(this::getIncidentContext, MAX_CONCURRENT_CONTEXTS);
+    }
+}
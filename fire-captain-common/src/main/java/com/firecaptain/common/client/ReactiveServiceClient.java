@@ -0,0 +1,70 @@
+package com.firecaptain.common.client;
+
+import com.firecaptain.common.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * ノンブロッキング サービス間クライアント
+ *
+ * サービスIDとパスを指定してGETを実行し、結果を {@link Mono} で返します。
+ * 呼び出しはサービスIDと同名のサーキットブレーカーで保護されます。
+ *
+ * Spring MVC のコントローラーは {@link Mono} をそのまま戻り値にできるため、
+ * 既存のコントローラーを書き換えずにスレッドを保持しない呼び出しに移行できます。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@RequiredArgsConstructor
+public class ReactiveServiceClient {
+
+    private final WebClient webClient;
+    private final ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory;
+
+    /**
+     * GETリクエストを実行します。
+     *
+     * @param serviceId    接続先サービスID（Eureka登録名）
+     * @param uriTemplate  パス（URIテンプレート）
+     * @param responseType レスポンスの型
+     * @param uriVariables URIテンプレート変数
+     * @return レスポンス
+     */
+    public <T> Mono<T> get(String serviceId, String uriTemplate, Class<T> responseType, Object... uriVariables) {
+        Mono<T> call = webClient.get()
+                .uri("http://" + serviceId + uriTemplate, uriVariables)
+                .retrieve()
+                .bodyToMono(responseType);
+        return protect(serviceId, uriTemplate, call);
+    }
+
+    /**
+     * GETリクエストを実行します（ジェネリック型のレスポンス）。
+     *
+     * @param serviceId    接続先サービスID（Eureka登録名）
+     * @param uriTemplate  パス（URIテンプレート）
+     * @param responseType レスポンスの型
+     * @param uriVariables URIテンプレート変数
+     * @return レスポンス
+     */
+    public <T> Mono<T> get(String serviceId, String uriTemplate, ParameterizedTypeReference<T> responseType,
+                           Object... uriVariables) {
+        Mono<T> call = webClient.get()
+                .uri("http://" + serviceId + uriTemplate, uriVariables)
+                .retrieve()
+                .bodyToMono(responseType);
+        return protect(serviceId, uriTemplate, call);
+    }
+
+    private <T> Mono<T> protect(String serviceId, String uriTemplate, Mono<T> call) {
+        Mono<T> translated = call.onErrorMap(WebClientResponseException.NotFound.class,
+                e -> new ResourceNotFoundException(
+                        String.format("%s%s not found", serviceId, uriTemplate), e));
+        return circuitBreakerFactory.create(serviceId).run(translated);
+    }
+}
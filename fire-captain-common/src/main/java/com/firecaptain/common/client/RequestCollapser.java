@@ -0,0 +1,194 @@
+package com.firecaptain.common.client;
+
+import com.firecaptain.common.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * リクエスト集約（コラプサー）
+ *
+ * 短い時間窓の間に並行して発生した単一ID検索を1回の一括検索にまとめます。
+ * サービス間のID単位のHTTP呼び出しを、マルチゲットエンドポイントへの
+ * 1回の呼び出しに置き換えるために使用します。
+ * - 時間窓（window）経過、または最大バッチサイズ到達で一括検索を実行
+ * - 同一IDへの同時要求は1つのFutureを共有
+ * - 一括検索の結果に含まれないIDは {@link ResourceNotFoundException} で完了
+ *
+ * @param <K> 検索キーの型
+ * @param <V> 検索結果の型
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+public class RequestCollapser<K, V> {
+
+    private final String name;
+    private final Function<Set<K>, Map<K, V>> batchLoader;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final Executor loaderExecutor;
+    private final DistributionSummary batchSizeSummary;
+
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * コンストラクタ
+     *
+     * @param name           集約対象の名称（メトリクスのタグ、エラーメッセージに使用）
+     * @param batchLoader    一括検索処理（キー集合 → キーごとの結果）
+     * @param window         集約する時間窓
+     * @param maxBatchSize   1回の一括検索に含める最大キー数
+     * @param scheduler      時間窓のタイマー用スケジューラ
+     * @param loaderExecutor 一括検索を実行するスレッドプール
+     * @param meterRegistry  メトリクスレジストリ
+     */
+    public RequestCollapser(String name,
+                            Function<Set<K>, Map<K, V>> batchLoader,
+                            Duration window,
+                            int maxBatchSize,
+                            ScheduledExecutorService scheduler,
+                            Executor loaderExecutor,
+                            MeterRegistry meterRegistry) {
+        this.name = name;
+        this.batchLoader = batchLoader;
+        this.windowMillis = window.toMillis();
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = scheduler;
+        this.loaderExecutor = loaderExecutor;
+        this.batchSizeSummary = DistributionSummary.builder("fire_captain_collapser_batch_size")
+                .description("Number of keys merged into one batched lookup")
+                .tag("collapser", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 単一キーの検索を非同期で要求します。
+     *
+     * @param key 検索キー
+     * @return 検索結果のFuture
+     */
+    public CompletableFuture<V> submit(K key) {
+        Map<K, CompletableFuture<V>> batch = null;
+        CompletableFuture<V> future;
+        synchronized (lock) {
+            future = pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                batch = drain();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+        return future;
+    }
+
+    /**
+     * 単一キーを検索し、結果を待機します。
+     *
+     * @param key 検索キー
+     * @return 検索結果
+     */
+    public V get(K key) {
+        try {
+            return submit(key).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * 複数キーを検索し、すべての結果を待機します。
+     * 見つからなかったキーは結果に含まれません。
+     *
+     * @param keys 検索キー
+     * @return キーごとの検索結果
+     */
+    public Map<K, V> getAll(Collection<K> keys) {
+        Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            futures.put(key, submit(key));
+        }
+        Map<K, V> results = new LinkedHashMap<>();
+        futures.forEach((key, future) -> {
+            try {
+                results.put(key, future.join());
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof ResourceNotFoundException)) {
+                    throw unwrap(e);
+                }
+            }
+        });
+        return results;
+    }
+
+    private void flush() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    /**
+     * 保留中の要求を取り出します。lock を保持した状態で呼び出すこと。
+     */
+    private Map<K, CompletableFuture<V>> drain() {
+        Map<K, CompletableFuture<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        batchSizeSummary.record(batch.size());
+        loaderExecutor.execute(() -> {
+            try {
+                Map<K, V> loaded = batchLoader.apply(new LinkedHashSet<>(batch.keySet()));
+                batch.forEach((key, future) -> {
+                    V value = loaded.get(key);
+                    if (value != null) {
+                        future.complete(value);
+                    } else {
+                        future.completeExceptionally(new ResourceNotFoundException(
+                                String.format("%s with id %s not found", name, key)));
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("Batched lookup failed: collapser={}, keys={}", name, batch.size(), e);
+                batch.values().forEach(future -> future.completeExceptionally(e));
+            }
+        });
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return e;
+    }
+}
@@ -0,0 +1,94 @@
+package com.firecaptain.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import java.time.LocalDateTime;
+
+/**
+ * 出動指令DTOクラス
+ *
+ * 消防司令システムにおける出動指令（部隊単位）のデータ転送オブジェクトです。
+ * 1件の緊急通報に対して、出動する部隊ごとに1件の指令が作成されます。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispatchDto {
+
+    /** 指令ID（主キー） */
+    private Long id;
+
+    /**
+     * 指令番号
+     * 形式: DP-YYYYMMDDHHMMSS-XXXX
+     * 例: DP-20241201143100-C3D4
+     */
+    @NotBlank(message = "Dispatch number is required")
+    @Pattern(regexp = "^DP-\\d{14}-[A-Z0-9]{4}$", message = "Invalid dispatch number format")
+    private String dispatchNumber;
+
+    /** 対象の通報ID（必須） */
+    @NotNull(message = "Emergency report id is required")
+    private Long emergencyReportId;
+
+    /** 出動部隊コード（必須） */
+    @NotBlank(message = "Unit code is required")
+    private String unitCode;
+
+    /** 指令ステータス（必須） */
+    @NotNull(message = "Status is required")
+    private DispatchStatus status;
+
+    /** 到着予想時間（分） */
+    private Integer estimatedArrivalMinutes;
+
+    /** 活動時間の推定値（分）。完了実績から学習した推定モデルによる */
+    private Integer estimatedDurationMinutes;
+
+    /** 出動指令発令時刻 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime dispatchedAt;
+
+    /** 現場到着時刻 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime arrivedAt;
+
+    /** 活動完了時刻 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime completedAt;
+
+    /** レコード作成時刻 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    /** レコード更新時刻 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime updatedAt;
+
+    /**
+     * 指令ステータス
+     */
+    public enum DispatchStatus {
+        /** 指令発令済み */
+        ISSUED,
+        /** 出動中 */
+        EN_ROUTE,
+        /** 現場到着 */
+        ON_SCENE,
+        /** 完了 */
+        COMPLETED,
+        /** キャンセル */
+        CANCELLED
+    }
+}
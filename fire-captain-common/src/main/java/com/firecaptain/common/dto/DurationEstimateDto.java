@@ -0,0 +1,49 @@
+package com.firecaptain.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportDto.PriorityLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 活動時間推定値DTOクラス
+ *
+ * （通報種別, 優先度, 地域セル）ごとの活動時間（分）の指数移動平均と分散です。
+ * 優先度・地域セルが null のものは、それぞれ全優先度・全地域の集計値です。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DurationEstimateDto {
+
+    /** 通報種別 */
+    private EmergencyType emergencyType;
+
+    /** 優先度（null は全優先度） */
+    private PriorityLevel priorityLevel;
+
+    /** 地域セル（{@link com.firecaptain.common.geo.GeoGrid}、null は全地域） */
+    private Long areaCell;
+
+    /** 学習した完了件数 */
+    private Long sampleCount;
+
+    /** 活動時間の平均（分） */
+    private Double meanMinutes;
+
+    /** 活動時間の標準偏差（分） */
+    private Double stdDevMinutes;
+
+    /** 最終更新時刻 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,33 @@
+package com.firecaptain.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 活動時間推定モデル更新イベントクラス
+ *
+ * fire-captain-completion-report が completion.events 取引所
+ * （ルーティングキー duration.model.updated）に発行する、更新された推定値の一覧です。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DurationModelUpdateEvent {
+
+    /** 更新された推定値 */
+    private List<DurationEstimateDto> estimates;
+
+    /** 発行時刻 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime publishedAt;
+}
@@ -95,6 +95,9 @@ public class EmergencyReportDto {
     /** 実際の所要時間（分） */
     private Integer actualDurationMinutes;
 
+    /** 一次通報ID（同じ事案の重複通報の場合。一次通報は null） */
+    private Long primaryReportId;
+
     /** レコード作成時刻 */
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime createdAt;
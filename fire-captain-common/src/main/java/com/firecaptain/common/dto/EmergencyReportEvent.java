@@ -0,0 +1,45 @@
+package com.firecaptain.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 緊急通報イベントクラス
+ *
+ * fire-captain-emergency-report が emergency.events 取引所に発行するイベントです。
+ * 集約ID（通報ID）ごとに発生順に処理されることを前提としています。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmergencyReportEvent {
+
+    /** イベント種別 */
+    private EventType type;
+
+    /** イベント発生時点の通報 */
+    private EmergencyReportDto report;
+
+    /** イベント発生時刻 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime occurredAt;
+
+    /**
+     * イベント種別
+     */
+    public enum EventType {
+        /** 通報受付 */
+        CREATED,
+        /** ステータス変更 */
+        STATUS_CHANGED
+    }
+}
@@ -0,0 +1,30 @@
+package com.firecaptain.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 事案コンテキストDTOクラス
+ *
+ * 1件の緊急通報と、それに紐づく出動指令をまとめたデータ転送オブジェクトです。
+ * 現場支援・完了報告など、複数サービスのデータを組み合わせる処理の入力として使用します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncidentContextDto {
+
+    /** 緊急通報 */
+    private EmergencyReportDto emergencyReport;
+
+    /** 出動指令の一覧 */
+    private List<DispatchDto> dispatches;
+}
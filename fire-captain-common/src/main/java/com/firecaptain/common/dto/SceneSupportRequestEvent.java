@@ -0,0 +1,35 @@
+package com.firecaptain.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 現場支援要求イベントクラス
+ *
+ * 出動部隊が事案の支援パッケージを要求した際に scene.events 取引所
+ * （ルーティングキー scene.support.requested）へ発行されるイベントです。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SceneSupportRequestEvent {
+
+    /** 対象の通報ID */
+    private Long emergencyReportId;
+
+    /** 要求元の部隊コード */
+    private String unitCode;
+
+    /** 要求時刻 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime requestedAt;
+}
@@ -0,0 +1,156 @@
+package com.firecaptain.common.estimation;
+
+import com.firecaptain.common.dto.DurationEstimateDto;
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportDto.PriorityLevel;
+import com.firecaptain.common.geo.GeoGrid;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 活動時間推定モデル（不変スナップショット）
+ *
+ * 推定値をハッシュマップで保持し、プロセス内で参照します（HTTP呼び出しなし）。
+ * 検索は次の順で、学習件数が {@code minSamples} 以上の最も詳細な推定値を返します。
+ * <ol>
+ *   <li>通報種別 × 優先度 × 地域セル</li>
+ *   <li>通報種別 × 優先度</li>
+ *   <li>通報種別</li>
+ * </ol>
+ * 更新は {@link #merge(Collection)} で新しいスナップショットを作成して行います。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public final class DurationModel {
+
+    private static final DurationModel EMPTY = new DurationModel(Map.of(), 1);
+
+    private final Map<Key, DurationEstimateDto> estimates;
+    private final int minSamples;
+
+    private DurationModel(Map<Key, DurationEstimateDto> estimates, int minSamples) {
+        this.estimates = estimates;
+        this.minSamples = minSamples;
+    }
+
+    public static DurationModel empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 推定値の一覧からモデルを作成します。
+     *
+     * @param estimates  推定値
+     * @param minSamples 推定値を採用する最小学習件数
+     * @return モデル
+     */
+    public static DurationModel of(Collection<DurationEstimateDto> estimates, int minSamples) {
+        Map<Key, DurationEstimateDto> byKey = new HashMap<>(estimates.size() * 2);
+        for (DurationEstimateDto estimate : estimates) {
+            putIfNewer(byKey, estimate);
+        }
+        return new DurationModel(byKey, minSamples);
+    }
+
+    /**
+     * 更新された推定値を取り込んだ新しいモデルを返します。
+     * 同じキーについては、学習件数の多い（新しい）推定値を採用します。
+     *
+     * @param updates 更新された推定値
+     * @return 新しいモデル
+     */
+    public DurationModel merge(Collection<DurationEstimateDto> updates) {
+        Map<Key, DurationEstimateDto> merged = new HashMap<>(estimates);
+        for (DurationEstimateDto update : updates) {
+            putIfNewer(merged, update);
+        }
+        return new DurationModel(merged, minSamples);
+    }
+
+    /**
+     * 活動時間の推定値を検索します。
+     *
+     * @param type      通報種別
+     * @param priority  優先度
+     * @param latitude  緯度（null 可）
+     * @param longitude 経度（null 可）
+     * @return 推定値（学習データがない場合は null）
+     */
+    public DurationEstimateDto find(EmergencyType type, PriorityLevel priority, Double latitude, Double longitude) {
+        long cell = GeoGrid.cellOf(latitude, longitude);
+        DurationEstimateDto fallback = null;
+        if (cell != GeoGrid.ANY_CELL) {
+            DurationEstimateDto estimate = estimates.get(new Key(type, priority, cell));
+            if (isReliable(estimate)) {
+                return estimate;
+            }
+            fallback = estimate;
+        }
+        DurationEstimateDto byPriority = estimates.get(new Key(type, priority, GeoGrid.ANY_CELL));
+        if (isReliable(byPriority)) {
+            return byPriority;
+        }
+        DurationEstimateDto byType = estimates.get(new Key(type, null, GeoGrid.ANY_CELL));
+        if (isReliable(byType)) {
+            return byType;
+        }
+        // どの粒度も件数不足の場合は、存在する中で最も件数の多いものを使う
+        return mostSamples(mostSamples(fallback, byPriority), byType);
+    }
+
+    /**
+     * 活動時間（分）を推定します。
+     *
+     * @return 推定時間（分、学習データがない場合は null）
+     */
+    public Integer estimateMinutes(EmergencyType type, PriorityLevel priority, Double latitude, Double longitude) {
+        DurationEstimateDto estimate = find(type, priority, latitude, longitude);
+        return estimate != null ? (int) Math.round(estimate.getMeanMinutes()) : null;
+    }
+
+    public List<DurationEstimateDto> estimates() {
+        return List.copyOf(estimates.values());
+    }
+
+    public int size() {
+        return estimates.size();
+    }
+
+    private boolean isReliable(DurationEstimateDto estimate) {
+        return estimate != null && estimate.getSampleCount() >= minSamples;
+    }
+
+    private static DurationEstimateDto mostSamples(DurationEstimateDto a, DurationEstimateDto b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return b.getSampleCount() > a.getSampleCount() ? b : a;
+    }
+
+    private static void putIfNewer(Map<Key, DurationEstimateDto> map, DurationEstimateDto estimate) {
+        map.merge(Key.of(estimate), estimate,
+                (current, candidate) -> candidate.getSampleCount() >= current.getSampleCount() ? candidate : current);
+    }
+
+    /**
+     * モデルのキー
+     *
+     * @param type     通報種別
+     * @param priority 優先度（null は全優先度）
+     * @param cell     地域セル（{@link GeoGrid#ANY_CELL} は全地域）
+     */
+    public record Key(EmergencyType type, PriorityLevel priority, long cell) {
+
+        public static Key of(DurationEstimateDto estimate) {
+            return new Key(estimate.getEmergencyType(), estimate.getPriorityLevel(),
+                    estimate.getAreaCell() != null ? estimate.getAreaCell() : GeoGrid.ANY_CELL);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.firecaptain.common.geo;
+
+/**
+ * 地理グリッド
+ *
+ * 緯度経度を固定サイズ（{@value #CELL_SIZE_DEGREES}度、約2km四方）のセルに分割し、
+ * セルを1つの long 値で表します。サービス間で同じセルIDを共有するため、
+ * セルサイズは変更しないでください（変更する場合は全サービスを同時に更新）。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public final class GeoGrid {
+
+    /** セルサイズ（度） */
+    public static final double CELL_SIZE_DEGREES = 0.02;
+
+    /** 位置が不明、または全域を表すセルID */
+    public static final long ANY_CELL = Long.MIN_VALUE;
+
+    private GeoGrid() {
+    }
+
+    /**
+     * 緯度経度を含むセルのIDを返します。
+     *
+     * @param latitude  緯度（null の場合は {@link #ANY_CELL}）
+     * @param longitude 経度（null の場合は {@link #ANY_CELL}）
+     * @return セルID
+     */
+    public static long cellOf(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return ANY_CELL;
+        }
+        return cellOf(rowOf(latitude), columnOf(longitude));
+    }
+
+    /**
+     * 行・列番号からセルIDを返します。
+     *
+     * @param row    行番号（緯度方向）
+     * @param column 列番号（経度方向）
+     * @return セルID
+     */
+    public static long cellOf(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    public static int rowOf(double latitude) {
+        return (int) Math.floor(latitude / CELL_SIZE_DEGREES);
+    }
+
+    public static int columnOf(double longitude) {
+        return (int) Math.floor(longitude / CELL_SIZE_DEGREES);
+    }
+
+    public static int rowOfCell(long cell) {
+        return (int) (cell >> 32);
+    }
+
+    public static int columnOfCell(long cell) {
+        return (int) cell;
+    }
+
+    /**
+     * セル中心の緯度を返します。
+     */
+    public static double centerLatitude(long cell) {
+        return (rowOfCell(cell) + 0.5) * CELL_SIZE_DEGREES;
+    }
+
+    /**
+     * セル中心の経度を返します。
+     */
+    public static double centerLongitude(long cell) {
+        return (columnOfCell(cell) + 0.5) * CELL_SIZE_DEGREES;
+    }
+}
@@ -0,0 +1,420 @@
+package com.firecaptain.common.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareBatchMessageListener;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * パーティション化バッチリスナー
+ *
+ * 受信バッチを集約IDでレーン（単一スレッド）に振り分け、レーンごとにまとめて処理します。
+ * - 同じ集約IDのメッセージは同じレーンで受信順に処理される
+ * - 全レーンの処理完了後、処理・退避が済んだメッセージを一括ACK（multiple=true）し、
+ *   リトライキュー・デッドレターキューへの送信に失敗したものは個別に NACK（requeue）する
+ * - 失敗したメッセージは段階的なバックオフ付きのリトライキューへ、
+ *   最大試行回数を超えたものはデッドレターキューへ送る
+ * - リトライ中の集約の後続メッセージは、先行メッセージがリトライキューから戻って処理されるまで
+ *   （バッチをまたいで）リトライキューに退避し、集約内の順序を保つ
+ *
+ * リトライ中の集約はプロセス内で管理するため、再起動をまたいだ場合と、
+ * 退避したメッセージが期限内に戻らなかった場合（キューの削除など）は順序を保証しません。
+ * 同じキューを複数のインスタンスで受信する場合も、インスタンス間の順序は保証しません
+ * （{@link PartitionedConsumerTopology} を参照）。
+ *
+ * @param <T> メッセージペイロードの型
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+public class PartitionedBatchListener<T> implements ChannelAwareBatchMessageListener, AutoCloseable {
+
+    /** 試行回数ヘッダー */
+    static final String ATTEMPT_HEADER = "x-fc-attempt";
+
+    /** 失敗理由ヘッダー */
+    static final String ERROR_HEADER = "x-fc-error";
+
+    /** リトライキューへの退避順ヘッダー（集約内の順序の復元に使用） */
+    static final String PARKED_HEADER = "x-fc-parked";
+
+    /** 退避したメッセージが戻るまでの待機の余裕（これを過ぎたら集約の退避状態を破棄） */
+    private static final long PARKED_GRACE_MILLIS = 60_000;
+
+    private final PartitionedConsumerProperties properties;
+    private final Class<T> payloadType;
+    private final PartitionedMessageHandler<T> handler;
+    private final ObjectMapper objectMapper;
+    private final RabbitTemplate rabbitTemplate;
+    private final ExecutorService[] lanes;
+
+    /** リトライ中の集約（同じ集約は常に同じレーンからのみ操作される） */
+    private final Map<Object, ParkedAggregate> parkedAggregates = new ConcurrentHashMap<>();
+    private final AtomicLong parkedSequence = new AtomicLong();
+
+    private final Counter processedCounter;
+    private final Counter retriedCounter;
+    private final Counter deadLetteredCounter;
+    private final Counter requeuedCounter;
+    private final DistributionSummary laneBatchSize;
+
+    /**
+     * コンストラクタ
+     *
+     * @param properties     コンシューマー設定
+     * @param payloadType    ペイロードの型（JSONから変換）
+     * @param handler        業務処理
+     * @param objectMapper   JSON変換
+     * @param rabbitTemplate リトライ・デッドレター送信用テンプレート
+     * @param meterRegistry  メトリクスレジストリ
+     */
+    public PartitionedBatchListener(PartitionedConsumerProperties properties,
+                                    Class<T> payloadType,
+                                    PartitionedMessageHandler<T> handler,
+                                    ObjectMapper objectMapper,
+                                    RabbitTemplate rabbitTemplate,
+                                    MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.payloadType = payloadType;
+        this.handler = handler;
+        this.objectMapper = objectMapper;
+        this.rabbitTemplate = rabbitTemplate;
+
+        this.lanes = new ExecutorService[properties.getLanes()];
+        for (int i = 0; i < lanes.length; i++) {
+            String threadName = "Lane-" + properties.getQueue() + "-" + i;
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, threadName));
+        }
+
+        String queue = properties.getQueue();
+        this.processedCounter = Counter.builder("fire_captain_partitioned_messages_processed_total")
+                .tag("queue", queue).register(meterRegistry);
+        this.retriedCounter = Counter.builder("fire_captain_partitioned_messages_retried_total")
+                .tag("queue", queue).register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder("fire_captain_partitioned_messages_dead_lettered_total")
+                .tag("queue", queue).register(meterRegistry);
+        this.requeuedCounter = Counter.builder("fire_captain_partitioned_messages_requeued_total")
+                .tag("queue", queue).register(meterRegistry);
+        this.laneBatchSize = DistributionSummary.builder("fire_captain_partitioned_lane_batch_size")
+                .tag("queue", queue).register(meterRegistry);
+    }
+
+    @Override
+    public void onMessageBatch(List<Message> messages, Channel channel) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        // 処理済み、またはリトライキュー・デッドレターキューへ送信済みのデリバリータグ
+        Set<Long> settled = ConcurrentHashMap.newKeySet();
+
+        // 集約IDでレーンに振り分け（受信順を維持）
+        List<List<Envelope<T>>> partitions = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (Message message : messages) {
+            T payload;
+            Object aggregateId;
+            try {
+                payload = objectMapper.readValue(message.getBody(), payloadType);
+                aggregateId = handler.aggregateId(payload);
+            } catch (IOException | RuntimeException e) {
+                log.error("Unreadable message sent to dead letter queue: queue={}", properties.getQueue(), e);
+                if (deadLetter(message, e)) {
+                    settled.add(deliveryTag(message));
+                }
+                continue;
+            }
+            int lane = Math.floorMod(Objects.hashCode(aggregateId), lanes.length);
+            partitions.get(lane).add(new Envelope<>(message, payload, aggregateId));
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < lanes.length; i++) {
+            List<Envelope<T>> partition = partitions.get(i);
+            if (!partition.isEmpty()) {
+                futures.add(CompletableFuture.runAsync(() -> processLane(partition, settled), lanes[i]));
+            }
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            // 未処理のメッセージは settled に含まれないため、下で NACK して再配信させる
+            log.error("Lane processing failed: queue={}", properties.getQueue(), e.getCause());
+        }
+
+        acknowledge(messages, settled, channel);
+    }
+
+    /**
+     * 未処理のメッセージを NACK（requeue）し、それ以外を一括ACKします。
+     * 一括ACKの対象（最後の処理済みタグ以前）から、先に NACK したタグは除かれます。
+     */
+    private void acknowledge(List<Message> messages, Set<Long> settled, Channel channel) {
+        long lastSettledTag = -1;
+        int requeued = 0;
+        try {
+            for (Message message : messages) {
+                long tag = deliveryTag(message);
+                if (settled.contains(tag)) {
+                    lastSettledTag = tag;
+                } else {
+                    channel.basicNack(tag, false, true);
+                    requeued++;
+                }
+            }
+            if (lastSettledTag >= 0) {
+                channel.basicAck(lastSettledTag, true);
+            }
+        } catch (IOException e) {
+            throw new AmqpIOException(e);
+        }
+        if (requeued > 0) {
+            requeuedCounter.increment(requeued);
+            log.warn("Unsettled messages requeued: queue={}, count={}", properties.getQueue(), requeued);
+        }
+    }
+
+    private void processLane(List<Envelope<T>> envelopes, Set<Long> settled) {
+        laneBatchSize.record(envelopes.size());
+
+        // リトライ中の集約の後続メッセージを退避し、処理できるものだけを残す
+        List<Envelope<T>> runnable = new ArrayList<>(envelopes.size());
+        Set<Object> stalled = new HashSet<>();
+        for (Envelope<T> envelope : envelopes) {
+            Object aggregateId = envelope.aggregateId();
+            if (stalled.contains(aggregateId)) {
+                continue;
+            }
+            ParkedAggregate parked = parkedAggregate(aggregateId);
+            Long sequence = parkedSequenceOf(envelope.message());
+            if (parked == null) {
+                runnable.add(envelope);
+            } else if (sequence != null && parked.isHead(sequence)) {
+                parked.sequences.remove(0);
+                removeIfDrained(aggregateId, parked);
+                runnable.add(envelope);
+            } else {
+                // 先頭以外が先に戻った場合は退避順を保ったまま、新しいメッセージは末尾に退避する
+                boolean known = sequence != null && parked.sequences.contains(sequence);
+                if (!park(envelope, attemptOf(envelope.message()), parked.level, known ? sequence : null,
+                        parked.sequences.size(), settled)) {
+                    stalled.add(aggregateId);
+                }
+            }
+        }
+        if (runnable.isEmpty()) {
+            return;
+        }
+
+        try {
+            handler.handleBatch(runnable.stream().map(Envelope::payload).toList());
+            runnable.forEach(envelope -> settled.add(deliveryTag(envelope.message())));
+            processedCounter.increment(runnable.size());
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Lane batch failed, falling back to per-message processing: queue={}, size={}",
+                    properties.getQueue(), runnable.size(), e);
+        }
+
+        // 1件ずつ再処理。失敗した集約の後続メッセージは、失敗したメッセージの直後の退避順でリトライキューに送る。
+        // 処理できるメッセージは退避中のどのメッセージよりも前の順序のため、集約の先頭側から詰めて登録する
+        Map<Object, Integer> insertAt = new HashMap<>();
+        for (Envelope<T> envelope : runnable) {
+            Object aggregateId = envelope.aggregateId();
+            Integer cursor = insertAt.get(aggregateId);
+            if (stalled.contains(aggregateId)) {
+                restorePosition(envelope, insertAt);
+                continue;
+            }
+            if (cursor != null) {
+                int level = parkedAggregates.get(aggregateId).level;
+                if (park(envelope, attemptOf(envelope.message()), level, null, cursor, settled)) {
+                    insertAt.put(aggregateId, cursor + 1);
+                } else {
+                    stalled.add(aggregateId);
+                    restorePosition(envelope, insertAt);
+                }
+                continue;
+            }
+            try {
+                handler.handleBatch(List.of(envelope.payload()));
+                settled.add(deliveryTag(envelope.message()));
+                processedCounter.increment();
+            } catch (RuntimeException e) {
+                int attempt = attemptOf(envelope.message()) + 1;
+                if (attempt >= properties.getMaxAttempts()) {
+                    log.error("Message exhausted retries, sent to dead letter queue: queue={}, aggregateId={}",
+                            properties.getQueue(), aggregateId, e);
+                    if (deadLetter(envelope.message(), e)) {
+                        settled.add(deliveryTag(envelope.message()));
+                    } else {
+                        stalled.add(aggregateId);
+                        restorePosition(envelope, insertAt);
+                    }
+                } else {
+                    log.warn("Message failed, scheduling retry {}: queue={}, aggregateId={}",
+                            attempt, properties.getQueue(), aggregateId, e);
+                    if (park(envelope, attempt, attempt, null, 0, settled)) {
+                        insertAt.put(aggregateId, 1);
+                    } else {
+                        stalled.add(aggregateId);
+                        restorePosition(envelope, insertAt);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * メッセージをリトライキューに退避し、集約の退避順に登録します。
+     *
+     * @param sequence 登録済みの退避順（新たに登録する場合は null）
+     * @param index    新たに登録する位置（0 が集約の先頭）
+     * @return 送信できた場合 true（失敗した場合は NACK で再配信させる）
+     */
+    private boolean park(Envelope<T> envelope, int attempt, int level, Long sequence, int index,
+                         Set<Long> settled) {
+        long assigned = sequence != null ? sequence : parkedSequence.incrementAndGet();
+        Message message = envelope.message();
+        message.getMessageProperties().setHeader(ATTEMPT_HEADER, attempt);
+        message.getMessageProperties().setHeader(PARKED_HEADER, assigned);
+        try {
+            rabbitTemplate.send("", properties.retryQueueName(level), message);
+        } catch (RuntimeException e) {
+            log.error("Failed to send message to retry queue, requeueing: queue={}, aggregateId={}",
+                    properties.getQueue(), envelope.aggregateId(), e);
+            return false;
+        }
+        retriedCounter.increment();
+        settled.add(deliveryTag(message));
+
+        ParkedAggregate parked = parkedAggregates.computeIfAbsent(envelope.aggregateId(), id -> new ParkedAggregate());
+        if (sequence == null) {
+            parked.sequences.add(Math.min(index, parked.sequences.size()), assigned);
+        }
+        parked.level = Math.max(parked.level, level);
+        parked.deadline = System.currentTimeMillis() + properties.backoffMillis(parked.level) + PARKED_GRACE_MILLIS;
+        return true;
+    }
+
+    /**
+     * 退避から戻って先頭として取り出したメッセージを、NACK で再配信させる前に元の順序へ戻します。
+     * 再配信されたメッセージは退避順ヘッダーで先頭と判定されます。
+     */
+    private void restorePosition(Envelope<T> envelope, Map<Object, Integer> insertAt) {
+        Long sequence = parkedSequenceOf(envelope.message());
+        if (sequence == null) {
+            return;
+        }
+        Object aggregateId = envelope.aggregateId();
+        int cursor = insertAt.getOrDefault(aggregateId, 0);
+        ParkedAggregate parked = parkedAggregates.computeIfAbsent(aggregateId, id -> new ParkedAggregate());
+        if (parked.sequences.contains(sequence)) {
+            return;
+        }
+        parked.sequences.add(Math.min(cursor, parked.sequences.size()), sequence);
+        parked.deadline = Math.max(parked.deadline, System.currentTimeMillis() + PARKED_GRACE_MILLIS);
+        insertAt.put(aggregateId, cursor + 1);
+    }
+
+    /**
+     * リトライ中の集約を返します。期限を過ぎても戻らない退避がある場合は破棄します。
+     */
+    private ParkedAggregate parkedAggregate(Object aggregateId) {
+        ParkedAggregate parked = parkedAggregates.get(aggregateId);
+        if (parked != null && System.currentTimeMillis() > parked.deadline) {
+            log.warn("Parked messages did not return in time, releasing aggregate: queue={}, aggregateId={}, "
+                    + "missing={}", properties.getQueue(), aggregateId, parked.sequences.size());
+            parkedAggregates.remove(aggregateId, parked);
+            return null;
+        }
+        return parked;
+    }
+
+    private void removeIfDrained(Object aggregateId, ParkedAggregate parked) {
+        if (parked.sequences.isEmpty()) {
+            parkedAggregates.remove(aggregateId, parked);
+        }
+    }
+
+    private boolean deadLetter(Message message, Exception cause) {
+        String reason = cause.getClass().getName() + ": " + cause.getMessage();
+        message.getMessageProperties().setHeader(ERROR_HEADER,
+                reason.length() > 500 ? reason.substring(0, 500) : reason);
+        try {
+            rabbitTemplate.send("", properties.deadLetterQueueName(), message);
+        } catch (RuntimeException e) {
+            log.error("Failed to send message to dead letter queue, requeueing: queue={}", properties.getQueue(), e);
+            return false;
+        }
+        deadLetteredCounter.increment();
+        return true;
+    }
+
+    private static int attemptOf(Message message) {
+        Object attempt = message.getMessageProperties().getHeader(ATTEMPT_HEADER);
+        return attempt instanceof Number number ? number.intValue() : 0;
+    }
+
+    private static Long parkedSequenceOf(Message message) {
+        Object sequence = message.getMessageProperties().getHeader(PARKED_HEADER);
+        return sequence instanceof Number number ? number.longValue() : null;
+    }
+
+    private static long deliveryTag(Message message) {
+        return message.getMessageProperties().getDeliveryTag();
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    private record Envelope<T>(Message message, T payload, Object aggregateId) {
+    }
+
+    /**
+     * リトライ中の集約
+     *
+     * リトライキューに退避したメッセージの退避順を、処理すべき順に保持します。
+     * 先頭のメッセージが戻ったときだけ処理し、先頭以外が先に戻った場合は同じ退避順のまま再び退避します。
+     * 後続は先行以上の段階に送るため、通常は退避した順に戻ります。
+     */
+    private static final class ParkedAggregate {
+
+        final List<Long> sequences = new ArrayList<>();
+        /** 退避先の段階（後続はこの段階以上に送る） */
+        int level;
+        /** 退避したメッセージが戻るべき期限（エポックミリ秒） */
+        long deadline;
+
+        boolean isHead(long sequence) {
+            return !sequences.isEmpty() && sequences.get(0) == sequence;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.firecaptain.common.messaging;
+
+import lombok.Data;
+
+/**
+ * パーティション化バッチコンシューマー設定
+ *
+ * {@link PartitionedBatchListener} とキュー構成（リトライキュー・デッドレターキュー）の設定値です。
+ * 各サービスで {@code @ConfigurationProperties} としてバインドして使用します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+public class PartitionedConsumerProperties {
+
+    /** 受信キュー名 */
+    private String queue;
+
+    /** レーン数（集約IDごとの単一スレッド処理レーン） */
+    private int lanes = 8;
+
+    /** プリフェッチ数 */
+    private int prefetch = 250;
+
+    /** 1回の受信バッチの最大メッセージ数（まとめてACKする単位） */
+    private int batchSize = 50;
+
+    /** バッチが満たない場合の受信待機時間（ミリ秒） */
+    private long receiveTimeoutMs = 100;
+
+    /** デッドレターキューに送るまでの最大試行回数 */
+    private int maxAttempts = 3;
+
+    /** 初回リトライまでの待機時間（ミリ秒） */
+    private long initialBackoffMs = 1000;
+
+    /** リトライごとの待機時間の倍率 */
+    private double backoffMultiplier = 4.0;
+
+    /**
+     * 受信キューが使われなくなってから削除されるまでの時間（ミリ秒、0 は削除しない）。
+     * インスタンスごとの受信キューで、停止したままのインスタンスのキューを残さないために設定します。
+     */
+    private long queueExpiresMs = 0;
+
+    /**
+     * 受信キューを単一アクティブコンシューマー（{@code x-single-active-consumer}）として宣言するか。
+     * 複数インスタンスで同じキューを受信しても、配信先を1つのコンシューマーに限り集約内の順序を保ちます
+     * （他のインスタンスは待機し、配信中のコンシューマーが切断されると引き継ぐ）。
+     * 既存のキューの引数は変更できないため、有効にする場合はキューを作り直してください。
+     */
+    private boolean singleActiveConsumer = false;
+
+    /**
+     * リトライキュー名を返します。
+     *
+     * @param level リトライ段階（1 から maxAttempts - 1）
+     * @return リトライキュー名
+     */
+    public String retryQueueName(int level) {
+        return queue + ".retry." + level;
+    }
+
+    /**
+     * デッドレターキュー名を返します。
+     *
+     * @return デッドレターキュー名
+     */
+    public String deadLetterQueueName() {
+        return queue + ".dlq";
+    }
+
+    /**
+     * リトライ段階ごとの待機時間を返します。
+     *
+     * @param level リトライ段階（1 から maxAttempts - 1）
+     * @return 待機時間（ミリ秒）
+     */
+    public long backoffMillis(int level) {
+        return (long) (initialBackoffMs * Math.pow(backoffMultiplier, level - 1));
+    }
+}
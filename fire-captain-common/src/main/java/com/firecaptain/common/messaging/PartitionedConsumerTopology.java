@@ -0,0 +1,89 @@
+package com.firecaptain.common.messaging;
+
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * パーティション化バッチコンシューマーのキュー構成とコンテナ生成
+ *
+ * - 受信キュー
+ * - リトライキュー（段階ごとのTTL付き。期限切れで受信キューに戻る）
+ * - デッドレターキュー
+ *
+ * 集約内の順序は、1つのキューを1つのコンシューマーが受信する場合だけ保証されます。
+ * 同じキューを複数のインスタンスで受信すると、同じ集約のメッセージが別々のインスタンスに配信され、
+ * 順序が崩れても検知されません。スケールアウトする場合は
+ * {@link PartitionedConsumerProperties#isSingleActiveConsumer()} を有効にしてください
+ * （受信は常に1インスタンスで、他は待機系になる）。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public final class PartitionedConsumerTopology {
+
+    private PartitionedConsumerTopology() {
+    }
+
+    /**
+     * 受信キュー・リトライキュー・デッドレターキューの宣言を返します。
+     * 取引所へのバインディングは各サービスで宣言してください。
+     *
+     * @param properties コンシューマー設定
+     * @return キュー宣言
+     */
+    public static Declarables declarables(PartitionedConsumerProperties properties) {
+        List<Declarable> declarables = new ArrayList<>();
+        QueueBuilder queue = QueueBuilder.durable(properties.getQueue());
+        if (properties.getQueueExpiresMs() > 0) {
+            queue.expires((int) properties.getQueueExpiresMs());
+        }
+        if (properties.isSingleActiveConsumer()) {
+            queue.singleActiveConsumer();
+        }
+        declarables.add(queue.build());
+        for (int level = 1; level < properties.getMaxAttempts(); level++) {
+            declarables.add(QueueBuilder.durable(properties.retryQueueName(level))
+                    .ttl((int) properties.backoffMillis(level))
+                    .deadLetterExchange("")
+                    .deadLetterRoutingKey(properties.getQueue())
+                    .build());
+        }
+        declarables.add(QueueBuilder.durable(properties.deadLetterQueueName()).build());
+        return new Declarables(declarables);
+    }
+
+    /**
+     * リスナーコンテナを生成します。
+     *
+     * 受信順を保つためコンシューマーは1つとし、並列性はレーンで確保します。
+     * 順序を保つのはこのコンテナの中だけで、同じキューを受信する他のインスタンスとの間では保ちません。
+     * 高いプリフェッチでメッセージを先読みし、バッチ単位でまとめてACKします。
+     *
+     * @param connectionFactory コネクションファクトリ
+     * @param properties        コンシューマー設定
+     * @param listener          バッチリスナー
+     * @return リスナーコンテナ
+     */
+    public static SimpleMessageListenerContainer container(ConnectionFactory connectionFactory,
+                                                           PartitionedConsumerProperties properties,
+                                                           PartitionedBatchListener<?> listener) {
+        SimpleMessageListenerContainer container = new SimpleMessageListenerContainer(connectionFactory);
+        container.setQueueNames(properties.getQueue());
+        container.setConcurrentConsumers(1);
+        container.setPrefetchCount(properties.getPrefetch());
+        container.setConsumerBatchEnabled(true);
+        container.setBatchSize(properties.getBatchSize());
+        container.setReceiveTimeout(properties.getReceiveTimeoutMs());
+        container.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        container.setDefaultRequeueRejected(false);
+        container.setMessageListener(listener);
+        return container;
+    }
+}
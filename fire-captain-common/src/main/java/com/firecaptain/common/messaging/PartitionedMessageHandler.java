@@ -0,0 +1,34 @@
+package com.firecaptain.common.messaging;
+
+import java.util.List;
+
+/**
+ * パーティション化メッセージハンドラー
+ *
+ * {@link PartitionedBatchListener} から呼び出される業務処理です。
+ * 同じ集約ID（通報ID・指令IDなど）のメッセージは常に同じレーンに割り当てられ、
+ * 受信順に処理されます。
+ *
+ * @param <T> メッセージペイロードの型
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public interface PartitionedMessageHandler<T> {
+
+    /**
+     * 集約IDを返します。同じ集約IDのメッセージは順序が保証されます。
+     *
+     * @param payload ペイロード
+     * @return 集約ID
+     */
+    Object aggregateId(T payload);
+
+    /**
+     * 1レーン分のメッセージをまとめて処理します（DBへのバッチ書き込みを想定）。
+     * 例外をスローした場合は1件ずつ再処理され、失敗したメッセージのみがリトライされます。
+     * 再配信があり得るため、処理は冪等にしてください。
+     *
+     * @param payloads 受信順のペイロード
+     */
+    void handleBatch(List<T> payloads);
+}
@@ -0,0 +1,224 @@
+package com.firecaptain.common.partition;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * パーティションの保守
+ *
+ * 月単位レンジパーティションのテーブルについて、今後の月のパーティションを事前に作成し、
+ * 保持期間を過ぎたパーティションを切り離します（archive スキーマへの移動、または削除）。
+ * 既存のパーティションの範囲は pg_catalog から取得するため、移行時に接続した範囲の異なる
+ * パーティション（例: {@code _legacy}）とも重複しません。
+ * 複数インスタンスから同時に実行されても、テーブルごとのアドバイザリロックで1つだけが実行します。
+ * パーティションの作成・切り離しはテーブルの排他ロックを取るため、ロック待ちに上限（{@link #LOCK_TIMEOUT}）を設け、
+ * 長いトランザクションと競合した場合は受付・参照を止めずに諦めて、次回の実行で再試行します。
+ * 作成と切り離しは別のトランザクションで実行し、切り離しが失敗しても事前作成は確定させます。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+public class PartitionMaintenance {
+
+    /** 切り離したパーティションの移動先スキーマ */
+    public static final String ARCHIVE_SCHEMA = "archive";
+
+    /** パーティションの作成・切り離しでのロック待ちの上限 */
+    static final String LOCK_TIMEOUT = "5s";
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern BOUND = Pattern.compile(
+            "FOR VALUES FROM \\((MINVALUE|'[^']+')\\) TO \\((MAXVALUE|'[^']+')\\)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public PartitionMaintenance(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * テーブルのパーティションを保守します。失敗してもテーブルの利用には影響しないため、例外は記録のみ行います。
+     *
+     * @param table テーブル定義
+     * @param today 基準日
+     */
+    public void maintain(PartitionedTable table, LocalDate today) {
+        YearMonth current = YearMonth.from(today);
+        run(table, "create", partitions -> {
+            createAhead(table, partitions, current);
+            warnIfDefaultUsed(table);
+        });
+        run(table, "archive", partitions -> archiveExpired(table, partitions, current));
+    }
+
+    /**
+     * アドバイザリロックとロック待ちの上限を設定したトランザクションで、保守の1段階を実行します。
+     */
+    private void run(PartitionedTable table, String step, Consumer<List<Partition>> action) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Boolean locked = jdbcTemplate.queryForObject(
+                        "SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, "partition:" + table.name());
+                if (!Boolean.TRUE.equals(locked)) {
+                    log.debug("Partition maintenance already running elsewhere: table={}", table.name());
+                    return;
+                }
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '" + LOCK_TIMEOUT + "'");
+                action.accept(partitions(table.name()));
+            });
+        } catch (PessimisticLockingFailureException e) {
+            // 長いトランザクションがテーブルを使用中（次回の実行で再試行する）
+            log.warn("Partition maintenance gave up waiting for a table lock, retrying on the next run: "
+                    + "table={}, step={}, lockTimeout={}", table.name(), step, LOCK_TIMEOUT);
+        } catch (DataAccessException e) {
+            log.error("Partition maintenance failed: table={}, step={}", table.name(), step, e);
+        }
+    }
+
+    /**
+     * 当月から事前作成月数分のうち、既存のパーティションに含まれない月のパーティションを作成します。
+     */
+    private void createAhead(PartitionedTable table, List<Partition> partitions, YearMonth current) {
+        for (int i = 0; i < table.premakeMonths(); i++) {
+            YearMonth month = current.plusMonths(i);
+            LocalDateTime from = month.atDay(1).atStartOfDay();
+            LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+            if (partitions.stream().anyMatch(partition -> partition.overlaps(from, to))) {
+                continue;
+            }
+            String name = table.name() + "_p" + month.format(SUFFIX);
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    quote(name), quote(table.name()), from.toLocalDate(), to.toLocalDate()));
+            partitions.add(new Partition(name, from, to));
+            Counter.builder("fire_captain_partitions_created_total")
+                    .description("Time-range partitions created ahead of time")
+                    .tag("table", table.name())
+                    .register(meterRegistry)
+                    .increment();
+            log.info("Partition created: table={}, partition={}, from={}, to={}", table.name(), name, from, to);
+        }
+    }
+
+    /**
+     * 上限が保持期間の開始より前のパーティションを切り離します。
+     */
+    private void archiveExpired(PartitionedTable table, List<Partition> partitions, YearMonth current) {
+        if (table.retentionMonths() <= 0) {
+            return;
+        }
+        LocalDateTime cutoff = current.minusMonths(table.retentionMonths()).atDay(1).atStartOfDay();
+        for (Partition partition : partitions) {
+            if (partition.to() == null || partition.to().isAfter(cutoff)) {
+                continue;
+            }
+            jdbcTemplate.execute(String.format("ALTER TABLE %s DETACH PARTITION %s",
+                    quote(table.name()), quote(partition.name())));
+            if (table.archiveMode() == PartitionedTable.ArchiveMode.DROP) {
+                jdbcTemplate.execute("DROP TABLE " + quote(partition.name()));
+            } else {
+                jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + ARCHIVE_SCHEMA);
+                jdbcTemplate.execute(String.format("ALTER TABLE %s SET SCHEMA %s",
+                        quote(partition.name()), ARCHIVE_SCHEMA));
+            }
+            Counter.builder("fire_captain_partitions_archived_total")
+                    .description("Time-range partitions detached after the retention period")
+                    .tag("table", table.name())
+                    .tag("mode", table.archiveMode().name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry)
+                    .increment();
+            log.info("Partition archived: table={}, partition={}, to={}, mode={}",
+                    table.name(), partition.name(), partition.to(), table.archiveMode());
+        }
+    }
+
+    /**
+     * 既定パーティションに行がある場合は警告します（事前作成が遅れている、または時刻が範囲外）。
+     */
+    private void warnIfDefaultUsed(PartitionedTable table) {
+        String defaultPartition = jdbcTemplate.query(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = to_regclass(?) AND pg_get_expr(c.relpartbound, c.oid) = 'DEFAULT'",
+                rs -> rs.next() ? rs.getString(1) : null, table.name());
+        if (defaultPartition == null) {
+            return;
+        }
+        Boolean used = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + quote(defaultPartition) + ")", Boolean.class);
+        if (Boolean.TRUE.equals(used)) {
+            log.warn("Rows found in the default partition; range partitions cannot be created for their months "
+                    + "until the rows are moved: table={}, partition={}", table.name(), defaultPartition);
+        }
+    }
+
+    /**
+     * テーブルのレンジパーティションと範囲を取得します（既定パーティションは除く）。
+     */
+    List<Partition> partitions(String tableName) {
+        List<Partition> partitions = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i "
+                        + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)",
+                rs -> {
+                    Matcher matcher = BOUND.matcher(rs.getString(2));
+                    if (matcher.find()) {
+                        partitions.add(new Partition(rs.getString(1),
+                                parseBound(matcher.group(1)), parseBound(matcher.group(2))));
+                    }
+                }, tableName);
+        return partitions;
+    }
+
+    /**
+     * 範囲の境界値を返します（MINVALUE / MAXVALUE は null）。
+     */
+    private static LocalDateTime parseBound(String bound) {
+        if (!bound.startsWith("'")) {
+            return null;
+        }
+        String value = bound.substring(1, bound.length() - 1);
+        return value.length() == 10
+                ? LocalDate.parse(value).atStartOfDay()
+                : LocalDateTime.parse(value.replace(' ', 'T'));
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * レンジパーティション
+     *
+     * @param name パーティション名
+     * @param from 下限（含む、null は MINVALUE）
+     * @param to   上限（含まない、null は MAXVALUE）
+     */
+    record Partition(String name, LocalDateTime from, LocalDateTime to) {
+
+        boolean overlaps(LocalDateTime rangeFrom, LocalDateTime rangeTo) {
+            return (from == null || from.isBefore(rangeTo)) && (to == null || to.isAfter(rangeFrom));
+        }
+    }
+}
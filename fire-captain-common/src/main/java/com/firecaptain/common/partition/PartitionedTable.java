@@ -0,0 +1,26 @@
+package com.firecaptain.common.partition;
+
+/**
+ * 月単位レンジパーティションのテーブル定義
+ *
+ * 月別パーティションは {@code <テーブル名>_pYYYYMM} の名前で作成します。
+ *
+ * @param name            親テーブル名
+ * @param premakeMonths   当月を含めて事前作成する月数
+ * @param retentionMonths 保持する月数（これより古いパーティションを切り離す。0以下は無期限）
+ * @param archiveMode     切り離したパーティションの扱い
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public record PartitionedTable(String name, int premakeMonths, int retentionMonths, ArchiveMode archiveMode) {
+
+    /**
+     * 切り離したパーティションの扱い
+     */
+    public enum ArchiveMode {
+        /** 切り離して archive スキーマへ移動（データは保持し、退避後に運用で削除） */
+        DETACH,
+        /** 切り離して削除 */
+        DROP
+    }
+}
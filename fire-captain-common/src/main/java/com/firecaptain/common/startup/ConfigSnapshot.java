@@ -0,0 +1,188 @@
+package com.firecaptain.common.startup;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * 署名付き設定スナップショット
+ *
+ * 設定サーバーから最後に取得できた設定を、ローカルファイルに保存・復元します。
+ * 改ざん・破損したファイルで起動しないよう、本体を HMAC-SHA256 で署名します。
+ * <pre>
+ * 1行目: "#FCCS1 " + 署名（Base64）
+ * 2行目以降: {@link Properties} 形式の本体（署名の対象）
+ * </pre>
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public final class ConfigSnapshot {
+
+    private static final String HEADER_PREFIX = "#FCCS1 ";
+    private static final String ALGORITHM = "HmacSHA256";
+    /** 本体に保存するリポジトリバージョンのキー（設定値には含めない） */
+    private static final String VERSION_KEY = "#snapshot.version";
+
+    private final Map<String, String> properties;
+    private final String version;
+
+    public ConfigSnapshot(Map<String, String> properties, String version) {
+        this.properties = Collections.unmodifiableMap(new TreeMap<>(properties));
+        this.version = version;
+    }
+
+    /**
+     * 設定値（キー順）
+     */
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+
+    /**
+     * 取得元の設定リポジトリのバージョン（不明な場合は null）
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * スナップショットを読み込み、署名を検証します。
+     *
+     * @param path       ファイル
+     * @param signingKey 署名鍵
+     * @return スナップショット
+     * @throws IOException           読み込みに失敗した場合
+     * @throws IllegalStateException 形式が不正、または署名が一致しない場合
+     */
+    public static ConfigSnapshot read(Path path, String signingKey) throws IOException {
+        byte[] content = Files.readAllBytes(path);
+        int newline = indexOf(content, (byte) '\n');
+        String header = newline >= 0 ? new String(content, 0, newline, StandardCharsets.US_ASCII) : "";
+        if (!header.startsWith(HEADER_PREFIX)) {
+            throw new IllegalStateException("Not a config snapshot: " + path);
+        }
+        byte[] body = Arrays.copyOfRange(content, newline + 1, content.length);
+        byte[] expected;
+        try {
+            expected = Base64.getDecoder().decode(header.substring(HEADER_PREFIX.length()).strip());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Malformed config snapshot signature: " + path, e);
+        }
+        if (!MessageDigest.isEqual(expected, sign(body, signingKey))) {
+            throw new IllegalStateException("Config snapshot signature mismatch: " + path);
+        }
+
+        Properties loaded = new Properties();
+        loaded.load(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+        Map<String, String> values = new LinkedHashMap<>();
+        String version = null;
+        for (String name : loaded.stringPropertyNames()) {
+            if (name.equals(VERSION_KEY)) {
+                version = loaded.getProperty(name);
+            } else {
+                values.put(name, loaded.getProperty(name));
+            }
+        }
+        return new ConfigSnapshot(values, version);
+    }
+
+    /**
+     * スナップショットを署名してアトミックに書き出します。
+     *
+     * @param path       ファイル
+     * @param signingKey 署名鍵
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void write(Path path, String signingKey) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(body, StandardCharsets.UTF_8)) {
+            // Properties.store の出力順は不定のため、キー順に1行ずつ書き出す
+            for (Map.Entry<String, String> entry : properties.entrySet()) {
+                writer.write(escape(entry.getKey(), true) + "=" + escape(entry.getValue(), false) + "\n");
+            }
+            if (version != null) {
+                writer.write(escape(VERSION_KEY, true) + "=" + escape(version, false) + "\n");
+            }
+        }
+        byte[] bytes = body.toByteArray();
+        String header = HEADER_PREFIX + Base64.getEncoder().encodeToString(sign(bytes, signingKey)) + "\n";
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            ByteArrayOutputStream file = new ByteArrayOutputStream(bytes.length + header.length());
+            file.write(header.getBytes(StandardCharsets.US_ASCII));
+            file.write(bytes);
+            Files.write(temp, file.toByteArray());
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static byte[] sign(byte[] body, String signingKey) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return mac.doFinal(body);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private static int indexOf(byte[] content, byte value) {
+        for (int i = 0; i < content.length; i++) {
+            if (content[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@link Properties#load} で元の文字列に戻るようにエスケープします。
+     */
+    private static String escape(String value, boolean key) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                case '\f' -> escaped.append("\\f");
+                case '=', ':', '#', '!' -> escaped.append('\\').append(c);
+                case ' ' -> escaped.append(key || i == 0 ? "\\ " : " ");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}
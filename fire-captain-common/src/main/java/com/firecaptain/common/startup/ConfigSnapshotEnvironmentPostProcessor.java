@@ -0,0 +1,93 @@
+package com.firecaptain.common.startup;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 設定スナップショットからの起動
+ *
+ * 設定データの読み込みより前に、署名を検証したスナップショットを環境に追加し、
+ * 設定サーバーへの問い合わせを無効にします。設定サーバーの応答を待たずに起動し、
+ * 最新の設定との差分は {@link ConfigSnapshotReconciler} が起動後に反映します。
+ * スナップショットがない・検証できない場合は、従来どおり設定サーバーから起動します。
+ *
+ * <p>優先順位は起動引数・システムプロパティ・環境変数より低く、application.yml より高くします
+ * （設定サーバーのプロパティと同じ位置づけ）。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public class ConfigSnapshotEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    /** スナップショットの設定値のプロパティソース名 */
+    public static final String PROPERTY_SOURCE_NAME = "configSnapshot";
+
+    /** スナップショットから起動する場合の制御用プロパティソース名 */
+    static final String BOOT_PROPERTY_SOURCE_NAME = "configSnapshotBoot";
+
+    private final Log log;
+
+    public ConfigSnapshotEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(ConfigSnapshotEnvironmentPostProcessor.class);
+    }
+
+    @Override
+    public int getOrder() {
+        // 設定サーバーの読み込み（設定データの処理）より前に実行する
+        return ConfigDataEnvironmentPostProcessor.ORDER - 5;
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        ConfigSnapshotSettings settings = ConfigSnapshotSettings.from(environment);
+        if (settings == null || !Files.exists(settings.path())) {
+            return;
+        }
+        ConfigSnapshot snapshot;
+        try {
+            snapshot = ConfigSnapshot.read(settings.path(), settings.signingKey());
+        } catch (IOException | IllegalStateException e) {
+            log.warn("Ignoring config snapshot, starting from the config server: " + e.getMessage());
+            return;
+        }
+
+        Map<String, Object> boot = new LinkedHashMap<>();
+        boot.put("spring.cloud.config.enabled", "false");
+        boot.put("spring.cloud.config.fail-fast", "false");
+        boot.put("spring.cloud.config.import-check.enabled", "false");
+        addAfterEnvironment(environment.getPropertySources(), new MapPropertySource(BOOT_PROPERTY_SOURCE_NAME, boot));
+        addAfterEnvironment(environment.getPropertySources(),
+                new MapPropertySource(PROPERTY_SOURCE_NAME, new LinkedHashMap<>(snapshot.getProperties())));
+        log.info("Starting from config snapshot: path=" + settings.path() + ", version=" + snapshot.getVersion()
+                + ", properties=" + snapshot.getProperties().size());
+    }
+
+    /**
+     * 環境変数のプロパティソースの直後（既に追加したソースの後）に追加します。
+     */
+    private static void addAfterEnvironment(MutablePropertySources sources, PropertySource<?> source) {
+        String anchor = StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME;
+        if (sources.contains(BOOT_PROPERTY_SOURCE_NAME)) {
+            anchor = BOOT_PROPERTY_SOURCE_NAME;
+        }
+        if (sources.contains(anchor)) {
+            sources.addAfter(anchor, source);
+        } else {
+            sources.addFirst(source);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.firecaptain.common.startup;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 設定スナップショットの照合
+ *
+ * 起動完了後にバックグラウンドで設定サーバーから設定を取得し、スナップショットと異なる場合は
+ * 署名付きで保存し直します。スナップショットから起動している場合は、環境の値も更新して
+ * {@link EnvironmentChangeEvent} を発行し、{@code @ConfigurationProperties} を再バインドします。
+ * 接続先・ポートなど起動時にしか読まれない設定の変更は、次回の起動から反映されます。
+ * 設定サーバーに接続できない間は、最後に取得できたスナップショットをそのまま使います。
+ * 無効（署名鍵が未設定など）の場合は、実行時の環境で判定して何もしません。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+public class ConfigSnapshotReconciler implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    /** 無効の場合は null */
+    private final ConfigSnapshotSettings settings;
+    private final ConfigurableEnvironment environment;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long intervalMillis;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "config-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Map<String, String> current;
+
+    ConfigSnapshotReconciler(ConfigSnapshotSettings settings, ConfigurableEnvironment environment,
+                             ApplicationEventPublisher eventPublisher) {
+        this.settings = settings;
+        this.environment = environment;
+        this.eventPublisher = eventPublisher;
+        this.intervalMillis = environment.getProperty(
+                ConfigSnapshotSettings.PREFIX + "reconcile-interval-ms", Long.class, 60_000L);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (event.getApplicationContext().getParent() != null) {
+            return;
+        }
+        if (settings == null) {
+            log.info("Config snapshot is disabled (fire-captain.config-snapshot.enabled=false or no signing key)");
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(this::reconcile, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 設定サーバーの設定とスナップショットを照合します。
+     */
+    void reconcile() {
+        ConfigServerEnvironment fetched;
+        try {
+            fetched = fetch();
+        } catch (RuntimeException e) {
+            log.warn("Config server unavailable, keeping the current config snapshot: {}", e.getMessage());
+            return;
+        }
+        if (fetched == null || fetched.propertySources() == null || fetched.propertySources().isEmpty()) {
+            // 設定リポジトリの誤りで空の設定を受け取った場合に、最後の正常な設定を上書きしない
+            log.warn("Config server returned no property sources, keeping the current config snapshot");
+            return;
+        }
+
+        Map<String, String> latest = flatten(fetched.propertySources());
+        Map<String, String> previous = loadCurrent();
+        if (latest.equals(previous)) {
+            return;
+        }
+        try {
+            new ConfigSnapshot(latest, fetched.version()).write(settings.path(), settings.signingKey());
+        } catch (IOException e) {
+            log.warn("Failed to write config snapshot: path={}", settings.path(), e);
+            return;
+        }
+        current = latest;
+        log.info("Config snapshot updated: path={}, version={}, properties={}",
+                settings.path(), fetched.version(), latest.size());
+
+        if (environment.getPropertySources().contains(ConfigSnapshotEnvironmentPostProcessor.PROPERTY_SOURCE_NAME)
+                && previous != null) {
+            apply(previous, latest);
+        }
+    }
+
+    /**
+     * スナップショットから起動した環境に最新の設定を反映します。
+     */
+    private void apply(Map<String, String> previous, Map<String, String> latest) {
+        Set<String> changed = new HashSet<>(previous.keySet());
+        changed.addAll(latest.keySet());
+        changed.removeIf(key -> Objects.equals(previous.get(key), latest.get(key)));
+        environment.getPropertySources().replace(ConfigSnapshotEnvironmentPostProcessor.PROPERTY_SOURCE_NAME,
+                new MapPropertySource(ConfigSnapshotEnvironmentPostProcessor.PROPERTY_SOURCE_NAME,
+                        new LinkedHashMap<>(latest)));
+        eventPublisher.publishEvent(new EnvironmentChangeEvent(changed));
+        log.info("Config reconciled with the config server: changedKeys={}", changed);
+    }
+
+    private Map<String, String> loadCurrent() {
+        if (current == null && Files.exists(settings.path())) {
+            try {
+                current = ConfigSnapshot.read(settings.path(), settings.signingKey()).getProperties();
+            } catch (IOException | IllegalStateException e) {
+                log.warn("Existing config snapshot is unreadable and will be replaced: {}", e.getMessage());
+            }
+        }
+        return current;
+    }
+
+    private ConfigServerEnvironment fetch() {
+        String uri = environment.getProperty("spring.cloud.config.uri", "http://localhost:8888").split(",")[0];
+        String name = environment.getProperty("spring.cloud.config.name",
+                environment.getProperty("spring.application.name", "application"));
+        String profile = environment.getProperty("spring.cloud.config.profile",
+                String.join(",", environment.getActiveProfiles().length > 0
+                        ? environment.getActiveProfiles() : new String[] {"default"}));
+        String label = environment.getProperty("spring.cloud.config.label");
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofSeconds(5));
+        requestFactory.setReadTimeout(Duration.ofSeconds(10));
+        RestClient.Builder builder = RestClient.builder().requestFactory(requestFactory).baseUrl(uri);
+        String username = environment.getProperty("spring.cloud.config.username");
+        if (StringUtils.hasText(username)) {
+            String password = environment.getProperty("spring.cloud.config.password", "");
+            builder.defaultHeaders(headers -> headers.setBasicAuth(username, password));
+        }
+        RestClient client = builder.defaultHeader(HttpHeaders.ACCEPT, "application/json").build();
+        return StringUtils.hasText(label)
+                ? client.get().uri("/{name}/{profile}/{label}", name, profile, label)
+                        .retrieve().body(ConfigServerEnvironment.class)
+                : client.get().uri("/{name}/{profile}", name, profile)
+                        .retrieve().body(ConfigServerEnvironment.class);
+    }
+
+    /**
+     * プロパティソースを1つにまとめます（先頭のソースが優先）。
+     */
+    private static Map<String, String> flatten(List<ConfigServerPropertySource> sources) {
+        Map<String, String> merged = new LinkedHashMap<>();
+        for (int i = sources.size() - 1; i >= 0; i--) {
+            Map<String, Object> source = sources.get(i).source();
+            if (source != null) {
+                source.forEach((key, value) -> merged.put(key, String.valueOf(value)));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 設定サーバーの応答（/{application}/{profile}[/{label}]）
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ConfigServerEnvironment(String name, String version, List<ConfigServerPropertySource> propertySources) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ConfigServerPropertySource(String name, Map<String, Object> source) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.firecaptain.common.startup;
+
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+
+/**
+ * 設定スナップショットの設定
+ *
+ * 設定データ（application.yml・設定サーバー）の読み込み前に参照するため、
+ * 起動引数・システムプロパティ・環境変数（例: {@code FIRE_CAPTAIN_CONFIG_SNAPSHOT_SIGNING_KEY}）で指定します。
+ *
+ * @param path       スナップショットファイル
+ * @param signingKey 署名鍵
+ */
+record ConfigSnapshotSettings(Path path, String signingKey) {
+
+    static final String PREFIX = "fire-captain.config-snapshot.";
+    static final String DEFAULT_PATH = "./data/config-snapshot.properties";
+
+    private static final String CONFIG_SERVER_CLASS = "org.springframework.cloud.config.server.EnableConfigServer";
+
+    /**
+     * 有効な設定を返します。
+     *
+     * @return 設定（無効、署名鍵が未設定、または設定サーバー自身の場合は null）
+     */
+    static ConfigSnapshotSettings from(Environment environment) {
+        if (!environment.getProperty(PREFIX + "enabled", Boolean.class, true)
+                || ClassUtils.isPresent(CONFIG_SERVER_CLASS, ConfigSnapshotSettings.class.getClassLoader())) {
+            return null;
+        }
+        // 署名鍵がない場合は、検証できないスナップショットで起動しないよう無効にする
+        String signingKey = environment.getProperty(PREFIX + "signing-key");
+        if (!StringUtils.hasText(signingKey)) {
+            return null;
+        }
+        return new ConfigSnapshotSettings(Path.of(environment.getProperty(PREFIX + "path", DEFAULT_PATH)), signingKey);
+    }
+}
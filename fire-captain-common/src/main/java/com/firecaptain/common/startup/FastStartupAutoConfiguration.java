@@ -0,0 +1,45 @@
+package com.firecaptain.common.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * 起動高速化の自動設定
+ *
+ * 共通モジュールを利用する全サービスに、起動時間の記録と設定スナップショットの照合を追加します。
+ * 各アプリケーションでの {@code @Import} は不要です（META-INF/spring の AutoConfiguration.imports で登録）。
+ */
+@AutoConfiguration
+public class FastStartupAutoConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "fire-captain.startup", name = "record", matchIfMissing = true)
+    public StartupTimeRecorder startupTimeRecorder(ConfigurableEnvironment environment,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        return new StartupTimeRecorder(environment, meterRegistry);
+    }
+
+    /**
+     * 設定スナップショットの照合（設定サーバー自身では登録しない）
+     *
+     * Spring AOT ではプロパティの条件がビルド時に評価されるため、有効・無効（{@code enabled}・署名鍵の有無）は
+     * 登録後に実行時の環境で判定します。
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnMissingClass("org.springframework.cloud.config.server.EnableConfigServer")
+    static class ConfigSnapshotConfiguration {
+
+        @Bean
+        public ConfigSnapshotReconciler configSnapshotReconciler(ConfigurableEnvironment environment,
+                                                                 ApplicationEventPublisher eventPublisher) {
+            return new ConfigSnapshotReconciler(ConfigSnapshotSettings.from(environment), environment, eventPublisher);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.firecaptain.common.startup;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * 起動時間の記録
+ *
+ * 起動完了時に、JVM起動からアプリケーション開始まで（launch）・アプリケーションコンテキストの起動（context）・
+ * 合計（total）の時間をメトリクス {@code fire_captain_startup_seconds} に記録します。
+ * 起動モード（AOT・AppCDS の有無）と設定の取得元をタグに含めるため、ビルド方式ごとの比較に使えます。
+ * {@code fire-captain.startup.record-path} を指定した場合は、1行1起動のJSONとしてファイルにも追記します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+public class StartupTimeRecorder implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final ConfigurableEnvironment environment;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    StartupTimeRecorder(ConfigurableEnvironment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (event.getApplicationContext().getParent() != null) {
+            return;
+        }
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        double totalSeconds = runtime.getUptime() / 1000.0;
+        Duration timeTaken = event.getTimeTaken();
+        double contextSeconds = timeTaken != null ? timeTaken.toMillis() / 1000.0 : totalSeconds;
+        double launchSeconds = Math.max(0, totalSeconds - contextSeconds);
+
+        String application = environment.getProperty("spring.application.name", "application");
+        String mode = environment.getProperty("fire-captain.startup.mode", "standard");
+        boolean aot = AotDetector.useGeneratedArtifacts();
+        boolean cds = runtime.getInputArguments().stream().anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile"));
+        String configSource = configSource();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Tags tags = Tags.of("mode", mode, "aot", String.valueOf(aot), "cds", String.valueOf(cds),
+                    "config_source", configSource);
+            register(registry, "launch", launchSeconds, tags);
+            register(registry, "context", contextSeconds, tags);
+            register(registry, "total", totalSeconds, tags);
+        }
+        log.info("Startup completed: application={}, total={}s, context={}s, launch={}s, mode={}, aot={}, cds={}, "
+                        + "configSource={}", application, totalSeconds, contextSeconds, launchSeconds,
+                mode, aot, cds, configSource);
+
+        String recordPath = environment.getProperty("fire-captain.startup.record-path");
+        if (StringUtils.hasText(recordPath)) {
+            append(Path.of(recordPath), String.format(Locale.ROOT,
+                    "{\"application\":\"%s\",\"startedAt\":\"%s\",\"totalSeconds\":%.3f,\"contextSeconds\":%.3f,"
+                            + "\"launchSeconds\":%.3f,\"mode\":\"%s\",\"aot\":%b,\"cds\":%b,\"configSource\":\"%s\"}%n",
+                    application, Instant.ofEpochMilli(runtime.getStartTime()), totalSeconds, contextSeconds,
+                    launchSeconds, mode, aot, cds, configSource));
+        }
+    }
+
+    private static void register(MeterRegistry registry, String phase, double seconds, Tags tags) {
+        Gauge.builder("fire_captain_startup_seconds", () -> seconds)
+                .description("Time taken to start the service, by phase")
+                .baseUnit("seconds")
+                .tags(tags)
+                .tag("phase", phase)
+                .register(registry);
+    }
+
+    /**
+     * 設定の取得元（snapshot / server / local）を判定します。
+     */
+    private String configSource() {
+        if (environment.getPropertySources().contains(ConfigSnapshotEnvironmentPostProcessor.PROPERTY_SOURCE_NAME)) {
+            return "snapshot";
+        }
+        for (PropertySource<?> source : environment.getPropertySources()) {
+            if (source.getName().startsWith("configserver:") || source.getName().startsWith("configClient")) {
+                return "server";
+            }
+        }
+        return "local";
+    }
+
+    private static void append(Path path, String line) {
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Files.writeString(path, line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            log.warn("Failed to record startup time: path={}", path, e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.firecaptain.common.util;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 業務番号生成ユーティリティ
+ *
+ * 通報番号（ER-）・指令番号（DP-）などの業務番号を生成します。
+ * 形式: PREFIX-YYYYMMDDHHMMSS-XXXX（XXXX は英大文字・数字のランダム4桁）
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public final class BusinessNumberGenerator {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final char[] SUFFIX_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private BusinessNumberGenerator() {
+    }
+
+    /**
+     * 業務番号を生成します。
+     *
+     * @param prefix 接頭辞（例：ER, DP）
+     * @param time   基準時刻
+     * @return 業務番号
+     */
+    public static String generate(String prefix, LocalDateTime time) {
+        StringBuilder number = new StringBuilder(prefix.length() + 20)
+                .append(prefix).append('-')
+                .append(TIMESTAMP_FORMAT.format(time)).append('-');
+        for (int i = 0; i < 4; i++) {
+            number.append(SUFFIX_CHARS[RANDOM.nextInt(SUFFIX_CHARS.length)]);
+        }
+        return number.toString();
+    }
+}
@@ -0,0 +1,86 @@
+package com.firecaptain.common.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * シングルフライト（同時実行の重複排除）
+ *
+ * 同じキーに対する処理が実行中の間に届いた要求は、新たに処理を開始せず
+ * 実行中の処理の結果を共有します。処理の完了後に届いた要求は、新しい処理を開始します。
+ *
+ * @param <K> キーの型
+ * @param <V> 結果の型
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executedCounter;
+    private final Counter sharedCounter;
+
+    /**
+     * コンストラクタ
+     *
+     * @param name          名称（メトリクスのタグに使用）
+     * @param meterRegistry メトリクスレジストリ
+     */
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executedCounter = Counter.builder("fire_captain_single_flight_executed_total")
+                .description("Number of loads actually executed")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.sharedCounter = Counter.builder("fire_captain_single_flight_shared_total")
+                .description("Number of requests that joined an in-flight load")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * キーに対する処理を実行するか、実行中の処理に合流します。
+     *
+     * @param key    キー
+     * @param loader 処理（実行中の処理がない場合のみ呼び出される）
+     * @return 処理結果のFuture（呼び出し元ごとの独立したコピー）
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            sharedCounter.increment();
+            return existing.copy();
+        }
+
+        executedCounter.increment();
+        try {
+            loader.get().whenComplete((value, error) -> {
+                // 完了より先に登録を外し、完了後の要求が新しい処理を開始できるようにする
+                inFlight.remove(key, flight);
+                if (error != null) {
+                    flight.completeExceptionally(error);
+                } else {
+                    flight.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+        }
+        return flight.copy();
+    }
+
+    /**
+     * 実行中の処理の件数を返します。
+     *
+     * @return 実行中の件数
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -1,10 +1,15 @@
 package com.firecaptain.completionreport;
 
+import com.firecaptain.common.client.DispatchClient;
+import com.firecaptain.common.client.EmergencyReportClient;
+import com.firecaptain.common.client.InterServiceClientConfig;
+import com.firecaptain.common.exception.GlobalExceptionHandler;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
@@ -32,10 +37,11 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  */
 @SpringBootApplication
 @EnableDiscoveryClient
-@EnableFeignClients
+@EnableFeignClients(clients = {EmergencyReportClient.class, DispatchClient.class})
 @EnableCaching
 @EnableAsync
 @EnableScheduling
+@Import({InterServiceClientConfig.class, GlobalExceptionHandler.class})
 public class CompletionReportApplication {
 
     /**
@@ -0,0 +1,79 @@
+package com.firecaptain.completionreport.config;
+
+import com.firecaptain.common.dto.DispatchDto;
+import com.firecaptain.completionreport.render.CompletionDocumentModel;
+import com.firecaptain.completionreport.render.DocumentTemplate;
+import com.firecaptain.completionreport.render.TemplateBindings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Executor;
+
+/**
+ * 文書描画設定クラス
+ *
+ * 完了報告書テンプレートを起動時にコンパイルし、一括作成用のスレッドプールを定義します。
+ */
+@Configuration
+public class DocumentRenderConfig {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    @Bean
+    public DocumentTemplate<CompletionDocumentModel> completionDocumentTemplate(
+            @Value("${fire-captain.completion-report.documents.template:classpath:templates/completion-report.html}")
+            Resource template) throws IOException {
+        TemplateBindings<DispatchDto> dispatch = new TemplateBindings<DispatchDto>()
+                .value("dispatchNumber", DispatchDto::getDispatchNumber)
+                .value("unitCode", DispatchDto::getUnitCode)
+                .value("status", DispatchDto::getStatus)
+                .value("dispatchedAt", d -> format(d.getDispatchedAt()))
+                .value("arrivedAt", d -> format(d.getArrivedAt()))
+                .value("completedAt", d -> format(d.getCompletedAt()));
+
+        TemplateBindings<CompletionDocumentModel> document = new TemplateBindings<CompletionDocumentModel>()
+                .value("reportNumber", m -> m.report().getReportNumber())
+                .value("emergencyType", m -> m.report().getEmergencyType())
+                .value("priorityLevel", m -> m.report().getPriorityLevel())
+                .value("status", m -> m.report().getStatus())
+                .value("locationAddress", m -> m.report().getLocationAddress())
+                .value("callerName", m -> m.report().getCallerName())
+                .value("description", m -> m.report().getDescription())
+                .value("receivedAt", m -> format(m.report().getReceivedAt()))
+                .value("arrivedAt", m -> format(m.report().getArrivedAt()))
+                .value("completedAt", m -> format(m.report().getCompletedAt()))
+                .value("actualDurationMinutes", m -> m.report().getActualDurationMinutes())
+                .value("generatedAt", m -> format(m.generatedAt()))
+                .list("dispatches", CompletionDocumentModel::dispatches, dispatch);
+
+        return DocumentTemplate.compile(template.getContentAsString(StandardCharsets.UTF_8), document);
+    }
+
+    /**
+     * 一括作成用スレッドプール
+     * 同時に描画する文書数（＝同時に保持するモデルと出力バッファの数）を制限します。
+     */
+    @Bean(name = "documentRenderExecutor")
+    public Executor documentRenderExecutor(
+            @Value("${fire-captain.completion-report.documents.render-threads:4}") int renderThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(renderThreads);
+        executor.setMaxPoolSize(renderThreads);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("DocumentRender-");
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    private static String format(LocalDateTime time) {
+        return time != null ? DATE_TIME.format(time) : null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.firecaptain.completionreport.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firecaptain.common.dto.EmergencyReportEvent;
+import com.firecaptain.common.messaging.PartitionedBatchListener;
+import com.firecaptain.common.messaging.PartitionedConsumerProperties;
+import com.firecaptain.common.messaging.PartitionedConsumerTopology;
+import com.firecaptain.completionreport.messaging.CompletedIncidentEventHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RabbitMQ設定クラス
+ *
+ * 完了報告イベントの取引所と、活動時間推定モデルを更新するための
+ * 緊急通報イベント（ステータス変更）のバッチコンシューマーを定義します。
+ */
+@Configuration
+public class RabbitConfig {
+
+    @Value("${fire-captain.completion-report.queue.exchange}")
+    private String completionExchange;
+
+    @Value("${fire-captain.completion-report.emergency-events.exchange}")
+    private String emergencyEventsExchange;
+
+    @Value("${fire-captain.completion-report.emergency-events.routing-key}")
+    private String emergencyEventsRoutingKey;
+
+    @Bean
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public TopicExchange completionEventsExchange() {
+        return new TopicExchange(completionExchange, true, false);
+    }
+
+    @Bean
+    public TopicExchange emergencyEventsExchange() {
+        return new TopicExchange(emergencyEventsExchange, true, false);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "fire-captain.completion-report.emergency-events.consumer")
+    public PartitionedConsumerProperties emergencyEventsConsumerProperties() {
+        return new PartitionedConsumerProperties();
+    }
+
+    @Bean
+    public Declarables emergencyEventsQueues(PartitionedConsumerProperties emergencyEventsConsumerProperties) {
+        return PartitionedConsumerTopology.declarables(emergencyEventsConsumerProperties);
+    }
+
+    @Bean
+    public Binding emergencyEventsBinding(PartitionedConsumerProperties emergencyEventsConsumerProperties,
+                                          TopicExchange emergencyEventsExchange) {
+        return BindingBuilder.bind(new Queue(emergencyEventsConsumerProperties.getQueue()))
+                .to(emergencyEventsExchange)
+                .with(emergencyEventsRoutingKey);
+    }
+
+    @Bean
+    public PartitionedBatchListener<EmergencyReportEvent> emergencyEventsListener(
+            PartitionedConsumerProperties emergencyEventsConsumerProperties,
+            CompletedIncidentEventHandler completedIncidentEventHandler,
+            ObjectMapper objectMapper,
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry) {
+        return new PartitionedBatchListener<>(emergencyEventsConsumerProperties, EmergencyReportEvent.class,
+                completedIncidentEventHandler, objectMapper, rabbitTemplate, meterRegistry);
+    }
+
+    @Bean
+    public SimpleMessageListenerContainer emergencyEventsContainer(
+            ConnectionFactory connectionFactory,
+            PartitionedConsumerProperties emergencyEventsConsumerProperties,
+            PartitionedBatchListener<EmergencyReportEvent> emergencyEventsListener) {
+        return PartitionedConsumerTopology.container(connectionFactory, emergencyEventsConsumerProperties,
+                emergencyEventsListener);
+    }
+}
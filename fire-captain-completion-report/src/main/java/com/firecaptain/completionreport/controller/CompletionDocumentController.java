@@ -0,0 +1,66 @@
+package com.firecaptain.completionreport.controller;
+
+import com.firecaptain.completionreport.dto.CompletionDocumentBatchRequest;
+import com.firecaptain.completionreport.dto.CompletionDocumentResultDto;
+import com.firecaptain.completionreport.render.CompletionDocumentModel;
+import com.firecaptain.completionreport.service.CompletionDocumentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 完了報告書コントローラー
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/completion-reports")
+@RequiredArgsConstructor
+public class CompletionDocumentController {
+
+    private final CompletionDocumentService completionDocumentService;
+
+    /**
+     * 完了報告書を作成し、レスポンスへ直接ストリーミングします。
+     * 通報が存在しない場合は、出力開始前に 404 を返します。
+     *
+     * @param emergencyReportId 通報ID
+     * @return 完了報告書（HTML）
+     */
+    @GetMapping("/incidents/{emergencyReportId}/document")
+    public ResponseEntity<StreamingResponseBody> getDocument(@PathVariable Long emergencyReportId) {
+        CompletionDocumentModel model = completionDocumentService.loadModel(emergencyReportId);
+        StreamingResponseBody body = out -> completionDocumentService.render(model, out);
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "inline; filename=\"" + model.report().getReportNumber() + ".html\"")
+                .body(body);
+    }
+
+    /**
+     * 複数の完了報告書を並行に作成し、ファイルへ出力します。
+     *
+     * @param request 一括作成要求
+     * @return 通報ごとの作成結果
+     */
+    @PostMapping("/documents/batch")
+    public CompletableFuture<List<CompletionDocumentResultDto>> renderDocuments(
+            @Valid @RequestBody CompletionDocumentBatchRequest request) {
+        return completionDocumentService.renderToFiles(request.getEmergencyReportIds());
+    }
+}
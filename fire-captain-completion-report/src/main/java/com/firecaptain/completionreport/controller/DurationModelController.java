@@ -0,0 +1,31 @@
+package com.firecaptain.completionreport.controller;
+
+import com.firecaptain.common.dto.DurationEstimateDto;
+import com.firecaptain.completionreport.service.DurationModelService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 活動時間推定モデルコントローラー
+ *
+ * 指令サービスの起動時・定期同期用に、推定モデルの全推定値を提供します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/completion-reports/duration-model")
+@RequiredArgsConstructor
+public class DurationModelController {
+
+    private final DurationModelService durationModelService;
+
+    @GetMapping
+    public List<DurationEstimateDto> getDurationModel() {
+        return durationModelService.getEstimates();
+    }
+}
@@ -0,0 +1,28 @@
+package com.firecaptain.completionreport.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 完了報告書 一括作成要求クラス
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompletionDocumentBatchRequest {
+
+    /** 対象の通報ID */
+    @NotEmpty(message = "Emergency report ids are required")
+    @Size(max = 500, message = "At most 500 reports can be rendered in one batch")
+    private List<Long> emergencyReportIds;
+}
@@ -0,0 +1,37 @@
+package com.firecaptain.completionreport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 完了報告書 作成結果DTOクラス
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompletionDocumentResultDto {
+
+    /** 通報ID */
+    private Long emergencyReportId;
+
+    /** 作成成功の場合 true */
+    private boolean success;
+
+    /** 出力ファイル名 */
+    private String fileName;
+
+    /** 出力サイズ（バイト） */
+    private Long sizeBytes;
+
+    /** 描画中に割り当てたヒープ（バイト、計測できない環境では null） */
+    private Long allocatedBytes;
+
+    /** 失敗理由 */
+    private String error;
+}
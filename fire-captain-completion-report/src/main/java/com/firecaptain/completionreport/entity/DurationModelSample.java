@@ -0,0 +1,52 @@
+package com.firecaptain.completionreport.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 推定モデルに反映済みの完了事案エンティティ
+ *
+ * duration_model_samples テーブルに対応します。通報IDを主キーとし、同じ完了事案を
+ * 二重に統計へ反映しないための記録です。常に INSERT で保存するため、複数インスタンスが
+ * 同じ事案を同時に反映した場合は主キー違反で一方のトランザクションがロールバックされます。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "duration_model_samples")
+@Getter
+@NoArgsConstructor
+public class DurationModelSample implements Persistable<Long> {
+
+    @Id
+    @Column(name = "report_id")
+    private Long reportId;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    public DurationModelSample(Long reportId, LocalDateTime recordedAt) {
+        this.reportId = reportId;
+        this.recordedAt = recordedAt;
+    }
+
+    @Override
+    public Long getId() {
+        return reportId;
+    }
+
+    @Override
+    @Transient
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,66 @@
+package com.firecaptain.completionreport.entity;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportDto.PriorityLevel;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 活動時間推定モデル統計エンティティ
+ *
+ * duration_model_stats テーブルに対応します。キーごとに1行（定数サイズ）で、
+ * 活動時間の指数移動平均と分散を保持します。
+ * 複数インスタンスからの同時更新は楽観ロック（version）で検出します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "duration_model_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DurationModelStat {
+
+    /** モデルキー（種別|優先度|セル、全体は *） */
+    @Id
+    @Column(name = "model_key", length = 64)
+    private String modelKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "emergency_type", nullable = false, length = 32)
+    private EmergencyType emergencyType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority_level", length = 16)
+    private PriorityLevel priorityLevel;
+
+    @Column(name = "area_cell")
+    private Long areaCell;
+
+    @Column(name = "sample_count", nullable = false)
+    private long sampleCount;
+
+    @Column(name = "mean_minutes", nullable = false)
+    private double meanMinutes;
+
+    @Column(name = "variance_minutes", nullable = false)
+    private double varianceMinutes;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
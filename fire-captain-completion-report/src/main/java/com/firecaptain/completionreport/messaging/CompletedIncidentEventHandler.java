@@ -0,0 +1,35 @@
+package com.firecaptain.completionreport.messaging;
+
+import com.firecaptain.common.dto.EmergencyReportEvent;
+import com.firecaptain.common.messaging.PartitionedMessageHandler;
+import com.firecaptain.completionreport.service.DurationModelService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 事案完了イベントハンドラー
+ *
+ * 通報種別ごとにレーンへ振り分けることで、同じ推定モデル行の更新を
+ * 1つのレーンに集約し、インスタンス内での更新競合を避けます。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class CompletedIncidentEventHandler implements PartitionedMessageHandler<EmergencyReportEvent> {
+
+    private final DurationModelService durationModelService;
+
+    @Override
+    public Object aggregateId(EmergencyReportEvent event) {
+        return event.getReport().getEmergencyType();
+    }
+
+    @Override
+    public void handleBatch(List<EmergencyReportEvent> events) {
+        durationModelService.recordCompletions(events);
+    }
+}
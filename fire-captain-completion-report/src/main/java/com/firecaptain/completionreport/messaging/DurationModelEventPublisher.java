@@ -0,0 +1,38 @@
+package com.firecaptain.completionreport.messaging;
+
+import com.firecaptain.common.dto.DurationModelUpdateEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 活動時間推定モデル更新イベント発行
+ *
+ * トランザクションのコミット後に completion.events 取引所へ更新された推定値を発行します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DurationModelEventPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @Value("${fire-captain.completion-report.queue.exchange}")
+    private String exchange;
+
+    @Value("${fire-captain.completion-report.duration-model.routing-key}")
+    private String routingKey;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void publish(DurationModelUpdateEvent event) {
+        rabbitTemplate.convertAndSend(exchange, routingKey, event);
+        log.debug("Published duration model update: estimates={}", event.getEstimates().size());
+    }
+}
@@ -0,0 +1,19 @@
+package com.firecaptain.completionreport.render;
+
+import com.firecaptain.common.dto.DispatchDto;
+import com.firecaptain.common.dto.EmergencyReportDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 完了報告書の描画モデル
+ *
+ * @param report      緊急通報
+ * @param dispatches  出動指令
+ * @param generatedAt 作成日時
+ */
+public record CompletionDocumentModel(EmergencyReportDto report,
+                                      List<DispatchDto> dispatches,
+                                      LocalDateTime generatedAt) {
+}
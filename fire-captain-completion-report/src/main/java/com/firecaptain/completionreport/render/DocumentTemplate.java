@@ -0,0 +1,177 @@
+package com.firecaptain.completionreport.render;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * コンパイル済み文書テンプレート
+ *
+ * 起動時にテンプレートを固定文字列と変数のセグメント列へ変換しておき、
+ * 描画時はモデルの値を順に {@link Writer} へ書き出すだけにします。
+ * 文書全体をメモリ上に組み立てないため、描画中に保持するのは
+ * モデルと出力バッファのみです。インスタンスは不変でスレッドセーフです。
+ *
+ * 構文: {@code {{name}}}（値、HTMLエスケープ）、{@code {{#name}}...{{/name}}}（繰り返し）
+ *
+ * @param <T> モデルの型
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public final class DocumentTemplate<T> {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final List<Segment<T>> segments;
+
+    private DocumentTemplate(List<Segment<T>> segments) {
+        this.segments = List.copyOf(segments);
+    }
+
+    /**
+     * テンプレートをコンパイルします。
+     *
+     * @param source   テンプレート文字列
+     * @param bindings 変数定義
+     * @param <T>      モデルの型
+     * @return コンパイル済みテンプレート
+     * @throws IllegalArgumentException 未定義の変数や閉じていないセクションがある場合
+     */
+    public static <T> DocumentTemplate<T> compile(String source, TemplateBindings<T> bindings) {
+        Parser parser = new Parser(source);
+        DocumentTemplate<T> template = parser.parse(bindings, null);
+        if (parser.position < source.length()) {
+            throw new IllegalArgumentException("Unexpected content at offset " + parser.position);
+        }
+        return template;
+    }
+
+    /**
+     * モデルを描画します。
+     *
+     * @param model  モデル
+     * @param writer 出力先
+     * @throws IOException 出力に失敗した場合
+     */
+    public void render(T model, Writer writer) throws IOException {
+        for (Segment<T> segment : segments) {
+            segment.write(model, writer);
+        }
+    }
+
+    private interface Segment<T> {
+        void write(T model, Writer writer) throws IOException;
+    }
+
+    private record Literal<T>(char[] text) implements Segment<T> {
+        @Override
+        public void write(T model, Writer writer) throws IOException {
+            writer.write(text);
+        }
+    }
+
+    private record Value<T>(Function<T, ?> accessor) implements Segment<T> {
+        @Override
+        public void write(T model, Writer writer) throws IOException {
+            Object value = accessor.apply(model);
+            if (value != null) {
+                writeEscaped(value.toString(), writer);
+            }
+        }
+    }
+
+    private record Section<T, U>(Function<T, List<U>> accessor, DocumentTemplate<U> body) implements Segment<T> {
+        @Override
+        public void write(T model, Writer writer) throws IOException {
+            List<U> items = accessor.apply(model);
+            if (items == null) {
+                return;
+            }
+            for (U item : items) {
+                body.render(item, writer);
+            }
+        }
+    }
+
+    private static void writeEscaped(String value, Writer writer) throws IOException {
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String replacement = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (replacement != null) {
+                writer.write(value, start, i - start);
+                writer.write(replacement);
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+    }
+
+    private static final class Parser {
+
+        private final String source;
+        private int position;
+
+        Parser(String source) {
+            this.source = source;
+        }
+
+        <T> DocumentTemplate<T> parse(TemplateBindings<T> bindings, String sectionName) {
+            List<Segment<T>> segments = new ArrayList<>();
+            while (position < source.length()) {
+                int open = source.indexOf(OPEN, position);
+                if (open < 0) {
+                    segments.add(new Literal<>(source.substring(position).toCharArray()));
+                    position = source.length();
+                    break;
+                }
+                if (open > position) {
+                    segments.add(new Literal<>(source.substring(position, open).toCharArray()));
+                }
+                int close = source.indexOf(CLOSE, open);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed tag at offset " + open);
+                }
+                String tag = source.substring(open + OPEN.length(), close).trim();
+                position = close + CLOSE.length();
+
+                if (tag.startsWith("/")) {
+                    if (!tag.substring(1).equals(sectionName)) {
+                        throw new IllegalArgumentException("Unexpected closing tag {{" + tag + "}}");
+                    }
+                    return new DocumentTemplate<>(segments);
+                } else if (tag.startsWith("#")) {
+                    segments.add(section(tag.substring(1), bindings));
+                } else {
+                    Function<T, ?> accessor = bindings.values.get(tag);
+                    if (accessor == null) {
+                        throw new IllegalArgumentException("Undefined template variable {{" + tag + "}}");
+                    }
+                    segments.add(new Value<>(accessor));
+                }
+            }
+            if (sectionName != null) {
+                throw new IllegalArgumentException("Unclosed section {{#" + sectionName + "}}");
+            }
+            return new DocumentTemplate<>(segments);
+        }
+
+        private <T, U> Segment<T> section(String name, TemplateBindings<T> bindings) {
+            @SuppressWarnings("unchecked")
+            TemplateBindings.ListBinding<T, U> binding = (TemplateBindings.ListBinding<T, U>) bindings.lists.get(name);
+            if (binding == null) {
+                throw new IllegalArgumentException("Undefined template section {{#" + name + "}}");
+            }
+            return new Section<>(binding.accessor(), parse(binding.itemBindings(), name));
+        }
+    }
+}
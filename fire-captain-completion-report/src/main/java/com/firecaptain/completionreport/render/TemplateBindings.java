@@ -0,0 +1,52 @@
+package com.firecaptain.completionreport.render;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * テンプレート変数の定義
+ *
+ * テンプレート中の {@code {{name}}} と {@code {{#name}}...{{/name}}} を、
+ * モデルから値・一覧を取り出す関数に対応付けます。コンパイル時に解決されるため、
+ * 描画時に名前による検索は行いません。
+ *
+ * @param <T> モデルの型
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public final class TemplateBindings<T> {
+
+    final Map<String, Function<T, ?>> values = new HashMap<>();
+    final Map<String, ListBinding<T, ?>> lists = new HashMap<>();
+
+    /**
+     * 値の変数を定義します。値は HTML エスケープして出力されます。
+     *
+     * @param name     変数名
+     * @param accessor 値の取り出し
+     * @return この定義
+     */
+    public TemplateBindings<T> value(String name, Function<T, ?> accessor) {
+        values.put(name, accessor);
+        return this;
+    }
+
+    /**
+     * 繰り返しセクションを定義します。
+     *
+     * @param name         セクション名
+     * @param accessor     一覧の取り出し
+     * @param itemBindings 各要素の変数定義
+     * @param <U>          要素の型
+     * @return この定義
+     */
+    public <U> TemplateBindings<T> list(String name, Function<T, List<U>> accessor, TemplateBindings<U> itemBindings) {
+        lists.put(name, new ListBinding<>(accessor, itemBindings));
+        return this;
+    }
+
+    record ListBinding<T, U>(Function<T, List<U>> accessor, TemplateBindings<U> itemBindings) {
+    }
+}
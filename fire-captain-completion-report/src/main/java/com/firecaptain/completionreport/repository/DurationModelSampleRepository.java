@@ -0,0 +1,15 @@
+package com.firecaptain.completionreport.repository;
+
+import com.firecaptain.completionreport.entity.DurationModelSample;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 推定モデルに反映済みの完了事案リポジトリ
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Repository
+public interface DurationModelSampleRepository extends JpaRepository<DurationModelSample, Long> {
+}
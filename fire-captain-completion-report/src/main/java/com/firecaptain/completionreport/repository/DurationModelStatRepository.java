@@ -0,0 +1,15 @@
+package com.firecaptain.completionreport.repository;
+
+import com.firecaptain.completionreport.entity.DurationModelStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 活動時間推定モデル統計リポジトリ
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Repository
+public interface DurationModelStatRepository extends JpaRepository<DurationModelStat, String> {
+}
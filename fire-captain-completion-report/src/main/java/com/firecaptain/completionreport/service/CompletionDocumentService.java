@@ -0,0 +1,216 @@
+package com.firecaptain.completionreport.service;
+
+import com.firecaptain.common.client.IncidentLookupService;
+import com.firecaptain.common.dto.DispatchDto;
+import com.firecaptain.common.dto.EmergencyReportDto;
+import com.firecaptain.completionreport.dto.CompletionDocumentResultDto;
+import com.firecaptain.completionreport.render.CompletionDocumentModel;
+import com.firecaptain.completionreport.render.DocumentTemplate;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * 完了報告書作成サービス
+ *
+ * コンパイル済みテンプレートで完了報告書を描画し、HTTPレスポンスまたはファイルへ
+ * 直接ストリーミングします。
+ * - 文書全体をメモリ上に組み立てず、固定サイズの出力バッファ経由で書き出す
+ * - 一括作成は上限付きのスレッドプールで並行に描画（同時に保持する文書数を制限）
+ * - 文書ごとの描画中のヒープ割り当て量を計測（fire_captain_document_render_allocated_bytes）
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class CompletionDocumentService {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMxBean();
+
+    private final IncidentLookupService incidentLookupService;
+    private final DocumentTemplate<CompletionDocumentModel> template;
+    private final Executor documentRenderExecutor;
+    private final Path outputDirectory;
+    private final int bufferSize;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary allocatedBytesSummary;
+
+    public CompletionDocumentService(IncidentLookupService incidentLookupService,
+                                     DocumentTemplate<CompletionDocumentModel> completionDocumentTemplate,
+                                     @Qualifier("documentRenderExecutor") Executor documentRenderExecutor,
+                                     @Value("${fire-captain.completion-report.documents.output-dir}") String outputDirectory,
+                                     @Value("${fire-captain.completion-report.documents.buffer-size:8192}") int bufferSize,
+                                     MeterRegistry meterRegistry) {
+        this.incidentLookupService = incidentLookupService;
+        this.template = completionDocumentTemplate;
+        this.documentRenderExecutor = documentRenderExecutor;
+        this.outputDirectory = Path.of(outputDirectory);
+        this.bufferSize = bufferSize;
+        this.meterRegistry = meterRegistry;
+        this.allocatedBytesSummary = DistributionSummary.builder("fire_captain_document_render_allocated_bytes")
+                .description("Heap allocated on the rendering thread per completion document")
+                .baseUnit("bytes")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 描画モデルを取得します。
+     *
+     * @param emergencyReportId 通報ID
+     * @return 描画モデル
+     */
+    public CompletionDocumentModel loadModel(Long emergencyReportId) {
+        EmergencyReportDto report = incidentLookupService.getEmergencyReport(emergencyReportId);
+        List<DispatchDto> dispatches = incidentLookupService.getDispatchesForReport(emergencyReportId);
+        return new CompletionDocumentModel(report, dispatches, LocalDateTime.now());
+    }
+
+    /**
+     * 完了報告書を出力ストリームへ直接描画します。
+     *
+     * @param model 描画モデル
+     * @param out   出力先（HTTPレスポンスなど）
+     * @throws IOException 出力に失敗した場合
+     */
+    public void render(CompletionDocumentModel model, OutputStream out) throws IOException {
+        measure("stream", () -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), bufferSize);
+            template.render(model, writer);
+            writer.flush();
+        });
+    }
+
+    /**
+     * 複数の完了報告書を並行に描画し、ファイルへ出力します。
+     * 通報・出動指令は一括で取得します。
+     *
+     * @param emergencyReportIds 通報ID
+     * @return 通報ごとの作成結果（要求順）
+     */
+    public CompletableFuture<List<CompletionDocumentResultDto>> renderToFiles(List<Long> emergencyReportIds) {
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(emergencyReportIds));
+        Map<Long, EmergencyReportDto> reports = incidentLookupService.getEmergencyReports(ids);
+        Map<Long, List<DispatchDto>> dispatches = incidentLookupService.getDispatchesForReports(ids);
+        LocalDateTime generatedAt = LocalDateTime.now();
+
+        List<CompletableFuture<CompletionDocumentResultDto>> futures = ids.stream()
+                .map(id -> {
+                    EmergencyReportDto report = reports.get(id);
+                    if (report == null) {
+                        return CompletableFuture.completedFuture(failure(id, "Emergency report not found"));
+                    }
+                    CompletionDocumentModel model = new CompletionDocumentModel(
+                            report, dispatches.getOrDefault(id, List.of()), generatedAt);
+                    return CompletableFuture.supplyAsync(() -> renderToFile(model), documentRenderExecutor)
+                            .exceptionally(e -> {
+                                log.error("Failed to render completion document: emergencyReportId={}", id, e);
+                                return failure(id, e.getMessage());
+                            });
+                })
+                .toList();
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    private CompletionDocumentResultDto renderToFile(CompletionDocumentModel model) {
+        String fileName = model.report().getReportNumber() + ".html";
+        try {
+            Files.createDirectories(outputDirectory);
+            Path temp = Files.createTempFile(outputDirectory, fileName, ".tmp");
+            long allocated;
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                allocated = measure("file", () -> {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), bufferSize);
+                    template.render(model, writer);
+                    writer.flush();
+                });
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Path target = outputDirectory.resolve(fileName);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return CompletionDocumentResultDto.builder()
+                    .emergencyReportId(model.report().getId())
+                    .success(true)
+                    .fileName(fileName)
+                    .sizeBytes(Files.size(target))
+                    .allocatedBytes(allocated >= 0 ? allocated : null)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 描画処理の時間と、描画スレッドでのヒープ割り当て量を計測します。
+     *
+     * @return 割り当て量（バイト、計測できない場合は -1）
+     */
+    private long measure(String output, RenderAction action) throws IOException {
+        long before = allocatedBytes();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            action.run();
+        } finally {
+            sample.stop(meterRegistry.timer("fire_captain_document_render_seconds", "output", output));
+        }
+        if (before < 0) {
+            return -1;
+        }
+        long allocated = allocatedBytes() - before;
+        allocatedBytesSummary.record(allocated);
+        return allocated;
+    }
+
+    private static long allocatedBytes() {
+        return THREAD_MX_BEAN != null ? THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMxBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+
+    private static CompletionDocumentResultDto failure(Long emergencyReportId, String error) {
+        return CompletionDocumentResultDto.builder()
+                .emergencyReportId(emergencyReportId)
+                .success(false)
+                .error(error)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface RenderAction {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,195 @@
+package com.firecaptain.completionreport.service;
+
+import com.firecaptain.common.dto.DurationEstimateDto;
+import com.firecaptain.common.dto.DurationModelUpdateEvent;
+import com.firecaptain.common.dto.EmergencyReportDto;
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportDto.PriorityLevel;
+import com.firecaptain.common.dto.EmergencyReportDto.ReportStatus;
+import com.firecaptain.common.dto.EmergencyReportEvent;
+import com.firecaptain.common.geo.GeoGrid;
+import com.firecaptain.completionreport.entity.DurationModelSample;
+import com.firecaptain.completionreport.entity.DurationModelStat;
+import com.firecaptain.completionreport.repository.DurationModelSampleRepository;
+import com.firecaptain.completionreport.repository.DurationModelStatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 活動時間推定モデルサービス
+ *
+ * 完了した事案の実績活動時間から、（通報種別, 優先度, 地域セル）ごとの推定モデルを
+ * オンラインで更新します。
+ * - キーごとに件数・指数移動平均・分散のみを保持（キーあたり定数サイズ）
+ * - 1件の完了で 種別×優先度×セル / 種別×優先度 / 種別 の3粒度を更新
+ * - 更新した推定値はコミット後にイベントとして発行（指令サービスがプロセス内で参照）
+ * - 反映済みの通報IDを同じトランザクションで記録し、再配信・リトライされた完了を二重に計上しない
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class DurationModelService {
+
+    /** 学習対象とする活動時間の上限（分）。入力誤りによる外れ値を除外します。 */
+    private static final int MAX_DURATION_MINUTES = 24 * 60;
+
+    private final DurationModelStatRepository durationModelStatRepository;
+    private final DurationModelSampleRepository durationModelSampleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final double alpha;
+
+    public DurationModelService(DurationModelStatRepository durationModelStatRepository,
+                                DurationModelSampleRepository durationModelSampleRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${fire-captain.completion-report.duration-model.alpha:0.05}") double alpha) {
+        this.durationModelStatRepository = durationModelStatRepository;
+        this.durationModelSampleRepository = durationModelSampleRepository;
+        this.eventPublisher = eventPublisher;
+        this.alpha = alpha;
+    }
+
+    /**
+     * 推定モデルの全推定値を取得します（指令サービスの起動時同期用）。
+     *
+     * @return 推定値の一覧
+     */
+    public List<DurationEstimateDto> getEstimates() {
+        return durationModelStatRepository.findAll().stream()
+                .map(DurationModelService::toDto)
+                .toList();
+    }
+
+    /**
+     * 完了した事案の活動時間をモデルに反映します。
+     * 完了以外のイベント、活動時間が記録されていない通報、反映済みの通報は無視します。
+     * 反映済みの記録は統計と同じトランザクションで挿入するため、別インスタンスが同じ通報を
+     * 同時に反映した場合は主キー違反でロールバックされ、リトライ時に反映済みとして除外されます。
+     *
+     * @param events 緊急通報イベント
+     */
+    @Transactional
+    public void recordCompletions(List<EmergencyReportEvent> events) {
+        // 同一バッチ内の同じ通報は1件として扱う（バッチをまたぐ重複は反映済みの記録で除外）
+        Map<Long, EmergencyReportDto> completed = events.stream()
+                .map(EmergencyReportEvent::getReport)
+                .filter(report -> report.getStatus() == ReportStatus.COMPLETED)
+                .filter(report -> report.getActualDurationMinutes() != null
+                        && report.getActualDurationMinutes() >= 0
+                        && report.getActualDurationMinutes() <= MAX_DURATION_MINUTES)
+                .collect(Collectors.toMap(EmergencyReportDto::getId, Function.identity(),
+                        (first, second) -> second, LinkedHashMap::new));
+        if (completed.isEmpty()) {
+            return;
+        }
+        durationModelSampleRepository.findAllById(completed.keySet())
+                .forEach(sample -> completed.remove(sample.getReportId()));
+        if (completed.isEmpty()) {
+            log.debug("Duration model completions already recorded: events={}", events.size());
+            return;
+        }
+
+        Map<String, DurationModelStat> stats = new LinkedHashMap<>();
+        List<String> keys = completed.values().stream()
+                .flatMap(report -> keysFor(report).stream())
+                .distinct()
+                .toList();
+        durationModelStatRepository.findAllById(keys).forEach(stat -> stats.put(stat.getModelKey(), stat));
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, DurationModelStat> updated = new LinkedHashMap<>();
+        for (EmergencyReportDto report : completed.values()) {
+            long cell = GeoGrid.cellOf(report.getLocationLatitude(), report.getLocationLongitude());
+            if (report.getPriorityLevel() != null) {
+                if (cell != GeoGrid.ANY_CELL) {
+                    update(stats, updated, report.getEmergencyType(), report.getPriorityLevel(), cell,
+                            report.getActualDurationMinutes(), now);
+                }
+                update(stats, updated, report.getEmergencyType(), report.getPriorityLevel(), GeoGrid.ANY_CELL,
+                        report.getActualDurationMinutes(), now);
+            }
+            update(stats, updated, report.getEmergencyType(), null, GeoGrid.ANY_CELL,
+                    report.getActualDurationMinutes(), now);
+        }
+
+        durationModelSampleRepository.saveAll(completed.keySet().stream()
+                .map(reportId -> new DurationModelSample(reportId, now))
+                .toList());
+        durationModelStatRepository.saveAll(updated.values());
+        eventPublisher.publishEvent(DurationModelUpdateEvent.builder()
+                .estimates(updated.values().stream().map(DurationModelService::toDto).toList())
+                .publishedAt(now)
+                .build());
+        log.debug("Duration model updated: completions={}, keys={}", completed.size(), updated.size());
+    }
+
+    private void update(Map<String, DurationModelStat> stats, Map<String, DurationModelStat> updated,
+                        EmergencyType type, PriorityLevel priority, long cell, int minutes, LocalDateTime now) {
+        String key = modelKey(type, priority, cell);
+        DurationModelStat stat = stats.computeIfAbsent(key, k -> newStat(k, type, priority, cell));
+
+        // 指数移動平均・分散の逐次更新。学習初期は 1/n で重み付けし、単純平均から始める
+        long count = stat.getSampleCount() + 1;
+        double weight = Math.max(alpha, 1.0 / count);
+        double diff = minutes - stat.getMeanMinutes();
+        double increment = weight * diff;
+        stat.setMeanMinutes(stat.getMeanMinutes() + increment);
+        stat.setVarianceMinutes((1 - weight) * (stat.getVarianceMinutes() + diff * increment));
+        stat.setSampleCount(count);
+        stat.setUpdatedAt(now);
+        updated.put(key, stat);
+    }
+
+    private static List<String> keysFor(EmergencyReportDto report) {
+        long cell = GeoGrid.cellOf(report.getLocationLatitude(), report.getLocationLongitude());
+        List<String> keys = new ArrayList<>(3);
+        if (report.getPriorityLevel() != null) {
+            if (cell != GeoGrid.ANY_CELL) {
+                keys.add(modelKey(report.getEmergencyType(), report.getPriorityLevel(), cell));
+            }
+            keys.add(modelKey(report.getEmergencyType(), report.getPriorityLevel(), GeoGrid.ANY_CELL));
+        }
+        keys.add(modelKey(report.getEmergencyType(), null, GeoGrid.ANY_CELL));
+        return keys;
+    }
+
+    private static String modelKey(EmergencyType type, PriorityLevel priority, long cell) {
+        return type.name()
+                + '|' + (priority != null ? priority.name() : "*")
+                + '|' + (cell != GeoGrid.ANY_CELL ? Long.toString(cell) : "*");
+    }
+
+    private static DurationModelStat newStat(String key, EmergencyType type, PriorityLevel priority, long cell) {
+        DurationModelStat stat = new DurationModelStat();
+        stat.setModelKey(key);
+        stat.setEmergencyType(type);
+        stat.setPriorityLevel(priority);
+        stat.setAreaCell(cell != GeoGrid.ANY_CELL ? cell : null);
+        return stat;
+    }
+
+    private static DurationEstimateDto toDto(DurationModelStat stat) {
+        return DurationEstimateDto.builder()
+                .emergencyType(stat.getEmergencyType())
+                .priorityLevel(stat.getPriorityLevel())
+                .areaCell(stat.getAreaCell())
+                .sampleCount(stat.getSampleCount())
+                .meanMinutes(stat.getMeanMinutes())
+                .stdDevMinutes(Math.sqrt(Math.max(stat.getVarianceMinutes(), 0)))
+                .updatedAt(stat.getUpdatedAt())
+                .build();
+    }
+}
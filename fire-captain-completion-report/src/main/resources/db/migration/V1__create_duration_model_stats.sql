@@ -0,0 +1,13 @@
+-- 活動時間推定モデル（通報種別 × 優先度 × 地域セルごとのオンライン統計）
+CREATE TABLE duration_model_stats (
+    model_key           VARCHAR(64)       NOT NULL,
+    emergency_type      VARCHAR(32)       NOT NULL,
+    priority_level      VARCHAR(16),
+    area_cell           BIGINT,
+    sample_count        BIGINT            NOT NULL,
+    mean_minutes        DOUBLE PRECISION  NOT NULL,
+    variance_minutes    DOUBLE PRECISION  NOT NULL,
+    updated_at          TIMESTAMP         NOT NULL,
+    version             BIGINT            NOT NULL DEFAULT 0,
+    CONSTRAINT pk_duration_model_stats PRIMARY KEY (model_key)
+);
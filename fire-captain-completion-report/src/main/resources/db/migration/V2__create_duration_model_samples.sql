@@ -0,0 +1,6 @@
+-- 推定モデルに反映済みの完了事案（再配信・リトライによる二重計上の防止）
+CREATE TABLE duration_model_samples (
+    report_id           BIGINT            NOT NULL,
+    recorded_at         TIMESTAMP         NOT NULL,
+    CONSTRAINT pk_duration_model_samples PRIMARY KEY (report_id)
+);
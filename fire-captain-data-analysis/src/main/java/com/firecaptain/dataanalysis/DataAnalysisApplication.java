@@ -1,10 +1,14 @@
 package com.firecaptain.dataanalysis;
 
+import com.firecaptain.common.client.InterServiceClientConfig;
+import com.firecaptain.common.config.PerformanceConfig;
+import com.firecaptain.common.exception.GlobalExceptionHandler;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
@@ -32,10 +36,11 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  */
 @SpringBootApplication
 @EnableDiscoveryClient
-@EnableFeignClients
+@EnableFeignClients(basePackages = {"com.firecaptain.dataanalysis", "com.firecaptain.common.client"})
 @EnableCaching
 @EnableAsync
 @EnableScheduling
+@Import({InterServiceClientConfig.class, PerformanceConfig.class, GlobalExceptionHandler.class})
 public class DataAnalysisApplication {
 
     /**
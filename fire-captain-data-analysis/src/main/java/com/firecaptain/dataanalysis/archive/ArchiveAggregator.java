@@ -0,0 +1,34 @@
+package com.firecaptain.dataanalysis.archive;
+
+/**
+ * 事案アーカイブの集計処理
+ *
+ * 走査はセグメントの行範囲ごとに並列で行われ、各タスクが {@link #create()} した
+ * 中間結果を {@link #combine} でまとめます。中間結果はタスク内でのみ更新されます。
+ *
+ * @param <A> 中間結果の型
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public interface ArchiveAggregator<A> {
+
+    /**
+     * 空の中間結果を作成します。
+     */
+    A create();
+
+    /**
+     * チャンクの選択行を中間結果に加えます。
+     *
+     * @param accumulator 中間結果
+     * @param chunk       選択済みのチャンク
+     */
+    void accumulate(A accumulator, ArchiveChunk chunk);
+
+    /**
+     * 2つの中間結果をまとめます。
+     *
+     * @return まとめた結果（いずれかの引数を更新して返してもよい）
+     */
+    A combine(A left, A right);
+}
@@ -0,0 +1,110 @@
+package com.firecaptain.dataanalysis.archive;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 未封印行の追記ログ
+ *
+ * 封印前の行を固定長レコードで追記し、バッチごとに fsync します。
+ * 起動時にはログを読み戻して未封印行を復元します。ログは封印先のセグメント番号ごとに1ファイルで、
+ * セグメントの配置後に削除します（同じ番号のセグメントが存在するログは封印済みとみなせる）。
+ * 列挙型は序数で保存するため、ログを残したまま列挙型の並びを変えないでください。
+ * 未設定の優先度は {@link ArchiveRecord#NULL_CODE} で保存します。
+ */
+final class ArchiveAppendLog implements Closeable {
+
+    /** レコード長: ID 8 + 種別 1 + 優先度 1 + 受付時刻 8 + 緯度 4 + 経度 4 + 実績 4 + 推定 4 */
+    static final int RECORD_SIZE = 34;
+
+    private final Path path;
+    private final FileChannel channel;
+
+    private ArchiveAppendLog(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+    }
+
+    /**
+     * ログを開きます（存在しない場合は作成）。
+     */
+    static ArchiveAppendLog open(Path path) throws IOException {
+        return new ArchiveAppendLog(path, FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * 記録済みの行を読み戻します。書き込み途中で終わった末尾のレコードは切り捨てます。
+     *
+     * @return 記録済みの行
+     */
+    List<ArchiveRecord> replay() throws IOException {
+        long complete = channel.size() / RECORD_SIZE * RECORD_SIZE;
+        if (complete > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Archive append log exceeds 2GB: " + path);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) complete).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+            // 全体を読み込むまで繰り返す
+        }
+        buffer.flip();
+        List<ArchiveRecord> records = new ArrayList<>((int) (complete / RECORD_SIZE));
+        EmergencyType[] types = EmergencyType.values();
+        while (buffer.remaining() >= RECORD_SIZE) {
+            records.add(new ArchiveRecord(
+                    buffer.getLong(),
+                    types[buffer.get()],
+                    ArchiveRecord.priorityOf(buffer.get()),
+                    buffer.getLong(),
+                    buffer.getInt(),
+                    buffer.getInt(),
+                    buffer.getInt(),
+                    buffer.getInt()));
+        }
+        channel.truncate(complete);
+        channel.position(complete);
+        return records;
+    }
+
+    /**
+     * 行を追記し、ディスクへ同期します。
+     *
+     * @param records 追記する行
+     */
+    void append(List<ArchiveRecord> records) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(records.size() * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        for (ArchiveRecord record : records) {
+            buffer.putLong(record.id())
+                    .put((byte) record.emergencyType().ordinal())
+                    .put((byte) record.priorityCode())
+                    .putLong(record.receivedAtEpochSecond())
+                    .putInt(record.latitudeE7())
+                    .putInt(record.longitudeE7())
+                    .putInt(record.actualDurationMinutes())
+                    .putInt(record.estimatedDurationMinutes());
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
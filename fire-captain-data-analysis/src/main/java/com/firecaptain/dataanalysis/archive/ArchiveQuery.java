@@ -0,0 +1,77 @@
+package com.firecaptain.dataanalysis.archive;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportDto.PriorityLevel;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * 事案アーカイブの検索条件
+ *
+ * 通報種別・優先度はビットマスク（序数）、時刻はエポック秒、座標は1e-7度に変換済みの形で保持し、
+ * セグメントのゾーンマップ判定と行単位の選択の両方で使います。
+ *
+ * @param typeMask         対象の通報種別
+ * @param priorityMask     対象の優先度
+ * @param fromEpochSecond  受付時刻の下限（含む）
+ * @param toEpochSecond    受付時刻の上限（含まない）
+ * @param hasBoundingBox   範囲指定の有無
+ * @param minLatitudeE7    緯度の下限
+ * @param minLongitudeE7   経度の下限
+ * @param maxLatitudeE7    緯度の上限
+ * @param maxLongitudeE7   経度の上限
+ */
+public record ArchiveQuery(long typeMask,
+                           long priorityMask,
+                           long fromEpochSecond,
+                           long toEpochSecond,
+                           boolean hasBoundingBox,
+                           int minLatitudeE7,
+                           int minLongitudeE7,
+                           int maxLatitudeE7,
+                           int maxLongitudeE7) {
+
+    /** 全件 */
+    public static final ArchiveQuery ALL = of(null, null, null, null, null, null, null, null);
+
+    /**
+     * 検索条件を作成します。null の条件は絞り込みません。
+     * 範囲は4辺すべてが指定された場合のみ有効です。
+     *
+     * @param types      通報種別
+     * @param priorities 優先度
+     * @param from       受付時刻の下限（含む）
+     * @param to         受付時刻の上限（含まない）
+     * @return 検索条件
+     */
+    public static ArchiveQuery of(Collection<EmergencyType> types, Collection<PriorityLevel> priorities,
+                                  LocalDateTime from, LocalDateTime to,
+                                  Double minLatitude, Double minLongitude, Double maxLatitude, Double maxLongitude) {
+        boolean hasBoundingBox = minLatitude != null && minLongitude != null
+                && maxLatitude != null && maxLongitude != null;
+        return new ArchiveQuery(
+                mask(types),
+                mask(priorities),
+                from != null ? ArchiveRecord.toEpochSecond(from) : Long.MIN_VALUE,
+                to != null ? ArchiveRecord.toEpochSecond(to) : Long.MAX_VALUE,
+                hasBoundingBox,
+                hasBoundingBox ? ArchiveRecord.toFixed(minLatitude) : Integer.MIN_VALUE,
+                hasBoundingBox ? ArchiveRecord.toFixed(minLongitude) : Integer.MIN_VALUE,
+                hasBoundingBox ? ArchiveRecord.toFixed(maxLatitude) : Integer.MAX_VALUE,
+                hasBoundingBox ? ArchiveRecord.toFixed(maxLongitude) : Integer.MAX_VALUE);
+    }
+
+    private static long mask(Collection<? extends Enum<?>> values) {
+        if (values == null || values.isEmpty()) {
+            // 序数63は使わないため、辞書にないコード（-1 は63ビット目を参照する）には一致しない。
+            // 未設定のコード（62ビット目）には一致する
+            return Long.MAX_VALUE;
+        }
+        long mask = 0;
+        for (Enum<?> value : values) {
+            mask |= 1L << value.ordinal();
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,90 @@
+package com.firecaptain.dataanalysis.archive;
+
+import com.firecaptain.common.dto.EmergencyReportDto;
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportDto.PriorityLevel;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 事案アーカイブの1行
+ *
+ * 座標は1e-7度の固定小数点、欠損値は {@link #NULL_INT} で表します。
+ * 優先度が記録されていない通報は null のまま保持し、列では {@link #NULL_CODE} で表します。
+ *
+ * @param id                       通報ID
+ * @param emergencyType            通報種別
+ * @param priorityLevel            優先度（未設定の場合は null）
+ * @param receivedAtEpochSecond    受付時刻（エポック秒）
+ * @param latitudeE7               緯度（1e-7度）
+ * @param longitudeE7              経度（1e-7度）
+ * @param actualDurationMinutes    実績活動時間（分）
+ * @param estimatedDurationMinutes 推定活動時間（分）
+ */
+public record ArchiveRecord(long id,
+                            EmergencyType emergencyType,
+                            PriorityLevel priorityLevel,
+                            long receivedAtEpochSecond,
+                            int latitudeE7,
+                            int longitudeE7,
+                            int actualDurationMinutes,
+                            int estimatedDurationMinutes) {
+
+    /** 欠損値 */
+    public static final int NULL_INT = Integer.MIN_VALUE;
+
+    /**
+     * 欠損した列挙値のコード
+     *
+     * 辞書コード（序数）とは重ならない値で、条件を指定しない検索（全ビットのマスク）にのみ一致します。
+     * 序数63（辞書にないコード -1 が参照するビット）とも区別します。
+     */
+    public static final int NULL_CODE = 62;
+
+    /** 固定小数点座標のスケール */
+    public static final double COORDINATE_SCALE = 1e7;
+
+    /**
+     * 完了した通報からアーカイブ行を作成します。
+     *
+     * @param report 通報
+     * @return アーカイブ行
+     */
+    public static ArchiveRecord from(EmergencyReportDto report) {
+        return new ArchiveRecord(
+                report.getId(),
+                report.getEmergencyType(),
+                report.getPriorityLevel(),
+                toEpochSecond(report.getReceivedAt()),
+                toFixed(report.getLocationLatitude()),
+                toFixed(report.getLocationLongitude()),
+                report.getActualDurationMinutes() != null ? report.getActualDurationMinutes() : NULL_INT,
+                report.getEstimatedDurationMinutes() != null ? report.getEstimatedDurationMinutes() : NULL_INT);
+    }
+
+    /**
+     * 優先度の列コード（序数、未設定の場合は {@link #NULL_CODE}）
+     */
+    public int priorityCode() {
+        return priorityLevel != null ? priorityLevel.ordinal() : NULL_CODE;
+    }
+
+    /**
+     * 列コードから優先度を復元します。
+     *
+     * @param code 列コード
+     * @return 優先度（未設定の場合は null）
+     */
+    static PriorityLevel priorityOf(int code) {
+        return code == NULL_CODE ? null : PriorityLevel.values()[code];
+    }
+
+    public static long toEpochSecond(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    public static int toFixed(Double degrees) {
+        return degrees != null ? (int) Math.round(degrees * COORDINATE_SCALE) : NULL_INT;
+    }
+}
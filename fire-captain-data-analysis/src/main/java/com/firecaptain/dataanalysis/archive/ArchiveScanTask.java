@@ -0,0 +1,96 @@
+package com.firecaptain.dataanalysis.archive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 事案アーカイブの並列走査タスク（fork/join）
+ *
+ * 走査範囲の一覧を二分割しながらフォークし、範囲が1つになったら
+ * チャンク単位で選択・集計します。
+ */
+final class ArchiveScanTask<A> extends RecursiveTask<A> {
+
+    /** 1タスクが走査する最大行数 */
+    static final int RANGE_ROWS = 16 * ArchiveChunk.CAPACITY;
+
+    private final List<Range> ranges;
+    private final int from;
+    private final int to;
+    private final ArchiveQuery query;
+    private final ArchiveAggregator<A> aggregator;
+
+    ArchiveScanTask(List<Range> ranges, ArchiveQuery query, ArchiveAggregator<A> aggregator) {
+        this(ranges, 0, ranges.size(), query, aggregator);
+    }
+
+    private ArchiveScanTask(List<Range> ranges, int from, int to,
+                            ArchiveQuery query, ArchiveAggregator<A> aggregator) {
+        this.ranges = ranges;
+        this.from = from;
+        this.to = to;
+        this.query = query;
+        this.aggregator = aggregator;
+    }
+
+    /**
+     * セグメントごとに、ゾーンマップで除外されず受付時刻の条件に一致する行範囲を
+     * {@link #RANGE_ROWS} 行以下に分割して返します。
+     *
+     * @param segments セグメント
+     * @param query    検索条件
+     * @return 走査範囲
+     */
+    static List<Range> plan(List<ArchiveSegment> segments, ArchiveQuery query) {
+        List<Range> ranges = new ArrayList<>();
+        for (ArchiveSegment segment : segments) {
+            if (!segment.mayMatch(query)) {
+                continue;
+            }
+            int first = segment.lowerBound(query.fromEpochSecond());
+            int last = query.toEpochSecond() == Long.MAX_VALUE
+                    ? segment.getRowCount() : segment.lowerBound(query.toEpochSecond());
+            for (int start = first; start < last; start += RANGE_ROWS) {
+                ranges.add(new Range(segment, start, Math.min(start + RANGE_ROWS, last)));
+            }
+        }
+        return ranges;
+    }
+
+    @Override
+    protected A compute() {
+        if (to - from > 1) {
+            int middle = (from + to) >>> 1;
+            ArchiveScanTask<A> left = new ArchiveScanTask<>(ranges, from, middle, query, aggregator);
+            ArchiveScanTask<A> right = new ArchiveScanTask<>(ranges, middle, to, query, aggregator);
+            left.fork();
+            A rightResult = right.compute();
+            return aggregator.combine(left.join(), rightResult);
+        }
+        A accumulator = aggregator.create();
+        if (from == to) {
+            return accumulator;
+        }
+        Range range = ranges.get(from);
+        ArchiveChunk chunk = new ArchiveChunk();
+        for (int row = range.fromRow(); row < range.toRow(); row += ArchiveChunk.CAPACITY) {
+            int count = Math.min(ArchiveChunk.CAPACITY, range.toRow() - row);
+            range.segment().load(row, count, chunk);
+            if (chunk.select(query) > 0) {
+                aggregator.accumulate(accumulator, chunk);
+            }
+        }
+        return accumulator;
+    }
+
+    /**
+     * 走査範囲
+     *
+     * @param segment セグメント
+     * @param fromRow 開始行（含む）
+     * @param toRow   終了行（含まない）
+     */
+    record Range(ArchiveSegment segment, int fromRow, int toRow) {
+    }
+}
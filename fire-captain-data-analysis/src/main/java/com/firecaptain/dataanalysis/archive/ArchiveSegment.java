@@ -0,0 +1,285 @@
+package com.firecaptain.dataanalysis.archive;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportDto.PriorityLevel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 事案アーカイブセグメント（読み取り専用）
+ *
+ * 封印済みセグメントはファイルをメモリマップし、列をチャンク単位で
+ * {@link ArchiveChunk} の配列へ一括転送して走査します。
+ * ヘッダーのゾーンマップにより、条件に一致し得ないセグメントは列を読まずに除外します。
+ * インスタンスは不変で、複数スレッドから同時に走査できます。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public class ArchiveSegment {
+
+    /** 現在の列挙型に存在しない辞書コード */
+    static final byte UNKNOWN_CODE = -1;
+
+    private final long sequence;
+    private final ByteBuffer buffer;
+    private final ArchiveSegmentLayout layout;
+    private final long baseReceivedAt;
+    private final long maxReceivedAt;
+    private final int minLatitude;
+    private final int minLongitude;
+    private final int maxLatitude;
+    private final int maxLongitude;
+    private final long typeMask;
+    private final long priorityMask;
+    private final long sealedAt;
+
+    private final LongBuffer ids;
+    private final IntBuffer receivedDeltas;
+    private final IntBuffer latitudes;
+    private final IntBuffer longitudes;
+    private final IntBuffer actualDurations;
+    private final IntBuffer estimatedDurations;
+    private final byte[] typeCodeMap;
+    private final byte[] priorityCodeMap;
+    private final boolean canonicalCodes;
+
+    private ArchiveSegment(long sequence, ByteBuffer buffer, String source, boolean verify) {
+        this.sequence = sequence;
+        this.buffer = buffer;
+        if (buffer.capacity() < ArchiveSegmentLayout.HEADER_SIZE
+                || buffer.getInt(ArchiveSegmentLayout.OFFSET_MAGIC) != ArchiveSegmentLayout.MAGIC) {
+            throw new IllegalStateException("Not an archive segment: " + source);
+        }
+        int formatVersion = buffer.getInt(ArchiveSegmentLayout.OFFSET_FORMAT_VERSION);
+        if (formatVersion != ArchiveSegmentLayout.FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported archive segment format " + formatVersion + ": " + source);
+        }
+        this.layout = new ArchiveSegmentLayout(
+                buffer.getInt(ArchiveSegmentLayout.OFFSET_ROW_COUNT),
+                buffer.getInt(ArchiveSegmentLayout.OFFSET_DICTIONARY_BYTES));
+        if (layout.totalSize != buffer.capacity()) {
+            throw new IllegalStateException("Truncated archive segment: " + source);
+        }
+        if (verify) {
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(ArchiveSegmentLayout.HEADER_SIZE,
+                    buffer.capacity() - ArchiveSegmentLayout.HEADER_SIZE));
+            if ((int) crc.getValue() != buffer.getInt(ArchiveSegmentLayout.OFFSET_CRC)) {
+                throw new IllegalStateException("Archive segment checksum mismatch: " + source);
+            }
+        }
+
+        this.baseReceivedAt = buffer.getLong(ArchiveSegmentLayout.OFFSET_BASE_RECEIVED_AT);
+        this.maxReceivedAt = buffer.getLong(ArchiveSegmentLayout.OFFSET_MAX_RECEIVED_AT);
+        this.minLatitude = buffer.getInt(ArchiveSegmentLayout.OFFSET_MIN_LATITUDE);
+        this.minLongitude = buffer.getInt(ArchiveSegmentLayout.OFFSET_MIN_LONGITUDE);
+        this.maxLatitude = buffer.getInt(ArchiveSegmentLayout.OFFSET_MAX_LATITUDE);
+        this.maxLongitude = buffer.getInt(ArchiveSegmentLayout.OFFSET_MAX_LONGITUDE);
+        this.sealedAt = buffer.getLong(ArchiveSegmentLayout.OFFSET_SEALED_AT);
+
+        int n = layout.rowCount;
+        this.ids = column(layout.idsOffset, 8L * n).asLongBuffer();
+        this.receivedDeltas = column(layout.receivedDeltaOffset, 4L * n).asIntBuffer();
+        this.latitudes = column(layout.latitudeOffset, 4L * n).asIntBuffer();
+        this.longitudes = column(layout.longitudeOffset, 4L * n).asIntBuffer();
+        this.actualDurations = column(layout.actualDurationOffset, 4L * n).asIntBuffer();
+        this.estimatedDurations = column(layout.estimatedDurationOffset, 4L * n).asIntBuffer();
+
+        // 辞書コードを現在の列挙型の序数へ対応付ける（列挙型の並び替え・追加に耐える）
+        int position = layout.dictionaryOffset;
+        this.typeCodeMap = new byte[buffer.get(position) & 0xFF];
+        position = readDictionary(position + 1, typeCodeMap, EmergencyType.class);
+        this.priorityCodeMap = new byte[buffer.get(position) & 0xFF];
+        readDictionary(position + 1, priorityCodeMap, PriorityLevel.class);
+        this.typeMask = remapMask(buffer.getLong(ArchiveSegmentLayout.OFFSET_TYPE_MASK), typeCodeMap);
+        this.priorityMask = remapMask(buffer.getLong(ArchiveSegmentLayout.OFFSET_PRIORITY_MASK), priorityCodeMap);
+        this.canonicalCodes = isIdentity(typeCodeMap) && isIdentity(priorityCodeMap);
+    }
+
+    /**
+     * セグメントファイルをメモリマップして開きます。
+     * マップ領域はファイルを閉じた後も有効で、参照がなくなった時点で解放されます。
+     *
+     * @param sequence セグメント番号
+     * @param path     セグメントファイル
+     * @return セグメント
+     * @throws IOException 読み込みに失敗した場合
+     * @throws IllegalStateException ファイルが壊れている場合
+     */
+    static ArchiveSegment open(long sequence, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Archive segment exceeds 2GB: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ArchiveSegment(sequence, mapped.order(ByteOrder.LITTLE_ENDIAN), path.toString(), true);
+        }
+    }
+
+    /**
+     * 符号化済みのバッファ（未封印行のスナップショット）をセグメントとして扱います。
+     *
+     * @param sequence セグメント番号
+     * @param buffer   {@link ArchiveSegmentWriter#encode} の結果
+     * @return セグメント
+     */
+    static ArchiveSegment wrap(long sequence, ByteBuffer buffer) {
+        return new ArchiveSegment(sequence, buffer.order(ByteOrder.LITTLE_ENDIAN), "active-" + sequence, false);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int getRowCount() {
+        return layout.rowCount;
+    }
+
+    public long getSizeBytes() {
+        return layout.totalSize;
+    }
+
+    public long getBaseReceivedAt() {
+        return baseReceivedAt;
+    }
+
+    public long getMaxReceivedAt() {
+        return maxReceivedAt;
+    }
+
+    public long getSealedAt() {
+        return sealedAt;
+    }
+
+    /**
+     * ゾーンマップで、条件に一致する行が存在し得るかを判定します。
+     *
+     * @param query 検索条件
+     * @return 一致する行が存在し得る場合 true
+     */
+    public boolean mayMatch(ArchiveQuery query) {
+        if (layout.rowCount == 0
+                || (typeMask & query.typeMask()) == 0
+                || (priorityMask & query.priorityMask()) == 0
+                || maxReceivedAt < query.fromEpochSecond()
+                || baseReceivedAt >= query.toEpochSecond()) {
+            return false;
+        }
+        if (!query.hasBoundingBox()) {
+            return true;
+        }
+        return minLatitude <= maxLatitude
+                && maxLatitude >= query.minLatitudeE7() && minLatitude <= query.maxLatitudeE7()
+                && maxLongitude >= query.minLongitudeE7() && minLongitude <= query.maxLongitudeE7();
+    }
+
+    /**
+     * 受付時刻が指定値以上となる最初の行を返します（行は受付時刻順）。
+     *
+     * @param epochSecond 受付時刻（エポック秒）
+     * @return 行番号（該当なしの場合は行数）
+     */
+    public int lowerBound(long epochSecond) {
+        if (epochSecond <= baseReceivedAt) {
+            return 0;
+        }
+        if (epochSecond > maxReceivedAt) {
+            return layout.rowCount;
+        }
+        int target = (int) (epochSecond - baseReceivedAt);
+        int low = 0;
+        int high = layout.rowCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (receivedDeltas.get(mid) < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 行範囲の列をチャンクへ転送します。通報種別・優先度は現在の序数に変換します。
+     *
+     * @param from  開始行
+     * @param count 行数（チャンク容量以下）
+     * @param chunk 転送先
+     */
+    void load(int from, int count, ArchiveChunk chunk) {
+        chunk.reset(this, from, count, baseReceivedAt);
+        ids.get(from, chunk.ids, 0, count);
+        receivedDeltas.get(from, chunk.receivedDeltas, 0, count);
+        latitudes.get(from, chunk.latitudes, 0, count);
+        longitudes.get(from, chunk.longitudes, 0, count);
+        actualDurations.get(from, chunk.actualDurations, 0, count);
+        estimatedDurations.get(from, chunk.estimatedDurations, 0, count);
+        buffer.get(layout.typeCodesOffset + from, chunk.types, 0, count);
+        buffer.get(layout.priorityCodesOffset + from, chunk.priorities, 0, count);
+        if (!canonicalCodes) {
+            remap(chunk.types, count, typeCodeMap);
+            remap(chunk.priorities, count, priorityCodeMap);
+        }
+    }
+
+    private ByteBuffer column(int offset, long length) {
+        return buffer.slice(offset, (int) length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private <E extends Enum<E>> int readDictionary(int position, byte[] codeMap, Class<E> type) {
+        for (int code = 0; code < codeMap.length; code++) {
+            byte[] name = new byte[buffer.get(position) & 0xFF];
+            buffer.get(position + 1, name);
+            position += 1 + name.length;
+            codeMap[code] = UNKNOWN_CODE;
+            for (E constant : type.getEnumConstants()) {
+                if (constant.name().equals(new String(name, StandardCharsets.UTF_8))) {
+                    codeMap[code] = (byte) constant.ordinal();
+                }
+            }
+        }
+        return position;
+    }
+
+    private static long remapMask(long codeMask, byte[] codeMap) {
+        long mask = codeMask & (1L << ArchiveRecord.NULL_CODE);
+        for (int code = 0; code < codeMap.length; code++) {
+            if ((codeMask & (1L << code)) != 0 && codeMap[code] != UNKNOWN_CODE) {
+                mask |= 1L << codeMap[code];
+            }
+        }
+        return mask;
+    }
+
+    private static void remap(byte[] codes, int count, byte[] codeMap) {
+        for (int i = 0; i < count; i++) {
+            int code = codes[i];
+            if (code >= 0 && code < codeMap.length) {
+                codes[i] = codeMap[code];
+            } else if (code != ArchiveRecord.NULL_CODE) {
+                codes[i] = UNKNOWN_CODE;
+            }
+        }
+    }
+
+    private static boolean isIdentity(byte[] codeMap) {
+        for (int code = 0; code < codeMap.length; code++) {
+            if (codeMap[code] != code) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
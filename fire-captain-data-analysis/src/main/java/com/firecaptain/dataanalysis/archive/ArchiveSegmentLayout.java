@@ -0,0 +1,99 @@
+package com.firecaptain.dataanalysis.archive;
+
+/**
+ * 事案アーカイブセグメントのバイナリレイアウト
+ *
+ * リトルエンディアンの列指向形式です。行は受付時刻の昇順に並び、
+ * ヘッダーにはセグメント単位の統計（ゾーンマップ）を持ちます。
+ * <pre>
+ * ヘッダー（128バイト）
+ *   0  int   マジック "FCIA"
+ *   4  int   フォーマットバージョン
+ *   8  int   行数 n
+ *   12 int   本体（ヘッダー以降）のCRC32
+ *   16 long  受付時刻の基準値（最小値、エポック秒）
+ *   24 long  受付時刻の最大値（エポック秒）
+ *   32 int   緯度の最小値    36 int 経度の最小値
+ *   40 int   緯度の最大値    44 int 経度の最大値
+ *   48 long  含まれる通報種別コードのビットマスク
+ *   56 long  含まれる優先度コードのビットマスク
+ *   64 long  封印時刻（エポックミリ秒）
+ *   72 int   辞書のバイト数
+ * 本体
+ *   byte[...]  辞書（種別数, 種別名..., 優先度数, 優先度名...。名前は長さ1バイト + UTF-8）
+ *   long[n]    通報ID
+ *   int[n]     受付時刻（基準値からの差分秒）
+ *   int[n]     緯度（1e-7度）
+ *   int[n]     経度（1e-7度）
+ *   int[n]     実績活動時間（分）
+ *   int[n]     推定活動時間（分）
+ *   byte[n]    通報種別コード
+ *   byte[n]    優先度コード
+ * </pre>
+ * 時刻は直前の行との差分ではなく基準値からの差分で持ちます。各行を独立に復号できるため、
+ * スキャンのループに行間の依存が生じません。
+ */
+final class ArchiveSegmentLayout {
+
+    static final int MAGIC = 0x41494346;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 128;
+
+    static final int OFFSET_MAGIC = 0;
+    static final int OFFSET_FORMAT_VERSION = 4;
+    static final int OFFSET_ROW_COUNT = 8;
+    static final int OFFSET_CRC = 12;
+    static final int OFFSET_BASE_RECEIVED_AT = 16;
+    static final int OFFSET_MAX_RECEIVED_AT = 24;
+    static final int OFFSET_MIN_LATITUDE = 32;
+    static final int OFFSET_MIN_LONGITUDE = 36;
+    static final int OFFSET_MAX_LATITUDE = 40;
+    static final int OFFSET_MAX_LONGITUDE = 44;
+    static final int OFFSET_TYPE_MASK = 48;
+    static final int OFFSET_PRIORITY_MASK = 56;
+    static final int OFFSET_SEALED_AT = 64;
+    static final int OFFSET_DICTIONARY_BYTES = 72;
+
+    final int rowCount;
+    final int dictionaryBytes;
+
+    final int dictionaryOffset;
+    final int idsOffset;
+    final int receivedDeltaOffset;
+    final int latitudeOffset;
+    final int longitudeOffset;
+    final int actualDurationOffset;
+    final int estimatedDurationOffset;
+    final int typeCodesOffset;
+    final int priorityCodesOffset;
+    final long totalSize;
+
+    ArchiveSegmentLayout(int rowCount, int dictionaryBytes) {
+        this.rowCount = rowCount;
+        this.dictionaryBytes = dictionaryBytes;
+
+        long offset = HEADER_SIZE;
+        dictionaryOffset = (int) offset;
+        offset = align(offset + dictionaryBytes);
+        idsOffset = (int) offset;
+        offset = align(offset + 8L * rowCount);
+        receivedDeltaOffset = (int) offset;
+        offset = align(offset + 4L * rowCount);
+        latitudeOffset = (int) offset;
+        offset = align(offset + 4L * rowCount);
+        longitudeOffset = (int) offset;
+        offset = align(offset + 4L * rowCount);
+        actualDurationOffset = (int) offset;
+        offset = align(offset + 4L * rowCount);
+        estimatedDurationOffset = (int) offset;
+        offset = align(offset + 4L * rowCount);
+        typeCodesOffset = (int) offset;
+        offset = align(offset + rowCount);
+        priorityCodesOffset = (int) offset;
+        totalSize = align(offset + rowCount);
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+}
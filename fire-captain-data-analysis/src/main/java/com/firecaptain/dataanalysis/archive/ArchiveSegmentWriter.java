@@ -0,0 +1,166 @@
+package com.firecaptain.dataanalysis.archive;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportDto.PriorityLevel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 事案アーカイブセグメントの生成
+ *
+ * 行を受付時刻順に並べ替え、列ごとに符号化します。
+ * 列挙型は辞書符号化（コード = 現在の序数、辞書に名前を保存）し、
+ * 時刻はセグメント内の最小値からの差分秒で保存します。
+ * 未設定の優先度は辞書外の {@link ArchiveRecord#NULL_CODE} で保存し、ゾーンマップにも同じビットで含めます。
+ */
+final class ArchiveSegmentWriter {
+
+    private ArchiveSegmentWriter() {
+    }
+
+    /**
+     * 行をセグメント形式に符号化します。
+     *
+     * @param records  行
+     * @param sealedAt 封印時刻（エポックミリ秒）
+     * @return 符号化したセグメント（リトルエンディアンのヒープバッファ）
+     */
+    static ByteBuffer encode(List<ArchiveRecord> records, long sealedAt) {
+        List<ArchiveRecord> sorted = new ArrayList<>(records);
+        sorted.sort(Comparator.comparingLong(ArchiveRecord::receivedAtEpochSecond)
+                .thenComparingLong(ArchiveRecord::id));
+        int n = sorted.size();
+
+        byte[] dictionary = dictionary();
+        ArchiveSegmentLayout layout = new ArchiveSegmentLayout(n, dictionary.length);
+        if (layout.totalSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Archive segment exceeds 2GB: " + layout.totalSize);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) layout.totalSize).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(layout.dictionaryOffset, dictionary);
+
+        long base = n > 0 ? sorted.get(0).receivedAtEpochSecond() : 0;
+        long maxReceivedAt = n > 0 ? sorted.get(n - 1).receivedAtEpochSecond() : 0;
+        if (maxReceivedAt - base > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Archive segment spans too long a period: " + base + ".." + maxReceivedAt);
+        }
+        int minLat = Integer.MAX_VALUE;
+        int minLon = Integer.MAX_VALUE;
+        int maxLat = Integer.MIN_VALUE;
+        int maxLon = Integer.MIN_VALUE;
+        long typeMask = 0;
+        long priorityMask = 0;
+
+        for (int i = 0; i < n; i++) {
+            ArchiveRecord record = sorted.get(i);
+            int typeCode = record.emergencyType().ordinal();
+            int priorityCode = record.priorityCode();
+            buffer.putLong(layout.idsOffset + i * 8, record.id());
+            buffer.putInt(layout.receivedDeltaOffset + i * 4, (int) (record.receivedAtEpochSecond() - base));
+            buffer.putInt(layout.latitudeOffset + i * 4, record.latitudeE7());
+            buffer.putInt(layout.longitudeOffset + i * 4, record.longitudeE7());
+            buffer.putInt(layout.actualDurationOffset + i * 4, record.actualDurationMinutes());
+            buffer.putInt(layout.estimatedDurationOffset + i * 4, record.estimatedDurationMinutes());
+            buffer.put(layout.typeCodesOffset + i, (byte) typeCode);
+            buffer.put(layout.priorityCodesOffset + i, (byte) priorityCode);
+
+            typeMask |= 1L << typeCode;
+            priorityMask |= 1L << priorityCode;
+            // 座標の欠損行はゾーンマップに含めない（範囲指定の検索には一致しない）
+            if (record.latitudeE7() != ArchiveRecord.NULL_INT && record.longitudeE7() != ArchiveRecord.NULL_INT) {
+                minLat = Math.min(minLat, record.latitudeE7());
+                minLon = Math.min(minLon, record.longitudeE7());
+                maxLat = Math.max(maxLat, record.latitudeE7());
+                maxLon = Math.max(maxLon, record.longitudeE7());
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), ArchiveSegmentLayout.HEADER_SIZE,
+                buffer.capacity() - ArchiveSegmentLayout.HEADER_SIZE);
+
+        buffer.putInt(ArchiveSegmentLayout.OFFSET_MAGIC, ArchiveSegmentLayout.MAGIC);
+        buffer.putInt(ArchiveSegmentLayout.OFFSET_FORMAT_VERSION, ArchiveSegmentLayout.FORMAT_VERSION);
+        buffer.putInt(ArchiveSegmentLayout.OFFSET_ROW_COUNT, n);
+        buffer.putInt(ArchiveSegmentLayout.OFFSET_CRC, (int) crc.getValue());
+        buffer.putLong(ArchiveSegmentLayout.OFFSET_BASE_RECEIVED_AT, base);
+        buffer.putLong(ArchiveSegmentLayout.OFFSET_MAX_RECEIVED_AT, maxReceivedAt);
+        buffer.putInt(ArchiveSegmentLayout.OFFSET_MIN_LATITUDE, minLat);
+        buffer.putInt(ArchiveSegmentLayout.OFFSET_MIN_LONGITUDE, minLon);
+        buffer.putInt(ArchiveSegmentLayout.OFFSET_MAX_LATITUDE, maxLat);
+        buffer.putInt(ArchiveSegmentLayout.OFFSET_MAX_LONGITUDE, maxLon);
+        buffer.putLong(ArchiveSegmentLayout.OFFSET_TYPE_MASK, typeMask);
+        buffer.putLong(ArchiveSegmentLayout.OFFSET_PRIORITY_MASK, priorityMask);
+        buffer.putLong(ArchiveSegmentLayout.OFFSET_SEALED_AT, sealedAt);
+        buffer.putInt(ArchiveSegmentLayout.OFFSET_DICTIONARY_BYTES, dictionary.length);
+        return buffer;
+    }
+
+    /**
+     * 行をセグメントファイルとして指定パスへアトミックに配置します。
+     *
+     * @param records  行
+     * @param sealedAt 封印時刻（エポックミリ秒）
+     * @param target   出力先
+     * @throws IOException 書き込みに失敗した場合
+     */
+    static void write(List<ArchiveRecord> records, long sealedAt, Path target) throws IOException {
+        ByteBuffer buffer = encode(records, sealedAt);
+        Path directory = target.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            buffer.rewind();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(directory);
+    }
+
+    /**
+     * ディレクトリエントリの変更（作成・リネーム・削除）をディスクへ同期します。
+     * ディレクトリを開けないプラットフォーム（Windows）では何もしません。
+     *
+     * @param directory ディレクトリ
+     * @throws IOException 同期に失敗した場合
+     */
+    static void syncDirectory(Path directory) throws IOException {
+        if (System.getProperty("os.name", "").startsWith("Windows")) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private static byte[] dictionary() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        putNames(out, EmergencyType.values());
+        putNames(out, PriorityLevel.values());
+        return out.toByteArray();
+    }
+
+    private static void putNames(ByteArrayOutputStream out, Enum<?>[] values) {
+        out.write(values.length);
+        for (Enum<?> value : values) {
+            byte[] name = value.name().getBytes(StandardCharsets.UTF_8);
+            out.write(name.length);
+            out.write(name, 0, name.length);
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.firecaptain.dataanalysis.archive;
+
+import com.firecaptain.dataanalysis.dto.IncidentArchiveStatsDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 完了事案の列指向アーカイブ
+ *
+ * 完了イベントの行をまず未封印領域（メモリ + 追記ログ）に追加し、
+ * 行数または経過時間の上限に達したら受付時刻順の不変セグメントとして封印します。
+ * 封印済みセグメントはメモリマップで読み、走査は fork/join プールでセグメントの行範囲ごとに並列実行します。
+ * 未封印行も同じ形式に符号化したスナップショットとして走査対象に含めます。
+ *
+ * <p>イベントは少なくとも1回配信されるため、同じ通報の重複は未封印領域の中でのみ除去します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class IncidentArchive {
+
+    private static final Pattern SEGMENT_FILE = Pattern.compile("segment-(\\d{10})\\.fca");
+    private static final Pattern LOG_FILE = Pattern.compile("active-(\\d{10})\\.log");
+
+    private final Path directory;
+    private final int segmentRows;
+    private final long maxActiveAgeMs;
+    private final ForkJoinPool scanPool;
+    private final Counter appendedRows;
+    private final Counter prunedSegments;
+    private final Timer scanTimer;
+
+    private volatile List<ArchiveSegment> sealed = List.of();
+    private final List<Consumer<List<ArchiveRecord>>> listeners = new CopyOnWriteArrayList<>();
+
+    // 未封印領域（this で保護）
+    private final List<ArchiveRecord> active = new ArrayList<>();
+    private final Set<Long> activeIds = new HashSet<>();
+    private long activeSequence;
+    private long activeSinceMs;
+    private ArchiveAppendLog appendLog;
+    private ArchiveSegment activeSnapshot;
+
+    public IncidentArchive(@Value("${fire-captain.data-analysis.archive.directory}") String directory,
+                           @Value("${fire-captain.data-analysis.archive.segment-rows:65536}") int segmentRows,
+                           @Value("${fire-captain.data-analysis.archive.max-active-age-ms:300000}") long maxActiveAgeMs,
+                           @Qualifier("archiveScanPool") ForkJoinPool scanPool,
+                           MeterRegistry meterRegistry) {
+        this.directory = Path.of(directory);
+        this.segmentRows = segmentRows;
+        this.maxActiveAgeMs = maxActiveAgeMs;
+        this.scanPool = scanPool;
+        this.appendedRows = Counter.builder("fire_captain_archive_rows_appended")
+                .description("Completed incidents appended to the columnar archive")
+                .register(meterRegistry);
+        this.prunedSegments = Counter.builder("fire_captain_archive_segments_pruned")
+                .description("Archive segments skipped by zone-map predicate pushdown")
+                .register(meterRegistry);
+        this.scanTimer = Timer.builder("fire_captain_archive_scan")
+                .description("Columnar archive scan latency")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("fire_captain_archive_segments", this, archive -> archive.sealed.size())
+                .description("Sealed segments in the columnar archive")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 封印済みセグメントを開き、未封印行を追記ログから復元します。
+     */
+    @PostConstruct
+    public synchronized void initialize() throws IOException {
+        Files.createDirectories(directory);
+        List<ArchiveSegment> segments = new ArrayList<>();
+        long lastSequence = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "segment-*.fca")) {
+            for (Path file : files) {
+                Matcher matcher = SEGMENT_FILE.matcher(file.getFileName().toString());
+                if (!matcher.matches()) {
+                    continue;
+                }
+                long sequence = Long.parseLong(matcher.group(1));
+                segments.add(ArchiveSegment.open(sequence, file));
+                lastSequence = Math.max(lastSequence, sequence);
+            }
+        }
+        segments.sort(Comparator.comparingLong(ArchiveSegment::getSequence));
+        sealed = List.copyOf(segments);
+
+        // 封印済みのセグメント番号のログは、配置後・削除前に停止したもの
+        activeSequence = lastSequence + 1;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "active-*.log")) {
+            for (Path file : files) {
+                Matcher matcher = LOG_FILE.matcher(file.getFileName().toString());
+                if (matcher.matches() && Long.parseLong(matcher.group(1)) < activeSequence) {
+                    Files.delete(file);
+                }
+            }
+        }
+        appendLog = ArchiveAppendLog.open(logPath(activeSequence));
+        for (ArchiveRecord record : appendLog.replay()) {
+            if (activeIds.add(record.id())) {
+                active.add(record);
+            }
+        }
+        activeSinceMs = System.currentTimeMillis();
+        log.info("Incident archive opened: directory={}, segments={}, sealedRows={}, recoveredActiveRows={}",
+                directory, segments.size(), segments.stream().mapToLong(ArchiveSegment::getRowCount).sum(),
+                active.size());
+    }
+
+    /**
+     * 行を追加します。未封印行数が上限に達した場合は封印します。
+     *
+     * @param records 追加する行
+     * @return 追加した行数（未封印領域に既にある通報は除く）
+     */
+    public synchronized int append(List<ArchiveRecord> records) {
+        List<ArchiveRecord> accepted = new ArrayList<>(records.size());
+        for (ArchiveRecord record : records) {
+            if (!activeIds.contains(record.id())) {
+                accepted.add(record);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return 0;
+        }
+        try {
+            appendLog.append(accepted);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to incident archive log: " + appendLog.getPath(), e);
+        }
+        if (active.isEmpty()) {
+            activeSinceMs = System.currentTimeMillis();
+        }
+        for (ArchiveRecord record : accepted) {
+            activeIds.add(record.id());
+            active.add(record);
+        }
+        activeSnapshot = null;
+        appendedRows.increment(accepted.size());
+        for (Consumer<List<ArchiveRecord>> listener : listeners) {
+            listener.accept(accepted);
+        }
+        if (active.size() >= segmentRows) {
+            seal();
+        }
+        return accepted.size();
+    }
+
+    /**
+     * 未封印行が保持期間を超えた場合に封印します。
+     */
+    @Scheduled(fixedDelayString = "${fire-captain.data-analysis.archive.seal-check-interval-ms:30000}")
+    public synchronized void sealIfDue() {
+        if (!active.isEmpty() && System.currentTimeMillis() - activeSinceMs >= maxActiveAgeMs) {
+            seal();
+        }
+    }
+
+    /**
+     * 未封印行をセグメントとして封印します。
+     * セグメントの配置後にログを削除するため、途中で停止しても行は失われません。
+     * セグメントと次のログを用意できるまでは何も公開せず、公開後は行を封印済みとして扱います
+     * （公開後の失敗で同じ行を再び封印すると、走査で二重に数えるため）。
+     */
+    public synchronized void seal() {
+        if (active.isEmpty()) {
+            return;
+        }
+        Path target = segmentPath(activeSequence);
+        ArchiveSegment segment;
+        ArchiveAppendLog nextLog;
+        try {
+            ArchiveSegmentWriter.write(active, System.currentTimeMillis(), target);
+            segment = ArchiveSegment.open(activeSequence, target);
+            nextLog = ArchiveAppendLog.open(logPath(activeSequence + 1));
+        } catch (IOException e) {
+            // 未封印行とログはそのまま残し、次回の封印で同じセグメント番号に書き直す
+            throw new UncheckedIOException("Failed to seal incident archive segment: " + target, e);
+        }
+
+        List<ArchiveSegment> segments = new ArrayList<>(sealed);
+        segments.add(segment);
+        sealed = List.copyOf(segments);
+        ArchiveAppendLog previousLog = appendLog;
+        appendLog = nextLog;
+        activeSequence++;
+        active.clear();
+        activeIds.clear();
+        activeSnapshot = null;
+        log.info("Incident archive segment sealed: sequence={}, rows={}, bytes={}",
+                segment.getSequence(), segment.getRowCount(), segment.getSizeBytes());
+        removeSealedLog(previousLog);
+    }
+
+    /**
+     * 封印済みの行のログを削除します。
+     * 失敗してもログが残るだけで、次回起動時にセグメント番号から封印済みと判断して削除されます。
+     */
+    private void removeSealedLog(ArchiveAppendLog sealedLog) {
+        try {
+            sealedLog.close();
+            // 新しいログの作成を永続化してから、封印済みの行のログを削除する
+            ArchiveSegmentWriter.syncDirectory(directory);
+            Files.delete(sealedLog.getPath());
+        } catch (IOException e) {
+            log.warn("Failed to remove sealed incident archive log, it will be removed on the next start: path={}",
+                    sealedLog.getPath(), e);
+        }
+    }
+
+    /**
+     * 条件に一致する行を並列に走査して集計します。
+     *
+     * @param query      検索条件
+     * @param aggregator 集計処理
+     * @return 集計結果
+     */
+    public <A> A scan(ArchiveQuery query, ArchiveAggregator<A> aggregator) {
+        return scan(segments(), query, aggregator);
+    }
+
+    /**
+     * 指定したセグメント（{@link #subscribe} などで取得したスナップショット）を並列に走査して集計します。
+     *
+     * @param segments   走査対象のセグメント
+     * @param query      検索条件
+     * @param aggregator 集計処理
+     * @return 集計結果
+     */
+    public <A> A scan(List<ArchiveSegment> segments, ArchiveQuery query, ArchiveAggregator<A> aggregator) {
+        return scanTimer.record(() -> {
+            List<ArchiveScanTask.Range> ranges = ArchiveScanTask.plan(segments, query);
+            long scanned = ranges.stream().map(ArchiveScanTask.Range::segment).distinct().count();
+            prunedSegments.increment(segments.size() - scanned);
+            return scanPool.invoke(new ArchiveScanTask<>(ranges, query, aggregator));
+        });
+    }
+
+    /**
+     * 追加された行の通知先を登録し、登録時点のスナップショットを返します。
+     * スナップショットに含まれない行は、すべて通知先に渡されます（重複・欠落なし）。
+     * 通知はアーカイブのロック内で行うため、通知先は短時間で処理を終えてください。
+     *
+     * @param listener 追加された行の通知先
+     * @return 登録時点のセグメント
+     */
+    public synchronized List<ArchiveSegment> subscribe(Consumer<List<ArchiveRecord>> listener) {
+        listeners.add(listener);
+        return segments();
+    }
+
+    /**
+     * {@link #subscribe} で登録した通知先を解除します。
+     *
+     * @param listener 追加された行の通知先
+     */
+    public void unsubscribe(Consumer<List<ArchiveRecord>> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 封印済みセグメントと未封印行のスナップショットを、一貫した組み合わせで返します。
+     *
+     * @return 走査対象のセグメント
+     */
+    public synchronized List<ArchiveSegment> segments() {
+        if (active.isEmpty()) {
+            return sealed;
+        }
+        if (activeSnapshot == null) {
+            activeSnapshot = ArchiveSegment.wrap(activeSequence,
+                    ArchiveSegmentWriter.encode(active, System.currentTimeMillis()));
+        }
+        List<ArchiveSegment> segments = new ArrayList<>(sealed.size() + 1);
+        segments.addAll(sealed);
+        segments.add(activeSnapshot);
+        return segments;
+    }
+
+    /**
+     * アーカイブの統計情報を取得します。
+     *
+     * @return 統計情報
+     */
+    public synchronized IncidentArchiveStatsDto getStats() {
+        List<ArchiveSegment> segments = sealed;
+        long oldest = Long.MAX_VALUE;
+        long newest = Long.MIN_VALUE;
+        for (ArchiveSegment segment : segments()) {
+            if (segment.getRowCount() > 0) {
+                oldest = Math.min(oldest, segment.getBaseReceivedAt());
+                newest = Math.max(newest, segment.getMaxReceivedAt());
+            }
+        }
+        return IncidentArchiveStatsDto.builder()
+                .directory(directory.toString())
+                .sealedSegments(segments.size())
+                .sealedRows(segments.stream().mapToLong(ArchiveSegment::getRowCount).sum())
+                .sizeBytes(segments.stream().mapToLong(ArchiveSegment::getSizeBytes).sum())
+                .activeRows(active.size())
+                .oldestReceivedAt(oldest != Long.MAX_VALUE ? toLocalDateTime(oldest) : null)
+                .newestReceivedAt(newest != Long.MIN_VALUE ? toLocalDateTime(newest) : null)
+                .build();
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        // 未封印行はログに残っており、次回起動時に復元される
+        if (appendLog != null) {
+            appendLog.close();
+        }
+    }
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve(String.format("segment-%010d.fca", sequence));
+    }
+
+    private Path logPath(long sequence) {
+        return directory.resolve(String.format("active-%010d.log", sequence));
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+    }
+}
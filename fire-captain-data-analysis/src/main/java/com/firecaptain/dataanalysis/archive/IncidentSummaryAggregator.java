@@ -0,0 +1,104 @@
+package com.firecaptain.dataanalysis.archive;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportDto.PriorityLevel;
+
+/**
+ * 件数・種別別件数・優先度別件数・活動時間の集計
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public class IncidentSummaryAggregator implements ArchiveAggregator<IncidentSummaryAggregator.Summary> {
+
+    @Override
+    public Summary create() {
+        return new Summary();
+    }
+
+    @Override
+    public void accumulate(Summary summary, ArchiveChunk chunk) {
+        int[] selection = chunk.selection();
+        int selected = chunk.selected();
+        for (int s = 0; s < selected; s++) {
+            int i = selection[s];
+            summary.countsByType[chunk.typeOrdinal(i)]++;
+            int priority = chunk.priorityOrdinal(i);
+            if (priority == ArchiveRecord.NULL_CODE) {
+                summary.unknownPriorityCount++;
+            } else {
+                summary.countsByPriority[priority]++;
+            }
+            int actual = chunk.actualDurationMinutes(i);
+            if (actual != ArchiveRecord.NULL_INT) {
+                summary.actualDurationSum += actual;
+                summary.actualDurationCount++;
+            }
+            int estimated = chunk.estimatedDurationMinutes(i);
+            if (estimated != ArchiveRecord.NULL_INT) {
+                summary.estimatedDurationSum += estimated;
+                summary.estimatedDurationCount++;
+            }
+        }
+        summary.count += selected;
+    }
+
+    @Override
+    public Summary combine(Summary left, Summary right) {
+        for (int i = 0; i < left.countsByType.length; i++) {
+            left.countsByType[i] += right.countsByType[i];
+        }
+        for (int i = 0; i < left.countsByPriority.length; i++) {
+            left.countsByPriority[i] += right.countsByPriority[i];
+        }
+        left.unknownPriorityCount += right.unknownPriorityCount;
+        left.count += right.count;
+        left.actualDurationSum += right.actualDurationSum;
+        left.actualDurationCount += right.actualDurationCount;
+        left.estimatedDurationSum += right.estimatedDurationSum;
+        left.estimatedDurationCount += right.estimatedDurationCount;
+        return left;
+    }
+
+    /**
+     * 集計の中間結果（選択行は辞書に存在する種別・優先度のみ）
+     */
+    public static final class Summary {
+
+        private final long[] countsByType = new long[EmergencyType.values().length];
+        private final long[] countsByPriority = new long[PriorityLevel.values().length];
+        private long unknownPriorityCount;
+        private long count;
+        private long actualDurationSum;
+        private long actualDurationCount;
+        private long estimatedDurationSum;
+        private long estimatedDurationCount;
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getCount(EmergencyType type) {
+            return countsByType[type.ordinal()];
+        }
+
+        public long getCount(PriorityLevel priority) {
+            return countsByPriority[priority.ordinal()];
+        }
+
+        /**
+         * 優先度が記録されていない件数
+         */
+        public long getUnknownPriorityCount() {
+            return unknownPriorityCount;
+        }
+
+        public Double getAverageActualDurationMinutes() {
+            return actualDurationCount > 0 ? (double) actualDurationSum / actualDurationCount : null;
+        }
+
+        public Double getAverageEstimatedDurationMinutes() {
+            return estimatedDurationCount > 0 ? (double) estimatedDurationSum / estimatedDurationCount : null;
+        }
+    }
+}
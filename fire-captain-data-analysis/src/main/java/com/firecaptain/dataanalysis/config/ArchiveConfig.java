@@ -0,0 +1,35 @@
+package com.firecaptain.dataanalysis.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * 事案アーカイブ設定クラス
+ *
+ * 列指向アーカイブの並列走査と、ホットスポットタイルの並列計算に使う fork/join プールを定義します。
+ * 共通プールを使わないことで、他の並列処理と走査が互いに待たされないようにします。
+ */
+@Configuration
+public class ArchiveConfig {
+
+    /** 走査の並列度（0 の場合はCPUコア数） */
+    @Value("${fire-captain.data-analysis.archive.scan-parallelism:0}")
+    private int scanParallelism;
+
+    /**
+     * アーカイブ走査用 fork/join プール
+     */
+    @Bean(name = "archiveScanPool", destroyMethod = "shutdown")
+    public ForkJoinPool archiveScanPool() {
+        int parallelism = scanParallelism > 0 ? scanParallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("ArchiveScan-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+}
@@ -0,0 +1,136 @@
+package com.firecaptain.dataanalysis.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firecaptain.common.dto.EmergencyReportEvent;
+import com.firecaptain.common.messaging.PartitionedBatchListener;
+import com.firecaptain.common.messaging.PartitionedConsumerProperties;
+import com.firecaptain.common.messaging.PartitionedConsumerTopology;
+import com.firecaptain.dataanalysis.messaging.ArchiveEventHandler;
+import com.firecaptain.dataanalysis.messaging.EmergencyReportEventHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RabbitMQ設定クラス
+ *
+ * 通報の受付・完了を列指向アーカイブと分析スケッチへ取り込むための、
+ * 緊急通報イベント（受付・ステータス変更）のバッチコンシューマーを定義します。
+ * <ul>
+ *   <li>スケッチ: 共有キュー。各インスタンスが分担して取り込み、書き出し・取り込みで結合する</li>
+ *   <li>アーカイブ: インスタンスごとの永続キュー。アーカイブ（とホットスポット索引）はインスタンスごとに
+ *       ローカルに保持し結合の仕組みがないため、どのインスタンスも全件を取り込む</li>
+ * </ul>
+ */
+@Configuration
+public class RabbitConfig {
+
+    @Value("${fire-captain.data-analysis.emergency-events.exchange}")
+    private String emergencyEventsExchange;
+
+    @Value("${fire-captain.data-analysis.emergency-events.routing-key}")
+    private String emergencyEventsRoutingKey;
+
+    @Value("${fire-captain.data-analysis.archive.routing-key}")
+    private String archiveEventsRoutingKey;
+
+    @Bean
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public TopicExchange emergencyEventsExchange() {
+        return new TopicExchange(emergencyEventsExchange, true, false);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "fire-captain.data-analysis.emergency-events.consumer")
+    public PartitionedConsumerProperties emergencyEventsConsumerProperties() {
+        return new PartitionedConsumerProperties();
+    }
+
+    @Bean
+    public Declarables emergencyEventsQueues(PartitionedConsumerProperties emergencyEventsConsumerProperties) {
+        return PartitionedConsumerTopology.declarables(emergencyEventsConsumerProperties);
+    }
+
+    @Bean
+    public Binding emergencyEventsBinding(PartitionedConsumerProperties emergencyEventsConsumerProperties,
+                                          TopicExchange emergencyEventsExchange) {
+        return BindingBuilder.bind(new Queue(emergencyEventsConsumerProperties.getQueue()))
+                .to(emergencyEventsExchange)
+                .with(emergencyEventsRoutingKey);
+    }
+
+    @Bean
+    public PartitionedBatchListener<EmergencyReportEvent> emergencyEventsListener(
+            PartitionedConsumerProperties emergencyEventsConsumerProperties,
+            EmergencyReportEventHandler emergencyReportEventHandler,
+            ObjectMapper objectMapper,
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry) {
+        return new PartitionedBatchListener<>(emergencyEventsConsumerProperties, EmergencyReportEvent.class,
+                emergencyReportEventHandler, objectMapper, rabbitTemplate, meterRegistry);
+    }
+
+    @Bean
+    public SimpleMessageListenerContainer emergencyEventsContainer(
+            ConnectionFactory connectionFactory,
+            PartitionedConsumerProperties emergencyEventsConsumerProperties,
+            PartitionedBatchListener<EmergencyReportEvent> emergencyEventsListener) {
+        return PartitionedConsumerTopology.container(connectionFactory, emergencyEventsConsumerProperties,
+                emergencyEventsListener);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "fire-captain.data-analysis.archive.consumer")
+    public PartitionedConsumerProperties archiveEventsConsumerProperties() {
+        return new PartitionedConsumerProperties();
+    }
+
+    @Bean
+    public Declarables archiveEventsQueues(PartitionedConsumerProperties archiveEventsConsumerProperties) {
+        return PartitionedConsumerTopology.declarables(archiveEventsConsumerProperties);
+    }
+
+    @Bean
+    public Binding archiveEventsBinding(PartitionedConsumerProperties archiveEventsConsumerProperties,
+                                        TopicExchange emergencyEventsExchange) {
+        return BindingBuilder.bind(new Queue(archiveEventsConsumerProperties.getQueue()))
+                .to(emergencyEventsExchange)
+                .with(archiveEventsRoutingKey);
+    }
+
+    @Bean
+    public PartitionedBatchListener<EmergencyReportEvent> archiveEventsListener(
+            PartitionedConsumerProperties archiveEventsConsumerProperties,
+            ArchiveEventHandler archiveEventHandler,
+            ObjectMapper objectMapper,
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry) {
+        return new PartitionedBatchListener<>(archiveEventsConsumerProperties, EmergencyReportEvent.class,
+                archiveEventHandler, objectMapper, rabbitTemplate, meterRegistry);
+    }
+
+    @Bean
+    public SimpleMessageListenerContainer archiveEventsContainer(
+            ConnectionFactory connectionFactory,
+            PartitionedConsumerProperties archiveEventsConsumerProperties,
+            PartitionedBatchListener<EmergencyReportEvent> archiveEventsListener) {
+        return PartitionedConsumerTopology.container(connectionFactory, archiveEventsConsumerProperties,
+                archiveEventsListener);
+    }
+}
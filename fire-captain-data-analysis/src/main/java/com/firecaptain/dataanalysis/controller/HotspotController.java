@@ -0,0 +1,74 @@
+package com.firecaptain.dataanalysis.controller;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.dataanalysis.dto.HotspotTileDto;
+import com.firecaptain.dataanalysis.service.HotspotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ホットスポットコントローラー
+ *
+ * 事案の密度（ヒートマップ）とクラスターを、固定解像度グリッドのタイル単位で提供します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/data-analysis/hotspots")
+@RequiredArgsConstructor
+public class HotspotController {
+
+    private final HotspotService hotspotService;
+
+    /**
+     * タイルのホットスポットを取得します。
+     *
+     * @param tileRow    タイルの行番号
+     * @param tileColumn タイルの列番号
+     * @param types      通報種別（省略時はすべて）
+     * @param startHour  時間帯の開始時（省略時は全時間帯）
+     * @param endHour    時間帯の終了時（省略時は全時間帯、開始より小さい場合は日をまたぐ）
+     * @return ホットスポットタイル
+     */
+    @GetMapping("/tiles/{tileRow}/{tileColumn}")
+    public HotspotTileDto getTile(
+            @PathVariable int tileRow,
+            @PathVariable int tileColumn,
+            @RequestParam(required = false) Set<EmergencyType> types,
+            @RequestParam(required = false) Integer startHour,
+            @RequestParam(required = false) Integer endHour) {
+        return hotspotService.getTile(tileRow, tileColumn, types, startHour, endHour);
+    }
+
+    /**
+     * 範囲を覆うタイルのホットスポットを取得します。
+     *
+     * @param minLat    緯度の下限
+     * @param minLon    経度の下限
+     * @param maxLat    緯度の上限
+     * @param maxLon    経度の上限
+     * @param types     通報種別（省略時はすべて）
+     * @param startHour 時間帯の開始時（省略時は全時間帯）
+     * @param endHour   時間帯の終了時（省略時は全時間帯）
+     * @return ホットスポットタイル
+     */
+    @GetMapping("/tiles")
+    public List<HotspotTileDto> getTiles(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam(required = false) Set<EmergencyType> types,
+            @RequestParam(required = false) Integer startHour,
+            @RequestParam(required = false) Integer endHour) {
+        return hotspotService.getTiles(minLat, minLon, maxLat, maxLon, types, startHour, endHour);
+    }
+}
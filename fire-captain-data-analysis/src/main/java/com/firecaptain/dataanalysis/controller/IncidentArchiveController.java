@@ -0,0 +1,70 @@
+package com.firecaptain.dataanalysis.controller;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportDto.PriorityLevel;
+import com.firecaptain.dataanalysis.archive.ArchiveQuery;
+import com.firecaptain.dataanalysis.dto.IncidentArchiveStatsDto;
+import com.firecaptain.dataanalysis.dto.IncidentArchiveSummaryDto;
+import com.firecaptain.dataanalysis.service.IncidentArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * 事案アーカイブコントローラー
+ *
+ * 完了事案の列指向アーカイブを、通報種別・優先度・期間・範囲で絞り込んで集計します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/data-analysis/archive")
+@RequiredArgsConstructor
+public class IncidentArchiveController {
+
+    private final IncidentArchiveService incidentArchiveService;
+
+    /**
+     * 条件に一致する完了事案を集計します。
+     *
+     * @param types      通報種別（省略時はすべて）
+     * @param priorities 優先度（省略時はすべて）
+     * @param from       受付時刻の下限（含む）
+     * @param to         受付時刻の上限（含まない）
+     * @param minLat     緯度の下限
+     * @param minLon     経度の下限
+     * @param maxLat     緯度の上限
+     * @param maxLon     経度の上限
+     * @return 集計結果
+     */
+    @GetMapping("/summary")
+    public IncidentArchiveSummaryDto summarize(
+            @RequestParam(required = false) Set<EmergencyType> types,
+            @RequestParam(required = false) Set<PriorityLevel> priorities,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLon,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLon) {
+        return incidentArchiveService.summarize(
+                ArchiveQuery.of(types, priorities, from, to, minLat, minLon, maxLat, maxLon));
+    }
+
+    /**
+     * アーカイブの統計情報を取得します。
+     *
+     * @return 統計情報
+     */
+    @GetMapping("/stats")
+    public IncidentArchiveStatsDto getStats() {
+        return incidentArchiveService.getStats();
+    }
+}
@@ -0,0 +1,119 @@
+package com.firecaptain.dataanalysis.controller;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.dataanalysis.dto.DistinctCountDto;
+import com.firecaptain.dataanalysis.dto.HeavyHitterDto;
+import com.firecaptain.dataanalysis.dto.QuantileSummaryDto;
+import com.firecaptain.dataanalysis.dto.SketchImportResultDto;
+import com.firecaptain.dataanalysis.service.SketchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 分析スケッチコントローラー
+ *
+ * 時間区間ごとのスケッチを結合して、期間内の異なり数・頻出値・分位点を推定します。
+ * 推定値には誤差があるため、厳密な件数が必要な場合は事案アーカイブの集計を使用してください。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/data-analysis/sketches")
+@RequiredArgsConstructor
+public class SketchController {
+
+    /** 頻出の発生場所の最大件数（スケッチが保持する上位候補の数） */
+    private static final int MAX_TOP_ADDRESSES = 64;
+
+    private final SketchService sketchService;
+
+    /**
+     * 期間内の通報者の異なり数を推定します。
+     *
+     * @param from      期間の開始（含む、省略時は保持期間の先頭）
+     * @param to        期間の終了（含まない、省略時は最新の区間まで）
+     * @param latitude  地域の緯度（省略時は全域）
+     * @param longitude 地域の経度（省略時は全域）
+     * @return 推定結果
+     */
+    @GetMapping("/distinct-callers")
+    public DistinctCountDto countDistinctCallers(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude) {
+        return sketchService.countDistinctCallers(from, to, latitude, longitude);
+    }
+
+    /**
+     * 期間内の頻出の発生場所を推定します。
+     *
+     * @param limit 件数（1〜64）
+     * @return 推定回数の多い順の発生場所
+     */
+    @GetMapping("/top-addresses")
+    public List<HeavyHitterDto> findTopAddresses(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "10") int limit) {
+        return sketchService.findTopAddresses(from, to, Math.max(1, Math.min(limit, MAX_TOP_ADDRESSES)));
+    }
+
+    /**
+     * 期間内の活動時間の分位点を推定します。
+     *
+     * @param type      通報種別（省略時は全種別）
+     * @param quantiles 分位（0〜1）
+     * @return 推定結果
+     */
+    @GetMapping("/duration-quantiles")
+    public QuantileSummaryDto estimateDurationQuantiles(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) EmergencyType type,
+            @RequestParam(defaultValue = "0.5,0.9,0.99") List<Double> quantiles) {
+        return sketchService.estimateDurationQuantiles(from, to, type, quantiles);
+    }
+
+    /**
+     * 期間と重なる区間のスケッチをバイナリ形式で書き出します。
+     *
+     * @return スケッチ
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSketches(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"sketches.bin\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(out -> sketchService.exportSketches(out, from, to));
+    }
+
+    /**
+     * 書き出されたスケッチを取り込み、その書き出し元から取り込んだ同じ区間を置き換えます。
+     * 同じ状態を繰り返し取り込んでも、件数・分位点は二重に数えられません。
+     *
+     * @param body スケッチ
+     * @return 取り込み結果
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public SketchImportResultDto importSketches(InputStream body) throws IOException {
+        return sketchService.importSketches(body);
+    }
+}
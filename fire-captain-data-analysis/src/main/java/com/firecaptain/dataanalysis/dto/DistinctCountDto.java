@@ -0,0 +1,39 @@
+package com.firecaptain.dataanalysis.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 異なり数の推定結果DTOクラス
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistinctCountDto {
+
+    /** 期間の開始 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime from;
+
+    /** 期間の終了 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime to;
+
+    /** 地域セル（全域の場合は null） */
+    private Long areaCell;
+
+    /** 推定異なり数 */
+    private Long estimate;
+
+    /** 推定値の標準誤差（相対） */
+    private Double relativeStandardError;
+}
@@ -0,0 +1,25 @@
+package com.firecaptain.dataanalysis.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 頻出値DTOクラス
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeavyHitterDto {
+
+    /** 値 */
+    private String value;
+
+    /** 推定出現回数（上側推定） */
+    private Long estimatedCount;
+}
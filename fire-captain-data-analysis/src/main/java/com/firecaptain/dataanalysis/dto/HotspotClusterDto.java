@@ -0,0 +1,53 @@
+package com.firecaptain.dataanalysis.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * ホットスポットクラスターDTOクラス
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotspotClusterDto implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 中心緯度（密度による重心） */
+    private Double centerLatitude;
+
+    /** 中心経度（密度による重心） */
+    private Double centerLongitude;
+
+    /** 外接矩形の最小緯度 */
+    private Double minLatitude;
+
+    /** 外接矩形の最小経度 */
+    private Double minLongitude;
+
+    /** 外接矩形の最大緯度 */
+    private Double maxLatitude;
+
+    /** 外接矩形の最大経度 */
+    private Double maxLongitude;
+
+    /** セル数 */
+    private Integer cellCount;
+
+    /** 事案件数 */
+    private Long incidentCount;
+
+    /** ピーク密度 */
+    private Float peakDensity;
+
+    /** ピーク密度のzスコア（タイル内） */
+    private Double zScore;
+}
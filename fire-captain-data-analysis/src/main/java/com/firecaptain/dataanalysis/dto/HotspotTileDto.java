@@ -0,0 +1,76 @@
+package com.firecaptain.dataanalysis.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ホットスポットタイルDTOクラス
+ *
+ * キャッシュ（dataAnalyses、オフヒープ）に格納するため直列化可能です。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotspotTileDto implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** タイルの行番号 */
+    private Integer tileRow;
+
+    /** タイルの列番号 */
+    private Integer tileColumn;
+
+    /** タイル1辺のセル数 */
+    private Integer tileSize;
+
+    /** セルサイズ（度） */
+    private Double cellSizeDegrees;
+
+    /** タイル南西端の緯度 */
+    private Double minLatitude;
+
+    /** タイル南西端の経度 */
+    private Double minLongitude;
+
+    /** 対象の通報種別（空の場合はすべて） */
+    private Set<EmergencyType> types;
+
+    /** 対象の時間帯の開始時 */
+    private Integer startHour;
+
+    /** 対象の時間帯の終了時 */
+    private Integer endHour;
+
+    /** タイルのバージョン */
+    private Long version;
+
+    /** タイル内の事案件数 */
+    private Long incidentCount;
+
+    /** 密度の最大値 */
+    private Float maxDensity;
+
+    /** 各セルの密度（tileSize × tileSize、行優先、南西端から） */
+    private float[] density;
+
+    /** クラスター */
+    private List<HotspotClusterDto> clusters;
+
+    /** 計算時刻 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,45 @@
+package com.firecaptain.dataanalysis.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 事案アーカイブ統計DTOクラス
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncidentArchiveStatsDto {
+
+    /** 格納ディレクトリ */
+    private String directory;
+
+    /** 封印済みセグメント数 */
+    private Integer sealedSegments;
+
+    /** 封印済み行数 */
+    private Long sealedRows;
+
+    /** 封印済みセグメントの合計サイズ（バイト） */
+    private Long sizeBytes;
+
+    /** 未封印行数 */
+    private Integer activeRows;
+
+    /** 最も古い受付時刻 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime oldestReceivedAt;
+
+    /** 最も新しい受付時刻 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime newestReceivedAt;
+}
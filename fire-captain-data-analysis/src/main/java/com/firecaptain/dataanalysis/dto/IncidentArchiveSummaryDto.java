@@ -0,0 +1,44 @@
+package com.firecaptain.dataanalysis.dto;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportDto.PriorityLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 事案アーカイブ集計結果DTOクラス
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncidentArchiveSummaryDto {
+
+    /** 一致件数 */
+    private Long count;
+
+    /** 通報種別ごとの件数 */
+    private Map<EmergencyType, Long> countsByType;
+
+    /** 優先度ごとの件数 */
+    private Map<PriorityLevel, Long> countsByPriority;
+
+    /** 優先度が記録されていない件数 */
+    private Long unknownPriorityCount;
+
+    /** 平均実績活動時間（分） */
+    private Double averageActualDurationMinutes;
+
+    /** 平均推定活動時間（分） */
+    private Double averageEstimatedDurationMinutes;
+
+    /** 走査時間（ミリ秒） */
+    private Long elapsedMs;
+}
@@ -0,0 +1,47 @@
+package com.firecaptain.dataanalysis.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 分位点の推定結果DTOクラス
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuantileSummaryDto {
+
+    /** 期間の開始 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime from;
+
+    /** 期間の終了 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime to;
+
+    /** 通報種別（全種別の場合は null） */
+    private EmergencyType emergencyType;
+
+    /** 件数 */
+    private Long count;
+
+    /** 最小値（分） */
+    private Double minMinutes;
+
+    /** 最大値（分） */
+    private Double maxMinutes;
+
+    /** 分位ごとの推定値（分） */
+    private Map<Double, Double> quantiles;
+}
@@ -0,0 +1,25 @@
+package com.firecaptain.dataanalysis.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * スケッチ取り込み結果DTOクラス
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SketchImportResultDto {
+
+    /** 置き換えた区間数（保持期間外の区間は含まない） */
+    private Integer mergedBuckets;
+
+    /** 区間の長さ（分） */
+    private Long bucketMinutes;
+}
@@ -0,0 +1,209 @@
+package com.firecaptain.dataanalysis.hotspot;
+
+import com.firecaptain.dataanalysis.dto.HotspotClusterDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * カーネル密度推定とクラスター検出
+ *
+ * 密度は2次元ガウスカーネルを横・縦の1次元畳み込みに分解して計算します。
+ * 内側のループは連続した配列に対する積和のみで、JIT の自動ベクトル化の対象になります。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public final class HotspotAnalyzer {
+
+    private HotspotAnalyzer() {
+    }
+
+    /**
+     * タイルの密度とクラスターを計算します。
+     *
+     * @param window      セル別件数（タイル + 両側のカーネル半径）
+     * @param kernel      1次元カーネル
+     * @param tileRow     タイルの行番号
+     * @param tileColumn  タイルの列番号
+     * @param zThreshold  クラスターとみなすzスコアの閾値
+     * @param minDensity  クラスターとみなす密度の下限
+     * @param maxClusters クラスターの最大件数
+     * @return 計算結果
+     */
+    public static Result analyze(HotspotIndex.TileWindow window, float[] kernel, int tileRow, int tileColumn,
+                                 double zThreshold, double minDensity, int maxClusters) {
+        int tile = HotspotGrid.TILE_SIZE;
+        int radius = (window.size() - tile) / 2;
+        float[] counts = new float[tile * tile];
+        long incidents = 0;
+        for (int row = 0; row < tile; row++) {
+            System.arraycopy(window.cells(), (row + radius) * window.size() + radius, counts, row * tile, tile);
+        }
+        for (float count : counts) {
+            incidents += (long) count;
+        }
+        float[] density = density(window, kernel);
+        float maxDensity = 0;
+        for (float value : density) {
+            maxDensity = Math.max(maxDensity, value);
+        }
+        List<HotspotClusterDto> clusters = clusters(density, counts, tileRow * tile, tileColumn * tile,
+                zThreshold, minDensity, maxClusters);
+        return new Result(density, incidents, maxDensity, clusters);
+    }
+
+    /**
+     * タイル内の各セルの密度（カーネルで重み付けした事案件数）を計算します。
+     *
+     * @param window セル別件数（タイル + 両側のカーネル半径）
+     * @param kernel 1次元カーネル（長さ 2 × 半径 + 1）
+     * @return 密度（TILE_SIZE × TILE_SIZE、行優先）
+     */
+    static float[] density(HotspotIndex.TileWindow window, float[] kernel) {
+        int tile = HotspotGrid.TILE_SIZE;
+        int size = window.size();
+        float[] in = window.cells();
+
+        // 横方向: size 行 × tile 列
+        float[] horizontal = new float[size * tile];
+        for (int row = 0; row < size; row++) {
+            int inBase = row * size;
+            int outBase = row * tile;
+            for (int k = 0; k < kernel.length; k++) {
+                float weight = kernel[k];
+                for (int column = 0; column < tile; column++) {
+                    horizontal[outBase + column] += weight * in[inBase + column + k];
+                }
+            }
+        }
+
+        // 縦方向: tile 行 × tile 列
+        float[] out = new float[tile * tile];
+        for (int row = 0; row < tile; row++) {
+            int outBase = row * tile;
+            for (int k = 0; k < kernel.length; k++) {
+                float weight = kernel[k];
+                int inBase = (row + k) * tile;
+                for (int column = 0; column < tile; column++) {
+                    out[outBase + column] += weight * horizontal[inBase + column];
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 密度が周囲より有意に高いセルを4近傍で連結し、クラスターとして返します。
+     * 密度の平均 + zThreshold × 標準偏差 以上、かつ minDensity 以上のセルを対象とします。
+     * クラスターはタイル境界で分割されます。
+     *
+     * @param density     密度（TILE_SIZE × TILE_SIZE）
+     * @param counts      セル別件数（TILE_SIZE × TILE_SIZE）
+     * @param firstRow    タイル先頭セルの行番号
+     * @param firstColumn タイル先頭セルの列番号
+     * @param zThreshold  zスコアの閾値
+     * @param minDensity  密度の下限
+     * @param maxClusters 最大件数
+     * @return ピーク密度の降順のクラスター
+     */
+    static List<HotspotClusterDto> clusters(float[] density, float[] counts, int firstRow, int firstColumn,
+                                            double zThreshold, double minDensity, int maxClusters) {
+        int tile = HotspotGrid.TILE_SIZE;
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (float value : density) {
+            sum += value;
+            sumOfSquares += (double) value * value;
+        }
+        double mean = sum / density.length;
+        double stdDev = Math.sqrt(Math.max(sumOfSquares / density.length - mean * mean, 0));
+        double threshold = Math.max(mean + zThreshold * stdDev, minDensity);
+
+        boolean[] visited = new boolean[density.length];
+        int[] stack = new int[density.length];
+        List<HotspotClusterDto> clusters = new ArrayList<>();
+        for (int start = 0; start < density.length; start++) {
+            if (visited[start] || density[start] < threshold) {
+                continue;
+            }
+            int top = 0;
+            stack[top++] = start;
+            visited[start] = true;
+            int cellCount = 0;
+            double incidents = 0;
+            double weight = 0;
+            double weightedRow = 0;
+            double weightedColumn = 0;
+            float peak = 0;
+            int minRow = Integer.MAX_VALUE;
+            int maxRow = Integer.MIN_VALUE;
+            int minColumn = Integer.MAX_VALUE;
+            int maxColumn = Integer.MIN_VALUE;
+            while (top > 0) {
+                int cell = stack[--top];
+                int row = cell / tile;
+                int column = cell % tile;
+                cellCount++;
+                incidents += counts[cell];
+                weight += density[cell];
+                weightedRow += density[cell] * (row + 0.5);
+                weightedColumn += density[cell] * (column + 0.5);
+                peak = Math.max(peak, density[cell]);
+                minRow = Math.min(minRow, row);
+                maxRow = Math.max(maxRow, row);
+                minColumn = Math.min(minColumn, column);
+                maxColumn = Math.max(maxColumn, column);
+
+                if (row > 0) {
+                    top = push(stack, top, visited, density, threshold, cell - tile);
+                }
+                if (row < tile - 1) {
+                    top = push(stack, top, visited, density, threshold, cell + tile);
+                }
+                if (column > 0) {
+                    top = push(stack, top, visited, density, threshold, cell - 1);
+                }
+                if (column < tile - 1) {
+                    top = push(stack, top, visited, density, threshold, cell + 1);
+                }
+            }
+            clusters.add(HotspotClusterDto.builder()
+                    .centerLatitude(HotspotGrid.latitudeOf(firstRow)
+                            + weightedRow / weight * HotspotGrid.CELL_SIZE_DEGREES)
+                    .centerLongitude(HotspotGrid.longitudeOf(firstColumn)
+                            + weightedColumn / weight * HotspotGrid.CELL_SIZE_DEGREES)
+                    .minLatitude(HotspotGrid.latitudeOf(firstRow + minRow))
+                    .minLongitude(HotspotGrid.longitudeOf(firstColumn + minColumn))
+                    .maxLatitude(HotspotGrid.latitudeOf(firstRow + maxRow + 1))
+                    .maxLongitude(HotspotGrid.longitudeOf(firstColumn + maxColumn + 1))
+                    .cellCount(cellCount)
+                    .incidentCount(Math.round(incidents))
+                    .peakDensity(peak)
+                    .zScore(stdDev > 0 ? (peak - mean) / stdDev : null)
+                    .build());
+        }
+        clusters.sort(Comparator.comparing(HotspotClusterDto::getPeakDensity).reversed());
+        return clusters.size() > maxClusters ? new ArrayList<>(clusters.subList(0, maxClusters)) : clusters;
+    }
+
+    private static int push(int[] stack, int top, boolean[] visited, float[] density, double threshold, int cell) {
+        if (!visited[cell] && density[cell] >= threshold) {
+            visited[cell] = true;
+            stack[top++] = cell;
+        }
+        return top;
+    }
+
+    /**
+     * タイルの計算結果
+     *
+     * @param density       各セルの密度
+     * @param incidentCount タイル内の事案件数
+     * @param maxDensity    密度の最大値
+     * @param clusters      クラスター
+     */
+    public record Result(float[] density, long incidentCount, float maxDensity, List<HotspotClusterDto> clusters) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.firecaptain.dataanalysis.hotspot;
+
+import com.firecaptain.dataanalysis.archive.ArchiveAggregator;
+import com.firecaptain.dataanalysis.archive.ArchiveChunk;
+import com.firecaptain.dataanalysis.archive.ArchiveRecord;
+
+/**
+ * アーカイブからセル別件数を集計する処理（ホットスポット索引の再構築用）
+ */
+final class HotspotCountAggregator implements ArchiveAggregator<HotspotCounts> {
+
+    @Override
+    public HotspotCounts create() {
+        return new HotspotCounts();
+    }
+
+    @Override
+    public void accumulate(HotspotCounts counts, ArchiveChunk chunk) {
+        int[] selection = chunk.selection();
+        for (int s = 0; s < chunk.selected(); s++) {
+            int i = selection[s];
+            int latitude = chunk.latitudeE7(i);
+            int longitude = chunk.longitudeE7(i);
+            if (latitude == ArchiveRecord.NULL_INT || longitude == ArchiveRecord.NULL_INT) {
+                continue;
+            }
+            counts.add(HotspotGrid.rowOf(latitude), HotspotGrid.columnOf(longitude),
+                    chunk.typeOrdinal(i), HotspotGrid.hourOf(chunk.receivedAtEpochSecond(i)));
+        }
+    }
+
+    @Override
+    public HotspotCounts combine(HotspotCounts left, HotspotCounts right) {
+        return left.merge(right);
+    }
+}
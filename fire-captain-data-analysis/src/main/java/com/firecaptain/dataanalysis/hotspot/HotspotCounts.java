@@ -0,0 +1,132 @@
+package com.firecaptain.dataanalysis.hotspot;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * セル × 通報種別 × 時間帯の事案件数
+ *
+ * タイルごとに、事案のあるセルだけ集計スロット配列を持つ疎な構造です。
+ * 同期は呼び出し側で行います。
+ */
+final class HotspotCounts {
+
+    private static final int TILE_CELLS = HotspotGrid.TILE_SIZE * HotspotGrid.TILE_SIZE;
+
+    private final Map<Long, int[][]> tiles = new HashMap<>();
+
+    /**
+     * 事案を加算します。
+     *
+     * @param row    セルの行番号
+     * @param column セルの列番号
+     * @param type   通報種別の序数
+     * @param hour   時間帯
+     */
+    void add(int row, int column, int type, int hour) {
+        int tileRow = HotspotGrid.tileOf(row);
+        int tileColumn = HotspotGrid.tileOf(column);
+        int[][] cells = tiles.computeIfAbsent(HotspotGrid.tileKey(tileRow, tileColumn), key -> new int[TILE_CELLS][]);
+        int index = (row - tileRow * HotspotGrid.TILE_SIZE) * HotspotGrid.TILE_SIZE
+                + (column - tileColumn * HotspotGrid.TILE_SIZE);
+        int[] slots = cells[index];
+        if (slots == null) {
+            slots = new int[HotspotGrid.SLOTS];
+            cells[index] = slots;
+        }
+        slots[type * HotspotGrid.HOURS + hour]++;
+    }
+
+    /**
+     * 別の件数を加算します（並列走査の結果の結合に使用）。
+     *
+     * @param other 加算する件数
+     * @return this
+     */
+    HotspotCounts merge(HotspotCounts other) {
+        for (Map.Entry<Long, int[][]> entry : other.tiles.entrySet()) {
+            int[][] cells = tiles.get(entry.getKey());
+            if (cells == null) {
+                tiles.put(entry.getKey(), entry.getValue());
+                continue;
+            }
+            int[][] source = entry.getValue();
+            for (int i = 0; i < TILE_CELLS; i++) {
+                if (source[i] == null) {
+                    continue;
+                }
+                if (cells[i] == null) {
+                    cells[i] = source[i];
+                    continue;
+                }
+                for (int slot = 0; slot < HotspotGrid.SLOTS; slot++) {
+                    cells[i][slot] += source[i][slot];
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 指定した範囲のセルについて、通報種別・時間帯で絞り込んだ件数を書き出します。
+     *
+     * @param firstRow    範囲の先頭行
+     * @param firstColumn 範囲の先頭列
+     * @param size        範囲の1辺のセル数
+     * @param typeMask    通報種別のビットマスク
+     * @param hourMask    時間帯のビットマスク
+     * @param out         出力先（size × size、行優先）
+     */
+    void window(int firstRow, int firstColumn, int size, long typeMask, int hourMask, float[] out) {
+        int[] selectedSlots = selectedSlots(typeMask, hourMask);
+        int lastRow = firstRow + size - 1;
+        int lastColumn = firstColumn + size - 1;
+        for (int tileRow = HotspotGrid.tileOf(firstRow); tileRow <= HotspotGrid.tileOf(lastRow); tileRow++) {
+            for (int tileColumn = HotspotGrid.tileOf(firstColumn);
+                 tileColumn <= HotspotGrid.tileOf(lastColumn); tileColumn++) {
+                int[][] cells = tiles.get(HotspotGrid.tileKey(tileRow, tileColumn));
+                if (cells == null) {
+                    continue;
+                }
+                int rowBase = tileRow * HotspotGrid.TILE_SIZE;
+                int columnBase = tileColumn * HotspotGrid.TILE_SIZE;
+                int fromRow = Math.max(firstRow, rowBase);
+                int toRow = Math.min(lastRow, rowBase + HotspotGrid.TILE_SIZE - 1);
+                int fromColumn = Math.max(firstColumn, columnBase);
+                int toColumn = Math.min(lastColumn, columnBase + HotspotGrid.TILE_SIZE - 1);
+                for (int row = fromRow; row <= toRow; row++) {
+                    for (int column = fromColumn; column <= toColumn; column++) {
+                        int[] slots = cells[(row - rowBase) * HotspotGrid.TILE_SIZE + (column - columnBase)];
+                        if (slots == null) {
+                            continue;
+                        }
+                        int sum = 0;
+                        for (int slot : selectedSlots) {
+                            sum += slots[slot];
+                        }
+                        out[(row - firstRow) * size + (column - firstColumn)] = sum;
+                    }
+                }
+            }
+        }
+    }
+
+    private static int[] selectedSlots(long typeMask, int hourMask) {
+        int[] slots = new int[HotspotGrid.SLOTS];
+        int count = 0;
+        for (int type = 0; type < EmergencyType.values().length; type++) {
+            if ((typeMask & (1L << type)) == 0) {
+                continue;
+            }
+            for (int hour = 0; hour < HotspotGrid.HOURS; hour++) {
+                if ((hourMask & (1 << hour)) != 0) {
+                    slots[count++] = type * HotspotGrid.HOURS + hour;
+                }
+            }
+        }
+        return Arrays.copyOf(slots, count);
+    }
+}
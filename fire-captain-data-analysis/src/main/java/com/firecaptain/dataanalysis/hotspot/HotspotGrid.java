@@ -0,0 +1,127 @@
+package com.firecaptain.dataanalysis.hotspot;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.geo.GeoGrid;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+
+/**
+ * ホットスポット分析のグリッド
+ *
+ * {@link GeoGrid} のセルを縦横 {@value #CELLS_PER_GEO_CELL} 分割した固定解像度のセル（約500m四方）を使い、
+ * {@value #TILE_SIZE} × {@value #TILE_SIZE} セルをタイルとしてまとめます。
+ * 座標は1e-7度の整数で扱うため、セルへの割り当てに丸め誤差が生じません。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public final class HotspotGrid {
+
+    /** GeoGrid のセル1辺あたりの分割数 */
+    public static final int CELLS_PER_GEO_CELL = 4;
+
+    /** セルサイズ（度） */
+    public static final double CELL_SIZE_DEGREES = GeoGrid.CELL_SIZE_DEGREES / CELLS_PER_GEO_CELL;
+
+    /** タイル1辺のセル数 */
+    public static final int TILE_SIZE = 64;
+
+    /** 時間帯の数（時刻の「時」） */
+    public static final int HOURS = 24;
+
+    /** セルごとの集計スロット数（通報種別 × 時間帯） */
+    static final int SLOTS = EmergencyType.values().length * HOURS;
+
+    /** セルサイズ（1e-7度） */
+    private static final int CELL_SIZE_E7 = (int) Math.round(CELL_SIZE_DEGREES * 1e7);
+
+    private static final ZoneRules ZONE_RULES = ZoneId.systemDefault().getRules();
+
+    private HotspotGrid() {
+    }
+
+    public static int rowOf(int latitudeE7) {
+        return Math.floorDiv(latitudeE7, CELL_SIZE_E7);
+    }
+
+    public static int columnOf(int longitudeE7) {
+        return Math.floorDiv(longitudeE7, CELL_SIZE_E7);
+    }
+
+    public static int rowOf(double latitude) {
+        return (int) Math.floor(latitude / CELL_SIZE_DEGREES);
+    }
+
+    public static int columnOf(double longitude) {
+        return (int) Math.floor(longitude / CELL_SIZE_DEGREES);
+    }
+
+    /**
+     * セルの行・列番号を含むタイルの番号を返します。
+     */
+    public static int tileOf(int cellRowOrColumn) {
+        return Math.floorDiv(cellRowOrColumn, TILE_SIZE);
+    }
+
+    public static long tileKey(int tileRow, int tileColumn) {
+        return ((long) tileRow << 32) | (tileColumn & 0xFFFFFFFFL);
+    }
+
+    public static int tileRowOf(long tileKey) {
+        return (int) (tileKey >> 32);
+    }
+
+    public static int tileColumnOf(long tileKey) {
+        return (int) tileKey;
+    }
+
+    /**
+     * セルの南西端の緯度を返します。
+     */
+    public static double latitudeOf(int cellRow) {
+        return cellRow * CELL_SIZE_DEGREES;
+    }
+
+    /**
+     * セルの西端の経度を返します。
+     */
+    public static double longitudeOf(int cellColumn) {
+        return cellColumn * CELL_SIZE_DEGREES;
+    }
+
+    /**
+     * 受付時刻の時間帯（システムのタイムゾーンでの「時」）を返します。
+     *
+     * @param epochSecond 受付時刻（エポック秒）
+     * @return 0〜23
+     */
+    public static int hourOf(long epochSecond) {
+        long local = epochSecond + ZONE_RULES.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        return (int) Math.floorMod(local / 3600, HOURS);
+    }
+
+    /**
+     * 時間帯の範囲をビットマスクに変換します。開始が終了より大きい場合は日をまたぐ範囲とします。
+     *
+     * @param startHour 開始時（含む、null の場合は全時間帯）
+     * @param endHour   終了時（含む、null の場合は全時間帯）
+     * @return 時間帯のビットマスク
+     */
+    public static int hourMask(Integer startHour, Integer endHour) {
+        if (startHour == null || endHour == null) {
+            return (1 << HOURS) - 1;
+        }
+        int mask = 0;
+        int hour = Math.floorMod(startHour, HOURS);
+        int end = Math.floorMod(endHour, HOURS);
+        while (true) {
+            mask |= 1 << hour;
+            if (hour == end) {
+                return mask;
+            }
+            hour = (hour + 1) % HOURS;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.firecaptain.dataanalysis.hotspot;
+
+import com.firecaptain.common.exception.ResourceNotFoundException;
+import com.firecaptain.dataanalysis.archive.ArchiveQuery;
+import com.firecaptain.dataanalysis.archive.ArchiveRecord;
+import com.firecaptain.dataanalysis.archive.ArchiveSegment;
+import com.firecaptain.dataanalysis.archive.IncidentArchive;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * ホットスポット索引
+ *
+ * 起動時にアーカイブ全体を fork/join で並列走査してセル別件数を構築し、
+ * 以降はアーカイブに追加された事案ごとに該当セルだけを加算します（再計算しない）。
+ * 加算のたびに、カーネルの影響が及ぶタイルのバージョンを進めるため、
+ * タイルの計算結果はバージョンをキーにしてキャッシュできます。
+ * 構築に失敗した場合は通知の登録を解除し、一定間隔で再構築を試みます。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class HotspotIndex {
+
+    private final IncidentArchive incidentArchive;
+    private final Executor analysisExecutor;
+    private final float[] kernel;
+    private final int kernelRadius;
+    private final Consumer<List<ArchiveRecord>> appendListener = this::onAppended;
+
+    // 以下は this で保護
+    private HotspotCounts counts = new HotspotCounts();
+    private final Map<Long, Long> tileVersions = new HashMap<>();
+    private long generation;
+    private boolean ready;
+    private boolean loading;
+    private List<ArchiveRecord> pending;
+
+    public HotspotIndex(IncidentArchive incidentArchive,
+                        @Qualifier("analysisExecutor") Executor analysisExecutor,
+                        @Value("${fire-captain.data-analysis.hotspot.bandwidth-cells:1.5}") double bandwidthCells) {
+        this.incidentArchive = incidentArchive;
+        this.analysisExecutor = analysisExecutor;
+        this.kernelRadius = Math.min((int) Math.ceil(3 * bandwidthCells), HotspotGrid.TILE_SIZE / 2);
+        this.kernel = gaussian(bandwidthCells, kernelRadius);
+    }
+
+    /**
+     * 起動完了後、分析用スレッドプールで索引を構築します（起動を待たせない）。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        submitLoad();
+    }
+
+    /**
+     * 構築に失敗している場合、索引を再構築します。
+     */
+    @Scheduled(initialDelayString = "${fire-captain.data-analysis.hotspot.retry-interval-ms:60000}",
+            fixedDelayString = "${fire-captain.data-analysis.hotspot.retry-interval-ms:60000}")
+    public void retryBuild() {
+        synchronized (this) {
+            if (ready) {
+                return;
+            }
+        }
+        submitLoad();
+    }
+
+    private void submitLoad() {
+        synchronized (this) {
+            if (loading) {
+                return;
+            }
+            loading = true;
+        }
+        try {
+            analysisExecutor.execute(this::load);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                loading = false;
+            }
+            log.error("Failed to schedule hotspot index build", e);
+        }
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        boolean subscribed = false;
+        boolean built = false;
+        try {
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+            // 登録以降に追加された行は pending に入り、スナップショットとの重複・欠落はない
+            List<ArchiveSegment> snapshot = incidentArchive.subscribe(appendListener);
+            subscribed = true;
+            HotspotCounts scanned = incidentArchive.scan(snapshot, ArchiveQuery.ALL, new HotspotCountAggregator());
+            synchronized (this) {
+                counts = scanned;
+                tileVersions.clear();
+                generation++;
+                int caughtUp = pending.size();
+                pending.forEach(this::add);
+                pending = null;
+                ready = true;
+                built = true;
+                log.info("Hotspot index built: segments={}, caughtUpRows={}, elapsedMs={}",
+                        snapshot.size(), caughtUp, (System.nanoTime() - started) / 1_000_000);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to build hotspot index; retrying later", e);
+        } finally {
+            if (!built && subscribed) {
+                // 次回の構築で登録し直すため、通知が重複しないよう解除する
+                incidentArchive.unsubscribe(appendListener);
+            }
+            synchronized (this) {
+                // 失敗時に追加された行を溜め続けない（次回の構築はスナップショットから読み直す）
+                pending = null;
+                loading = false;
+            }
+        }
+    }
+
+    private synchronized void onAppended(List<ArchiveRecord> records) {
+        if (pending != null) {
+            pending.addAll(records);
+            return;
+        }
+        if (ready) {
+            records.forEach(this::add);
+        }
+    }
+
+    private void add(ArchiveRecord record) {
+        if (record.latitudeE7() == ArchiveRecord.NULL_INT || record.longitudeE7() == ArchiveRecord.NULL_INT) {
+            return;
+        }
+        int row = HotspotGrid.rowOf(record.latitudeE7());
+        int column = HotspotGrid.columnOf(record.longitudeE7());
+        counts.add(row, column, record.emergencyType().ordinal(),
+                HotspotGrid.hourOf(record.receivedAtEpochSecond()));
+        // カーネルの影響範囲が重なるタイル（最大4枚）の結果が変わる
+        for (int tileRow = HotspotGrid.tileOf(row - kernelRadius);
+             tileRow <= HotspotGrid.tileOf(row + kernelRadius); tileRow++) {
+            for (int tileColumn = HotspotGrid.tileOf(column - kernelRadius);
+                 tileColumn <= HotspotGrid.tileOf(column + kernelRadius); tileColumn++) {
+                tileVersions.merge(HotspotGrid.tileKey(tileRow, tileColumn), 1L, Long::sum);
+            }
+        }
+    }
+
+    /**
+     * タイルとその周囲（カーネル半径分）のセル別件数を、バージョンと一貫した組み合わせで取得します。
+     *
+     * @param tileRow    タイルの行番号
+     * @param tileColumn タイルの列番号
+     * @param typeMask   通報種別のビットマスク
+     * @param hourMask   時間帯のビットマスク
+     * @return セル別件数
+     * @throws ResourceNotFoundException 索引の構築が完了していない場合
+     */
+    public synchronized TileWindow window(int tileRow, int tileColumn, long typeMask, int hourMask) {
+        if (!ready) {
+            throw new ResourceNotFoundException("Hotspot index is not ready");
+        }
+        int size = HotspotGrid.TILE_SIZE + 2 * kernelRadius;
+        float[] cells = new float[size * size];
+        counts.window(tileRow * HotspotGrid.TILE_SIZE - kernelRadius,
+                tileColumn * HotspotGrid.TILE_SIZE - kernelRadius, size, typeMask, hourMask, cells);
+        return new TileWindow(generation, tileVersions.getOrDefault(HotspotGrid.tileKey(tileRow, tileColumn), 0L),
+                size, cells);
+    }
+
+    /**
+     * タイルの現在のバージョンを返します（キャッシュキーの確認用）。
+     *
+     * @throws ResourceNotFoundException 索引の構築が完了していない場合
+     */
+    public synchronized TileVersion version(int tileRow, int tileColumn) {
+        if (!ready) {
+            throw new ResourceNotFoundException("Hotspot index is not ready");
+        }
+        return new TileVersion(generation, tileVersions.getOrDefault(HotspotGrid.tileKey(tileRow, tileColumn), 0L));
+    }
+
+    /**
+     * 1次元の正規化ガウスカーネル（長さ 2 × 半径 + 1）
+     */
+    public float[] kernel() {
+        return kernel.clone();
+    }
+
+    public int kernelRadius() {
+        return kernelRadius;
+    }
+
+    private static float[] gaussian(double sigma, int radius) {
+        float[] weights = new float[2 * radius + 1];
+        double sum = 0;
+        for (int i = -radius; i <= radius; i++) {
+            double weight = Math.exp(-(i * i) / (2 * sigma * sigma));
+            weights[i + radius] = (float) weight;
+            sum += weight;
+        }
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = (float) (weights[i] / sum);
+        }
+        return weights;
+    }
+
+    /**
+     * 索引の世代とタイルのバージョン
+     *
+     * @param generation 索引の世代（再構築のたびに増加）
+     * @param version    タイルのバージョン
+     */
+    public record TileVersion(long generation, long version) {
+    }
+
+    /**
+     * タイル計算用のセル別件数
+     *
+     * @param generation 索引の世代
+     * @param version    タイルのバージョン
+     * @param size       1辺のセル数（タイル + 両側のカーネル半径）
+     * @param cells      件数（size × size、行優先、南西端から）
+     */
+    public record TileWindow(long generation, long version, int size, float[] cells) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.firecaptain.dataanalysis.messaging;
+
+import com.firecaptain.common.dto.EmergencyReportEvent;
+import com.firecaptain.common.messaging.PartitionedMessageHandler;
+import com.firecaptain.dataanalysis.service.IncidentArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * アーカイブ取り込みイベントハンドラー
+ *
+ * 完了イベントをこのインスタンスのアーカイブへ取り込みます。アーカイブはインスタンスごとに保持するため、
+ * インスタンスごとの受信キューから全イベントを受け取ります。
+ * アーカイブへの追加は1か所で直列化されるため、レーンは通報IDで振り分け、
+ * バッチ単位の追記（ログの同期1回）で取り込みます。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class ArchiveEventHandler implements PartitionedMessageHandler<EmergencyReportEvent> {
+
+    private final IncidentArchiveService incidentArchiveService;
+
+    @Override
+    public Object aggregateId(EmergencyReportEvent event) {
+        return event.getReport().getId();
+    }
+
+    @Override
+    public void handleBatch(List<EmergencyReportEvent> events) {
+        incidentArchiveService.archiveCompletions(events);
+    }
+}
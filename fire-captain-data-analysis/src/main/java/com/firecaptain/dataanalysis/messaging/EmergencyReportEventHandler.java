@@ -0,0 +1,36 @@
+package com.firecaptain.dataanalysis.messaging;
+
+import com.firecaptain.common.dto.EmergencyReportEvent;
+import com.firecaptain.common.messaging.PartitionedMessageHandler;
+import com.firecaptain.dataanalysis.service.SketchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 緊急通報イベントハンドラー
+ *
+ * 受付イベントは通報者・発生場所のスケッチへ、完了イベントは活動時間のスケッチへ取り込みます。
+ * スケッチは共有キューで各インスタンスに分担して取り込み、書き出し・取り込みで結合します。
+ * アーカイブへの取り込みは {@link ArchiveEventHandler} が行います。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class EmergencyReportEventHandler implements PartitionedMessageHandler<EmergencyReportEvent> {
+
+    private final SketchService sketchService;
+
+    @Override
+    public Object aggregateId(EmergencyReportEvent event) {
+        return event.getReport().getId();
+    }
+
+    @Override
+    public void handleBatch(List<EmergencyReportEvent> events) {
+        sketchService.record(events);
+    }
+}
@@ -0,0 +1,148 @@
+package com.firecaptain.dataanalysis.service;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.exception.BusinessException;
+import com.firecaptain.dataanalysis.dto.HotspotTileDto;
+import com.firecaptain.dataanalysis.hotspot.HotspotAnalyzer;
+import com.firecaptain.dataanalysis.hotspot.HotspotGrid;
+import com.firecaptain.dataanalysis.hotspot.HotspotIndex;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * ホットスポット分析サービス
+ *
+ * 通報種別・時間帯で絞り込んだ事案の密度（カーネル密度推定）とクラスターを、タイル単位で提供します。
+ * タイルの結果は「索引の世代・タイルのバージョン・条件」をキーに dataAnalyses キャッシュへ格納するため、
+ * 事案が追加されていないタイルは再計算しません。複数タイルは fork/join プールで並列に計算します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Service
+public class HotspotService {
+
+    private static final String CACHE_NAME = "dataAnalyses";
+
+    private final HotspotIndex hotspotIndex;
+    private final Cache cache;
+    private final ForkJoinPool computePool;
+    private final double zThreshold;
+    private final double minDensity;
+    private final int maxClusters;
+    private final int maxTiles;
+
+    public HotspotService(HotspotIndex hotspotIndex,
+                          CacheManager cacheManager,
+                          @Qualifier("archiveScanPool") ForkJoinPool computePool,
+                          @Value("${fire-captain.data-analysis.hotspot.z-threshold:2.0}") double zThreshold,
+                          @Value("${fire-captain.data-analysis.hotspot.min-density:0.5}") double minDensity,
+                          @Value("${fire-captain.data-analysis.hotspot.max-clusters:50}") int maxClusters,
+                          @Value("${fire-captain.data-analysis.hotspot.max-tiles:64}") int maxTiles) {
+        this.hotspotIndex = hotspotIndex;
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.computePool = computePool;
+        this.zThreshold = zThreshold;
+        this.minDensity = minDensity;
+        this.maxClusters = maxClusters;
+        this.maxTiles = maxTiles;
+    }
+
+    /**
+     * タイルのホットスポットを取得します。
+     *
+     * @param tileRow    タイルの行番号
+     * @param tileColumn タイルの列番号
+     * @param types      通報種別（空の場合はすべて）
+     * @param startHour  時間帯の開始時（null の場合は全時間帯）
+     * @param endHour    時間帯の終了時（null の場合は全時間帯）
+     * @return ホットスポットタイル
+     */
+    public HotspotTileDto getTile(int tileRow, int tileColumn, Set<EmergencyType> types,
+                                  Integer startHour, Integer endHour) {
+        long typeMask = typeMask(types);
+        int hourMask = HotspotGrid.hourMask(startHour, endHour);
+        HotspotIndex.TileVersion version = hotspotIndex.version(tileRow, tileColumn);
+        String key = "hotspot:" + version.generation() + ":" + tileRow + ":" + tileColumn + ":"
+                + version.version() + ":" + typeMask + ":" + hourMask;
+        return cache.get(key, () -> compute(tileRow, tileColumn, types, startHour, endHour, typeMask, hourMask));
+    }
+
+    /**
+     * 範囲を覆うタイルのホットスポットを並列に取得します。
+     *
+     * @return ホットスポットタイル（南西から行優先）
+     * @throws BusinessException タイル数が上限を超える場合
+     */
+    public List<HotspotTileDto> getTiles(double minLatitude, double minLongitude,
+                                         double maxLatitude, double maxLongitude,
+                                         Set<EmergencyType> types, Integer startHour, Integer endHour) {
+        int firstTileRow = HotspotGrid.tileOf(HotspotGrid.rowOf(minLatitude));
+        int lastTileRow = HotspotGrid.tileOf(HotspotGrid.rowOf(maxLatitude));
+        int firstTileColumn = HotspotGrid.tileOf(HotspotGrid.columnOf(minLongitude));
+        int lastTileColumn = HotspotGrid.tileOf(HotspotGrid.columnOf(maxLongitude));
+        long tileCount = (long) (lastTileRow - firstTileRow + 1) * (lastTileColumn - firstTileColumn + 1);
+        if (lastTileRow < firstTileRow || lastTileColumn < firstTileColumn || tileCount > maxTiles) {
+            throw new BusinessException("get", "HotspotTile",
+                    "bounding box must cover between 1 and " + maxTiles + " tiles");
+        }
+
+        List<ForkJoinTask<HotspotTileDto>> tasks = new ArrayList<>((int) tileCount);
+        for (int tileRow = firstTileRow; tileRow <= lastTileRow; tileRow++) {
+            for (int tileColumn = firstTileColumn; tileColumn <= lastTileColumn; tileColumn++) {
+                int row = tileRow;
+                int column = tileColumn;
+                tasks.add(ForkJoinTask.adapt(() -> getTile(row, column, types, startHour, endHour)));
+            }
+        }
+        return computePool.invoke(ForkJoinTask.adapt(() -> {
+            ForkJoinTask.invokeAll(tasks);
+            return tasks.stream().map(ForkJoinTask::join).toList();
+        }));
+    }
+
+    private HotspotTileDto compute(int tileRow, int tileColumn, Set<EmergencyType> types,
+                                   Integer startHour, Integer endHour, long typeMask, int hourMask) {
+        HotspotIndex.TileWindow window = hotspotIndex.window(tileRow, tileColumn, typeMask, hourMask);
+        HotspotAnalyzer.Result result = HotspotAnalyzer.analyze(window, hotspotIndex.kernel(),
+                tileRow, tileColumn, zThreshold, minDensity, maxClusters);
+        return HotspotTileDto.builder()
+                .tileRow(tileRow)
+                .tileColumn(tileColumn)
+                .tileSize(HotspotGrid.TILE_SIZE)
+                .cellSizeDegrees(HotspotGrid.CELL_SIZE_DEGREES)
+                .minLatitude(HotspotGrid.latitudeOf(tileRow * HotspotGrid.TILE_SIZE))
+                .minLongitude(HotspotGrid.longitudeOf(tileColumn * HotspotGrid.TILE_SIZE))
+                .types(types != null ? Set.copyOf(types) : Set.of())
+                .startHour(startHour)
+                .endHour(endHour)
+                .version(window.version())
+                .incidentCount(result.incidentCount())
+                .maxDensity(result.maxDensity())
+                .density(result.density())
+                .clusters(result.clusters())
+                .computedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static long typeMask(Set<EmergencyType> types) {
+        if (types == null || types.isEmpty()) {
+            return (1L << EmergencyType.values().length) - 1;
+        }
+        long mask = 0;
+        for (EmergencyType type : types) {
+            mask |= 1L << type.ordinal();
+        }
+        return mask;
+    }
+}
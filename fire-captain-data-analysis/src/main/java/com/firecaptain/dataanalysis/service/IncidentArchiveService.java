@@ -0,0 +1,94 @@
+package com.firecaptain.dataanalysis.service;
+
+import com.firecaptain.common.dto.EmergencyReportDto;
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportDto.PriorityLevel;
+import com.firecaptain.common.dto.EmergencyReportDto.ReportStatus;
+import com.firecaptain.common.dto.EmergencyReportEvent;
+import com.firecaptain.dataanalysis.archive.ArchiveQuery;
+import com.firecaptain.dataanalysis.archive.ArchiveRecord;
+import com.firecaptain.dataanalysis.archive.IncidentArchive;
+import com.firecaptain.dataanalysis.archive.IncidentSummaryAggregator;
+import com.firecaptain.dataanalysis.dto.IncidentArchiveStatsDto;
+import com.firecaptain.dataanalysis.dto.IncidentArchiveSummaryDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 事案アーカイブサービス
+ *
+ * 完了イベントをアーカイブへ追加し、アーカイブに対する集計を提供します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IncidentArchiveService {
+
+    private final IncidentArchive incidentArchive;
+
+    /**
+     * 完了したステータス変更イベントをアーカイブへ追加します。
+     *
+     * @param events 緊急通報イベント
+     * @return 追加した行数
+     */
+    public int archiveCompletions(List<EmergencyReportEvent> events) {
+        Map<Long, ArchiveRecord> completed = new LinkedHashMap<>();
+        for (EmergencyReportEvent event : events) {
+            EmergencyReportDto report = event.getReport();
+            if (report.getStatus() != ReportStatus.COMPLETED
+                    || report.getEmergencyType() == null || report.getReceivedAt() == null) {
+                continue;
+            }
+            completed.put(report.getId(), ArchiveRecord.from(report));
+        }
+        if (completed.isEmpty()) {
+            return 0;
+        }
+        int appended = incidentArchive.append(List.copyOf(completed.values()));
+        log.debug("Completed incidents archived: received={}, appended={}", completed.size(), appended);
+        return appended;
+    }
+
+    /**
+     * 条件に一致する完了事案を集計します。
+     *
+     * @param query 検索条件
+     * @return 集計結果
+     */
+    public IncidentArchiveSummaryDto summarize(ArchiveQuery query) {
+        long started = System.nanoTime();
+        IncidentSummaryAggregator.Summary summary = incidentArchive.scan(query, new IncidentSummaryAggregator());
+
+        Map<EmergencyType, Long> countsByType = new EnumMap<>(EmergencyType.class);
+        for (EmergencyType type : EmergencyType.values()) {
+            countsByType.put(type, summary.getCount(type));
+        }
+        Map<PriorityLevel, Long> countsByPriority = new EnumMap<>(PriorityLevel.class);
+        for (PriorityLevel priority : PriorityLevel.values()) {
+            countsByPriority.put(priority, summary.getCount(priority));
+        }
+        return IncidentArchiveSummaryDto.builder()
+                .count(summary.getCount())
+                .countsByType(countsByType)
+                .countsByPriority(countsByPriority)
+                .unknownPriorityCount(summary.getUnknownPriorityCount())
+                .averageActualDurationMinutes(summary.getAverageActualDurationMinutes())
+                .averageEstimatedDurationMinutes(summary.getAverageEstimatedDurationMinutes())
+                .elapsedMs((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    public IncidentArchiveStatsDto getStats() {
+        return incidentArchive.getStats();
+    }
+}
@@ -0,0 +1,188 @@
+package com.firecaptain.dataanalysis.service;
+
+import com.firecaptain.common.dto.EmergencyReportDto;
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportDto.ReportStatus;
+import com.firecaptain.common.dto.EmergencyReportEvent;
+import com.firecaptain.common.geo.GeoGrid;
+import com.firecaptain.dataanalysis.dto.DistinctCountDto;
+import com.firecaptain.dataanalysis.dto.HeavyHitterDto;
+import com.firecaptain.dataanalysis.dto.QuantileSummaryDto;
+import com.firecaptain.dataanalysis.dto.SketchImportResultDto;
+import com.firecaptain.dataanalysis.sketch.HeavyHitters;
+import com.firecaptain.dataanalysis.sketch.HyperLogLog;
+import com.firecaptain.dataanalysis.sketch.SketchStore;
+import com.firecaptain.dataanalysis.sketch.TDigest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分析スケッチサービス
+ *
+ * 緊急通報イベントから時間区間ごとのスケッチを更新し、任意の期間について
+ * 区間のスケッチを結合して、通報者の異なり数・頻出の発生場所・活動時間の分位点を推定します。
+ * 集計クエリを実行しないため、期間が長くても結合する区間数に比例した時間で応答します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SketchService {
+
+    private final SketchStore sketchStore;
+
+    /**
+     * 受付イベントで通報者・発生場所を、完了イベントで活動時間を記録します。
+     *
+     * @param events 緊急通報イベント
+     */
+    public void record(List<EmergencyReportEvent> events) {
+        for (EmergencyReportEvent event : events) {
+            EmergencyReportDto report = event.getReport();
+            if (event.getType() == EmergencyReportEvent.EventType.CREATED) {
+                sketchStore.recordCall(toEpochMillis(report.getReceivedAt(), event.getOccurredAt()),
+                        GeoGrid.cellOf(report.getLocationLatitude(), report.getLocationLongitude()),
+                        normalizePhone(report.getCallerPhone()), normalizeAddress(report.getLocationAddress()));
+            } else if (report.getStatus() == ReportStatus.COMPLETED && report.getEmergencyType() != null
+                    && report.getActualDurationMinutes() != null && report.getActualDurationMinutes() >= 0) {
+                sketchStore.recordDuration(toEpochMillis(report.getCompletedAt(), event.getOccurredAt()),
+                        report.getEmergencyType(), report.getActualDurationMinutes());
+            }
+        }
+    }
+
+    /**
+     * 期間内の通報者の異なり数を推定します。
+     *
+     * @param from      開始（含む、null の場合は保持期間の先頭）
+     * @param to        終了（含まない、null の場合は最新の区間まで）
+     * @param latitude  地域の緯度（null の場合は全域）
+     * @param longitude 地域の経度（null の場合は全域）
+     * @return 推定結果
+     */
+    public DistinctCountDto countDistinctCallers(LocalDateTime from, LocalDateTime to,
+                                                 Double latitude, Double longitude) {
+        long areaCell = GeoGrid.cellOf(latitude, longitude);
+        HyperLogLog merged = sketchStore.mergeCallers(fromMillis(from), toMillis(to), areaCell);
+        return DistinctCountDto.builder()
+                .from(from)
+                .to(to)
+                .areaCell(areaCell != GeoGrid.ANY_CELL ? areaCell : null)
+                .estimate(merged.estimate())
+                .relativeStandardError(merged.relativeStandardError())
+                .build();
+    }
+
+    /**
+     * 期間内の頻出の発生場所を推定します。
+     *
+     * @param limit 件数
+     * @return 推定回数の多い順の発生場所
+     */
+    public List<HeavyHitterDto> findTopAddresses(LocalDateTime from, LocalDateTime to, int limit) {
+        HeavyHitters merged = sketchStore.mergeAddresses(fromMillis(from), toMillis(to));
+        return merged.top(limit).stream()
+                .map(entry -> HeavyHitterDto.builder()
+                        .value(entry.getKey())
+                        .estimatedCount(entry.getValue())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * 期間内の活動時間の分位点を推定します。
+     *
+     * @param type      通報種別（null の場合は全種別）
+     * @param quantiles 分位（0〜1）
+     * @return 推定結果
+     */
+    public QuantileSummaryDto estimateDurationQuantiles(LocalDateTime from, LocalDateTime to,
+                                                        EmergencyType type, List<Double> quantiles) {
+        TDigest merged = sketchStore.mergeDurations(fromMillis(from), toMillis(to), type);
+        Map<Double, Double> estimates = new LinkedHashMap<>();
+        if (merged.getCount() > 0) {
+            for (Double q : quantiles) {
+                estimates.put(q, merged.quantile(Math.max(0, Math.min(1, q))));
+            }
+        }
+        return QuantileSummaryDto.builder()
+                .from(from)
+                .to(to)
+                .emergencyType(type)
+                .count(merged.getCount())
+                .minMinutes(merged.getCount() > 0 ? merged.getMin() : null)
+                .maxMinutes(merged.getCount() > 0 ? merged.getMax() : null)
+                .quantiles(estimates)
+                .build();
+    }
+
+    /**
+     * 期間と重なる区間のスケッチを書き出します。
+     * 他の拠点・インスタンスで {@link #importSketches(InputStream)} により取り込めます（自インスタンスの区間のみ）。
+     *
+     * @param out 出力先
+     */
+    public void exportSketches(OutputStream out, LocalDateTime from, LocalDateTime to) throws IOException {
+        int count = sketchStore.exportTo(out, fromMillis(from), toMillis(to));
+        log.info("Sketches exported: buckets={}", count);
+    }
+
+    /**
+     * 書き出されたスケッチで、その書き出し元から取り込んだ同じ区間を置き換えます。
+     *
+     * @param in 入力
+     * @return 取り込み結果
+     */
+    public SketchImportResultDto importSketches(InputStream in) throws IOException {
+        int merged = sketchStore.importFrom(in);
+        log.info("Sketches imported: buckets={}", merged);
+        return SketchImportResultDto.builder()
+                .mergedBuckets(merged)
+                .bucketMinutes(sketchStore.getBucketMillis() / 60_000)
+                .build();
+    }
+
+    private static long fromMillis(LocalDateTime from) {
+        return from != null ? toEpochMillis(from, null) : Long.MIN_VALUE;
+    }
+
+    private static long toMillis(LocalDateTime to) {
+        return to != null ? toEpochMillis(to, null) : Long.MAX_VALUE;
+    }
+
+    private static long toEpochMillis(LocalDateTime time, LocalDateTime fallback) {
+        LocalDateTime value = time != null ? time : fallback != null ? fallback : LocalDateTime.now();
+        return value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 電話番号を数字のみに正規化します（表記揺れで同じ通報者を別人と数えない）。
+     */
+    private static String normalizePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = phone.replaceAll("[^0-9]", "");
+        return digits.isEmpty() ? null : digits;
+    }
+
+    private static String normalizeAddress(String address) {
+        if (address == null) {
+            return null;
+        }
+        String normalized = address.strip().replaceAll("\\s+", " ");
+        return normalized.isEmpty() ? null : normalized;
+    }
+}
@@ -0,0 +1,179 @@
+package com.firecaptain.dataanalysis.sketch;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Count-Min スケッチ + 上位候補（頻出値の推定）
+ *
+ * Count-Min スケッチで各値の出現回数を上側に推定し、推定値の大きい候補を固定数だけ保持します。
+ * 結合はカウンターの加算と候補の和集合で行い、候補の推定値は結合後のスケッチで引き直します。
+ * 同期は呼び出し側で行います。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public final class HeavyHitters {
+
+    private final int depth;
+    private final int width;
+    private final int capacity;
+    private final long[] counters;
+    private final Map<String, Long> candidates;
+    private long total;
+
+    /**
+     * @param depth    ハッシュ関数の数
+     * @param width    1行あたりのカウンター数（2のべき乗）
+     * @param capacity 保持する候補数
+     */
+    public HeavyHitters(int depth, int width, int capacity) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width must be a power of two: " + width);
+        }
+        this.depth = depth;
+        this.width = width;
+        this.capacity = capacity;
+        this.counters = new long[depth * width];
+        this.candidates = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * 値の出現を1回追加します。
+     *
+     * @param value 値
+     */
+    public void add(String value) {
+        long hash = SketchHash.hash(value);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + index(hash, row);
+            counters[index]++;
+            estimate = Math.min(estimate, counters[index]);
+        }
+        total++;
+        offer(value, estimate);
+    }
+
+    /**
+     * 値の出現回数を推定します（実際の回数以上、誤差は総数 × e / width 程度）。
+     */
+    public long estimate(String value) {
+        long hash = SketchHash.hash(value);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row * width + index(hash, row)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * 推定回数の多い順に上位の値を返します。
+     *
+     * @param limit 件数
+     * @return 値と推定回数
+     */
+    public List<Map.Entry<String, Long>> top(int limit) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(candidates.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+        return entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * 別のスケッチを結合します。
+     *
+     * @param other 同じ大きさのスケッチ
+     * @return this
+     */
+    public HeavyHitters merge(HeavyHitters other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("Cannot merge Count-Min sketch of " + other.depth + "x" + other.width
+                    + " into " + depth + "x" + width);
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        total += other.total;
+        List<String> values = new ArrayList<>(candidates.keySet());
+        values.addAll(other.candidates.keySet());
+        candidates.clear();
+        for (String value : values) {
+            offer(value, estimate(value));
+        }
+        return this;
+    }
+
+    public HeavyHitters copy() {
+        HeavyHitters copy = new HeavyHitters(depth, width, capacity);
+        System.arraycopy(counters, 0, copy.counters, 0, counters.length);
+        copy.candidates.putAll(candidates);
+        copy.total = total;
+        return copy;
+    }
+
+    private void offer(String value, long estimate) {
+        if (candidates.containsKey(value) || candidates.size() < capacity) {
+            candidates.put(value, estimate);
+            return;
+        }
+        Map.Entry<String, Long> smallest = candidates.entrySet().stream()
+                .min(Comparator.comparingLong(Map.Entry::getValue))
+                .orElseThrow();
+        if (estimate > smallest.getValue()) {
+            candidates.remove(smallest.getKey());
+            candidates.put(value, estimate);
+        }
+    }
+
+    private int index(long hash, int row) {
+        // 2つのハッシュの線形結合で depth 個のハッシュ関数を作る（Kirsch–Mitzenmacher）
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return (h1 + row * h2) & (width - 1);
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(depth);
+        out.writeInt(width);
+        out.writeInt(capacity);
+        out.writeLong(total);
+        for (long counter : counters) {
+            out.writeLong(counter);
+        }
+        out.writeInt(candidates.size());
+        for (String value : candidates.keySet()) {
+            out.writeUTF(value);
+        }
+    }
+
+    static HeavyHitters readFrom(DataInput in) throws IOException {
+        int depth = in.readInt();
+        int width = in.readInt();
+        int capacity = in.readInt();
+        if (depth < 1 || depth > 16 || width < 1 || width > (1 << 20) || capacity < 1 || capacity > 10_000) {
+            throw new IOException("Invalid Count-Min sketch dimensions: " + depth + "x" + width + ", " + capacity);
+        }
+        HeavyHitters sketch = new HeavyHitters(depth, width, capacity);
+        sketch.total = in.readLong();
+        for (int i = 0; i < sketch.counters.length; i++) {
+            sketch.counters[i] = in.readLong();
+        }
+        int candidates = Math.min(in.readInt(), capacity);
+        for (int i = 0; i < candidates; i++) {
+            String value = in.readUTF();
+            sketch.candidates.put(value, sketch.estimate(value));
+        }
+        return sketch;
+    }
+}
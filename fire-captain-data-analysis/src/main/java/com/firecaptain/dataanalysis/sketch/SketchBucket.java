@@ -0,0 +1,138 @@
+package com.firecaptain.dataanalysis.sketch;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.geo.GeoGrid;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 1つの時間区間のスケッチ
+ *
+ * <ul>
+ *   <li>通報者の異なり数: 全域（HyperLogLog、精度14）と地域セル別（精度10）</li>
+ *   <li>頻出の発生場所: Count-Min + 上位候補</li>
+ *   <li>活動時間の分位点: 全種別と通報種別ごとの t-digest</li>
+ * </ul>
+ * 更新・参照はインスタンスのロックで直列化します（時間区間ごとに独立したロック）。
+ * 他のレプリカから取り込んだ区間は更新せず、取り込み元の新しい状態で置き換えます。
+ */
+final class SketchBucket {
+
+    static final int CALLER_PRECISION = 14;
+    static final int AREA_CALLER_PRECISION = 10;
+    static final int ADDRESS_DEPTH = 4;
+    static final int ADDRESS_WIDTH = 1024;
+    static final int ADDRESS_CANDIDATES = 64;
+    static final double DURATION_COMPRESSION = 100;
+
+    private final long start;
+    private final HyperLogLog callers = new HyperLogLog(CALLER_PRECISION);
+    private final Map<Long, HyperLogLog> callersByArea = new HashMap<>();
+    private final HeavyHitters addresses = newAddressSketch();
+    private final TDigest durations = new TDigest(DURATION_COMPRESSION);
+    private final Map<EmergencyType, TDigest> durationsByType = new EnumMap<>(EmergencyType.class);
+
+    SketchBucket(long start) {
+        this.start = start;
+    }
+
+    long getStart() {
+        return start;
+    }
+
+    static HeavyHitters newAddressSketch() {
+        return new HeavyHitters(ADDRESS_DEPTH, ADDRESS_WIDTH, ADDRESS_CANDIDATES);
+    }
+
+    synchronized void recordCall(long areaCell, String callerPhone, String address) {
+        if (callerPhone != null) {
+            callers.add(callerPhone);
+            if (areaCell != GeoGrid.ANY_CELL) {
+                callersByArea.computeIfAbsent(areaCell, cell -> new HyperLogLog(AREA_CALLER_PRECISION))
+                        .add(callerPhone);
+            }
+        }
+        if (address != null) {
+            addresses.add(address);
+        }
+    }
+
+    synchronized void recordDuration(EmergencyType type, int minutes) {
+        durations.add(minutes);
+        durationsByType.computeIfAbsent(type, key -> new TDigest(DURATION_COMPRESSION)).add(minutes);
+    }
+
+    /**
+     * 通報者の異なり数スケッチを結合先に加えます。
+     *
+     * @param target   結合先（全域は精度14、地域セルは精度10）
+     * @param areaCell 地域セル（{@link GeoGrid#ANY_CELL} は全域）
+     */
+    synchronized void mergeCallersInto(HyperLogLog target, long areaCell) {
+        HyperLogLog source = areaCell == GeoGrid.ANY_CELL ? callers : callersByArea.get(areaCell);
+        if (source != null) {
+            target.merge(source);
+        }
+    }
+
+    synchronized void mergeAddressesInto(HeavyHitters target) {
+        target.merge(addresses);
+    }
+
+    /**
+     * 活動時間のダイジェストを結合先に加えます。
+     *
+     * @param target 結合先
+     * @param type   通報種別（null は全種別）
+     */
+    synchronized void mergeDurationsInto(TDigest target, EmergencyType type) {
+        TDigest source = type == null ? durations : durationsByType.get(type);
+        if (source != null) {
+            target.merge(source);
+        }
+    }
+
+    synchronized void writeTo(DataOutput out) throws IOException {
+        out.writeLong(start);
+        callers.writeTo(out);
+        out.writeInt(callersByArea.size());
+        for (Map.Entry<Long, HyperLogLog> entry : callersByArea.entrySet()) {
+            out.writeLong(entry.getKey());
+            entry.getValue().writeTo(out);
+        }
+        addresses.writeTo(out);
+        durations.writeTo(out);
+        out.writeInt(durationsByType.size());
+        for (Map.Entry<EmergencyType, TDigest> entry : durationsByType.entrySet()) {
+            out.writeUTF(entry.getKey().name());
+            entry.getValue().writeTo(out);
+        }
+    }
+
+    static SketchBucket readFrom(DataInput in) throws IOException {
+        SketchBucket bucket = new SketchBucket(in.readLong());
+        bucket.callers.merge(HyperLogLog.readFrom(in));
+        int areas = in.readInt();
+        for (int i = 0; i < areas; i++) {
+            bucket.callersByArea.put(in.readLong(), HyperLogLog.readFrom(in));
+        }
+        bucket.addresses.merge(HeavyHitters.readFrom(in));
+        bucket.durations.merge(TDigest.readFrom(in));
+        int types = in.readInt();
+        for (int i = 0; i < types; i++) {
+            String name = in.readUTF();
+            TDigest digest = TDigest.readFrom(in);
+            for (EmergencyType type : EmergencyType.values()) {
+                if (type.name().equals(name)) {
+                    bucket.durationsByType.put(type, digest);
+                }
+            }
+        }
+        return bucket;
+    }
+}
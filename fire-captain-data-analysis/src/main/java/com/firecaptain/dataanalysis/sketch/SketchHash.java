@@ -0,0 +1,34 @@
+package com.firecaptain.dataanalysis.sketch;
+
+/**
+ * スケッチ用の64ビットハッシュ
+ *
+ * FNV-1a で文字列を畳み込み、MurmurHash3 の最終化関数で全ビットを攪拌します。
+ * 値はプロセス・レプリカ間で一致するため、スケッチを結合できます（{@link String#hashCode()} は使わない）。
+ */
+final class SketchHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SketchHash() {
+    }
+
+    static long hash(String value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,427 @@
+package com.firecaptain.dataanalysis.sketch;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.exception.BusinessException;
+import com.firecaptain.common.geo.GeoGrid;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 時間区間ごとのスケッチの保管
+ *
+ * 区間の開始時刻をキーにスケッチを保持し、保持期間を過ぎた区間は削除します。
+ * 状態は直列化可能で、他のレプリカの部分状態の取り込み（{@link #importFrom}）と、
+ * 再起動に備えたローカルのスナップショットに使います。
+ *
+ * 自インスタンスが記録した区間と、他のレプリカから取り込んだ区間は取り込み元ごとに分けて保持し、
+ * 参照時に結合します。取り込みは取り込み元の同じ区間を置き換えるため、同じ状態を繰り返し
+ * 取り込んでも件数・分位点は二重に数えられません。書き出すのは自インスタンスの区間だけです
+ * （スナップショットを除く）。
+ *
+ * <pre>
+ * 形式: int マジック "FCSK", int バージョン, long 区間の長さ（ミリ秒）,
+ *       UTF 書き出し元のID, int 区間数, 区間...,
+ *       int 取り込み元の数, (UTF 取り込み元のID, int 区間数, 区間...)...（スナップショットのみ）
+ * </pre>
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class SketchStore {
+
+    private static final int MAGIC = 0x4B534346;
+    private static final int FORMAT_VERSION = 2;
+
+    private final long bucketMillis;
+    private final long retentionMillis;
+    private final Path snapshotPath;
+    private final boolean sourceIdConfigured;
+    private volatile String sourceId;
+    private final ConcurrentSkipListMap<Long, SketchBucket> buckets = new ConcurrentSkipListMap<>();
+    private final Map<String, ConcurrentSkipListMap<Long, SketchBucket>> remoteBuckets = new ConcurrentHashMap<>();
+
+    public SketchStore(@Value("${fire-captain.data-analysis.sketch.bucket-minutes:60}") int bucketMinutes,
+                       @Value("${fire-captain.data-analysis.sketch.retention-hours:168}") int retentionHours,
+                       @Value("${fire-captain.data-analysis.sketch.snapshot-path}") String snapshotPath,
+                       @Value("${fire-captain.data-analysis.sketch.source-id:}") String sourceId,
+                       MeterRegistry meterRegistry) {
+        this.bucketMillis = bucketMinutes * 60_000L;
+        this.retentionMillis = retentionHours * 3_600_000L;
+        this.snapshotPath = Path.of(snapshotPath);
+        this.sourceIdConfigured = !sourceId.isBlank();
+        this.sourceId = sourceIdConfigured ? sourceId : UUID.randomUUID().toString();
+        Gauge.builder("fire_captain_sketch_buckets", this, SketchStore::bucketCount)
+                .description("Time buckets of mergeable analytics sketches held in memory")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        if (!Files.exists(snapshotPath)) {
+            return;
+        }
+        try (InputStream in = Files.newInputStream(snapshotPath)) {
+            Snapshot snapshot = read(in);
+            if (!sourceIdConfigured) {
+                // 再起動後も同じIDで書き出し、他のレプリカ側で置き換えられるようにする
+                sourceId = snapshot.sourceId();
+            }
+            int loaded = replace(buckets, snapshot.buckets());
+            for (Map.Entry<String, List<SketchBucket>> entry : snapshot.remoteBuckets().entrySet()) {
+                if (!entry.getKey().equals(sourceId)) {
+                    loaded += replaceRemote(entry.getKey(), entry.getValue());
+                }
+            }
+            log.info("Sketch snapshot loaded: path={}, sourceId={}, buckets={}", snapshotPath, sourceId, loaded);
+        } catch (IOException | BusinessException e) {
+            // スナップショットがなくても、以降のイベントから再び蓄積できる
+            log.warn("Failed to load sketch snapshot, starting empty: path={}", snapshotPath, e);
+        }
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    /**
+     * 書き出し元としてのID（取り込み側で区間を置き換える単位）
+     */
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    private int bucketCount() {
+        int count = buckets.size();
+        for (ConcurrentSkipListMap<Long, SketchBucket> remote : remoteBuckets.values()) {
+            count += remote.size();
+        }
+        return count;
+    }
+
+    /**
+     * 時刻を含む区間のスケッチを返します。
+     *
+     * @param epochMillis 時刻（エポックミリ秒）
+     * @return スケッチ（保持期間より古い場合は null）
+     */
+    SketchBucket bucket(long epochMillis) {
+        long start = Math.floorDiv(epochMillis, bucketMillis) * bucketMillis;
+        if (start < System.currentTimeMillis() - retentionMillis) {
+            return null;
+        }
+        return buckets.computeIfAbsent(start, SketchBucket::new);
+    }
+
+    /**
+     * 通報の受付を記録します。保持期間より古い時刻の場合は記録しません。
+     *
+     * @param epochMillis 受付時刻（エポックミリ秒）
+     * @param areaCell    地域セル（{@link GeoGrid#ANY_CELL} は位置不明）
+     * @param callerPhone 正規化済みの通報者電話番号（null 可）
+     * @param address     正規化済みの発生場所（null 可）
+     * @return 記録した場合は true
+     */
+    public boolean recordCall(long epochMillis, long areaCell, String callerPhone, String address) {
+        SketchBucket bucket = bucket(epochMillis);
+        if (bucket == null) {
+            return false;
+        }
+        bucket.recordCall(areaCell, callerPhone, address);
+        return true;
+    }
+
+    /**
+     * 完了事案の活動時間を記録します。保持期間より古い時刻の場合は記録しません。
+     *
+     * @param epochMillis 完了時刻（エポックミリ秒）
+     * @return 記録した場合は true
+     */
+    public boolean recordDuration(long epochMillis, EmergencyType type, int minutes) {
+        SketchBucket bucket = bucket(epochMillis);
+        if (bucket == null) {
+            return false;
+        }
+        bucket.recordDuration(type, minutes);
+        return true;
+    }
+
+    /**
+     * 期間と重なる区間のスケッチを、自インスタンスと取り込み元のすべてについて返します。
+     *
+     * @param fromMillis 開始（含む）
+     * @param toMillis   終了（含まない）
+     * @return スケッチ
+     */
+    Collection<SketchBucket> range(long fromMillis, long toMillis) {
+        List<SketchBucket> selected = new ArrayList<>(localRange(fromMillis, toMillis));
+        for (ConcurrentSkipListMap<Long, SketchBucket> remote : remoteBuckets.values()) {
+            selected.addAll(range(remote, fromMillis, toMillis));
+        }
+        return selected;
+    }
+
+    private Collection<SketchBucket> localRange(long fromMillis, long toMillis) {
+        return range(buckets, fromMillis, toMillis);
+    }
+
+    private Collection<SketchBucket> range(ConcurrentSkipListMap<Long, SketchBucket> source,
+                                           long fromMillis, long toMillis) {
+        long first = fromMillis == Long.MIN_VALUE
+                ? fromMillis : Math.floorDiv(fromMillis, bucketMillis) * bucketMillis;
+        return source.subMap(first, true, toMillis, false).values();
+    }
+
+    /**
+     * 期間内の通報者の異なり数スケッチを結合します。
+     *
+     * @param areaCell 地域セル（{@link GeoGrid#ANY_CELL} は全域）
+     */
+    public HyperLogLog mergeCallers(long fromMillis, long toMillis, long areaCell) {
+        HyperLogLog merged = new HyperLogLog(areaCell == GeoGrid.ANY_CELL
+                ? SketchBucket.CALLER_PRECISION : SketchBucket.AREA_CALLER_PRECISION);
+        for (SketchBucket bucket : range(fromMillis, toMillis)) {
+            bucket.mergeCallersInto(merged, areaCell);
+        }
+        return merged;
+    }
+
+    /**
+     * 期間内の発生場所スケッチを結合します。
+     */
+    public HeavyHitters mergeAddresses(long fromMillis, long toMillis) {
+        HeavyHitters merged = SketchBucket.newAddressSketch();
+        for (SketchBucket bucket : range(fromMillis, toMillis)) {
+            bucket.mergeAddressesInto(merged);
+        }
+        return merged;
+    }
+
+    /**
+     * 期間内の活動時間ダイジェストを結合します。
+     *
+     * @param type 通報種別（null は全種別）
+     */
+    public TDigest mergeDurations(long fromMillis, long toMillis, EmergencyType type) {
+        TDigest merged = new TDigest(SketchBucket.DURATION_COMPRESSION);
+        for (SketchBucket bucket : range(fromMillis, toMillis)) {
+            bucket.mergeDurationsInto(merged, type);
+        }
+        return merged;
+    }
+
+    /**
+     * 期間と重なる自インスタンスの区間を書き出します（取り込んだ区間は含めない）。
+     *
+     * @param out        出力先
+     * @param fromMillis 開始（含む）
+     * @param toMillis   終了（含まない）
+     * @return 書き出した区間数
+     */
+    public int exportTo(OutputStream out, long fromMillis, long toMillis) throws IOException {
+        return write(out, localRange(fromMillis, toMillis), Map.of());
+    }
+
+    /**
+     * 他のレプリカが書き出した区間を読み込み、その書き出し元から取り込んだ同じ区間を置き換えます。
+     * 入力全体を検証してから適用するため、形式が不正な場合は何も変更しません。
+     *
+     * @param in 入力
+     * @return 置き換えた区間数（保持期間外の区間は含まない）
+     * @throws BusinessException 形式・区間の長さが一致しない場合、または自インスタンスが書き出したものの場合
+     */
+    public int importFrom(InputStream in) throws IOException {
+        Snapshot snapshot = read(in);
+        if (snapshot.sourceId().equals(sourceId)) {
+            throw new BusinessException("import", "Sketch", "sketches were exported by this instance");
+        }
+        // 取り込み元が他から取り込んだ区間は、その書き出し元から直接取り込む（経路によって古い状態で上書きしない）
+        return replaceRemote(snapshot.sourceId(), snapshot.buckets());
+    }
+
+    private int replaceRemote(String source, List<SketchBucket> received) {
+        int[] replaced = new int[1];
+        // 期限切れで空になった取り込み元の削除（prune）と競合しないよう、取り込み元ごとに不可分に更新する
+        remoteBuckets.compute(source, (key, current) -> {
+            ConcurrentSkipListMap<Long, SketchBucket> target =
+                    current != null ? current : new ConcurrentSkipListMap<>();
+            replaced[0] = replace(target, received);
+            return target.isEmpty() ? null : target;
+        });
+        return replaced[0];
+    }
+
+    private int replace(ConcurrentSkipListMap<Long, SketchBucket> target, List<SketchBucket> source) {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        int replaced = 0;
+        for (SketchBucket bucket : source) {
+            if (bucket.getStart() >= cutoff) {
+                target.put(bucket.getStart(), bucket);
+                replaced++;
+            }
+        }
+        return replaced;
+    }
+
+    private int write(OutputStream out, Collection<SketchBucket> selected,
+                      Map<String, ConcurrentSkipListMap<Long, SketchBucket>> remotes) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        data.writeLong(bucketMillis);
+        data.writeUTF(sourceId);
+        int written = writeBuckets(data, selected);
+        // 書き出し中に取り込み元が追加されても件数と一致するよう、先に確定させる
+        List<Map.Entry<String, ConcurrentSkipListMap<Long, SketchBucket>>> sources =
+                new ArrayList<>(remotes.entrySet());
+        data.writeInt(sources.size());
+        for (Map.Entry<String, ConcurrentSkipListMap<Long, SketchBucket>> entry : sources) {
+            data.writeUTF(entry.getKey());
+            written += writeBuckets(data, entry.getValue().values());
+        }
+        data.flush();
+        return written;
+    }
+
+    private static int writeBuckets(DataOutputStream data, Collection<SketchBucket> selected) throws IOException {
+        // 書き出し中に区間が追加されても件数と一致するよう、先に確定させる
+        SketchBucket[] snapshot = selected.toArray(new SketchBucket[0]);
+        data.writeInt(snapshot.length);
+        for (SketchBucket bucket : snapshot) {
+            bucket.writeTo(data);
+        }
+        return snapshot.length;
+    }
+
+    /**
+     * 入力全体を読み込んで検証します（状態は変更しない）。
+     *
+     * @throws BusinessException 形式・区間の長さが一致しない場合
+     */
+    private Snapshot read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        try {
+            if (data.readInt() != MAGIC || data.readInt() != FORMAT_VERSION) {
+                throw new BusinessException("import", "Sketch", "unsupported sketch format");
+            }
+            long sourceBucketMillis = data.readLong();
+            if (sourceBucketMillis != bucketMillis) {
+                throw new BusinessException("import", "Sketch",
+                        "bucket length " + sourceBucketMillis + "ms does not match " + bucketMillis + "ms");
+            }
+            String source = data.readUTF();
+            List<SketchBucket> local = readBuckets(data);
+            int sources = data.readInt();
+            if (sources < 0) {
+                throw new IOException("Invalid source count: " + sources);
+            }
+            Map<String, List<SketchBucket>> remotes = new LinkedHashMap<>();
+            for (int i = 0; i < sources; i++) {
+                remotes.put(data.readUTF(), readBuckets(data));
+            }
+            return new Snapshot(source, local, remotes);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BusinessException("import", "Sketch", "malformed sketch stream: " + e.getMessage());
+        }
+    }
+
+    private List<SketchBucket> readBuckets(DataInputStream data) throws IOException {
+        int count = data.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid bucket count: " + count);
+        }
+        List<SketchBucket> read = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SketchBucket bucket = SketchBucket.readFrom(data);
+            if (Math.floorMod(bucket.getStart(), bucketMillis) != 0) {
+                throw new IOException("Bucket start " + bucket.getStart() + " is not aligned");
+            }
+            read.add(bucket);
+        }
+        return read;
+    }
+
+    /**
+     * 読み込んだ状態
+     *
+     * @param sourceId      書き出し元のID
+     * @param buckets       書き出し元の区間
+     * @param remoteBuckets 書き出し元が取り込んでいた区間（スナップショットのみ）
+     */
+    private record Snapshot(String sourceId, List<SketchBucket> buckets,
+                            Map<String, List<SketchBucket>> remoteBuckets) {
+    }
+
+    /**
+     * 保持期間を過ぎた区間を削除します。
+     */
+    @Scheduled(fixedDelayString = "${fire-captain.data-analysis.sketch.prune-interval-ms:600000}")
+    public void prune() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        int removed = prune(buckets, cutoff);
+        for (String source : remoteBuckets.keySet()) {
+            int[] expired = new int[1];
+            remoteBuckets.computeIfPresent(source, (key, remote) -> {
+                expired[0] = prune(remote, cutoff);
+                return remote.isEmpty() ? null : remote;
+            });
+            removed += expired[0];
+        }
+        if (removed > 0) {
+            log.debug("Expired sketch buckets removed: count={}", removed);
+        }
+    }
+
+    private static int prune(ConcurrentSkipListMap<Long, SketchBucket> source, long cutoff) {
+        ConcurrentNavigableMap<Long, SketchBucket> expired = source.headMap(cutoff);
+        int removed = expired.size();
+        expired.clear();
+        return removed;
+    }
+
+    /**
+     * 全区間をローカルのスナップショットへアトミックに書き出します。
+     */
+    @Scheduled(fixedDelayString = "${fire-captain.data-analysis.sketch.snapshot-interval-ms:300000}")
+    @PreDestroy
+    public void snapshot() {
+        try {
+            Path directory = snapshotPath.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, snapshotPath.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                write(out, buckets.values(), remoteBuckets);
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("Failed to write sketch snapshot: path={}", snapshotPath, e);
+        }
+    }
+}
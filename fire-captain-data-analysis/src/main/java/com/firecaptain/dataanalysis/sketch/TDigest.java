@@ -0,0 +1,221 @@
+package com.firecaptain.dataanalysis.sketch;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * t-digest（分位点の推定）
+ *
+ * 値を重み付きの重心に集約し、分布の両端ほど重心を小さく保つことで、
+ * 中央値から p99 までを少ないメモリ（重心数は圧縮率程度）で推定します。
+ * 追加された値はバッファに溜め、満杯になった時点で既存の重心とまとめて整列・圧縮します。
+ * 結合は相手の重心を重み付きの値として取り込むだけで行えます。同期は呼び出し側で行います。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public final class TDigest {
+
+    private final double compression;
+    private double[] means;
+    private double[] weights;
+    private int centroids;
+    private final double[] bufferValues;
+    private final double[] bufferWeights;
+    private int buffered;
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest(double compression) {
+        if (compression < 10 || compression > 1000) {
+            throw new IllegalArgumentException("compression must be between 10 and 1000: " + compression);
+        }
+        this.compression = compression;
+        int capacity = (int) Math.ceil(compression) * 2 + 10;
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.bufferValues = new double[capacity * 5];
+        this.bufferWeights = new double[capacity * 5];
+    }
+
+    /**
+     * 値を追加します。
+     *
+     * @param value 値
+     */
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    private void add(double value, double weight) {
+        if (buffered == bufferValues.length) {
+            compress();
+        }
+        bufferValues[buffered] = value;
+        bufferWeights[buffered] = weight;
+        buffered++;
+        totalWeight += weight;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * 別のダイジェストを結合します。
+     *
+     * @param other ダイジェスト
+     * @return this
+     */
+    public TDigest merge(TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.centroids; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        // 重心の平均値ではなく元の最小値・最大値を引き継ぐ
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    public long getCount() {
+        return Math.round(totalWeight);
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * 分位点を推定します。
+     *
+     * @param q 分位（0〜1）
+     * @return 推定値（値がない場合は NaN）
+     */
+    public double quantile(double q) {
+        compress();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1 || q <= 0) {
+            return q <= 0 ? min : means[0];
+        }
+        if (q >= 1) {
+            return max;
+        }
+        double target = q * totalWeight;
+        // 各重心の重みは平均値の前後に半分ずつ広がっているとみなして線形補間する
+        double cumulative = weights[0] / 2;
+        if (target < cumulative) {
+            return min + (means[0] - min) * target / cumulative;
+        }
+        for (int i = 0; i < centroids - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (target < cumulative + step) {
+                double fraction = (target - cumulative) / step;
+                return means[i] + (means[i + 1] - means[i]) * fraction;
+            }
+            cumulative += step;
+        }
+        double tail = weights[centroids - 1] / 2;
+        double fraction = Math.min((target - cumulative) / tail, 1);
+        return means[centroids - 1] + (max - means[centroids - 1]) * fraction;
+    }
+
+    public TDigest copy() {
+        return new TDigest(compression).merge(this);
+    }
+
+    /**
+     * バッファの値を既存の重心とまとめて整列し、重心の大きさの上限
+     * （分位 q で 4 × 総重み × q(1 - q) / 圧縮率）を超えない範囲で隣接する重心を統合します。
+     */
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+        int n = centroids + buffered;
+        double[] allMeans = new double[n];
+        double[] allWeights = new double[n];
+        System.arraycopy(means, 0, allMeans, 0, centroids);
+        System.arraycopy(weights, 0, allWeights, 0, centroids);
+        System.arraycopy(bufferValues, 0, allMeans, centroids, buffered);
+        System.arraycopy(bufferWeights, 0, allWeights, centroids, buffered);
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(allMeans[a], allMeans[b]));
+
+        int count = 0;
+        double mergedWeight = 0;
+        double currentMean = allMeans[order[0]];
+        double currentWeight = allWeights[order[0]];
+        for (int i = 1; i < n; i++) {
+            double mean = allMeans[order[i]];
+            double weight = allWeights[order[i]];
+            double q = (mergedWeight + currentWeight + weight / 2) / totalWeight;
+            double limit = 4 * totalWeight * q * (1 - q) / compression;
+            if (currentWeight + weight <= Math.max(limit, 1)) {
+                currentMean += (mean - currentMean) * weight / (currentWeight + weight);
+                currentWeight += weight;
+            } else {
+                count = append(count, currentMean, currentWeight);
+                mergedWeight += currentWeight;
+                currentMean = mean;
+                currentWeight = weight;
+            }
+        }
+        centroids = append(count, currentMean, currentWeight);
+        buffered = 0;
+    }
+
+    private int append(int index, double mean, double weight) {
+        if (index == means.length) {
+            means = Arrays.copyOf(means, index * 2);
+            weights = Arrays.copyOf(weights, index * 2);
+        }
+        means[index] = mean;
+        weights[index] = weight;
+        return index + 1;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        compress();
+        out.writeDouble(compression);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        out.writeInt(centroids);
+        for (int i = 0; i < centroids; i++) {
+            out.writeDouble(means[i]);
+            out.writeDouble(weights[i]);
+        }
+    }
+
+    static TDigest readFrom(DataInput in) throws IOException {
+        double compression = in.readDouble();
+        if (!(compression >= 10 && compression <= 1000)) {
+            throw new IOException("Invalid t-digest compression: " + compression);
+        }
+        TDigest digest = new TDigest(compression);
+        double min = in.readDouble();
+        double max = in.readDouble();
+        int centroids = in.readInt();
+        if (centroids < 0 || centroids > 100_000) {
+            throw new IOException("Invalid t-digest centroid count: " + centroids);
+        }
+        for (int i = 0; i < centroids; i++) {
+            digest.add(in.readDouble(), in.readDouble());
+        }
+        if (centroids > 0) {
+            digest.min = min;
+            digest.max = max;
+        }
+        return digest;
+    }
+}
@@ -0,0 +1,151 @@
+package com.firecaptain.dataanalysis.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * スケッチの誤差の検証
+ *
+ * 既知の分布（固定シード）に対して、t-digest の分位点、HyperLogLog の異なり数、
+ * Count-Min の出現回数が、各スケッチの誤差の範囲に収まることを確認します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+class SketchAccuracyTest {
+
+    @Test
+    void digestQuantilesMatchUniformDistribution() {
+        Random random = new Random(42);
+        TDigest digest = new TDigest(SketchBucket.DURATION_COMPRESSION);
+        double[] values = new double[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 1000;
+            digest.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertThat(digest.getCount()).isEqualTo(values.length);
+        assertThat(digest.getMin()).isEqualTo(values[0]);
+        assertThat(digest.getMax()).isEqualTo(values[values.length - 1]);
+        // 順位の誤差: 中央付近は 0.5%、裾（p1・p99・p99.9）は 0.1% 以内
+        assertRankError(digest, values, 0.5, 0.005);
+        assertRankError(digest, values, 0.1, 0.005);
+        assertRankError(digest, values, 0.9, 0.005);
+        assertRankError(digest, values, 0.01, 0.001);
+        assertRankError(digest, values, 0.99, 0.001);
+        assertRankError(digest, values, 0.999, 0.001);
+    }
+
+    @Test
+    void mergedDigestQuantilesMatchSkewedDistribution() {
+        Random random = new Random(7);
+        TDigest merged = new TDigest(SketchBucket.DURATION_COMPRESSION);
+        double[] values = new double[100_000];
+        // 区間ごとのダイジェストを結合したものが、全体の分布と一致する（平均30分の指数分布）
+        for (int part = 0; part < 10; part++) {
+            TDigest digest = new TDigest(SketchBucket.DURATION_COMPRESSION);
+            for (int i = 0; i < 10_000; i++) {
+                double value = -Math.log(1 - random.nextDouble()) * 30;
+                values[part * 10_000 + i] = value;
+                digest.add(value);
+            }
+            merged.merge(digest);
+        }
+        Arrays.sort(values);
+
+        assertThat(merged.getCount()).isEqualTo(values.length);
+        assertRankError(merged, values, 0.5, 0.005);
+        assertRankError(merged, values, 0.9, 0.005);
+        assertRankError(merged, values, 0.99, 0.001);
+    }
+
+    @Test
+    void emptyDigestHasNoQuantile() {
+        assertThat(new TDigest(SketchBucket.DURATION_COMPRESSION).quantile(0.5)).isNaN();
+    }
+
+    @Test
+    void distinctCountIsWithinStandardError() {
+        for (int precision : new int[] {SketchBucket.AREA_CALLER_PRECISION, SketchBucket.CALLER_PRECISION}) {
+            for (int distinct : new int[] {1000, 100_000}) {
+                HyperLogLog sketch = new HyperLogLog(precision);
+                for (int i = 0; i < distinct; i++) {
+                    sketch.add(phone(i));
+                    // 同じ番号の繰り返しは数えない
+                    sketch.add(phone(i));
+                }
+
+                assertThat((double) Math.abs(sketch.estimate() - distinct) / distinct)
+                        .as("precision=%d, distinct=%d", precision, distinct)
+                        .isLessThanOrEqualTo(3 * sketch.relativeStandardError());
+            }
+        }
+    }
+
+    @Test
+    void mergedDistinctCountIsUnionOfOverlappingSets() {
+        HyperLogLog first = new HyperLogLog(SketchBucket.CALLER_PRECISION);
+        HyperLogLog second = new HyperLogLog(SketchBucket.CALLER_PRECISION);
+        for (int i = 0; i < 30_000; i++) {
+            first.add(phone(i));
+        }
+        for (int i = 20_000; i < 50_000; i++) {
+            second.add(phone(i));
+        }
+
+        HyperLogLog merged = first.copy().merge(second);
+
+        assertThat((double) Math.abs(merged.estimate() - 50_000) / 50_000)
+                .isLessThanOrEqualTo(3 * merged.relativeStandardError());
+    }
+
+    @Test
+    void frequencyIsNeverUnderestimatedAndHeavyHittersAreRanked() {
+        Random random = new Random(11);
+        HeavyHitters sketch = SketchBucket.newAddressSketch();
+        Map<String, Integer> exact = new HashMap<>();
+        int total = 50_000;
+        for (int i = 0; i < total; i++) {
+            String address = i % 10 == 0 ? "千代田区丸の内1-1"
+                    : i % 25 == 0 ? "港区芝公園4-2"
+                    : "地点" + random.nextInt(5000);
+            sketch.add(address);
+            exact.merge(address, 1, Integer::sum);
+        }
+
+        // 推定は実際の回数以上で、超過は総数 × e / width 以内
+        double bound = Math.E * total / SketchBucket.ADDRESS_WIDTH;
+        for (Map.Entry<String, Integer> entry : exact.entrySet()) {
+            long over = sketch.estimate(entry.getKey()) - entry.getValue();
+            assertThat(over).as(entry.getKey()).isBetween(0L, (long) bound);
+        }
+        assertThat(sketch.getTotal()).isEqualTo(total);
+        assertThat(sketch.top(2)).extracting(Map.Entry::getKey)
+                .containsExactly("千代田区丸の内1-1", "港区芝公園4-2");
+    }
+
+    /**
+     * 推定値の順位（推定値以下の値の割合）と分位の差が許容範囲内であることを確認します。
+     */
+    private static void assertRankError(TDigest digest, double[] sorted, double q, double tolerance) {
+        double estimate = digest.quantile(q);
+        int rank = Arrays.binarySearch(sorted, estimate);
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        assertThat(Math.abs((double) rank / sorted.length - q))
+                .as("q=%s, estimate=%s", q, estimate)
+                .isLessThanOrEqualTo(tolerance);
+    }
+
+    private static String phone(int i) {
+        return String.format("090%08d", i);
+    }
+}
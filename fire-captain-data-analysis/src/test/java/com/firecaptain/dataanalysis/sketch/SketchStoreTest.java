@@ -0,0 +1,211 @@
+package com.firecaptain.dataanalysis.sketch;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.exception.BusinessException;
+import com.firecaptain.common.geo.GeoGrid;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * スケッチの書き出し・取り込みの検証
+ *
+ * 形式 v2 の往復、取り込み元ごとの置き換え（同じ状態を繰り返し取り込んでも二重に数えない）、
+ * 不正な入力の拒否と、スナップショットからの復元を確認します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+class SketchStoreTest {
+
+    private static final long HOUR = 3_600_000L;
+    private static final long AREA_CELL = GeoGrid.cellOf(35.68, 139.76);
+
+    @TempDir
+    private Path tempDir;
+
+    private long currentHour;
+    private long previousHour;
+
+    @BeforeEach
+    void setUp() {
+        currentHour = Math.floorDiv(System.currentTimeMillis(), HOUR) * HOUR;
+        previousHour = currentHour - HOUR;
+    }
+
+    @Test
+    void exportedBucketsRoundTripIntoAnotherReplica() throws IOException {
+        SketchStore source = store("replica-a");
+        record(source, 0, 1000);
+        SketchStore target = store("replica-b");
+
+        assertThat(target.importFrom(export(source))).isEqualTo(2);
+
+        assertSameSketches(target, source);
+        assertThat(target.mergeCallers(previousHour, currentHour + HOUR, AREA_CELL).estimate())
+                .isEqualTo(source.mergeCallers(previousHour, currentHour + HOUR, AREA_CELL).estimate());
+        assertThat(target.mergeDurations(previousHour, currentHour + HOUR, EmergencyType.FIRE).getCount())
+                .isEqualTo(source.mergeDurations(previousHour, currentHour + HOUR, EmergencyType.FIRE).getCount());
+    }
+
+    @Test
+    void reimportReplacesInsteadOfDoubleCounting() throws IOException {
+        SketchStore source = store("replica-a");
+        record(source, 0, 1000);
+        SketchStore target = store("replica-b");
+        byte[] exported = export(source).readAllBytes();
+
+        target.importFrom(new ByteArrayInputStream(exported));
+        target.importFrom(new ByteArrayInputStream(exported));
+        assertSameSketches(target, source);
+
+        // 取り込み元の新しい状態は、前回取り込んだ同じ区間を置き換える
+        record(source, 1000, 1500);
+        target.importFrom(export(source));
+        assertSameSketches(target, source);
+    }
+
+    @Test
+    void importedBucketsAreCombinedWithLocalButNotReexported() throws IOException {
+        SketchStore source = store("replica-a");
+        record(source, 0, 1000);
+        SketchStore target = store("replica-b");
+        record(target, 1000, 1500);
+        target.importFrom(export(source));
+
+        assertThat(target.mergeDurations(Long.MIN_VALUE, Long.MAX_VALUE, null).getCount()).isEqualTo(1500);
+        assertThat(target.mergeAddresses(Long.MIN_VALUE, Long.MAX_VALUE).getTotal()).isEqualTo(1500);
+        assertThat(target.mergeCallers(Long.MIN_VALUE, Long.MAX_VALUE, GeoGrid.ANY_CELL).estimate())
+                .isCloseTo(1500, within(75L));
+
+        // replica-b の書き出しを replica-a へ戻しても、replica-a の区間が二重に数えられない
+        source.importFrom(export(target));
+        assertThat(source.mergeDurations(Long.MIN_VALUE, Long.MAX_VALUE, null).getCount()).isEqualTo(1500);
+    }
+
+    @Test
+    void ownExportIsRejected() throws IOException {
+        SketchStore store = store("replica-a");
+        record(store, 0, 10);
+        byte[] exported = export(store).readAllBytes();
+
+        assertThatThrownBy(() -> store.importFrom(new ByteArrayInputStream(exported)))
+                .isInstanceOf(BusinessException.class);
+        assertThat(store.mergeDurations(Long.MIN_VALUE, Long.MAX_VALUE, null).getCount()).isEqualTo(10);
+    }
+
+    @Test
+    void malformedStreamIsRejectedWithoutChangingState() throws IOException {
+        SketchStore source = store("replica-a");
+        record(source, 0, 1000);
+        SketchStore target = store("replica-b");
+        target.importFrom(export(source));
+
+        record(source, 1000, 1500);
+        byte[] exported = export(source).readAllBytes();
+        // 2つ目の区間の途中で切れた入力は、1つ目の区間も適用しない
+        byte[] truncated = Arrays.copyOf(exported, exported.length - 100);
+
+        assertThatThrownBy(() -> target.importFrom(new ByteArrayInputStream(truncated)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("malformed");
+        assertThatThrownBy(() -> target.importFrom(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8})))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> target.importFrom(header(60 * 60_000L, "replica-c", -1)))
+                .isInstanceOf(BusinessException.class);
+        assertThat(target.mergeDurations(Long.MIN_VALUE, Long.MAX_VALUE, null).getCount()).isEqualTo(1000);
+        assertThat(target.mergeAddresses(Long.MIN_VALUE, Long.MAX_VALUE).getTotal()).isEqualTo(1000);
+    }
+
+    @Test
+    void bucketLengthMismatchIsRejected() throws IOException {
+        SketchStore source = new SketchStore(30, 168, tempDir.resolve("a.bin").toString(), "replica-a",
+                new SimpleMeterRegistry());
+        source.recordDuration(currentHour, EmergencyType.FIRE, 30);
+        SketchStore target = store("replica-b");
+
+        assertThatThrownBy(() -> target.importFrom(export(source)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("bucket length");
+    }
+
+    @Test
+    void snapshotRestoresSourceIdAndImportedBuckets() throws IOException {
+        SketchStore source = store("replica-a");
+        record(source, 0, 1000);
+        Path snapshotPath = tempDir.resolve("replica-b.bin");
+        SketchStore target = new SketchStore(60, 168, snapshotPath.toString(), "", new SimpleMeterRegistry());
+        record(target, 1000, 1200);
+        target.importFrom(export(source));
+        target.snapshot();
+
+        SketchStore restarted = new SketchStore(60, 168, snapshotPath.toString(), "", new SimpleMeterRegistry());
+        restarted.initialize();
+
+        assertThat(restarted.getSourceId()).isEqualTo(target.getSourceId());
+        assertSameSketches(restarted, target);
+        // 再起動後に同じ取り込み元から再び取り込んでも二重に数えない
+        restarted.importFrom(export(source));
+        assertSameSketches(restarted, target);
+    }
+
+    private SketchStore store(String sourceId) {
+        return new SketchStore(60, 168, tempDir.resolve(sourceId + ".bin").toString(), sourceId,
+                new SimpleMeterRegistry());
+    }
+
+    /**
+     * 番号 from〜to（含まない）の通報と完了を、現在と1つ前の区間に振り分けて記録します。
+     */
+    private void record(SketchStore store, int from, int to) {
+        for (int i = from; i < to; i++) {
+            long at = (i % 2 == 0 ? currentHour : previousHour) + i;
+            store.recordCall(at, i % 3 == 0 ? AREA_CELL : GeoGrid.ANY_CELL,
+                    String.format("090%08d", i), "千代田区丸の内" + (i % 20));
+            store.recordDuration(at, i % 4 == 0 ? EmergencyType.FIRE : EmergencyType.MEDICAL, 10 + i % 120);
+        }
+    }
+
+    private static ByteArrayInputStream export(SketchStore store) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        store.exportTo(out, Long.MIN_VALUE, Long.MAX_VALUE);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    private static ByteArrayInputStream header(long bucketMillis, String sourceId, int bucketCount)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(0x4B534346);
+        data.writeInt(2);
+        data.writeLong(bucketMillis);
+        data.writeUTF(sourceId);
+        data.writeInt(bucketCount);
+        data.flush();
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    private static void assertSameSketches(SketchStore actual, SketchStore expected) {
+        assertThat(actual.mergeCallers(Long.MIN_VALUE, Long.MAX_VALUE, GeoGrid.ANY_CELL).estimate())
+                .isEqualTo(expected.mergeCallers(Long.MIN_VALUE, Long.MAX_VALUE, GeoGrid.ANY_CELL).estimate());
+        assertThat(actual.mergeAddresses(Long.MIN_VALUE, Long.MAX_VALUE).getTotal())
+                .isEqualTo(expected.mergeAddresses(Long.MIN_VALUE, Long.MAX_VALUE).getTotal());
+        TDigest actualDurations = actual.mergeDurations(Long.MIN_VALUE, Long.MAX_VALUE, null);
+        TDigest expectedDurations = expected.mergeDurations(Long.MIN_VALUE, Long.MAX_VALUE, null);
+        assertThat(actualDurations.getCount()).isEqualTo(expectedDurations.getCount());
+        assertThat(actualDurations.quantile(0.5)).isCloseTo(expectedDurations.quantile(0.5), within(1.0));
+        assertThat(actualDurations.quantile(0.99)).isCloseTo(expectedDurations.quantile(0.99), within(1.0));
+    }
+}
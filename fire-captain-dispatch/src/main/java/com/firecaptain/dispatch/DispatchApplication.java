@@ -1,10 +1,13 @@
 package com.firecaptain.dispatch;
 
+import com.firecaptain.common.client.CompletionReportClient;
+import com.firecaptain.common.exception.GlobalExceptionHandler;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
@@ -32,10 +35,11 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  */
 @SpringBootApplication
 @EnableDiscoveryClient
-@EnableFeignClients
+@EnableFeignClients(clients = CompletionReportClient.class)
 @EnableCaching
 @EnableAsync
 @EnableScheduling
+@Import(GlobalExceptionHandler.class)
 public class DispatchApplication {
 
     /**
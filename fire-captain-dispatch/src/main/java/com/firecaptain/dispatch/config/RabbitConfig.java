@@ -0,0 +1,111 @@
+package com.firecaptain.dispatch.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firecaptain.common.dto.EmergencyReportEvent;
+import com.firecaptain.common.messaging.PartitionedBatchListener;
+import com.firecaptain.common.messaging.PartitionedConsumerProperties;
+import com.firecaptain.common.messaging.PartitionedConsumerTopology;
+import com.firecaptain.dispatch.messaging.EmergencyReportEventHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RabbitMQ設定クラス
+ *
+ * 緊急通報イベント（emergency.events）を、通報IDでパーティション化した
+ * 順序保証付きのバッチコンシューマーで受信します。
+ * 活動時間推定モデルの更新イベントは、インスタンスごとの一時キューで全インスタンスが受信します。
+ */
+@Configuration
+public class RabbitConfig {
+
+    @Value("${fire-captain.dispatch.emergency-events.exchange}")
+    private String emergencyEventsExchange;
+
+    @Value("${fire-captain.dispatch.emergency-events.routing-key}")
+    private String emergencyEventsRoutingKey;
+
+    @Value("${fire-captain.dispatch.duration-model.exchange}")
+    private String durationModelExchange;
+
+    @Value("${fire-captain.dispatch.duration-model.routing-key}")
+    private String durationModelRoutingKey;
+
+    @Bean
+    @ConfigurationProperties(prefix = "fire-captain.dispatch.emergency-events.consumer")
+    public PartitionedConsumerProperties emergencyEventsConsumerProperties() {
+        return new PartitionedConsumerProperties();
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public TopicExchange emergencyEventsExchange() {
+        return new TopicExchange(emergencyEventsExchange, true, false);
+    }
+
+    @Bean
+    public Declarables emergencyEventsQueues(PartitionedConsumerProperties emergencyEventsConsumerProperties) {
+        return PartitionedConsumerTopology.declarables(emergencyEventsConsumerProperties);
+    }
+
+    @Bean
+    public Binding emergencyEventsBinding(PartitionedConsumerProperties emergencyEventsConsumerProperties,
+                                          TopicExchange emergencyEventsExchange) {
+        return BindingBuilder.bind(new Queue(emergencyEventsConsumerProperties.getQueue()))
+                .to(emergencyEventsExchange)
+                .with(emergencyEventsRoutingKey);
+    }
+
+    @Bean
+    public PartitionedBatchListener<EmergencyReportEvent> emergencyEventsListener(
+            PartitionedConsumerProperties emergencyEventsConsumerProperties,
+            EmergencyReportEventHandler emergencyReportEventHandler,
+            ObjectMapper objectMapper,
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry) {
+        return new PartitionedBatchListener<>(emergencyEventsConsumerProperties, EmergencyReportEvent.class,
+                emergencyReportEventHandler, objectMapper, rabbitTemplate, meterRegistry);
+    }
+
+    @Bean
+    public SimpleMessageListenerContainer emergencyEventsContainer(
+            ConnectionFactory connectionFactory,
+            PartitionedConsumerProperties emergencyEventsConsumerProperties,
+            PartitionedBatchListener<EmergencyReportEvent> emergencyEventsListener) {
+        return PartitionedConsumerTopology.container(connectionFactory, emergencyEventsConsumerProperties,
+                emergencyEventsListener);
+    }
+
+    @Bean
+    public TopicExchange completionEventsExchange() {
+        return new TopicExchange(durationModelExchange, true, false);
+    }
+
+    @Bean
+    public Queue durationModelUpdatesQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding durationModelUpdatesBinding(Queue durationModelUpdatesQueue, TopicExchange completionEventsExchange) {
+        return BindingBuilder.bind(durationModelUpdatesQueue).to(completionEventsExchange).with(durationModelRoutingKey);
+    }
+}
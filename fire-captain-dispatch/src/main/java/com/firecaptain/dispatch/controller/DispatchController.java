@@ -0,0 +1,59 @@
+package com.firecaptain.dispatch.controller;
+
+import com.firecaptain.common.dto.DispatchDto;
+import com.firecaptain.dispatch.service.DispatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 出動指令コントローラー
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/dispatches")
+@RequiredArgsConstructor
+public class DispatchController {
+
+    private final DispatchService dispatchService;
+
+    /**
+     * 出動指令を1件取得します。
+     *
+     * @param id 指令ID
+     * @return 出動指令
+     */
+    @GetMapping("/{id}")
+    public DispatchDto getDispatch(@PathVariable Long id) {
+        return dispatchService.getDispatch(id);
+    }
+
+    /**
+     * 出動指令を一括取得します（マルチゲット）。
+     *
+     * @param ids 指令ID（カンマ区切り、最大200件）
+     * @return 見つかった出動指令のリスト
+     */
+    @GetMapping("/batch")
+    public List<DispatchDto> getDispatches(@RequestParam List<Long> ids) {
+        return dispatchService.getDispatches(ids);
+    }
+
+    /**
+     * 複数の通報に紐づく出動指令を一括取得します。
+     *
+     * @param reportIds 通報ID（カンマ区切り、最大200件）
+     * @return 出動指令のリスト
+     */
+    @GetMapping("/by-reports")
+    public List<DispatchDto> getDispatchesByReports(@RequestParam List<Long> reportIds) {
+        return dispatchService.getDispatchesByReports(reportIds);
+    }
+}
@@ -0,0 +1,91 @@
+package com.firecaptain.dispatch.entity;
+
+import com.firecaptain.common.dto.DispatchDto.DispatchStatus;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.PartitionKey;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 出動指令エンティティ
+ *
+ * dispatches テーブルに対応します。
+ * テーブルは作成時刻（created_at）の月単位でパーティション分割されており、
+ * 更新・削除の条件にも作成時刻を含めて対象のパーティションだけを走査します。
+ * セカンドレベルキャッシュは ehcache.xml の com.firecaptain.entity.Dispatch リージョンを使用します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "dispatches")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "com.firecaptain.entity.Dispatch")
+@Getter
+@Setter
+@NoArgsConstructor
+public class Dispatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dispatches_seq")
+    @SequenceGenerator(name = "dispatches_seq", sequenceName = "dispatches_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "dispatch_number", nullable = false, unique = true, length = 24)
+    private String dispatchNumber;
+
+    @Column(name = "emergency_report_id", nullable = false)
+    private Long emergencyReportId;
+
+    @Column(name = "unit_code", nullable = false, length = 32)
+    private String unitCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private DispatchStatus status;
+
+    @Column(name = "estimated_arrival_minutes")
+    private Integer estimatedArrivalMinutes;
+
+    @Column(name = "estimated_duration_minutes")
+    private Integer estimatedDurationMinutes;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    @Column(name = "arrived_at")
+    private LocalDateTime arrivedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @PartitionKey
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
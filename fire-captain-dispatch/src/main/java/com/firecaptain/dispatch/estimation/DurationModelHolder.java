@@ -0,0 +1,86 @@
+package com.firecaptain.dispatch.estimation;
+
+import com.firecaptain.common.client.CompletionReportClient;
+import com.firecaptain.common.dto.DurationModelUpdateEvent;
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportDto.PriorityLevel;
+import com.firecaptain.common.estimation.DurationModel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 活動時間推定モデル保持クラス
+ *
+ * 完了報告サービスの推定モデルをプロセス内のスナップショットとして保持します。
+ * - 起動時（および定期的な安全策として）HTTPで全件を同期
+ * - 以降は duration.model.updated イベントで差分を取り込む
+ * - 参照はスナップショットのハッシュ検索のみ（HTTP呼び出しなし）
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class DurationModelHolder {
+
+    private final CompletionReportClient completionReportClient;
+    private final int minSamples;
+    private final AtomicReference<DurationModel> model = new AtomicReference<>(DurationModel.empty());
+
+    public DurationModelHolder(CompletionReportClient completionReportClient,
+                               @Value("${fire-captain.dispatch.duration-model.min-samples:5}") int minSamples,
+                               MeterRegistry meterRegistry) {
+        this.completionReportClient = completionReportClient;
+        this.minSamples = minSamples;
+        Gauge.builder("fire_captain_duration_model_estimates", model, ref -> ref.get().size())
+                .description("Number of duration estimates in the in-process snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 活動時間（分）を推定します。
+     *
+     * @return 推定時間（分、学習データがない場合は null）
+     */
+    public Integer estimateMinutes(EmergencyType type, PriorityLevel priority, Double latitude, Double longitude) {
+        return model.get().estimateMinutes(type, priority, latitude, longitude);
+    }
+
+    /**
+     * 完了報告サービスから全推定値を取得し、スナップショットを置き換えます。
+     * 取得に失敗した場合は現在のスナップショットを維持します。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${fire-captain.dispatch.duration-model.full-sync-interval-ms:600000}",
+            fixedDelayString = "${fire-captain.dispatch.duration-model.full-sync-interval-ms:600000}")
+    public void synchronize() {
+        try {
+            DurationModel loaded = DurationModel.of(completionReportClient.getDurationModel(), minSamples);
+            // 同期中に届いたイベントを失わないよう、現在のスナップショットの新しい値を優先して統合する
+            model.updateAndGet(current -> loaded.merge(current.estimates()));
+            log.info("Duration model synchronized: estimates={}", model.get().size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to synchronize duration model, keeping current snapshot: estimates={}",
+                    model.get().size(), e);
+        }
+    }
+
+    /**
+     * 推定モデルの更新イベントを取り込みます。
+     *
+     * @param event 更新イベント
+     */
+    @RabbitListener(queues = "#{durationModelUpdatesQueue.name}")
+    public void onDurationModelUpdated(DurationModelUpdateEvent event) {
+        model.updateAndGet(current -> current.merge(event.getEstimates()));
+    }
+}
@@ -0,0 +1,23 @@
+package com.firecaptain.dispatch.mapper;
+
+import com.firecaptain.common.dto.DispatchDto;
+import com.firecaptain.dispatch.entity.Dispatch;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+/**
+ * 出動指令マッパー
+ *
+ * エンティティとDTOの相互変換を行います。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Mapper(componentModel = "spring")
+public interface DispatchMapper {
+
+    DispatchDto toDto(Dispatch entity);
+
+    List<DispatchDto> toDtoList(List<Dispatch> entities);
+}
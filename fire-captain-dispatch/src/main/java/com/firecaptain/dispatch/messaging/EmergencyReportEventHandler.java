@@ -0,0 +1,34 @@
+package com.firecaptain.dispatch.messaging;
+
+import com.firecaptain.common.dto.EmergencyReportEvent;
+import com.firecaptain.common.messaging.PartitionedMessageHandler;
+import com.firecaptain.dispatch.service.DispatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 緊急通報イベントハンドラー
+ *
+ * 通報IDごとに受信順で、通報の受付・ステータス変更を出動指令に反映します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class EmergencyReportEventHandler implements PartitionedMessageHandler<EmergencyReportEvent> {
+
+    private final DispatchService dispatchService;
+
+    @Override
+    public Object aggregateId(EmergencyReportEvent event) {
+        return event.getReport().getId();
+    }
+
+    @Override
+    public void handleBatch(List<EmergencyReportEvent> events) {
+        dispatchService.applyEmergencyReportEvents(events);
+    }
+}
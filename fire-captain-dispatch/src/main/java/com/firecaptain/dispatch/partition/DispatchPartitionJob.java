@@ -0,0 +1,50 @@
+package com.firecaptain.dispatch.partition;
+
+import com.firecaptain.common.partition.PartitionMaintenance;
+import com.firecaptain.common.partition.PartitionedTable;
+import com.firecaptain.common.partition.PartitionedTable.ArchiveMode;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * 出動指令テーブルのパーティション保守ジョブ
+ *
+ * dispatches の作成時刻の月別パーティションを、起動時と毎日の定時に事前作成し、
+ * 保持期間を過ぎたパーティションを切り離します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Component
+public class DispatchPartitionJob {
+
+    private final PartitionMaintenance partitionMaintenance;
+    private final PartitionedTable table;
+
+    public DispatchPartitionJob(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${fire-captain.dispatch.partitioning.premake-months:3}") int premakeMonths,
+            @Value("${fire-captain.dispatch.partitioning.retention-months:24}") int retentionMonths,
+            @Value("${fire-captain.dispatch.partitioning.archive-mode:detach}") ArchiveMode archiveMode) {
+        this.partitionMaintenance = new PartitionMaintenance(
+                jdbcTemplate, new TransactionTemplate(transactionManager), meterRegistry);
+        this.table = new PartitionedTable("dispatches", premakeMonths, retentionMonths, archiveMode);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${fire-captain.dispatch.partitioning.cron:0 40 3 * * *}")
+    public void maintain() {
+        partitionMaintenance.maintain(table, LocalDate.now());
+    }
+}
@@ -0,0 +1,32 @@
+package com.firecaptain.dispatch.repository;
+
+import com.firecaptain.dispatch.entity.Dispatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 出動指令リポジトリ
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Repository
+public interface DispatchRepository extends JpaRepository<Dispatch, Long> {
+
+    List<Dispatch> findByEmergencyReportIdIn(Collection<Long> emergencyReportIds);
+
+    /**
+     * 作成時刻の下限を付けて通報に紐づく出動指令を取得します。
+     * dispatches は作成時刻でパーティション分割されているため、下限より前のパーティションは走査しません。
+     *
+     * @param emergencyReportIds 通報IDのコレクション
+     * @param createdFrom        作成時刻の下限（含む）
+     * @return 出動指令のリスト
+     */
+    List<Dispatch> findByEmergencyReportIdInAndCreatedAtGreaterThanEqual(Collection<Long> emergencyReportIds,
+                                                                        LocalDateTime createdFrom);
+}
@@ -0,0 +1,240 @@
+package com.firecaptain.dispatch.service;
+
+import com.firecaptain.common.dto.DispatchDto;
+import com.firecaptain.common.dto.DispatchDto.DispatchStatus;
+import com.firecaptain.common.dto.EmergencyReportDto;
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportEvent;
+import com.firecaptain.common.exception.BusinessException;
+import com.firecaptain.common.exception.ResourceNotFoundException;
+import com.firecaptain.common.util.BusinessNumberGenerator;
+import com.firecaptain.dispatch.entity.Dispatch;
+import com.firecaptain.dispatch.estimation.DurationModelHolder;
+import com.firecaptain.dispatch.mapper.DispatchMapper;
+import com.firecaptain.dispatch.repository.DispatchRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 出動指令サービス
+ *
+ * 出動指令の参照処理と、緊急通報イベントの反映処理を提供します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class DispatchService {
+
+    /** マルチゲット1回あたりの最大ID数 */
+    public static final int MAX_BATCH_SIZE = 200;
+
+    /** 通報の受付時刻から指令の作成時刻の下限を求める際の、サービス間の時刻のずれの許容幅 */
+    private static final Duration CLOCK_SKEW_MARGIN = Duration.ofHours(1);
+
+    private final DispatchRepository dispatchRepository;
+    private final DispatchMapper dispatchMapper;
+    private final DurationModelHolder durationModelHolder;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * IDで出動指令を取得します。
+     *
+     * @param id 指令ID
+     * @return 出動指令
+     */
+    public DispatchDto getDispatch(Long id) {
+        return dispatchRepository.findById(id)
+                .map(dispatchMapper::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Dispatch", id));
+    }
+
+    /**
+     * 複数IDの出動指令を一括取得します。
+     *
+     * セカンドレベルキャッシュに存在するエンティティはキャッシュから解決し、
+     * 残りのIDのみを1回のクエリ（id = ANY(?)）で取得します。
+     * 存在しないIDは結果に含まれません。
+     *
+     * @param ids 指令IDのコレクション
+     * @return 出動指令のリスト
+     */
+    public List<DispatchDto> getDispatches(Collection<Long> ids) {
+        List<Long> distinctIds = distinct(ids);
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+
+        // IDだけの取得のため、キャッシュにないIDは全パーティションの主キー索引を引く
+        List<Dispatch> dispatches = entityManager.unwrap(Session.class)
+                .byMultipleIds(Dispatch.class)
+                .with(CacheMode.NORMAL)
+                .enableSessionCheck(true)
+                .enableOrderedReturn(false)
+                .withBatchSize(MAX_BATCH_SIZE)
+                .multiLoad(distinctIds);
+
+        log.debug("Multi-get dispatches: requested={}, found={}", distinctIds.size(), dispatches.size());
+        return dispatchMapper.toDtoList(dispatches.stream().filter(Objects::nonNull).toList());
+    }
+
+    /**
+     * 複数の通報に紐づく出動指令を1回のINクエリで取得します。
+     *
+     * @param emergencyReportIds 通報IDのコレクション
+     * @return 出動指令のリスト
+     */
+    public List<DispatchDto> getDispatchesByReports(Collection<Long> emergencyReportIds) {
+        List<Long> distinctIds = distinct(emergencyReportIds);
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        return dispatchMapper.toDtoList(dispatchRepository.findByEmergencyReportIdIn(distinctIds));
+    }
+
+    /**
+     * 緊急通報イベントを受信順に出動指令へ反映します。
+     *
+     * 対象通報の既存指令を1回のINクエリで取得し、新規作成・更新をまとめて保存します。
+     * 再配信に備え、指令が作成済みの通報に対する受付イベントは無視します。
+     *
+     * @param events 受信順の緊急通報イベント
+     */
+    @Transactional
+    public void applyEmergencyReportEvents(List<EmergencyReportEvent> events) {
+        Set<Long> reportIds = events.stream()
+                .map(event -> event.getReport().getId())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, List<Dispatch>> dispatchesByReport = findByReports(reportIds, events)
+                .stream()
+                .collect(Collectors.groupingBy(Dispatch::getEmergencyReportId));
+
+        Set<Dispatch> changed = new LinkedHashSet<>();
+        for (EmergencyReportEvent event : events) {
+            EmergencyReportDto report = event.getReport();
+            List<Dispatch> dispatches = dispatchesByReport.computeIfAbsent(report.getId(), id -> new ArrayList<>());
+            switch (event.getType()) {
+                case CREATED -> {
+                    if (dispatches.isEmpty()) {
+                        Dispatch dispatch = newDispatch(report, event.getOccurredAt());
+                        dispatch.setEstimatedDurationMinutes(durationModelHolder.estimateMinutes(
+                                report.getEmergencyType(), report.getPriorityLevel(),
+                                report.getLocationLatitude(), report.getLocationLongitude()));
+                        dispatches.add(dispatch);
+                        changed.add(dispatch);
+                    }
+                }
+                case STATUS_CHANGED -> dispatches.stream()
+                        .filter(dispatch -> applyReportStatus(dispatch, report))
+                        .forEach(changed::add);
+            }
+        }
+
+        dispatchRepository.saveAll(changed);
+        log.debug("Applied emergency report events: events={}, reports={}, changedDispatches={}",
+                events.size(), reportIds.size(), changed.size());
+    }
+
+    /**
+     * 対象通報の既存指令を取得します。
+     *
+     * 指令は通報の受付後に作成されるため、最も古い受付時刻を作成時刻の下限にして
+     * 古いパーティションの走査を省きます。受付時刻のないイベントが含まれる場合は下限を付けません。
+     */
+    private List<Dispatch> findByReports(Set<Long> reportIds, List<EmergencyReportEvent> events) {
+        LocalDateTime oldestReceivedAt = null;
+        for (EmergencyReportEvent event : events) {
+            LocalDateTime receivedAt = event.getReport().getReceivedAt();
+            if (receivedAt == null) {
+                return dispatchRepository.findByEmergencyReportIdIn(reportIds);
+            }
+            if (oldestReceivedAt == null || receivedAt.isBefore(oldestReceivedAt)) {
+                oldestReceivedAt = receivedAt;
+            }
+        }
+        if (oldestReceivedAt == null) {
+            return List.of();
+        }
+        return dispatchRepository.findByEmergencyReportIdInAndCreatedAtGreaterThanEqual(
+                reportIds, oldestReceivedAt.minus(CLOCK_SKEW_MARGIN));
+    }
+
+    private static Dispatch newDispatch(EmergencyReportDto report, LocalDateTime occurredAt) {
+        LocalDateTime dispatchedAt = occurredAt != null ? occurredAt : LocalDateTime.now();
+        Dispatch dispatch = new Dispatch();
+        dispatch.setDispatchNumber(BusinessNumberGenerator.generate("DP", dispatchedAt));
+        dispatch.setEmergencyReportId(report.getId());
+        dispatch.setUnitCode(unitTypeFor(report.getEmergencyType()));
+        dispatch.setStatus(DispatchStatus.ISSUED);
+        dispatch.setDispatchedAt(dispatchedAt);
+        return dispatch;
+    }
+
+    /**
+     * 通報ステータスを指令に反映します。
+     *
+     * @return 指令が変更された場合 true
+     */
+    private static boolean applyReportStatus(Dispatch dispatch, EmergencyReportDto report) {
+        if (dispatch.getStatus() == DispatchStatus.COMPLETED || dispatch.getStatus() == DispatchStatus.CANCELLED) {
+            return false;
+        }
+        DispatchStatus target = switch (report.getStatus()) {
+            case EN_ROUTE -> DispatchStatus.EN_ROUTE;
+            case ON_SCENE -> DispatchStatus.ON_SCENE;
+            case COMPLETED -> DispatchStatus.COMPLETED;
+            case CANCELLED -> DispatchStatus.CANCELLED;
+            default -> dispatch.getStatus();
+        };
+        if (target == dispatch.getStatus()) {
+            return false;
+        }
+        dispatch.setStatus(target);
+        if (target == DispatchStatus.ON_SCENE) {
+            dispatch.setArrivedAt(report.getArrivedAt());
+        } else if (target == DispatchStatus.COMPLETED) {
+            dispatch.setCompletedAt(report.getCompletedAt());
+        }
+        return true;
+    }
+
+    private static String unitTypeFor(EmergencyType emergencyType) {
+        return switch (emergencyType) {
+            case FIRE, OTHER -> "ENGINE";
+            case MEDICAL -> "AMBULANCE";
+            case TRAFFIC_ACCIDENT, RESCUE -> "RESCUE";
+            case HAZMAT -> "HAZMAT";
+        };
+    }
+
+    private static List<Long> distinct(Collection<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new BusinessException("get", "Dispatch",
+                    String.format("at most %d ids can be requested at once", MAX_BATCH_SIZE));
+        }
+        return distinctIds;
+    }
+}
@@ -0,0 +1,22 @@
+-- 出動指令テーブル
+CREATE SEQUENCE dispatches_id_seq INCREMENT BY 50;
+
+CREATE TABLE dispatches (
+    id                          BIGINT       NOT NULL DEFAULT nextval('dispatches_id_seq'),
+    dispatch_number             VARCHAR(24)  NOT NULL,
+    emergency_report_id         BIGINT       NOT NULL,
+    unit_code                   VARCHAR(32)  NOT NULL,
+    status                      VARCHAR(16)  NOT NULL,
+    estimated_arrival_minutes   INTEGER,
+    dispatched_at               TIMESTAMP,
+    arrived_at                  TIMESTAMP,
+    completed_at                TIMESTAMP,
+    created_at                  TIMESTAMP    NOT NULL,
+    updated_at                  TIMESTAMP    NOT NULL,
+    version                     BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT pk_dispatches PRIMARY KEY (id),
+    CONSTRAINT uk_dispatches_dispatch_number UNIQUE (dispatch_number)
+);
+
+CREATE INDEX idx_dispatches_emergency_report_id ON dispatches (emergency_report_id);
+CREATE INDEX idx_dispatches_status ON dispatches (status);
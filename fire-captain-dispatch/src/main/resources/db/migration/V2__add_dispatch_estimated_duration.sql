@@ -0,0 +1,2 @@
+-- 活動時間推定値（完了実績から学習した推定モデルによる）
+ALTER TABLE dispatches ADD COLUMN estimated_duration_minutes INTEGER;
@@ -0,0 +1,38 @@
+-- 出動指令テーブルを作成時刻（created_at）の月単位レンジパーティションに変換
+--
+-- 既存のテーブルはデータを移動せず、翌月初めまでを範囲とするパーティション（dispatches_legacy）として接続する。
+-- 翌月以降の月別パーティションは PartitionMaintenance が事前作成し、保持期間を過ぎたものを切り離す。
+-- パーティションキーを含む必要があるため、主キー・一意制約は (…, created_at) になる（IDはシーケンスで一意）。
+DO $$
+DECLARE
+    cutover DATE := (date_trunc('month', now()) + INTERVAL '1 month')::date;
+    month_start DATE;
+BEGIN
+    ALTER TABLE dispatches RENAME TO dispatches_legacy;
+    ALTER TABLE dispatches_legacy RENAME CONSTRAINT pk_dispatches TO pk_dispatches_legacy;
+    ALTER TABLE dispatches_legacy
+        RENAME CONSTRAINT uk_dispatches_dispatch_number TO uk_dispatches_legacy_dispatch_number;
+    ALTER INDEX idx_dispatches_emergency_report_id RENAME TO idx_dispatches_legacy_emergency_report_id;
+    ALTER INDEX idx_dispatches_status RENAME TO idx_dispatches_legacy_status;
+
+    CREATE TABLE dispatches (LIKE dispatches_legacy INCLUDING DEFAULTS)
+        PARTITION BY RANGE (created_at);
+    ALTER TABLE dispatches ADD CONSTRAINT pk_dispatches PRIMARY KEY (id, created_at);
+    ALTER TABLE dispatches ADD CONSTRAINT uk_dispatches_dispatch_number UNIQUE (dispatch_number, created_at);
+    CREATE INDEX idx_dispatches_emergency_report_id ON dispatches (emergency_report_id);
+    CREATE INDEX idx_dispatches_status ON dispatches (status);
+
+    -- 既存の行が範囲内であることの検証のため、接続時に1回だけ全件を走査する
+    EXECUTE format('ALTER TABLE dispatches ATTACH PARTITION dispatches_legacy '
+                   || 'FOR VALUES FROM (MINVALUE) TO (%L)', cutover);
+
+    -- 月別パーティションがない期間の行を受け止める（通常は空）
+    CREATE TABLE dispatches_default PARTITION OF dispatches DEFAULT;
+
+    FOR i IN 0..2 LOOP
+        month_start := (cutover + make_interval(months => i))::date;
+        EXECUTE format('CREATE TABLE %I PARTITION OF dispatches FOR VALUES FROM (%L) TO (%L)',
+                       'dispatches_p' || to_char(month_start, 'YYYYMM'),
+                       month_start, (month_start + INTERVAL '1 month')::date);
+    END LOOP;
+END $$;
@@ -0,0 +1,26 @@
+-- 出動指令番号の一意性をパーティション全体で保証する
+--
+-- パーティションテーブルの一意制約はパーティションキーを含む (dispatch_number, created_at) のため、
+-- 作成時刻が異なれば同じ出動指令番号を登録できてしまう。出動指令番号だけを主キーとする索引表に
+-- INSERT トリガーで登録し、重複した場合は一意制約違反として INSERT 全体を失敗させる。
+-- 索引表の行はパーティションの切り離し後も残し、過去の出動指令番号の再利用も防ぐ。
+CREATE TABLE dispatch_numbers (
+    dispatch_number  VARCHAR(24)  NOT NULL,
+    created_at       TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_dispatch_numbers PRIMARY KEY (dispatch_number)
+);
+
+INSERT INTO dispatch_numbers (dispatch_number, created_at)
+SELECT dispatch_number, created_at FROM dispatches;
+
+CREATE FUNCTION register_dispatch_number() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO dispatch_numbers (dispatch_number, created_at)
+    VALUES (NEW.dispatch_number, NEW.created_at);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_dispatches_dispatch_number
+    AFTER INSERT ON dispatches
+    FOR EACH ROW EXECUTE FUNCTION register_dispatch_number();
@@ -0,0 +1,50 @@
+package com.firecaptain.emergencyreport.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RabbitMQ設定クラス
+ *
+ * 緊急通報イベントを発行する取引所とメッセージ変換を定義します。
+ * 他のインスタンスで終了した事案を重複判定の索引に反映するため、状態変化イベントを
+ * インスタンスごとの一時キューで受信します。
+ */
+@Configuration
+public class RabbitConfig {
+
+    @Value("${fire-captain.emergency-report.queue.exchange}")
+    private String exchangeName;
+
+    @Value("${fire-captain.emergency-report.queue.status-routing-key}")
+    private String statusRoutingKey;
+
+    @Bean
+    public TopicExchange emergencyEventsExchange() {
+        return new TopicExchange(exchangeName, true, false);
+    }
+
+    @Bean
+    public Queue reportStatusChangesQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding reportStatusChangesBinding(Queue reportStatusChangesQueue, TopicExchange emergencyEventsExchange) {
+        return BindingBuilder.bind(reportStatusChangesQueue).to(emergencyEventsExchange).with(statusRoutingKey);
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+}
@@ -0,0 +1,81 @@
+package com.firecaptain.emergencyreport.controller;
+
+import com.firecaptain.common.dto.EmergencyReportDto;
+import com.firecaptain.emergencyreport.dto.CreateEmergencyReportRequest;
+import com.firecaptain.emergencyreport.dto.UpdateReportStatusRequest;
+import com.firecaptain.emergencyreport.service.EmergencyReportService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 緊急通報コントローラー
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/emergency-reports")
+@RequiredArgsConstructor
+public class EmergencyReportController {
+
+    private final EmergencyReportService emergencyReportService;
+
+    /**
+     * 緊急通報を受け付けます。
+     *
+     * @param request 受付リクエスト
+     * @return 登録された緊急通報
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public EmergencyReportDto createEmergencyReport(@Valid @RequestBody CreateEmergencyReportRequest request) {
+        return emergencyReportService.createEmergencyReport(request);
+    }
+
+    /**
+     * 緊急通報のステータスを変更します。
+     *
+     * @param id      通報ID
+     * @param request ステータス変更リクエスト
+     * @return 更新された緊急通報
+     */
+    @PutMapping("/{id}/status")
+    public EmergencyReportDto updateStatus(@PathVariable Long id,
+                                           @Valid @RequestBody UpdateReportStatusRequest request) {
+        return emergencyReportService.updateStatus(id, request.getStatus());
+    }
+
+    /**
+     * 緊急通報を1件取得します。
+     *
+     * @param id 通報ID
+     * @return 緊急通報
+     */
+    @GetMapping("/{id}")
+    public EmergencyReportDto getEmergencyReport(@PathVariable Long id) {
+        return emergencyReportService.getEmergencyReport(id);
+    }
+
+    /**
+     * 緊急通報を一括取得します（マルチゲット）。
+     *
+     * @param ids 通報ID（カンマ区切り、最大200件）
+     * @return 見つかった緊急通報のリスト
+     */
+    @GetMapping("/batch")
+    public List<EmergencyReportDto> getEmergencyReports(@RequestParam List<Long> ids) {
+        return emergencyReportService.getEmergencyReports(ids);
+    }
+}
@@ -0,0 +1,59 @@
+package com.firecaptain.emergencyreport.dto;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportDto.PriorityLevel;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 緊急通報受付リクエスト
+ *
+ * 通報番号・ステータス・受付時刻はサーバー側で採番・設定します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateEmergencyReportRequest {
+
+    /** 通報者名（必須） */
+    @NotBlank(message = "Caller name is required")
+    private String callerName;
+
+    /** 通報者電話番号（必須） */
+    @NotBlank(message = "Caller phone is required")
+    @Pattern(regexp = "^\\+?[1-9]\\d{1,14}$", message = "Invalid phone number format")
+    private String callerPhone;
+
+    /** 緊急事態の種類（必須） */
+    @NotNull(message = "Emergency type is required")
+    private EmergencyType emergencyType;
+
+    /** 現場住所（必須） */
+    @NotBlank(message = "Location address is required")
+    private String locationAddress;
+
+    /** 現場緯度（GPS座標） */
+    private Double locationLatitude;
+
+    /** 現場経度（GPS座標） */
+    private Double locationLongitude;
+
+    /** 通報内容の詳細説明 */
+    private String description;
+
+    /** 優先度レベル（必須） */
+    @NotNull(message = "Priority level is required")
+    private PriorityLevel priorityLevel;
+
+    /** 予想所要時間（分） */
+    private Integer estimatedDurationMinutes;
+}
@@ -0,0 +1,23 @@
+package com.firecaptain.emergencyreport.dto;
+
+import com.firecaptain.common.dto.EmergencyReportDto.ReportStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 通報ステータス変更リクエスト
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateReportStatusRequest {
+
+    /** 変更後のステータス（必須） */
+    @NotNull(message = "Status is required")
+    private ReportStatus status;
+}
@@ -0,0 +1,119 @@
+package com.firecaptain.emergencyreport.entity;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportDto.PriorityLevel;
+import com.firecaptain.common.dto.EmergencyReportDto.ReportStatus;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.PartitionKey;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 緊急通報エンティティ
+ *
+ * emergency_reports テーブルに対応します。
+ * テーブルは受付時刻（received_at）の月単位でパーティション分割されており、
+ * 更新・削除の条件にも受付時刻を含めて対象のパーティションだけを走査します。
+ * セカンドレベルキャッシュは ehcache.xml の com.firecaptain.entity.EmergencyReport リージョンを使用します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "emergency_reports")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "com.firecaptain.entity.EmergencyReport")
+@Getter
+@Setter
+@NoArgsConstructor
+public class EmergencyReport {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "emergency_reports_seq")
+    @SequenceGenerator(name = "emergency_reports_seq", sequenceName = "emergency_reports_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "report_number", nullable = false, unique = true, length = 24)
+    private String reportNumber;
+
+    @Column(name = "caller_name", nullable = false, length = 100)
+    private String callerName;
+
+    @Column(name = "caller_phone", nullable = false, length = 20)
+    private String callerPhone;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "emergency_type", nullable = false, length = 32)
+    private EmergencyType emergencyType;
+
+    @Column(name = "location_address", nullable = false)
+    private String locationAddress;
+
+    @Column(name = "location_latitude")
+    private Double locationLatitude;
+
+    @Column(name = "location_longitude")
+    private Double locationLongitude;
+
+    @Column(name = "description", columnDefinition = "text")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority_level", nullable = false, length = 16)
+    private PriorityLevel priorityLevel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private ReportStatus status;
+
+    @PartitionKey
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    @Column(name = "arrived_at")
+    private LocalDateTime arrivedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "estimated_duration_minutes")
+    private Integer estimatedDurationMinutes;
+
+    @Column(name = "actual_duration_minutes")
+    private Integer actualDurationMinutes;
+
+    @Column(name = "primary_report_id")
+    private Long primaryReportId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
@@ -0,0 +1,315 @@
+package com.firecaptain.emergencyreport.intake;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.geo.GeoGrid;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 重複通報の検出
+ *
+ * 直近の受付通報を、通報種別・位置・受付時刻でメモリ上のスライディング空間索引に保持し、
+ * 新しい通報と同じ種別で半径内・時間窓内にある通報を探します。見つかった場合は、その通報が属する
+ * 一次通報（最初の通報）のIDを返します。重複と判定された通報も索引に加えるため、
+ * 燃え広がる火災のように発生位置が少しずつ移動する通報群も、1つの事案にまとまります。
+ *
+ * <p>索引は半径と同じ大きさのグリッドセルごとの受付順キューで、検索は近傍セルだけを走査します。
+ * 時間窓を過ぎた通報は受付順に先頭から削除するため、1件あたりの処理は索引の件数によらず一定です。
+ * 索引はインスタンスごとに保持するため、複数インスタンスに振り分けられた通報同士は検出しません。
+ *
+ * <p>一次通報は、関連付けられた通報が索引に残っている間は一次通報IDの対応表で保持し、
+ * 一次通報自身が索引から削除された後も終了（{@link #close}）を反映できるようにします。
+ * 連鎖が際限なく伸びないよう、一次通報の受付から一定時間（{@code max-chain-seconds}）を過ぎた事案には関連付けません。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class DuplicateCallDetector {
+
+    /** 1度あたりの距離（メートル、平均地球半径） */
+    private static final double METERS_PER_DEGREE = 6_371_008.8 * Math.PI / 180;
+
+    private final boolean enabled;
+    private final double radiusMeters;
+    private final long windowMillis;
+    private final long maxChainMillis;
+    private final int maxEntries;
+    private final double cellDegrees;
+
+    private final Map<Long, ArrayDeque<Entry>> cells = new HashMap<>();
+    private final Map<Long, Entry> byReportId = new HashMap<>();
+    private final Map<Long, Entry> primaries = new HashMap<>();
+    private final ArrayDeque<Entry> arrivals = new ArrayDeque<>();
+
+    private final Map<EmergencyType, Counter> primaryCounters = new EnumMap<>(EmergencyType.class);
+    private final Map<EmergencyType, Counter> duplicateCounters = new EnumMap<>(EmergencyType.class);
+    private final Timer detectTimer;
+
+    public DuplicateCallDetector(
+            @Value("${fire-captain.emergency-report.deduplication.enabled:true}") boolean enabled,
+            @Value("${fire-captain.emergency-report.deduplication.radius-meters:300}") double radiusMeters,
+            @Value("${fire-captain.emergency-report.deduplication.window-seconds:600}") long windowSeconds,
+            @Value("${fire-captain.emergency-report.deduplication.max-chain-seconds:3600}") long maxChainSeconds,
+            @Value("${fire-captain.emergency-report.deduplication.max-entries:50000}") int maxEntries,
+            MeterRegistry meterRegistry) {
+        if (radiusMeters <= 0 || windowSeconds <= 0 || maxChainSeconds <= 0 || maxEntries <= 0) {
+            throw new IllegalArgumentException(
+                    "Deduplication radius, window, max chain and max entries must be positive");
+        }
+        this.enabled = enabled;
+        this.radiusMeters = radiusMeters;
+        this.windowMillis = windowSeconds * 1000;
+        this.maxChainMillis = maxChainSeconds * 1000;
+        this.maxEntries = maxEntries;
+        this.cellDegrees = radiusMeters / METERS_PER_DEGREE;
+
+        // 受付の都度のメーター検索を避けるため、通報種別ごとのカウンターを事前に登録する
+        for (EmergencyType type : EmergencyType.values()) {
+            primaryCounters.put(type, callCounter(meterRegistry, type, "primary"));
+            duplicateCounters.put(type, callCounter(meterRegistry, type, "duplicate"));
+        }
+        this.detectTimer = Timer.builder("fire_captain_intake_deduplication")
+                .description("Time to look up and register a call in the duplicate-call index")
+                .register(meterRegistry);
+        Gauge.builder("fire_captain_intake_deduplication_index_size", this, DuplicateCallDetector::size)
+                .description("Recent calls held in the duplicate-call index")
+                .register(meterRegistry);
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, EmergencyType type, String outcome) {
+        return Counter.builder("fire_captain_intake_calls_total")
+                .description("Calls received at intake; outcome=duplicate is the created-event fan-out prevented")
+                .tag("emergency_type", type.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 通報を索引に登録し、重複であれば一次通報のIDを返します。
+     * 検索と登録は不可分に行うため、同時に受け付けた近接通報の一方が必ず一次通報になります。
+     *
+     * @param reportId   通報ID
+     * @param type       通報種別
+     * @param latitude   緯度（null の場合は判定しない）
+     * @param longitude  経度（null の場合は判定しない）
+     * @param receivedAt 受付時刻（エポックミリ秒）
+     * @return 一次通報のID（重複でない場合は null）
+     */
+    public Long register(Long reportId, EmergencyType type, Double latitude, Double longitude, long receivedAt) {
+        if (!enabled || latitude == null || longitude == null || type == null) {
+            return null;
+        }
+        long started = System.nanoTime();
+        Entry primary;
+        synchronized (this) {
+            evict(receivedAt);
+            Entry match = findNearest(type, latitude, longitude, receivedAt);
+            primary = match != null ? match.primary : null;
+            Entry entry = new Entry(reportId, type, latitude, longitude, receivedAt, primary);
+            cells.computeIfAbsent(cellOf(latitude, longitude), key -> new ArrayDeque<>()).addLast(entry);
+            byReportId.put(reportId, entry);
+            arrivals.addLast(entry);
+            entry.primary.members++;
+            primaries.putIfAbsent(entry.primary.reportId, entry.primary);
+        }
+        detectTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        if (primary == null) {
+            primaryCounters.get(type).increment();
+            return null;
+        }
+        duplicateCounters.get(type).increment();
+        log.debug("Duplicate call linked: reportId={}, primaryReportId={}, type={}",
+                reportId, primary.reportId, type);
+        return primary.reportId;
+    }
+
+    /**
+     * 事案が終了した一次通報を、以降の照合の対象から外します。
+     * 終了後に受け付けた通報は、新しい事案の一次通報になります。
+     *
+     * @param reportId 一次通報ID
+     * @return 索引に関連付けられた通報が残っている一次通報を、今回終了させた場合は true
+     */
+    public synchronized boolean close(Long reportId) {
+        Entry primary = primaries.get(reportId);
+        if (primary == null || primary.closed) {
+            return false;
+        }
+        primary.closed = true;
+        return true;
+    }
+
+    /**
+     * 一次通報が終了済み、または登録が取り消されているかを返します。
+     *
+     * @param primaryReportId 一次通報ID
+     * @return 終了・取り消し済みの場合は true（索引にない場合は false）
+     */
+    public synchronized boolean isClosed(Long primaryReportId) {
+        Entry primary = primaries.get(primaryReportId);
+        return primary != null && primary.closed;
+    }
+
+    /**
+     * 重複通報を新しい事案の一次通報に切り替えます（一次通報が終了・取り消しになった場合）。
+     * 以降の近接通報は、この通報に関連付けられます。
+     *
+     * @param reportId 通報ID
+     */
+    public synchronized void promote(Long reportId) {
+        Entry entry = byReportId.get(reportId);
+        if (entry == null || entry.primary == entry) {
+            return;
+        }
+        release(entry.primary);
+        entry.primary = entry;
+        entry.members++;
+        primaries.put(reportId, entry);
+    }
+
+    /**
+     * 登録を取り消します（受付のトランザクションがロールバックされた場合）。
+     * 一次通報の場合は、関連付けられた通報が残っている間、取り消し済みとして扱います。
+     *
+     * @param reportId 通報ID
+     */
+    public synchronized void forget(Long reportId) {
+        Entry entry = byReportId.remove(reportId);
+        if (entry == null) {
+            // 一次通報自身は時間窓を過ぎて削除済みでも、関連付けられた通報が残っていれば対応表にある
+            Entry primary = primaries.get(reportId);
+            if (primary != null) {
+                primary.closed = true;
+            }
+            return;
+        }
+        entry.closed = true;
+        remove(entry);
+        arrivals.remove(entry);
+        release(entry.primary);
+    }
+
+    public synchronized int size() {
+        return arrivals.size();
+    }
+
+    private Entry findNearest(EmergencyType type, double latitude, double longitude, long receivedAt) {
+        double cosLatitude = Math.max(Math.cos(Math.toRadians(latitude)), 1e-6);
+        int row = (int) Math.floor(latitude / cellDegrees);
+        int column = (int) Math.floor(longitude / cellDegrees);
+        // 経度方向のセル幅は高緯度ほど狭くなるため、半径に収まるまで列を広げる
+        int columnSpan = (int) Math.ceil(1 / cosLatitude);
+        long windowStart = receivedAt - windowMillis;
+        long chainStart = receivedAt - maxChainMillis;
+
+        Entry nearest = null;
+        double nearestDistance = radiusMeters;
+        for (int r = row - 1; r <= row + 1; r++) {
+            for (int c = column - columnSpan; c <= column + columnSpan; c++) {
+                ArrayDeque<Entry> cell = cells.get(GeoGrid.cellOf(r, c));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry candidate : cell) {
+                    if (candidate.type != type || candidate.primary.closed || candidate.receivedAt < windowStart
+                            || candidate.primary.receivedAt < chainStart) {
+                        continue;
+                    }
+                    double dy = (candidate.latitude - latitude) * METERS_PER_DEGREE;
+                    double dx = (candidate.longitude - longitude) * METERS_PER_DEGREE * cosLatitude;
+                    double distance = Math.sqrt(dx * dx + dy * dy);
+                    if (distance <= nearestDistance) {
+                        nearest = candidate;
+                        nearestDistance = distance;
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * 時間窓を過ぎた通報と、上限を超えた古い通報を受付順に削除します。
+     */
+    private void evict(long now) {
+        long windowStart = now - windowMillis;
+        while (!arrivals.isEmpty()
+                && (arrivals.peekFirst().receivedAt < windowStart || arrivals.size() >= maxEntries)) {
+            Entry entry = arrivals.pollFirst();
+            byReportId.remove(entry.reportId, entry);
+            remove(entry);
+            release(entry.primary);
+        }
+    }
+
+    /**
+     * 一次通報に関連付けられた通報が索引から削除されたことを記録し、残りがなくなれば対応表から外します。
+     */
+    private void release(Entry primary) {
+        if (--primary.members == 0) {
+            primaries.remove(primary.reportId, primary);
+        }
+    }
+
+    private void remove(Entry entry) {
+        long key = cellOf(entry.latitude, entry.longitude);
+        ArrayDeque<Entry> cell = cells.get(key);
+        if (cell == null) {
+            return;
+        }
+        // セル内も受付順のため、通常は先頭の削除で済む
+        if (cell.peekFirst() == entry) {
+            cell.pollFirst();
+        } else {
+            cell.remove(entry);
+        }
+        if (cell.isEmpty()) {
+            cells.remove(key);
+        }
+    }
+
+    private long cellOf(double latitude, double longitude) {
+        return GeoGrid.cellOf((int) Math.floor(latitude / cellDegrees), (int) Math.floor(longitude / cellDegrees));
+    }
+
+    /**
+     * 索引の要素
+     */
+    private static final class Entry {
+
+        final Long reportId;
+        final EmergencyType type;
+        final double latitude;
+        final double longitude;
+        final long receivedAt;
+        /** 一次通報（自身が一次通報の場合は自身） */
+        Entry primary;
+        /** 事案の終了・登録の取り消し */
+        boolean closed;
+        /** 索引に残っている、この通報を一次通報とする通報の数（一次通報のみ） */
+        int members;
+
+        Entry(Long reportId, EmergencyType type, double latitude, double longitude, long receivedAt, Entry primary) {
+            this.reportId = reportId;
+            this.type = type;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.receivedAt = receivedAt;
+            this.primary = primary != null ? primary : this;
+        }
+    }
+}
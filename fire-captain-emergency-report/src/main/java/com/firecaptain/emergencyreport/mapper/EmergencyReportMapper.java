@@ -0,0 +1,33 @@
+package com.firecaptain.emergencyreport.mapper;
+
+import com.firecaptain.common.dto.EmergencyReportDto;
+import com.firecaptain.emergencyreport.dto.CreateEmergencyReportRequest;
+import com.firecaptain.emergencyreport.entity.EmergencyReport;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+import java.util.List;
+
+/**
+ * 緊急通報マッパー
+ *
+ * エンティティとDTOの相互変換を行います。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Mapper(componentModel = "spring")
+public interface EmergencyReportMapper {
+
+    EmergencyReportDto toDto(EmergencyReport entity);
+
+    List<EmergencyReportDto> toDtoList(List<EmergencyReport> entities);
+
+    /**
+     * 受付リクエストからエンティティを生成します。
+     * 通報番号・ステータス・各時刻はサービス層で設定します。
+     */
+    @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE)
+    EmergencyReport toEntity(CreateEmergencyReportRequest request);
+}
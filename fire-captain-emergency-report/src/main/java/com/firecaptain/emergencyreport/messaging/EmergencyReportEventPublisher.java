@@ -0,0 +1,47 @@
+package com.firecaptain.emergencyreport.messaging;
+
+import com.firecaptain.common.dto.EmergencyReportEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 緊急通報イベント発行
+ *
+ * トランザクションのコミット後に emergency.events 取引所へイベントを発行します。
+ * ルーティングキーには集約（通報）の状態変化の種類を使用します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmergencyReportEventPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @Value("${fire-captain.emergency-report.queue.exchange}")
+    private String exchange;
+
+    @Value("${fire-captain.emergency-report.queue.routing-key}")
+    private String createdRoutingKey;
+
+    @Value("${fire-captain.emergency-report.queue.status-routing-key}")
+    private String statusChangedRoutingKey;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void publish(EmergencyReportEvent event) {
+        String routingKey = switch (event.getType()) {
+            case CREATED -> createdRoutingKey;
+            case STATUS_CHANGED -> statusChangedRoutingKey;
+        };
+        rabbitTemplate.convertAndSend(exchange, routingKey, event);
+        log.debug("Published emergency report event: type={}, reportId={}",
+                event.getType(), event.getReport().getId());
+    }
+}
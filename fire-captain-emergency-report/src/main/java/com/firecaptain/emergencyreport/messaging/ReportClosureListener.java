@@ -0,0 +1,44 @@
+package com.firecaptain.emergencyreport.messaging;
+
+import com.firecaptain.common.dto.EmergencyReportDto;
+import com.firecaptain.common.dto.EmergencyReportDto.ReportStatus;
+import com.firecaptain.common.dto.EmergencyReportEvent;
+import com.firecaptain.emergencyreport.service.DuplicateReportPromoter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 事案終了の受信
+ *
+ * 重複判定の索引はインスタンスごとのため、他のインスタンスで終了（完了・取消）した一次通報を
+ * 状態変化イベントから索引に反映し、以降の通報を新しい事案として受け付けます。
+ * 自インスタンスで終了した場合もイベントを受信しますが、反映は一度だけ行われます。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportClosureListener {
+
+    private final DuplicateReportPromoter duplicateReportPromoter;
+
+    /**
+     * 状態変化イベントを受信します。
+     *
+     * @param event 緊急通報イベント
+     */
+    @RabbitListener(queues = "#{reportStatusChangesQueue.name}")
+    public void onStatusChanged(EmergencyReportEvent event) {
+        EmergencyReportDto report = event.getReport();
+        if (report == null || report.getPrimaryReportId() != null || report.getReceivedAt() == null
+                || (report.getStatus() != ReportStatus.COMPLETED && report.getStatus() != ReportStatus.CANCELLED)) {
+            return;
+        }
+        duplicateReportPromoter.onPrimaryClosed(report.getId(), report.getReceivedAt());
+        log.debug("Report closure applied to duplicate-call index: reportId={}", report.getId());
+    }
+}
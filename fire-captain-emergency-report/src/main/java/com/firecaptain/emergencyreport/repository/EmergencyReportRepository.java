@@ -0,0 +1,92 @@
+package com.firecaptain.emergencyreport.repository;
+
+import com.firecaptain.common.dto.EmergencyReportDto.ReportStatus;
+import com.firecaptain.emergencyreport.entity.EmergencyReport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 緊急通報リポジトリ
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Repository
+public interface EmergencyReportRepository extends JpaRepository<EmergencyReport, Long> {
+
+    Optional<EmergencyReport> findByReportNumber(String reportNumber);
+
+    /**
+     * 受付時刻の下限を付けて、IDで通報を取得します。
+     * {@link #findById} は全パーティションの主キー索引を引くため、受付時刻が分かる場合はこちらを使います。
+     *
+     * @param id           通報ID
+     * @param receivedFrom 受付時刻の下限（含む）
+     * @return 通報
+     */
+    Optional<EmergencyReport> findByIdAndReceivedAtGreaterThanEqual(Long id, LocalDateTime receivedFrom);
+
+    /**
+     * 一次通報に関連付けられた未終了の重複通報を、一次通報と同じステータスで一括終了します。
+     * 重複通報は一次通報より後に受け付けられるため、受付時刻の下限で古いパーティションの走査を省きます。
+     *
+     * @param primaryReportId 一次通報ID
+     * @param receivedFrom    受付時刻の下限（含む）
+     * @param status          終了ステータス（COMPLETED / CANCELLED）
+     * @param completedAt     完了時刻（CANCELLED の場合は null）
+     * @return 更新件数
+     */
+    @Modifying
+    @Query("UPDATE EmergencyReport r SET r.status = :status, r.completedAt = :completedAt, "
+            + "r.updatedAt = CURRENT_TIMESTAMP, r.version = r.version + 1 "
+            + "WHERE r.primaryReportId = :primaryReportId AND r.receivedAt >= :receivedFrom "
+            + "AND r.status NOT IN ("
+            + "com.firecaptain.common.dto.EmergencyReportDto.ReportStatus.COMPLETED, "
+            + "com.firecaptain.common.dto.EmergencyReportDto.ReportStatus.CANCELLED)")
+    int closeDuplicates(@Param("primaryReportId") Long primaryReportId,
+                        @Param("receivedFrom") LocalDateTime receivedFrom,
+                        @Param("status") ReportStatus status,
+                        @Param("completedAt") LocalDateTime completedAt);
+
+    /**
+     * 一次通報に関連付けられた未終了の重複通報のIDを取得します。
+     *
+     * @param primaryReportId 一次通報ID
+     * @param receivedFrom    受付時刻の下限（含む）
+     * @return 通報ID
+     */
+    @Query("SELECT r.id FROM EmergencyReport r "
+            + "WHERE r.primaryReportId = :primaryReportId AND r.receivedAt >= :receivedFrom "
+            + "AND r.status NOT IN ("
+            + "com.firecaptain.common.dto.EmergencyReportDto.ReportStatus.COMPLETED, "
+            + "com.firecaptain.common.dto.EmergencyReportDto.ReportStatus.CANCELLED)")
+    List<Long> findOpenDuplicateIds(@Param("primaryReportId") Long primaryReportId,
+                                    @Param("receivedFrom") LocalDateTime receivedFrom);
+
+    /**
+     * 未終了の重複通報を、一次通報との関連付けを外して新しい事案の一次通報にします。
+     * 関連付けが変わっていない場合のみ更新するため、同じ通報を二重に切り替えません。
+     *
+     * @param id              通報ID
+     * @param primaryReportId 関連付けられている一次通報ID
+     * @param receivedFrom    受付時刻の下限（含む）
+     * @return 更新件数
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EmergencyReport r SET r.primaryReportId = NULL, "
+            + "r.updatedAt = CURRENT_TIMESTAMP, r.version = r.version + 1 "
+            + "WHERE r.id = :id AND r.primaryReportId = :primaryReportId AND r.receivedAt >= :receivedFrom "
+            + "AND r.status NOT IN ("
+            + "com.firecaptain.common.dto.EmergencyReportDto.ReportStatus.COMPLETED, "
+            + "com.firecaptain.common.dto.EmergencyReportDto.ReportStatus.CANCELLED)")
+    int promoteDuplicate(@Param("id") Long id,
+                         @Param("primaryReportId") Long primaryReportId,
+                         @Param("receivedFrom") LocalDateTime receivedFrom);
+}
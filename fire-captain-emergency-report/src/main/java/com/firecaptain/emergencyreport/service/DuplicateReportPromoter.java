@@ -0,0 +1,105 @@
+package com.firecaptain.emergencyreport.service;
+
+import com.firecaptain.common.dto.EmergencyReportDto;
+import com.firecaptain.common.dto.EmergencyReportEvent;
+import com.firecaptain.common.exception.ResourceNotFoundException;
+import com.firecaptain.emergencyreport.intake.DuplicateCallDetector;
+import com.firecaptain.emergencyreport.mapper.EmergencyReportMapper;
+import com.firecaptain.emergencyreport.repository.EmergencyReportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * 重複通報の一次通報への切り替え
+ *
+ * 重複通報の受付と一次通報の終了（またはロールバック）が競合すると、一括終了の対象から漏れた
+ * 重複通報が、受付イベントを発行しないまま残ります。そのような通報を新しい事案の一次通報に切り替え、
+ * 受付イベントを発行します。コミット後の処理から呼び出すため、常に新しいトランザクションで実行します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DuplicateReportPromoter {
+
+    private final EmergencyReportRepository emergencyReportRepository;
+    private final EmergencyReportMapper emergencyReportMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DuplicateCallDetector duplicateCallDetector;
+
+    /**
+     * 一次通報の終了を索引に反映し、一括終了から漏れた重複通報を切り替えます。
+     * 他のインスタンスで終了した一次通報も、状態変化イベントから同じ処理を行います。
+     *
+     * @param primaryReportId   一次通報ID
+     * @param primaryReceivedAt 一次通報の受付時刻
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPrimaryClosed(Long primaryReportId, LocalDateTime primaryReceivedAt) {
+        // 索引に関連付けがなければ、このインスタンスで受け付けた重複通報はない
+        if (duplicateCallDetector.close(primaryReportId)) {
+            promoteAll(primaryReportId, primaryReceivedAt);
+        }
+    }
+
+    /**
+     * 一次通報の受付がロールバックされた場合に、先にコミットされた重複通報を切り替えます。
+     *
+     * @param primaryReportId   一次通報ID
+     * @param primaryReceivedAt 一次通報の受付時刻
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPrimaryRolledBack(Long primaryReportId, LocalDateTime primaryReceivedAt) {
+        promoteAll(primaryReportId, primaryReceivedAt);
+    }
+
+    /**
+     * 重複通報の受付をコミットした後、一次通報が終了・ロールバック済みであれば切り替えます。
+     *
+     * @param reportId        通報ID
+     * @param primaryReportId 一次通報ID
+     * @param receivedAt      重複通報の受付時刻
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void promoteIfPrimaryClosed(Long reportId, Long primaryReportId, LocalDateTime receivedAt) {
+        if (duplicateCallDetector.isClosed(primaryReportId)) {
+            promote(reportId, primaryReportId, receivedAt.minus(EmergencyReportService.DUPLICATE_RECEIVED_MARGIN));
+        }
+    }
+
+    private void promoteAll(Long primaryReportId, LocalDateTime primaryReceivedAt) {
+        // 同時に受け付けた通報の受付時刻は前後し得るため、余裕を持たせる
+        LocalDateTime receivedFrom = primaryReceivedAt.minus(EmergencyReportService.DUPLICATE_RECEIVED_MARGIN);
+        for (Long id : emergencyReportRepository.findOpenDuplicateIds(primaryReportId, receivedFrom)) {
+            promote(id, primaryReportId, receivedFrom);
+        }
+    }
+
+    private void promote(Long reportId, Long primaryReportId, LocalDateTime receivedFrom) {
+        int updated = emergencyReportRepository.promoteDuplicate(reportId, primaryReportId, receivedFrom);
+        if (updated == 0) {
+            // 一括終了済み、または他の経路で切り替え済み
+            return;
+        }
+        EmergencyReportDto promoted = emergencyReportRepository
+                .findByIdAndReceivedAtGreaterThanEqual(reportId, receivedFrom)
+                .map(emergencyReportMapper::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("EmergencyReport", reportId));
+        duplicateCallDetector.promote(reportId);
+        eventPublisher.publishEvent(EmergencyReportEvent.builder()
+                .type(EmergencyReportEvent.EventType.CREATED)
+                .report(promoted)
+                .occurredAt(LocalDateTime.now())
+                .build());
+        log.info("Duplicate emergency report promoted to a new incident: reportNumber={}, previousPrimaryReportId={}",
+                promoted.getReportNumber(), primaryReportId);
+    }
+}
@@ -0,0 +1,271 @@
+package com.firecaptain.emergencyreport.service;
+
+import com.firecaptain.common.dto.EmergencyReportDto;
+import com.firecaptain.common.dto.EmergencyReportDto.ReportStatus;
+import com.firecaptain.common.dto.EmergencyReportEvent;
+import com.firecaptain.common.exception.BusinessException;
+import com.firecaptain.common.exception.ResourceNotFoundException;
+import com.firecaptain.common.util.BusinessNumberGenerator;
+import com.firecaptain.emergencyreport.dto.CreateEmergencyReportRequest;
+import com.firecaptain.emergencyreport.entity.EmergencyReport;
+import com.firecaptain.emergencyreport.intake.DuplicateCallDetector;
+import com.firecaptain.emergencyreport.mapper.EmergencyReportMapper;
+import com.firecaptain.emergencyreport.repository.EmergencyReportRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 緊急通報サービス
+ *
+ * 緊急通報の受付・ステータス管理・参照処理を提供します。
+ * 状態が変化した場合は、コミット後に緊急通報イベントを発行します。
+ * 同じ事案への重複通報は受付時に一次通報へ関連付け、受付イベントを発行しません。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class EmergencyReportService {
+
+    /** マルチゲット1回あたりの最大ID数 */
+    public static final int MAX_BATCH_SIZE = 200;
+
+    /** 重複通報を一括終了する際の、一次通報の受付時刻からの下限の余裕 */
+    static final Duration DUPLICATE_RECEIVED_MARGIN = Duration.ofHours(1);
+
+    private final EmergencyReportRepository emergencyReportRepository;
+    private final EmergencyReportMapper emergencyReportMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DuplicateCallDetector duplicateCallDetector;
+    private final DuplicateReportPromoter duplicateReportPromoter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 緊急通報を受け付けます。
+     *
+     * 同じ種別で近接する直近の通報がある場合は、重複通報として一次通報に関連付け、
+     * 受付イベントを発行しません（出動指令・下流サービスへの重複した連鎖を防ぐ）。
+     *
+     * @param request 受付リクエスト
+     * @return 登録された緊急通報
+     */
+    @Transactional
+    public EmergencyReportDto createEmergencyReport(CreateEmergencyReportRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        EmergencyReport report = emergencyReportMapper.toEntity(request);
+        report.setReportNumber(BusinessNumberGenerator.generate("ER", now));
+        report.setStatus(ReportStatus.RECEIVED);
+        report.setReceivedAt(now);
+
+        // シーケンスでIDを採番してから照合し、INSERT 1回で関連付けまで書き込む
+        EmergencyReport saved = emergencyReportRepository.save(report);
+        Long primaryReportId = duplicateCallDetector.register(saved.getId(), saved.getEmergencyType(),
+                saved.getLocationLatitude(), saved.getLocationLongitude(),
+                now.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        forgetOnRollback(saved.getId(), primaryReportId == null, now);
+        saved.setPrimaryReportId(primaryReportId);
+
+        EmergencyReportDto created = emergencyReportMapper.toDto(emergencyReportRepository.saveAndFlush(saved));
+        if (primaryReportId != null) {
+            promoteIfPrimaryClosed(saved.getId(), primaryReportId, now);
+            log.info("Duplicate emergency report linked: reportNumber={}, type={}, primaryReportId={}",
+                    created.getReportNumber(), created.getEmergencyType(), primaryReportId);
+            return created;
+        }
+        publish(EmergencyReportEvent.EventType.CREATED, created);
+        log.info("Emergency report received: reportNumber={}, type={}, priority={}",
+                created.getReportNumber(), created.getEmergencyType(), created.getPriorityLevel());
+        return created;
+    }
+
+    /**
+     * 緊急通報のステータスを変更します。
+     * 重複通報は受付イベントを発行していないため、状態変化イベントも発行しません。
+     *
+     * @param id     通報ID
+     * @param status 変更後のステータス
+     * @return 更新された緊急通報
+     */
+    @Transactional
+    public EmergencyReportDto updateStatus(Long id, ReportStatus status) {
+        // 要求には受付時刻がないため、キャッシュにない場合は全パーティションの主キー索引を引く
+        EmergencyReport report = emergencyReportRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("EmergencyReport", id));
+        ReportStatus current = report.getStatus();
+        if (current == status) {
+            return emergencyReportMapper.toDto(report);
+        }
+        if (current == ReportStatus.COMPLETED || current == ReportStatus.CANCELLED) {
+            throw new BusinessException(current.name(), status.name(), "report is already closed", true);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        report.setStatus(status);
+        switch (status) {
+            case DISPATCHED -> report.setDispatchedAt(now);
+            case ON_SCENE -> report.setArrivedAt(now);
+            case COMPLETED -> {
+                report.setCompletedAt(now);
+                report.setActualDurationMinutes(
+                        (int) Duration.between(report.getReceivedAt(), now).toMinutes());
+            }
+            default -> {
+                // EN_ROUTE / CANCELLED は時刻の記録なし
+            }
+        }
+
+        EmergencyReportDto updated = emergencyReportMapper.toDto(emergencyReportRepository.saveAndFlush(report));
+        if ((status == ReportStatus.COMPLETED || status == ReportStatus.CANCELLED)
+                && report.getPrimaryReportId() == null) {
+            closeDuplicates(id, report.getReceivedAt(), status, report.getCompletedAt());
+        }
+        if (report.getPrimaryReportId() != null) {
+            // 受付イベントを発行していない重複通報のため、下流サービスには状態変化も伝えない
+            log.debug("Status change of duplicate report not published: reportNumber={}, status={}, primaryReportId={}",
+                    updated.getReportNumber(), status, report.getPrimaryReportId());
+            return updated;
+        }
+        publish(EmergencyReportEvent.EventType.STATUS_CHANGED, updated);
+        return updated;
+    }
+
+    /**
+     * IDで緊急通報を取得します。
+     *
+     * @param id 通報ID
+     * @return 緊急通報
+     */
+    public EmergencyReportDto getEmergencyReport(Long id) {
+        return emergencyReportRepository.findById(id)
+                .map(emergencyReportMapper::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("EmergencyReport", id));
+    }
+
+    /**
+     * 複数IDの緊急通報を一括取得します。
+     *
+     * セカンドレベルキャッシュに存在するエンティティはキャッシュから解決し、
+     * 残りのIDのみを1回のクエリ（id = ANY(?)）で取得します。
+     * 存在しないIDは結果に含まれません。
+     *
+     * @param ids 通報IDのコレクション
+     * @return 緊急通報のリスト
+     */
+    public List<EmergencyReportDto> getEmergencyReports(Collection<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new BusinessException("get", "EmergencyReport",
+                    String.format("at most %d ids can be requested at once", MAX_BATCH_SIZE));
+        }
+
+        // IDだけの取得のため、キャッシュにないIDは全パーティションの主キー索引を引く
+        List<EmergencyReport> reports = entityManager.unwrap(Session.class)
+                .byMultipleIds(EmergencyReport.class)
+                .with(CacheMode.NORMAL)
+                .enableSessionCheck(true)
+                .enableOrderedReturn(false)
+                .withBatchSize(MAX_BATCH_SIZE)
+                .multiLoad(distinctIds);
+
+        log.debug("Multi-get emergency reports: requested={}, found={}", distinctIds.size(), reports.size());
+        return emergencyReportMapper.toDtoList(reports.stream().filter(Objects::nonNull).toList());
+    }
+
+    /**
+     * 事案の終了時に、関連付けられた重複通報も終了し、以降の通報を新しい事案として受け付けます。
+     */
+    private void closeDuplicates(Long primaryReportId, LocalDateTime primaryReceivedAt, ReportStatus status,
+                                 LocalDateTime completedAt) {
+        // 同時に受け付けた通報の受付時刻は前後し得るため、余裕を持たせる
+        int closed = emergencyReportRepository.closeDuplicates(primaryReportId,
+                primaryReceivedAt.minus(DUPLICATE_RECEIVED_MARGIN), status, completedAt);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    // 一括終了の後にコミットされた重複通報は、新しい事案として受付イベントを発行する
+                    duplicateReportPromoter.onPrimaryClosed(primaryReportId, primaryReceivedAt);
+                } catch (RuntimeException e) {
+                    // 状態変化イベントの受信時（全インスタンス）に再度処理される
+                    log.warn("Failed to promote duplicates of closed report: primaryReportId={}",
+                            primaryReportId, e);
+                }
+            }
+        });
+        if (closed > 0) {
+            log.info("Duplicate emergency reports closed: primaryReportId={}, status={}, count={}",
+                    primaryReportId, status, closed);
+        }
+    }
+
+    /**
+     * 受付がロールバックされた場合に、重複判定の索引から登録を取り消します。
+     * 一次通報の場合は、先にコミットされた重複通報を新しい事案に切り替えます。
+     */
+    private void forgetOnRollback(Long reportId, boolean primary, LocalDateTime receivedAt) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                duplicateCallDetector.forget(reportId);
+                if (primary) {
+                    duplicateReportPromoter.onPrimaryRolledBack(reportId, receivedAt);
+                }
+            }
+        });
+    }
+
+    /**
+     * 重複通報のコミット後に一次通報が終了・ロールバック済みであれば、新しい事案に切り替えます
+     * （一次通報の一括終了・切り替えと受付が競合した場合）。
+     */
+    private void promoteIfPrimaryClosed(Long reportId, Long primaryReportId, LocalDateTime receivedAt) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    duplicateReportPromoter.promoteIfPrimaryClosed(reportId, primaryReportId, receivedAt);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to check primary of duplicate report: reportId={}, primaryReportId={}",
+                            reportId, primaryReportId, e);
+                }
+            }
+        });
+    }
+
+    private void publish(EmergencyReportEvent.EventType type, EmergencyReportDto report) {
+        eventPublisher.publishEvent(EmergencyReportEvent.builder()
+                .type(type)
+                .report(report)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+}
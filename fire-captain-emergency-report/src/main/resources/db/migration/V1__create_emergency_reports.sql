@@ -0,0 +1,30 @@
+-- 緊急通報テーブル
+CREATE SEQUENCE emergency_reports_id_seq INCREMENT BY 50;
+
+CREATE TABLE emergency_reports (
+    id                          BIGINT       NOT NULL DEFAULT nextval('emergency_reports_id_seq'),
+    report_number               VARCHAR(24)  NOT NULL,
+    caller_name                 VARCHAR(100) NOT NULL,
+    caller_phone                VARCHAR(20)  NOT NULL,
+    emergency_type              VARCHAR(32)  NOT NULL,
+    location_address            VARCHAR(255) NOT NULL,
+    location_latitude           DOUBLE PRECISION,
+    location_longitude          DOUBLE PRECISION,
+    description                 TEXT,
+    priority_level              VARCHAR(16)  NOT NULL,
+    status                      VARCHAR(16)  NOT NULL,
+    received_at                 TIMESTAMP    NOT NULL,
+    dispatched_at               TIMESTAMP,
+    arrived_at                  TIMESTAMP,
+    completed_at                TIMESTAMP,
+    estimated_duration_minutes  INTEGER,
+    actual_duration_minutes     INTEGER,
+    created_at                  TIMESTAMP    NOT NULL,
+    updated_at                  TIMESTAMP    NOT NULL,
+    version                     BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT pk_emergency_reports PRIMARY KEY (id),
+    CONSTRAINT uk_emergency_reports_report_number UNIQUE (report_number)
+);
+
+CREATE INDEX idx_emergency_reports_status ON emergency_reports (status);
+CREATE INDEX idx_emergency_reports_received_at ON emergency_reports (received_at);
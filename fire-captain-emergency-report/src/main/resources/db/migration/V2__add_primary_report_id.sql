@@ -0,0 +1,5 @@
+-- 重複通報の一次通報への関連付け
+ALTER TABLE emergency_reports ADD COLUMN primary_report_id BIGINT;
+
+CREATE INDEX idx_emergency_reports_primary_report_id ON emergency_reports (primary_report_id)
+    WHERE primary_report_id IS NOT NULL;
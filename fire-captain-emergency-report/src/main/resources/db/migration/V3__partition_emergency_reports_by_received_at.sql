@@ -0,0 +1,42 @@
+-- 緊急通報テーブルを受付時刻（received_at）の月単位レンジパーティションに変換
+--
+-- 既存のテーブルはデータを移動せず、翌月初めまでを範囲とするパーティション（emergency_reports_legacy）として接続する。
+-- 翌月以降の月別パーティションは PartitionMaintenance が事前作成し、保持期間を過ぎたものを切り離す。
+-- パーティションキーを含む必要があるため、主キー・一意制約は (…, received_at) になる（IDはシーケンスで一意）。
+DO $$
+DECLARE
+    cutover DATE := (date_trunc('month', now()) + INTERVAL '1 month')::date;
+    month_start DATE;
+BEGIN
+    ALTER TABLE emergency_reports RENAME TO emergency_reports_legacy;
+    ALTER TABLE emergency_reports_legacy RENAME CONSTRAINT pk_emergency_reports TO pk_emergency_reports_legacy;
+    ALTER TABLE emergency_reports_legacy
+        RENAME CONSTRAINT uk_emergency_reports_report_number TO uk_emergency_reports_legacy_report_number;
+    ALTER INDEX idx_emergency_reports_status RENAME TO idx_emergency_reports_legacy_status;
+    ALTER INDEX idx_emergency_reports_received_at RENAME TO idx_emergency_reports_legacy_received_at;
+    ALTER INDEX idx_emergency_reports_primary_report_id RENAME TO idx_emergency_reports_legacy_primary_report_id;
+
+    CREATE TABLE emergency_reports (LIKE emergency_reports_legacy INCLUDING DEFAULTS)
+        PARTITION BY RANGE (received_at);
+    ALTER TABLE emergency_reports ADD CONSTRAINT pk_emergency_reports PRIMARY KEY (id, received_at);
+    ALTER TABLE emergency_reports
+        ADD CONSTRAINT uk_emergency_reports_report_number UNIQUE (report_number, received_at);
+    CREATE INDEX idx_emergency_reports_status ON emergency_reports (status);
+    CREATE INDEX idx_emergency_reports_received_at ON emergency_reports (received_at);
+    CREATE INDEX idx_emergency_reports_primary_report_id ON emergency_reports (primary_report_id)
+        WHERE primary_report_id IS NOT NULL;
+
+    -- 既存の行が範囲内であることの検証のため、接続時に1回だけ全件を走査する
+    EXECUTE format('ALTER TABLE emergency_reports ATTACH PARTITION emergency_reports_legacy '
+                   || 'FOR VALUES FROM (MINVALUE) TO (%L)', cutover);
+
+    -- 月別パーティションがない期間の行を受け止める（通常は空）
+    CREATE TABLE emergency_reports_default PARTITION OF emergency_reports DEFAULT;
+
+    FOR i IN 0..2 LOOP
+        month_start := (cutover + make_interval(months => i))::date;
+        EXECUTE format('CREATE TABLE %I PARTITION OF emergency_reports FOR VALUES FROM (%L) TO (%L)',
+                       'emergency_reports_p' || to_char(month_start, 'YYYYMM'),
+                       month_start, (month_start + INTERVAL '1 month')::date);
+    END LOOP;
+END $$;
@@ -0,0 +1,26 @@
+-- 通報番号の一意性をパーティション全体で保証する
+--
+-- パーティションテーブルの一意制約はパーティションキーを含む (report_number, received_at) のため、
+-- 受付時刻が異なれば同じ通報番号を登録できてしまう。通報番号だけを主キーとする索引表に
+-- INSERT トリガーで登録し、重複した場合は一意制約違反として INSERT 全体を失敗させる。
+-- 索引表の行はパーティションの切り離し後も残し、過去の通報番号の再利用も防ぐ。
+CREATE TABLE emergency_report_numbers (
+    report_number  VARCHAR(24)  NOT NULL,
+    received_at    TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_emergency_report_numbers PRIMARY KEY (report_number)
+);
+
+INSERT INTO emergency_report_numbers (report_number, received_at)
+SELECT report_number, received_at FROM emergency_reports;
+
+CREATE FUNCTION register_emergency_report_number() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO emergency_report_numbers (report_number, received_at)
+    VALUES (NEW.report_number, NEW.received_at);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_emergency_reports_report_number
+    AFTER INSERT ON emergency_reports
+    FOR EACH ROW EXECUTE FUNCTION register_emergency_report_number();
@@ -0,0 +1,193 @@
+package com.firecaptain.emergencyreport.intake;
+
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 重複通報の検出の検証
+ *
+ * 半径・時間窓による照合、燃え広がる事案の連鎖とその上限、一次通報の終了・取り消しと
+ * 重複通報の切り替えを確認します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+class DuplicateCallDetectorTest {
+
+    /** 1度あたりの距離（メートル、検出器と同じ平均地球半径） */
+    private static final double METERS_PER_DEGREE = 6_371_008.8 * Math.PI / 180;
+    private static final double LATITUDE = 35.68;
+    private static final double LONGITUDE = 139.76;
+    private static final long T0 = 1_700_000_000_000L;
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    void nearbyCallOfSameTypeIsLinkedToPrimary() {
+        DuplicateCallDetector detector = detector(3600);
+
+        assertThat(register(detector, 1, EmergencyType.FIRE, 0, 0, T0)).isNull();
+        assertThat(register(detector, 2, EmergencyType.FIRE, 100, 0, T0 + MINUTE)).isEqualTo(1L);
+        assertThat(register(detector, 3, EmergencyType.MEDICAL, 50, 0, T0 + 2 * MINUTE)).isNull();
+    }
+
+    @Test
+    void callsAreMatchedOnlyWithinRadius() {
+        DuplicateCallDetector detector = detector(3600);
+        register(detector, 1, EmergencyType.FIRE, 0, 0, T0);
+
+        assertThat(register(detector, 2, EmergencyType.FIRE, 299, 0, T0)).isEqualTo(1L);
+        assertThat(register(detector, 3, EmergencyType.FIRE, -301, 0, T0)).isNull();
+        // 経度方向は緯度に応じて縮めて測る
+        assertThat(register(detector, 4, EmergencyType.FIRE, 0, 250, T0)).isEqualTo(1L);
+        assertThat(register(detector, 5, EmergencyType.FIRE, -650, 0, T0)).isNull();
+    }
+
+    @Test
+    void callsAreMatchedOnlyWithinWindow() {
+        DuplicateCallDetector inWindow = detector(3600);
+        register(inWindow, 1, EmergencyType.FIRE, 0, 0, T0);
+        assertThat(register(inWindow, 2, EmergencyType.FIRE, 0, 0, T0 + 10 * MINUTE)).isEqualTo(1L);
+
+        DuplicateCallDetector afterWindow = detector(3600);
+        register(afterWindow, 1, EmergencyType.FIRE, 0, 0, T0);
+        assertThat(register(afterWindow, 2, EmergencyType.FIRE, 0, 0, T0 + 10 * MINUTE + 1000)).isNull();
+        assertThat(afterWindow.size()).isEqualTo(1);
+    }
+
+    @Test
+    void spreadingIncidentStaysLinkedAfterPrimaryIsEvicted() {
+        DuplicateCallDetector detector = detector(3600);
+        register(detector, 1, EmergencyType.FIRE, 0, 0, T0);
+        assertThat(register(detector, 2, EmergencyType.FIRE, 200, 0, T0 + 5 * MINUTE)).isEqualTo(1L);
+        assertThat(register(detector, 3, EmergencyType.FIRE, 400, 0, T0 + 10 * MINUTE)).isEqualTo(1L);
+
+        // 一次通報と2件目は時間窓を過ぎて削除されるが、3件目を経由して同じ事案にまとまる
+        assertThat(register(detector, 4, EmergencyType.FIRE, 600, 0, T0 + 16 * MINUTE)).isEqualTo(1L);
+        assertThat(detector.size()).isEqualTo(2);
+    }
+
+    @Test
+    void chainIsNotExtendedPastMaxChain() {
+        DuplicateCallDetector detector = detector(15 * 60);
+        register(detector, 1, EmergencyType.FIRE, 0, 0, T0);
+        register(detector, 2, EmergencyType.FIRE, 200, 0, T0 + 5 * MINUTE);
+        register(detector, 3, EmergencyType.FIRE, 400, 0, T0 + 10 * MINUTE);
+
+        assertThat(register(detector, 4, EmergencyType.FIRE, 600, 0, T0 + 16 * MINUTE)).isNull();
+        assertThat(register(detector, 5, EmergencyType.FIRE, 650, 0, T0 + 17 * MINUTE)).isEqualTo(4L);
+    }
+
+    @Test
+    void closedPrimaryIsNotMatched() {
+        DuplicateCallDetector detector = detector(3600);
+        register(detector, 1, EmergencyType.FIRE, 0, 0, T0);
+        register(detector, 2, EmergencyType.FIRE, 100, 0, T0 + MINUTE);
+
+        assertThat(detector.close(1L)).isTrue();
+        assertThat(detector.close(1L)).isFalse();
+        assertThat(detector.isClosed(1L)).isTrue();
+        assertThat(register(detector, 3, EmergencyType.FIRE, 50, 0, T0 + 2 * MINUTE)).isNull();
+        assertThat(detector.close(99L)).isFalse();
+    }
+
+    @Test
+    void primaryCanBeClosedWhileLinkedCallsRemain() {
+        DuplicateCallDetector detector = detector(3600);
+        register(detector, 1, EmergencyType.FIRE, 0, 0, T0);
+        register(detector, 2, EmergencyType.FIRE, 100, 0, T0 + 9 * MINUTE);
+        // 一次通報は時間窓を過ぎて削除される
+        register(detector, 3, EmergencyType.HAZMAT, 5000, 0, T0 + 12 * MINUTE);
+
+        assertThat(detector.close(1L)).isTrue();
+        assertThat(register(detector, 4, EmergencyType.FIRE, 100, 0, T0 + 13 * MINUTE)).isNull();
+    }
+
+    @Test
+    void primaryIsForgottenOnceNoLinkedCallsRemain() {
+        DuplicateCallDetector detector = detector(3600);
+        register(detector, 1, EmergencyType.FIRE, 0, 0, T0);
+        register(detector, 2, EmergencyType.FIRE, 5000, 0, T0 + 11 * MINUTE);
+
+        assertThat(detector.close(1L)).isFalse();
+        assertThat(detector.isClosed(1L)).isFalse();
+    }
+
+    @Test
+    void promotedDuplicateBecomesPrimaryOfLaterCalls() {
+        DuplicateCallDetector detector = detector(3600);
+        register(detector, 1, EmergencyType.FIRE, 0, 0, T0);
+        register(detector, 2, EmergencyType.FIRE, 100, 0, T0 + MINUTE);
+        detector.close(1L);
+
+        detector.promote(2L);
+
+        assertThat(detector.isClosed(2L)).isFalse();
+        assertThat(register(detector, 3, EmergencyType.FIRE, 150, 0, T0 + 2 * MINUTE)).isEqualTo(2L);
+        assertThat(detector.close(2L)).isTrue();
+    }
+
+    @Test
+    void forgottenPrimaryIsTreatedAsClosed() {
+        DuplicateCallDetector detector = detector(3600);
+        register(detector, 1, EmergencyType.FIRE, 0, 0, T0);
+        register(detector, 2, EmergencyType.FIRE, 100, 0, T0 + MINUTE);
+
+        detector.forget(1L);
+
+        assertThat(detector.isClosed(1L)).isTrue();
+        assertThat(register(detector, 3, EmergencyType.FIRE, 100, 0, T0 + 2 * MINUTE)).isNull();
+    }
+
+    @Test
+    void forgottenDuplicateIsRemovedFromIndex() {
+        DuplicateCallDetector detector = detector(3600);
+        register(detector, 1, EmergencyType.FIRE, 0, 0, T0);
+        register(detector, 2, EmergencyType.FIRE, 100, 0, T0 + MINUTE);
+
+        detector.forget(2L);
+
+        assertThat(detector.size()).isEqualTo(1);
+        assertThat(detector.isClosed(1L)).isFalse();
+        assertThat(register(detector, 3, EmergencyType.FIRE, 350, 0, T0 + 2 * MINUTE)).isNull();
+    }
+
+    @Test
+    void indexIsBoundedByMaxEntries() {
+        DuplicateCallDetector detector = new DuplicateCallDetector(true, 300, 600, 3600, 2, new SimpleMeterRegistry());
+        register(detector, 1, EmergencyType.FIRE, 0, 0, T0);
+        register(detector, 2, EmergencyType.FIRE, 5000, 0, T0);
+        register(detector, 3, EmergencyType.FIRE, 10000, 0, T0);
+
+        assertThat(detector.size()).isEqualTo(2);
+        assertThat(register(detector, 4, EmergencyType.FIRE, 0, 0, T0)).isNull();
+    }
+
+    @Test
+    void callsWithoutLocationOrWhenDisabledAreNotMatched() {
+        DuplicateCallDetector disabled = new DuplicateCallDetector(false, 300, 600, 3600, 100, new SimpleMeterRegistry());
+        register(disabled, 1, EmergencyType.FIRE, 0, 0, T0);
+        assertThat(register(disabled, 2, EmergencyType.FIRE, 0, 0, T0)).isNull();
+
+        DuplicateCallDetector detector = detector(3600);
+        register(detector, 1, EmergencyType.FIRE, 0, 0, T0);
+        assertThat(detector.register(2L, EmergencyType.FIRE, null, LONGITUDE, T0)).isNull();
+        assertThat(detector.size()).isEqualTo(1);
+    }
+
+    private static DuplicateCallDetector detector(long maxChainSeconds) {
+        return new DuplicateCallDetector(true, 300, 600, maxChainSeconds, 50_000, new SimpleMeterRegistry());
+    }
+
+    /**
+     * 基準地点から北・東にずらした位置の通報を登録します。
+     */
+    private static Long register(DuplicateCallDetector detector, long reportId, EmergencyType type,
+                                 double northMeters, double eastMeters, long receivedAt) {
+        double latitude = LATITUDE + northMeters / METERS_PER_DEGREE;
+        double longitude = LONGITUDE + eastMeters / (METERS_PER_DEGREE * Math.cos(Math.toRadians(LATITUDE)));
+        return detector.register(reportId, type, latitude, longitude, receivedAt);
+    }
+}
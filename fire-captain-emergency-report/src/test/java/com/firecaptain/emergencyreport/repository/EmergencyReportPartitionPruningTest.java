@@ -0,0 +1,214 @@
+package com.firecaptain.emergencyreport.repository;
+
+import com.firecaptain.common.partition.PartitionMaintenance;
+import com.firecaptain.common.partition.PartitionedTable;
+import com.firecaptain.common.partition.PartitionedTable.ArchiveMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 緊急通報テーブルのパーティションプルーニングの検証
+ *
+ * マイグレーション後のテーブルに対して、受付時刻で範囲を絞ったクエリが対象月のパーティションだけを走査すること
+ * （計画時・実行時のプルーニング）と、パーティション保守による事前作成・切り離し、
+ * パーティションをまたいだ通報番号の一意性（切り離したパーティションの通報番号を含む）を確認します。
+ * Docker が利用できない環境ではスキップします。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class EmergencyReportPartitionPruningTest {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    /** 保守を実行する日付（切り替え月からの月数） */
+    private static final int MAINTENANCE_MONTHS = 6;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static DriverManagerDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    /** マイグレーションで既存テーブルの範囲の上限とした月初め（翌月1日） */
+    private static LocalDate cutover;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        cutover = jdbcTemplate.queryForObject(
+                "SELECT (date_trunc('month', now()) + INTERVAL '1 month')::date", LocalDate.class);
+    }
+
+    @Test
+    @Order(1)
+    void rowsAreRoutedByReceivedAt() {
+        insert("ER-LEGACY", cutover.minusDays(1));
+        insert("ER-NEXT", cutover.plusDays(1));
+
+        assertThat(partitionOf("ER-LEGACY")).isEqualTo("emergency_reports_legacy");
+        assertThat(partitionOf("ER-NEXT")).isEqualTo(monthPartition(cutover));
+    }
+
+    @Test
+    @Order(2)
+    void boundedQueryIsPrunedAtPlanTime() throws SQLException {
+        String plan = explain("EXPLAIN (COSTS OFF) SELECT * FROM emergency_reports "
+                + "WHERE received_at >= '" + cutover + "' AND received_at < '" + cutover.plusMonths(1) + "'");
+
+        assertThat(plan).contains(monthPartition(cutover))
+                .doesNotContain("emergency_reports_legacy")
+                .doesNotContain("emergency_reports_default")
+                .doesNotContain(monthPartition(cutover.plusMonths(1)));
+    }
+
+    @Test
+    @Order(3)
+    void closeDuplicatesShapeIsPrunedAtPlanTime() throws SQLException {
+        String plan = explain("EXPLAIN (COSTS OFF) UPDATE emergency_reports SET status = 'COMPLETED' "
+                + "WHERE primary_report_id = 1 AND received_at >= '" + cutover.plusMonths(1) + "'");
+
+        assertThat(plan).doesNotContain("emergency_reports_legacy")
+                .doesNotContain(monthPartition(cutover))
+                .contains(monthPartition(cutover.plusMonths(1)));
+    }
+
+    @Test
+    @Order(4)
+    void genericPlanIsPrunedAtExecution() throws SQLException {
+        // JDBC ドライバはサーバー側のプリペアドステートメントを再利用するため、汎用プランでも絞り込まれることを確認する
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SET plan_cache_mode = force_generic_plan");
+            statement.execute("PREPARE by_received_at(timestamp, timestamp) AS SELECT * FROM emergency_reports "
+                    + "WHERE received_at >= $1 AND received_at < $2");
+            String plan = explain(statement, "EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF, SUMMARY OFF) "
+                    + "EXECUTE by_received_at('" + cutover + "', '" + cutover.plusMonths(1) + "')");
+
+            assertThat(plan).contains("Subplans Removed")
+                    .contains(monthPartition(cutover))
+                    .doesNotContain("emergency_reports_legacy");
+        }
+    }
+
+    @Test
+    @Order(5)
+    void maintenanceCreatesFuturePartitionsAndArchivesExpiredOnes() throws SQLException {
+        PartitionMaintenance maintenance = new PartitionMaintenance(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), new SimpleMeterRegistry());
+        LocalDate today = cutover.plusMonths(MAINTENANCE_MONTHS);
+
+        maintenance.maintain(new PartitionedTable("emergency_reports", 2, 3, ArchiveMode.DETACH), today);
+
+        assertThat(isPartition(monthPartition(today))).isTrue();
+        assertThat(isPartition(monthPartition(today.plusMonths(1)))).isTrue();
+        // 保持期間の開始（3か月前の月初め）より前に終わるパーティションは archive スキーマへ移動する
+        assertThat(isPartition("emergency_reports_legacy")).isFalse();
+        assertThat(isPartition(monthPartition(cutover))).isFalse();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT to_regclass('archive.emergency_reports_legacy') IS NOT NULL", Boolean.class)).isTrue();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM archive.emergency_reports_legacy", Integer.class)).isEqualTo(1);
+
+        String plan = explain("EXPLAIN (COSTS OFF) SELECT * FROM emergency_reports "
+                + "WHERE received_at >= '" + today + "' AND received_at < '" + today.plusMonths(1) + "'");
+        assertThat(plan).contains(monthPartition(today)).doesNotContain(monthPartition(today.plusMonths(1)));
+
+        // 再実行しても重複して作成・切り離ししない
+        maintenance.maintain(new PartitionedTable("emergency_reports", 2, 3, ArchiveMode.DETACH), today);
+        assertThat(isPartition(monthPartition(today))).isTrue();
+    }
+
+    @Test
+    @Order(6)
+    void reportNumberIsUniqueAcrossPartitions() {
+        // 保守で作成済みの、稼働中の2つの月パーティションに振り分けられる受付時刻を使う
+        LocalDate month = cutover.plusMonths(MAINTENANCE_MONTHS);
+        insert("ER-UNIQUE", month.plusDays(1));
+        assertThat(partitionOf("ER-UNIQUE")).isEqualTo(monthPartition(month));
+
+        // 一意制約は (report_number, received_at) のため、別の月の同じ通報番号は索引表で拒否する
+        assertThatThrownBy(() -> insert("ER-UNIQUE", month.plusMonths(1).plusDays(1)))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThat(isPartition(monthPartition(month.plusMonths(1)))).isTrue();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM emergency_reports WHERE report_number = 'ER-UNIQUE'", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    @Order(7)
+    void archivedReportNumbersStayReserved() {
+        // 切り離したパーティションの通報番号も、索引表に残るため再利用できない
+        assertThat(isPartition("emergency_reports_legacy")).isFalse();
+        assertThatThrownBy(() -> insert("ER-LEGACY", cutover.plusMonths(MAINTENANCE_MONTHS).plusDays(2)))
+                .isInstanceOf(DuplicateKeyException.class);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM emergency_reports WHERE report_number = 'ER-LEGACY'", Integer.class)).isZero();
+    }
+
+    private static void insert(String reportNumber, LocalDate receivedOn) {
+        jdbcTemplate.update("INSERT INTO emergency_reports (report_number, caller_name, caller_phone, "
+                        + "emergency_type, location_address, priority_level, status, received_at, created_at, "
+                        + "updated_at) VALUES (?, 'caller', '0000000000', 'FIRE', 'address', 'HIGH', 'RECEIVED', "
+                        + "?::timestamp, now(), now())",
+                reportNumber, receivedOn.atTime(12, 0).toString().replace('T', ' '));
+    }
+
+    private static String partitionOf(String reportNumber) {
+        return jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM emergency_reports WHERE report_number = ?",
+                String.class, reportNumber);
+    }
+
+    private static boolean isPartition(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = 'emergency_reports'::regclass AND c.relname = ?)",
+                Boolean.class, name));
+    }
+
+    private static String monthPartition(LocalDate month) {
+        return "emergency_reports_p" + month.format(SUFFIX);
+    }
+
+    private static String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            return explain(statement, sql);
+        }
+    }
+
+    private static String explain(Statement statement, String sql) throws SQLException {
+        StringJoiner plan = new StringJoiner("\n");
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                plan.add(resultSet.getString(1));
+            }
+        }
+        return plan.toString();
+    }
+}
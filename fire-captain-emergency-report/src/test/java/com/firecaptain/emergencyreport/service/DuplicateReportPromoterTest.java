@@ -0,0 +1,147 @@
+package com.firecaptain.emergencyreport.service;
+
+import com.firecaptain.common.dto.EmergencyReportDto;
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportEvent;
+import com.firecaptain.emergencyreport.entity.EmergencyReport;
+import com.firecaptain.emergencyreport.intake.DuplicateCallDetector;
+import com.firecaptain.emergencyreport.mapper.EmergencyReportMapper;
+import com.firecaptain.emergencyreport.repository.EmergencyReportRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 重複通報の一次通報への切り替えの検証
+ *
+ * 一次通報の終了・ロールバックと競合して一括終了から漏れた重複通報が、新しい事案の一次通報として
+ * 受付イベントを発行し、重複判定の索引でも以降の通報の一次通報になることを確認します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class DuplicateReportPromoterTest {
+
+    private static final LocalDateTime RECEIVED_AT = LocalDateTime.of(2024, 12, 1, 9, 0);
+    private static final LocalDateTime RECEIVED_FROM =
+            RECEIVED_AT.minus(EmergencyReportService.DUPLICATE_RECEIVED_MARGIN);
+
+    @Mock
+    private EmergencyReportRepository emergencyReportRepository;
+    @Mock
+    private EmergencyReportMapper emergencyReportMapper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private DuplicateCallDetector duplicateCallDetector;
+    private DuplicateReportPromoter promoter;
+
+    @BeforeEach
+    void setUp() {
+        duplicateCallDetector = new DuplicateCallDetector(true, 300, 600, 3600, 1000, new SimpleMeterRegistry());
+        promoter = new DuplicateReportPromoter(emergencyReportRepository, emergencyReportMapper, eventPublisher,
+                duplicateCallDetector);
+    }
+
+    @Test
+    void duplicatesLeftOpenArePromotedWhenPrimaryCloses() {
+        register(1L, RECEIVED_AT);
+        register(2L, RECEIVED_AT.plusMinutes(1));
+        when(emergencyReportRepository.findOpenDuplicateIds(1L, RECEIVED_FROM)).thenReturn(List.of(2L));
+        EmergencyReportDto promoted = stubPromotion(2L, 1L);
+
+        promoter.onPrimaryClosed(1L, RECEIVED_AT);
+
+        assertThat(duplicateCallDetector.isClosed(1L)).isTrue();
+        assertCreatedEventPublished(promoted);
+        // 以降の近接通報は、切り替えた通報に関連付けられる
+        assertThat(register(3L, RECEIVED_AT.plusMinutes(2))).isEqualTo(2L);
+    }
+
+    @Test
+    void nothingIsPromotedWhenPrimaryHasNoLinkedCalls() {
+        promoter.onPrimaryClosed(1L, RECEIVED_AT);
+
+        verifyNoInteractions(emergencyReportRepository, eventPublisher);
+    }
+
+    @Test
+    void duplicateAlreadyClosedOrPromotedIsSkipped() {
+        register(1L, RECEIVED_AT);
+        register(2L, RECEIVED_AT.plusMinutes(1));
+        when(emergencyReportRepository.findOpenDuplicateIds(1L, RECEIVED_FROM)).thenReturn(List.of(2L));
+        when(emergencyReportRepository.promoteDuplicate(2L, 1L, RECEIVED_FROM)).thenReturn(0);
+
+        promoter.onPrimaryClosed(1L, RECEIVED_AT);
+
+        verify(emergencyReportRepository, never()).findByIdAndReceivedAtGreaterThanEqual(2L, RECEIVED_FROM);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void duplicatesArePromotedWhenPrimaryRollsBack() {
+        when(emergencyReportRepository.findOpenDuplicateIds(1L, RECEIVED_FROM)).thenReturn(List.of(2L));
+        EmergencyReportDto promoted = stubPromotion(2L, 1L);
+
+        promoter.onPrimaryRolledBack(1L, RECEIVED_AT);
+
+        assertCreatedEventPublished(promoted);
+    }
+
+    @Test
+    void duplicateCommittedAfterPrimaryClosedIsPromoted() {
+        register(1L, RECEIVED_AT);
+        register(2L, RECEIVED_AT.plusMinutes(1));
+
+        // 一次通報が終了していなければ何もしない
+        promoter.promoteIfPrimaryClosed(2L, 1L, RECEIVED_AT);
+        verifyNoInteractions(emergencyReportRepository, eventPublisher);
+
+        duplicateCallDetector.close(1L);
+        EmergencyReportDto promoted = stubPromotion(2L, 1L);
+        promoter.promoteIfPrimaryClosed(2L, 1L, RECEIVED_AT);
+
+        assertCreatedEventPublished(promoted);
+    }
+
+    private EmergencyReportDto stubPromotion(Long reportId, Long primaryReportId) {
+        EmergencyReport entity = new EmergencyReport();
+        EmergencyReportDto dto = EmergencyReportDto.builder().id(reportId).reportNumber("ER-" + reportId).build();
+        when(emergencyReportRepository.promoteDuplicate(reportId, primaryReportId, RECEIVED_FROM)).thenReturn(1);
+        when(emergencyReportRepository.findByIdAndReceivedAtGreaterThanEqual(reportId, RECEIVED_FROM))
+                .thenReturn(Optional.of(entity));
+        when(emergencyReportMapper.toDto(entity)).thenReturn(dto);
+        return dto;
+    }
+
+    private void assertCreatedEventPublished(EmergencyReportDto report) {
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue()).isInstanceOfSatisfying(EmergencyReportEvent.class, published -> {
+            assertThat(published.getType()).isEqualTo(EmergencyReportEvent.EventType.CREATED);
+            assertThat(published.getReport()).isSameAs(report);
+        });
+    }
+
+    private Long register(Long reportId, LocalDateTime receivedAt) {
+        return duplicateCallDetector.register(reportId, EmergencyType.FIRE, 35.68, 139.76,
+                receivedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
@@ -0,0 +1,113 @@
+package com.firecaptain.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firecaptain.loadtest.environment.LoadTestEnvironment;
+import com.firecaptain.loadtest.report.HopLatency;
+import com.firecaptain.loadtest.report.LatencyBaseline;
+import com.firecaptain.loadtest.report.LatencyReport;
+import com.firecaptain.loadtest.storm.IncidentStorm;
+import com.firecaptain.loadtest.storm.StormProfile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * インシデントストーム負荷試験
+ *
+ * 経路上の4サービスをローカル代替とともに起動し、ウォームアップ後にストームを再生して、
+ * 区間ごと（ゲートウェイ → 緊急通報 → 出動指令 → 現場支援）の応答時間を計測します。
+ * 結果は JSON に書き出し、保存済みの基準値と比べて p99 が劣化した場合は終了コード 1 で終了します。
+ * 基準値（既定 {@code baseline/p99-baseline.json}）は {@code fire-captain.loadtest.update-baseline=true} の場合だけ
+ * 今回の結果で記録します。計測値は環境に依存するため、基準とする環境で記録してください。
+ * 基準値がなければ比較できないため、記録を指定しない限り終了コード 2 で終了します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+public final class IncidentStormLoadTest {
+
+    private static final String PREFIX = "fire-captain.loadtest.";
+
+    /** 受付から出動指令の参照までの区間（ブローカー経由のイベント伝播を含む） */
+    private static final String PROPAGATION_HOP = "report-to-dispatch";
+
+    private IncidentStormLoadTest() {
+    }
+
+    public static void main(String[] args) {
+        int status;
+        try {
+            status = run();
+        } catch (Exception e) {
+            log.error("Load test failed", e);
+            status = 2;
+        }
+        System.exit(status);
+    }
+
+    private static int run() throws Exception {
+        StormProfile profile = StormProfile.fromSystemProperties();
+        Path baselinePath = Path.of(System.getProperty(PREFIX + "baseline", "baseline/p99-baseline.json"));
+        Path reportPath = Path.of(System.getProperty(PREFIX + "report", "build/loadtest/latency-report.json"));
+        boolean updateBaseline = Boolean.getBoolean(PREFIX + "update-baseline");
+        double tolerance = Double.parseDouble(System.getProperty(PREFIX + "tolerance", "0.25"));
+        double minRegressionMs = Double.parseDouble(System.getProperty(PREFIX + "min-regression-ms", "5"));
+        double maxErrorRate = Double.parseDouble(System.getProperty(PREFIX + "max-error-rate", "0.01"));
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+        LatencyReport report;
+        try (LoadTestEnvironment environment = LoadTestEnvironment.start()) {
+            log.info("Warming up: {}", profile.warmup());
+            new IncidentStorm(environment.gatewayUri(), profile.warmup(), objectMapper, new SimpleMeterRegistry())
+                    .run();
+            environment.resetServerMetrics();
+
+            log.info("Replaying incident storm: {}", profile);
+            MeterRegistry driverRegistry = new SimpleMeterRegistry();
+            IncidentStorm.Summary summary =
+                    new IncidentStorm(environment.gatewayUri(), profile, objectMapper, driverRegistry).run();
+            log.info("Incident storm finished: {}", summary);
+
+            List<HopLatency> hops = new ArrayList<>();
+            for (Map.Entry<String, MeterRegistry> entry : environment.meterRegistries().entrySet()) {
+                hops.add(HopLatency.fromServerRequests(entry.getKey(), entry.getValue()));
+            }
+            Timer propagation = driverRegistry.find(IncidentStorm.PROPAGATION_TIMER).timer();
+            hops.add(HopLatency.of(PROPAGATION_HOP, propagation, summary.propagationTimeouts()));
+            report = new LatencyReport(OffsetDateTime.now().toString(), profile, summary, hops);
+        }
+
+        report.write(reportPath, objectMapper);
+        log.info("Latency report written: {}\n{}", reportPath.toAbsolutePath(), report.toTable());
+
+        if (updateBaseline) {
+            LatencyBaseline.of(report).write(baselinePath, objectMapper);
+            log.info("Baseline recorded: {}", baselinePath.toAbsolutePath());
+            return 0;
+        }
+        if (!Files.exists(baselinePath)) {
+            // 基準値なしで成功させると、劣化を検知しないまま通ってしまう
+            log.error("Baseline not found: {} (record it on the reference environment with -D{}update-baseline=true)",
+                    baselinePath.toAbsolutePath(), PREFIX);
+            return 2;
+        }
+        List<String> regressions = LatencyBaseline.read(baselinePath, objectMapper)
+                .regressions(report, tolerance, minRegressionMs, maxErrorRate);
+        if (regressions.isEmpty()) {
+            log.info("No p99 regression against baseline: tolerance={}, minRegressionMs={}",
+                    tolerance, minRegressionMs);
+            return 0;
+        }
+        regressions.forEach(regression -> log.error("Latency regression: {}", regression));
+        return 1;
+    }
+}
@@ -0,0 +1,70 @@
+package com.firecaptain.loadtest.environment;
+
+import org.apache.qpid.server.SystemLauncher;
+import org.apache.qpid.server.model.SystemConfig;
+
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * プロセス内の AMQP ブローカー
+ *
+ * RabbitMQ の代わりに、AMQP 0-9-1 を話す Qpid Broker-J をメモリストアで起動します。
+ * 仮想ホストは {@value #VIRTUAL_HOST}、利用者は guest/guest です（qpid-config.json）。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public class EmbeddedBroker implements AutoCloseable {
+
+    /** 仮想ホスト */
+    public static final String VIRTUAL_HOST = "default";
+
+    private static final String INITIAL_CONFIGURATION = "/qpid-config.json";
+
+    private final SystemLauncher launcher = new SystemLauncher();
+    private final int port;
+
+    private EmbeddedBroker(int port) {
+        this.port = port;
+    }
+
+    /**
+     * ブローカーを起動します。
+     *
+     * @param port AMQP ポート
+     * @return 起動したブローカー
+     * @throws Exception 起動に失敗した場合
+     */
+    public static EmbeddedBroker start(int port) throws Exception {
+        URL configuration = EmbeddedBroker.class.getResource(INITIAL_CONFIGURATION);
+        if (configuration == null) {
+            throw new IllegalStateException("Broker configuration not found: " + INITIAL_CONFIGURATION);
+        }
+        Path workDirectory = Files.createTempDirectory("fire-captain-loadtest-broker");
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SystemConfig.TYPE, "Memory");
+        attributes.put(SystemConfig.INITIAL_CONFIGURATION_LOCATION, configuration.toExternalForm());
+        attributes.put(SystemConfig.STARTUP_LOGGED_TO_SYSTEM_OUT, false);
+        attributes.put(SystemConfig.CONTEXT, Map.of(
+                "qpid.amqp_port", port,
+                "qpid.work_dir", workDirectory.toString()));
+
+        EmbeddedBroker broker = new EmbeddedBroker(port);
+        broker.launcher.startup(attributes);
+        return broker;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    @Override
+    public void close() {
+        launcher.shutdown();
+    }
+}
@@ -0,0 +1,52 @@
+package com.firecaptain.loadtest.environment;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 区間ごとの応答時間の計測設定
+ *
+ * 各サービスの http.server.requests を、URI・メソッド等を区別せずに結果（outcome）ごとに1つのタイマーへ集約し、
+ * p50/p95/p99 を記録します。統計の期限は試験時間より十分長くし、試験全体の分布を1つのバッファで保持します。
+ */
+@Configuration(proxyBeanMethods = false)
+public class HopMetricsConfiguration {
+
+    /** 計測対象のメーター */
+    public static final String SERVER_REQUESTS = "http.server.requests";
+
+    @Bean
+    public MeterFilter hopLatencyMeterFilter() {
+        return new MeterFilter() {
+
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                if (!id.getName().equals(SERVER_REQUESTS)) {
+                    return id;
+                }
+                String outcome = id.getTag("outcome");
+                return id.replaceTags(List.of(Tag.of("outcome", outcome != null ? outcome : "UNKNOWN")));
+            }
+
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!id.getName().equals(SERVER_REQUESTS)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentiles(0.5, 0.95, 0.99)
+                        .expiry(Duration.ofHours(6))
+                        .bufferLength(1)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
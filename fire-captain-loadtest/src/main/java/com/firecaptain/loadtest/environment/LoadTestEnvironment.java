@@ -0,0 +1,255 @@
+package com.firecaptain.loadtest.environment;
+
+import com.firecaptain.dispatch.DispatchApplication;
+import com.firecaptain.emergencyreport.EmergencyReportApplication;
+import com.firecaptain.scenesupport.SceneSupportApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 負荷試験の実行環境
+ *
+ * 経路上の4サービス（ゲートウェイ・緊急通報・出動指令・現場支援）を同一プロセスで起動します。
+ * 外部依存は次のローカル代替に置き換えます。
+ * <ul>
+ *   <li>PostgreSQL: 組み込み PostgreSQL（サービスごとにデータベースを作成し、各サービスの Flyway で移行）</li>
+ *   <li>RabbitMQ: 組み込み AMQP ブローカー（{@link EmbeddedBroker}）</li>
+ *   <li>Eureka: サービスIDと起動ポートの静的な対応（SimpleDiscoveryClient）</li>
+ *   <li>Redis: ゲートウェイのレートリミッターを {@link PassThroughRateLimiter} に置き換え</li>
+ *   <li>設定サーバー: 無効化（各サービスの application.yml を使用）</li>
+ * </ul>
+ * 認証は経路の遅延の対象外のため無効にします。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+public class LoadTestEnvironment implements AutoCloseable {
+
+    /** 区間名（上流から順） */
+    public static final String GATEWAY = "gateway";
+    public static final String EMERGENCY_REPORT = "emergency-report";
+    public static final String DISPATCH = "dispatch";
+    public static final String SCENE_SUPPORT = "scene-support";
+
+    private static final String DATABASE_USER = "postgres";
+
+    private static final String SERVLET_EXCLUDES = String.join(",",
+            "org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration",
+            "org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration",
+            "org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration",
+            "org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration");
+
+    private static final String GATEWAY_EXCLUDES = String.join(",",
+            "org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration",
+            "org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration",
+            "org.springframework.boot.actuate.autoconfigure.security.reactive.ReactiveManagementWebSecurityAutoConfiguration",
+            "org.springframework.cloud.gateway.config.GatewayRedisAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration",
+            "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+            "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+            "org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration",
+            "org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration");
+
+    private final Map<String, ConfigurableApplicationContext> contexts = new LinkedHashMap<>();
+    private EmbeddedBroker broker;
+    private EmbeddedPostgres postgres;
+    private int gatewayPort;
+
+    private LoadTestEnvironment() {
+    }
+
+    /**
+     * ローカル代替と4サービスを起動します。
+     *
+     * @return 起動した環境
+     * @throws Exception 起動に失敗した場合（起動済みのものは停止します）
+     */
+    public static LoadTestEnvironment start() throws Exception {
+        LoadTestEnvironment environment = new LoadTestEnvironment();
+        try {
+            environment.startServices();
+        } catch (Exception | Error e) {
+            environment.close();
+            throw e;
+        }
+        return environment;
+    }
+
+    private void startServices() throws Exception {
+        broker = EmbeddedBroker.start(freePort());
+        log.info("Embedded AMQP broker started: port={}", broker.getPort());
+
+        postgres = EmbeddedPostgres.builder().start();
+        createDatabases("fire_captain_emergency_report", "fire_captain_dispatch", "fire_captain_scene_support");
+        log.info("Embedded PostgreSQL started: port={}", postgres.getPort());
+
+        int emergencyReportPort = freePort();
+        int dispatchPort = freePort();
+        int sceneSupportPort = freePort();
+        gatewayPort = freePort();
+        Map<String, Integer> servicePorts = Map.of(
+                "fire-captain-emergency-report", emergencyReportPort,
+                "fire-captain-dispatch", dispatchPort,
+                "fire-captain-scene-support", sceneSupportPort);
+
+        // 出動指令は受付イベントの消費側のため、通報サービスより前にキューを宣言させる
+        startService(DISPATCH, "fire-captain-dispatch", DispatchApplication.class,
+                serviceArgs(dispatchPort, "fire_captain_dispatch", servicePorts,
+                        // リトライキュー（TTL・デッドレター引数）を宣言しない
+                        "--fire-captain.dispatch.emergency-events.consumer.max-attempts=1"));
+        startService(SCENE_SUPPORT, "fire-captain-scene-support", SceneSupportApplication.class,
+                serviceArgs(sceneSupportPort, "fire_captain_scene_support", servicePorts));
+        startService(EMERGENCY_REPORT, "fire-captain-emergency-report", EmergencyReportApplication.class,
+                serviceArgs(emergencyReportPort, "fire_captain_emergency_report", servicePorts));
+        startService(GATEWAY, "fire-captain-gateway", LoadTestGatewayApplication.class,
+                gatewayArgs(gatewayPort, servicePorts));
+    }
+
+    /**
+     * ゲートウェイの URI
+     */
+    public URI gatewayUri() {
+        return URI.create("http://localhost:" + gatewayPort);
+    }
+
+    /**
+     * 区間（サービス）のメーターレジストリを、上流から順に返します。
+     */
+    public Map<String, MeterRegistry> meterRegistries() {
+        Map<String, MeterRegistry> registries = new LinkedHashMap<>();
+        for (String hop : List.of(GATEWAY, EMERGENCY_REPORT, DISPATCH, SCENE_SUPPORT)) {
+            registries.put(hop, contexts.get(hop).getBean(MeterRegistry.class));
+        }
+        return registries;
+    }
+
+    /**
+     * ウォームアップ中の計測値を捨てるため、各サービスの応答時間のメーターを削除します。
+     * 次のリクエストで新しいメーターが登録されます。
+     */
+    public void resetServerMetrics() {
+        for (MeterRegistry registry : meterRegistries().values()) {
+            registry.find(HopMetricsConfiguration.SERVER_REQUESTS).meters().forEach(registry::remove);
+        }
+    }
+
+    private void startService(String hop, String module, Class<?> application, String[] args) {
+        long started = System.nanoTime();
+        ClassLoader classLoader = new ServiceClassLoader(module, LoadTestEnvironment.class.getClassLoader());
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                    application, HopMetricsConfiguration.class)
+                    .resourceLoader(new DefaultResourceLoader(classLoader))
+                    .registerShutdownHook(false)
+                    .run(args);
+            contexts.put(hop, context);
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+        log.info("Service started: hop={}, elapsedMs={}", hop, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private String[] serviceArgs(int port, String database, Map<String, Integer> servicePorts, String... extra) {
+        List<String> args = commonArgs(port, servicePorts);
+        args.add("--spring.datasource.url=" + postgres.getJdbcUrl(DATABASE_USER, database));
+        args.add("--spring.datasource.username=" + DATABASE_USER);
+        args.add("--spring.datasource.password=" + DATABASE_USER);
+        args.add("--spring.rabbitmq.host=localhost");
+        args.add("--spring.rabbitmq.port=" + broker.getPort());
+        args.add("--spring.rabbitmq.virtual-host=" + EmbeddedBroker.VIRTUAL_HOST);
+        args.add("--spring.rabbitmq.username=guest");
+        args.add("--spring.rabbitmq.password=guest");
+        args.add("--spring.cloud.gateway.enabled=false");
+        args.add("--spring.autoconfigure.exclude=" + SERVLET_EXCLUDES);
+        args.addAll(List.of(extra));
+        return args.toArray(String[]::new);
+    }
+
+    private static String[] gatewayArgs(int port, Map<String, Integer> servicePorts) {
+        List<String> args = commonArgs(port, servicePorts);
+        args.add("--spring.main.web-application-type=reactive");
+        args.add("--spring.autoconfigure.exclude=" + GATEWAY_EXCLUDES);
+        return args.toArray(String[]::new);
+    }
+
+    private static List<String> commonArgs(int port, Map<String, Integer> servicePorts) {
+        List<String> args = new ArrayList<>();
+        args.add("--server.port=" + port);
+        args.add("--spring.cloud.config.enabled=false");
+        args.add("--spring.cloud.config.import-check.enabled=false");
+        args.add("--fire-captain.config-snapshot.enabled=false");
+        args.add("--eureka.client.enabled=false");
+        servicePorts.forEach((serviceId, servicePort) -> args.add(
+                "--spring.cloud.discovery.client.simple.instances." + serviceId + "[0].uri=http://localhost:" + servicePort));
+        args.add("--logging.level.root=WARN");
+        args.add("--logging.level.com.firecaptain=WARN");
+        args.add("--logging.level.com.firecaptain.loadtest=INFO");
+        return args;
+    }
+
+    private void createDatabases(String... databases) throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String database : databases) {
+                statement.execute("CREATE DATABASE " + database);
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            socket.setReuseAddress(true);
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * 下流から順にサービスを停止し、ローカル代替を停止します。
+     */
+    @Override
+    public void close() {
+        List<String> hops = new ArrayList<>(contexts.keySet());
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            try {
+                contexts.get(hops.get(i)).close();
+            } catch (RuntimeException e) {
+                log.warn("Failed to stop service: hop={}", hops.get(i), e);
+            }
+        }
+        contexts.clear();
+        if (postgres != null) {
+            try {
+                postgres.close();
+            } catch (IOException e) {
+                log.warn("Failed to stop embedded PostgreSQL", e);
+            }
+        }
+        if (broker != null) {
+            broker.close();
+        }
+    }
+}
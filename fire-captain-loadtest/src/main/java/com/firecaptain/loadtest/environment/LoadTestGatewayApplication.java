@@ -0,0 +1,31 @@
+package com.firecaptain.loadtest.environment;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Bean;
+import reactor.core.publisher.Mono;
+
+/**
+ * 負荷試験用のゲートウェイ
+ *
+ * ゲートウェイモジュールは設定（application.yml のルート・フィルター）のみで構成されるため、
+ * その設定を読み込む起動クラスを負荷試験側で用意します。Redis のレートリミッターは
+ * {@link PassThroughRateLimiter} に置き換えます。
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+public class LoadTestGatewayApplication {
+
+    @Bean
+    public RateLimiter<?> passThroughRateLimiter(ConfigurationService configurationService) {
+        return new PassThroughRateLimiter(configurationService);
+    }
+
+    @Bean
+    public KeyResolver loadTestKeyResolver() {
+        return exchange -> Mono.just("loadtest");
+    }
+}
@@ -0,0 +1,29 @@
+package com.firecaptain.loadtest.environment;
+
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * 常に許可するレートリミッター
+ *
+ * ゲートウェイのルートに設定された redis-rate-limiter.* の引数をそのまま受け取り、Redis を使わずに
+ * すべてのリクエストを許可します。負荷試験ではゲートウェイより後段の遅延を測るため、流量制限は行いません。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public class PassThroughRateLimiter extends AbstractRateLimiter<RedisRateLimiter.Config> {
+
+    public PassThroughRateLimiter(ConfigurationService configurationService) {
+        super(RedisRateLimiter.Config.class, RedisRateLimiter.CONFIGURATION_PROPERTY_NAME, configurationService);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        return Mono.just(new Response(true, Map.of()));
+    }
+}
@@ -0,0 +1,100 @@
+package com.firecaptain.loadtest.environment;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * サービスごとのリソース分離用クラスローダー
+ *
+ * 各サービスは同じ名前のリソース（application.yml・db/migration など）を持つため、
+ * 同一プロセスで起動すると先にクラスパスにあるサービスのものが読まれてしまいます。
+ * このクラスローダーは、対象サービスのモジュールのリソースを優先し、他のサービスのモジュールの
+ * リソースを除外します。クラスは親に委譲するため、共通モジュールのクラスも含めて全サービスで共有します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public class ServiceClassLoader extends ClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    /** 同一プロセスで起動するサービスのモジュール */
+    static final Set<String> SERVICE_MODULES = Set.of(
+            "fire-captain-gateway",
+            "fire-captain-emergency-report",
+            "fire-captain-dispatch",
+            "fire-captain-scene-support");
+
+    private final String module;
+
+    /**
+     * @param module 対象サービスのモジュール名（例: fire-captain-dispatch）
+     * @param parent クラスの委譲先
+     */
+    public ServiceClassLoader(String module, ClassLoader parent) {
+        super(module, parent);
+        if (!SERVICE_MODULES.contains(module)) {
+            throw new IllegalArgumentException("Unknown service module: " + module);
+        }
+        this.module = module;
+    }
+
+    @Override
+    public URL getResource(String name) {
+        List<URL> resources = resolve(name);
+        return resources.isEmpty() ? null : resources.get(0);
+    }
+
+    @Override
+    public Enumeration<URL> getResources(String name) throws IOException {
+        return Collections.enumeration(resolve(name));
+    }
+
+    /**
+     * 対象サービスのリソース、共有リソースの順に並べ、他のサービスのリソースを除きます。
+     */
+    private List<URL> resolve(String name) {
+        List<URL> own = new ArrayList<>();
+        List<URL> shared = new ArrayList<>();
+        Enumeration<URL> candidates;
+        try {
+            candidates = getParent().getResources(name);
+        } catch (IOException e) {
+            return List.of();
+        }
+        while (candidates.hasMoreElements()) {
+            URL url = candidates.nextElement();
+            String owner = ownerOf(url);
+            if (owner == null) {
+                shared.add(url);
+            } else if (owner.equals(module)) {
+                own.add(url);
+            }
+        }
+        own.addAll(shared);
+        return own;
+    }
+
+    /**
+     * リソースが属するサービスのモジュールを、URL のパス（build/resources/main・JAR の配置先）から判定します。
+     *
+     * @return モジュール名（共有リソースの場合は null）
+     */
+    private static String ownerOf(URL url) {
+        String path = url.toString();
+        for (String candidate : SERVICE_MODULES) {
+            if (path.contains("/" + candidate + "/") || path.contains("/" + candidate + ".jar")
+                    || path.contains("/" + candidate + "-")) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,88 @@
+package com.firecaptain.loadtest.report;
+
+import com.firecaptain.loadtest.environment.HopMetricsConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 区間ごとの応答時間
+ *
+ * 区間の応答時間は、そのサービスがリクエストを受けてから応答するまでの時間で、
+ * 下流のサービスの時間を含みます（ゲートウェイの値は経路全体の時間）。
+ *
+ * @param hop    区間名
+ * @param count  成功したリクエスト数
+ * @param errors 失敗したリクエスト数（4xx・5xx）
+ * @param p50Ms  成功したリクエストの p50（ミリ秒）
+ * @param p95Ms  成功したリクエストの p95（ミリ秒）
+ * @param p99Ms  成功したリクエストの p99（ミリ秒）
+ * @param maxMs  成功したリクエストの最大値（ミリ秒）
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public record HopLatency(String hop, long count, long errors, double p50Ms, double p95Ms, double p99Ms,
+                         double maxMs) {
+
+    /**
+     * エラー率
+     */
+    public double errorRate() {
+        long total = count + errors;
+        return total == 0 ? 0 : (double) errors / total;
+    }
+
+    /**
+     * サービスの http.server.requests から区間の応答時間を求めます。
+     *
+     * @param hop      区間名
+     * @param registry サービスのメーターレジストリ
+     * @return 区間の応答時間
+     */
+    public static HopLatency fromServerRequests(String hop, MeterRegistry registry) {
+        long errors = 0;
+        for (String outcome : new String[] {"CLIENT_ERROR", "SERVER_ERROR"}) {
+            Timer failed = registry.find(HopMetricsConfiguration.SERVER_REQUESTS).tag("outcome", outcome).timer();
+            errors += failed != null ? failed.count() : 0;
+        }
+        Timer succeeded = registry.find(HopMetricsConfiguration.SERVER_REQUESTS).tag("outcome", "SUCCESS").timer();
+        return of(hop, succeeded, errors);
+    }
+
+    /**
+     * タイマーから区間の応答時間を求めます。
+     *
+     * @param hop    区間名
+     * @param timer  成功したリクエストのタイマー（null の場合は計測なし）
+     * @param errors 失敗したリクエスト数
+     * @return 区間の応答時間
+     */
+    public static HopLatency of(String hop, Timer timer, long errors) {
+        if (timer == null) {
+            return new HopLatency(hop, 0, errors, 0, 0, 0, 0);
+        }
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        double p50 = 0;
+        double p95 = 0;
+        double p99 = 0;
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            double millis = value.value(TimeUnit.MILLISECONDS);
+            if (value.percentile() == 0.5) {
+                p50 = millis;
+            } else if (value.percentile() == 0.95) {
+                p95 = millis;
+            } else if (value.percentile() == 0.99) {
+                p99 = millis;
+            }
+        }
+        return new HopLatency(hop, snapshot.count(), errors, round(p50), round(p95), round(p99),
+                round(snapshot.max(TimeUnit.MILLISECONDS)));
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 100) / 100.0;
+    }
+}
@@ -0,0 +1,84 @@
+package com.firecaptain.loadtest.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * p99 の基準値
+ *
+ * 区間ごとの p99 を保持し、今回の結果と比較します。計測のばらつきで失敗しないよう、
+ * 基準値に対する許容率と、許容する最小の差（ミリ秒）の両方を超えた場合だけを劣化とみなします。
+ *
+ * @param p99Ms 区間ごとの p99（ミリ秒、上流から順）
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public record LatencyBaseline(Map<String, Double> p99Ms) {
+
+    /**
+     * 結果から基準値を作成します。
+     *
+     * @param report 負荷試験の結果
+     * @return 基準値
+     */
+    public static LatencyBaseline of(LatencyReport report) {
+        Map<String, Double> p99Ms = new LinkedHashMap<>();
+        for (HopLatency hop : report.hops()) {
+            p99Ms.put(hop.hop(), hop.p99Ms());
+        }
+        return new LatencyBaseline(p99Ms);
+    }
+
+    public static LatencyBaseline read(Path path, ObjectMapper objectMapper) throws IOException {
+        return objectMapper.readValue(path.toFile(), LatencyBaseline.class);
+    }
+
+    public void write(Path path, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), this);
+    }
+
+    /**
+     * 今回の結果を基準値と比較し、劣化した区間を返します。
+     * 基準値にある区間が計測されなかった場合と、エラー率が上限を超えた場合も劣化とみなします。
+     *
+     * @param report          今回の結果
+     * @param tolerance       p99 の許容率（0.25 は基準値の1.25倍まで）
+     * @param minRegressionMs 許容する最小の差（ミリ秒）
+     * @param maxErrorRate    エラー率の上限
+     * @return 劣化の内容（劣化がない場合は空）
+     */
+    public List<String> regressions(LatencyReport report, double tolerance, double minRegressionMs,
+                                    double maxErrorRate) {
+        Map<String, HopLatency> current = new LinkedHashMap<>();
+        report.hops().forEach(hop -> current.put(hop.hop(), hop));
+
+        List<String> regressions = new ArrayList<>();
+        p99Ms.forEach((hop, baselineMs) -> {
+            HopLatency latency = current.get(hop);
+            if (latency == null || latency.count() == 0) {
+                regressions.add(String.format("%s: no successful requests were measured", hop));
+                return;
+            }
+            double limitMs = Math.max(baselineMs * (1 + tolerance), baselineMs + minRegressionMs);
+            if (latency.p99Ms() > limitMs) {
+                regressions.add(String.format("%s: p99 %.2fms exceeds baseline %.2fms (limit %.2fms)",
+                        hop, latency.p99Ms(), baselineMs, limitMs));
+            }
+        });
+        for (HopLatency latency : report.hops()) {
+            if (latency.errorRate() > maxErrorRate) {
+                regressions.add(String.format("%s: error rate %.2f%% exceeds %.2f%%",
+                        latency.hop(), latency.errorRate() * 100, maxErrorRate * 100));
+            }
+        }
+        return regressions;
+    }
+}
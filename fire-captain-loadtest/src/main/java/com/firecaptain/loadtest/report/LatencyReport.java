@@ -0,0 +1,50 @@
+package com.firecaptain.loadtest.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firecaptain.loadtest.storm.IncidentStorm;
+import com.firecaptain.loadtest.storm.StormProfile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 負荷試験の結果
+ *
+ * @param generatedAt 作成日時（ISO-8601）
+ * @param profile     負荷条件
+ * @param summary     ストームの実行結果
+ * @param hops        区間ごとの応答時間（上流から順）
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public record LatencyReport(String generatedAt, StormProfile profile, IncidentStorm.Summary summary,
+                            List<HopLatency> hops) {
+
+    /**
+     * 結果を JSON で書き出します。
+     *
+     * @param path         出力先
+     * @param objectMapper JSON 変換
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void write(Path path, ObjectMapper objectMapper) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), this);
+    }
+
+    /**
+     * 区間ごとの応答時間を表形式で返します。
+     */
+    public String toTable() {
+        StringBuilder table = new StringBuilder(String.format("%-20s %9s %7s %10s %10s %10s %10s%n",
+                "hop", "count", "errors", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)"));
+        for (HopLatency hop : hops) {
+            table.append(String.format("%-20s %9d %7d %10.2f %10.2f %10.2f %10.2f%n", hop.hop(), hop.count(),
+                    hop.errors(), hop.p50Ms(), hop.p95Ms(), hop.p99Ms(), hop.maxMs()));
+        }
+        return table.toString();
+    }
+}
@@ -0,0 +1,329 @@
+package com.firecaptain.loadtest.storm;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.firecaptain.common.dto.EmergencyReportDto.EmergencyType;
+import com.firecaptain.common.dto.EmergencyReportDto.PriorityLevel;
+import com.firecaptain.common.dto.EmergencyReportDto.ReportStatus;
+import com.firecaptain.emergencyreport.dto.CreateEmergencyReportRequest;
+import com.firecaptain.emergencyreport.dto.UpdateReportStatusRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * インシデントストームの負荷生成
+ *
+ * ゲートウェイ経由で、事案ごとに次の流れを再現します。
+ * <ol>
+ *   <li>通報の受付（POST）と、近接位置からの重複通報</li>
+ *   <li>出動指令が作成されるまでの短い間隔のポーリング（受付からの伝播時間を計測）</li>
+ *   <li>現場支援パッケージの取得</li>
+ *   <li>ステータス遷移（DISPATCHED → EN_ROUTE → ON_SCENE → COMPLETED）と、その都度の支援パッケージ取得</li>
+ * </ol>
+ * あわせて、ダッシュボードが対応中の事案の通報・出動指令を一定間隔で一括取得します。
+ * 事案の位置・種別・到着時刻は乱数の種から事前に決めるため、同じ負荷条件で同じストームを再現できます。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+public class IncidentStorm {
+
+    /** 受付から出動指令が参照できるまでの時間 */
+    public static final String PROPAGATION_TIMER = "fire_captain_loadtest_report_to_dispatch";
+
+    /** ダッシュボードの一括取得の上限（各サービスのマルチゲットの上限） */
+    private static final int DASHBOARD_BATCH_SIZE = 200;
+    /** 重複通報の位置のずれ（度、約150m） */
+    private static final double DUPLICATE_SPREAD_DEGREES = 0.00135;
+    private static final List<ReportStatus> TRANSITIONS =
+            List.of(ReportStatus.DISPATCHED, ReportStatus.EN_ROUTE, ReportStatus.ON_SCENE, ReportStatus.COMPLETED);
+
+    private final URI gateway;
+    private final StormProfile profile;
+    private final ObjectMapper objectMapper;
+    private final Timer propagationTimer;
+    private final HttpClient httpClient;
+
+    private final Set<Long> activeReports = ConcurrentHashMap.newKeySet();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final AtomicLong propagationTimeouts = new AtomicLong();
+
+    public IncidentStorm(URI gateway, StormProfile profile, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.gateway = gateway;
+        this.profile = profile;
+        this.objectMapper = objectMapper;
+        this.propagationTimer = Timer.builder(PROPAGATION_TIMER)
+                .description("Time from accepting a call at the gateway until its dispatch is visible")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .distributionStatisticExpiry(Duration.ofHours(6))
+                .distributionStatisticBufferLength(1)
+                .register(meterRegistry);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * ストームを実行し、全事案の完了（またはタイムアウト）を待ちます。
+     *
+     * @return 実行結果
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    public Summary run() throws InterruptedException {
+        List<IncidentPlan> plans = plan(new Random(profile.seed()));
+        CountDownLatch finished = new CountDownLatch(plans.size());
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(profile.concurrency(), runnable -> {
+            Thread thread = new Thread(runnable, "incident-storm");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (IncidentPlan plan : plans) {
+                scheduler.schedule(() -> receive(plan, scheduler, finished), plan.arrivalMs(), TimeUnit.MILLISECONDS);
+            }
+            ScheduledFuture<?> dashboard = scheduler.scheduleAtFixedRate(this::pollDashboard,
+                    profile.pollIntervalMs(), profile.pollIntervalMs(), TimeUnit.MILLISECONDS);
+
+            long limitMillis = profile.durationSeconds() * 1000L + profile.propagationTimeoutMs()
+                    + (TRANSITIONS.size() + 1) * profile.stepDelayMs() + 60_000;
+            if (!finished.await(limitMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Incident storm did not finish in time: unfinishedIncidents={}", finished.getCount());
+            }
+            dashboard.cancel(false);
+        } finally {
+            scheduler.shutdownNow();
+        }
+        return new Summary(plans.size(), calls.get(), duplicates.get(), failedRequests.get(),
+                propagationTimeouts.get(), finished.getCount());
+    }
+
+    /**
+     * 事案の発生時刻・位置・種別と重複通報を決めます。
+     */
+    private List<IncidentPlan> plan(Random random) {
+        EmergencyType[] types = EmergencyType.values();
+        PriorityLevel[] priorities = PriorityLevel.values();
+        double meanGapMillis = profile.durationSeconds() * 1000.0 / profile.incidents();
+        List<IncidentPlan> plans = new ArrayList<>(profile.incidents());
+        double arrival = 0;
+        for (int i = 0; i < profile.incidents(); i++) {
+            arrival += -Math.log(1 - random.nextDouble()) * meanGapMillis;
+            // 東京23区程度の範囲に分散させる
+            double latitude = 35.55 + random.nextDouble() * 0.25;
+            double longitude = 139.55 + random.nextDouble() * 0.35;
+            List<CallPlan> duplicateCalls = new ArrayList<>();
+            double offset = 0;
+            for (int c = 1; c < profile.callsPerIncident(); c++) {
+                offset += -Math.log(1 - random.nextDouble()) * 2000;
+                duplicateCalls.add(new CallPlan((long) offset,
+                        latitude + (random.nextDouble() * 2 - 1) * DUPLICATE_SPREAD_DEGREES,
+                        longitude + (random.nextDouble() * 2 - 1) * DUPLICATE_SPREAD_DEGREES,
+                        phoneNumber(random)));
+            }
+            plans.add(new IncidentPlan(i, (long) arrival, types[random.nextInt(types.length)],
+                    priorities[random.nextInt(priorities.length)],
+                    new CallPlan(0, latitude, longitude, phoneNumber(random)), duplicateCalls));
+        }
+        return plans;
+    }
+
+    private static String phoneNumber(Random random) {
+        return String.format("+8190%08d", random.nextInt(100_000_000));
+    }
+
+    private void receive(IncidentPlan plan, ScheduledExecutorService scheduler, CountDownLatch finished) {
+        long acceptedAt = System.nanoTime();
+        JsonNode created = post("/api/emergency-reports", request(plan, plan.primary()));
+        if (created == null) {
+            finished.countDown();
+            return;
+        }
+        for (CallPlan duplicate : plan.duplicates()) {
+            scheduler.schedule(() -> post("/api/emergency-reports", request(plan, duplicate)),
+                    duplicate.offsetMs(), TimeUnit.MILLISECONDS);
+        }
+        if (created.hasNonNull("primaryReportId")) {
+            // 近くで発生中の別事案の重複通報と判定された（出動指令は作成されない）
+            finished.countDown();
+            return;
+        }
+        long reportId = created.path("id").asLong();
+        activeReports.add(reportId);
+        long deadline = acceptedAt + TimeUnit.MILLISECONDS.toNanos(profile.propagationTimeoutMs());
+        scheduler.execute(() -> awaitDispatch(reportId, acceptedAt, deadline, scheduler, finished));
+    }
+
+    private void awaitDispatch(long reportId, long acceptedAt, long deadline, ScheduledExecutorService scheduler,
+                               CountDownLatch finished) {
+        JsonNode dispatches = get("/api/dispatches/by-reports?reportIds=" + reportId);
+        long now = System.nanoTime();
+        if (dispatches != null && dispatches.size() > 0) {
+            propagationTimer.record(now - acceptedAt, TimeUnit.NANOSECONDS);
+            get("/api/scene-supports/incidents/" + reportId + "/support-package");
+            scheduler.schedule(() -> transition(reportId, 0, scheduler, finished),
+                    profile.stepDelayMs(), TimeUnit.MILLISECONDS);
+            return;
+        }
+        if (now - deadline > 0) {
+            propagationTimeouts.incrementAndGet();
+            log.debug("Dispatch was not created in time: reportId={}", reportId);
+            complete(reportId, finished);
+            return;
+        }
+        // ダッシュボードの間隔で待つと伝播時間がその刻みに丸められるため、短い間隔で確認する
+        scheduler.schedule(() -> awaitDispatch(reportId, acceptedAt, deadline, scheduler, finished),
+                profile.propagationPollIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    private void transition(long reportId, int step, ScheduledExecutorService scheduler, CountDownLatch finished) {
+        ReportStatus status = TRANSITIONS.get(step);
+        put("/api/emergency-reports/" + reportId + "/status", new UpdateReportStatusRequest(status));
+        if (step + 1 == TRANSITIONS.size()) {
+            complete(reportId, finished);
+            return;
+        }
+        // 現場端末は遷移のたびに支援パッケージを取り直す
+        get("/api/scene-supports/incidents/" + reportId + "/support-package");
+        scheduler.schedule(() -> transition(reportId, step + 1, scheduler, finished),
+                profile.stepDelayMs(), TimeUnit.MILLISECONDS);
+    }
+
+    private void complete(long reportId, CountDownLatch finished) {
+        activeReports.remove(reportId);
+        finished.countDown();
+    }
+
+    /**
+     * ダッシュボードのポーリング（対応中の事案の通報と出動指令を一括取得）
+     */
+    private void pollDashboard() {
+        String ids = activeReports.stream()
+                .limit(DASHBOARD_BATCH_SIZE)
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        if (ids.isEmpty()) {
+            return;
+        }
+        get("/api/emergency-reports/batch?ids=" + ids);
+        get("/api/dispatches/by-reports?reportIds=" + ids);
+    }
+
+    private static CreateEmergencyReportRequest request(IncidentPlan plan, CallPlan call) {
+        return CreateEmergencyReportRequest.builder()
+                .callerName("Load Test Caller")
+                .callerPhone(call.phone())
+                .emergencyType(plan.type())
+                .locationAddress("Storm incident " + plan.index())
+                .locationLatitude(call.latitude())
+                .locationLongitude(call.longitude())
+                .description("Incident storm load test")
+                .priorityLevel(plan.priority())
+                .build();
+    }
+
+    private JsonNode post(String path, Object body) {
+        calls.incrementAndGet();
+        JsonNode created = send(HttpRequest.newBuilder(gateway.resolve(path))
+                .POST(HttpRequest.BodyPublishers.ofString(json(body))));
+        if (created != null && created.hasNonNull("primaryReportId")) {
+            duplicates.incrementAndGet();
+        }
+        return created;
+    }
+
+    private JsonNode put(String path, Object body) {
+        return send(HttpRequest.newBuilder(gateway.resolve(path))
+                .PUT(HttpRequest.BodyPublishers.ofString(json(body))));
+    }
+
+    private JsonNode get(String path) {
+        return send(HttpRequest.newBuilder(gateway.resolve(path)).GET());
+    }
+
+    private JsonNode send(HttpRequest.Builder builder) {
+        HttpRequest request = builder
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                failedRequests.incrementAndGet();
+                log.debug("Request failed: method={}, uri={}, status={}",
+                        request.method(), request.uri(), response.statusCode());
+                return null;
+            }
+            return objectMapper.readTree(response.body().isEmpty() ? "null" : response.body());
+        } catch (IOException e) {
+            failedRequests.incrementAndGet();
+            log.debug("Request failed: method={}, uri={}", request.method(), request.uri(), e);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 事案の計画
+     */
+    private record IncidentPlan(int index, long arrivalMs, EmergencyType type, PriorityLevel priority,
+                                CallPlan primary, List<CallPlan> duplicates) {
+    }
+
+    /**
+     * 通報の計画
+     *
+     * @param offsetMs 事案の最初の通報からの遅れ（ミリ秒）
+     */
+    private record CallPlan(long offsetMs, double latitude, double longitude, String phone) {
+    }
+
+    /**
+     * ストームの実行結果
+     *
+     * @param incidents           事案数
+     * @param calls               受付に送った通報数
+     * @param duplicates          重複通報と判定された通報数
+     * @param failedRequests      失敗したリクエスト数（2xx 以外・通信エラー）
+     * @param propagationTimeouts 出動指令が期限内に作成されなかった事案数
+     * @param unfinished          待機の上限までに完了しなかった事案数
+     */
+    public record Summary(int incidents, long calls, long duplicates, long failedRequests,
+                          long propagationTimeouts, long unfinished) {
+    }
+}
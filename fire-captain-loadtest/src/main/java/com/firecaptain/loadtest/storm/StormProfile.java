@@ -0,0 +1,62 @@
+package com.firecaptain.loadtest.storm;
+
+/**
+ * インシデントストームの負荷条件
+ *
+ * 多数の事案が短時間に発生し、1つの事案に複数の通報が重なる状況（多重出場）を再現します。
+ * 値はシステムプロパティ {@code fire-captain.loadtest.<名前>} で上書きできます。
+ *
+ * @param incidents                 計測する事案数
+ * @param warmupIncidents           計測前のウォームアップの事案数（JIT・接続プールの立ち上がりを計測から除く）
+ * @param callsPerIncident          1事案あたりの通報数（2件目以降は約150m以内からの重複通報）
+ * @param durationSeconds           事案が発生する期間（秒、ポアソン到着）
+ * @param pollIntervalMs            ダッシュボードのポーリング間隔（ミリ秒）
+ * @param propagationPollIntervalMs 出動指令の作成待ちのポーリング間隔（ミリ秒、伝播時間の計測の分解能）
+ * @param stepDelayMs               ステータス遷移の間隔（ミリ秒）
+ * @param propagationTimeoutMs      受付から出動指令の作成までの待機の上限（ミリ秒）
+ * @param concurrency               負荷生成のスレッド数（同時リクエスト数の上限）
+ * @param seed                      乱数の種（同じ値で同じストームを再現する）
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public record StormProfile(int incidents, int warmupIncidents, int callsPerIncident, int durationSeconds,
+                           long pollIntervalMs, long propagationPollIntervalMs, long stepDelayMs,
+                           long propagationTimeoutMs, int concurrency, long seed) {
+
+    private static final String PREFIX = "fire-captain.loadtest.";
+
+    public StormProfile {
+        if (incidents <= 0 || callsPerIncident <= 0 || durationSeconds <= 0 || concurrency <= 0) {
+            throw new IllegalArgumentException("Incidents, calls per incident, duration and concurrency must be positive");
+        }
+        if (pollIntervalMs <= 0 || propagationPollIntervalMs <= 0) {
+            throw new IllegalArgumentException("Poll intervals must be positive");
+        }
+    }
+
+    /**
+     * システムプロパティから負荷条件を読み込みます（未指定の値は既定値）。
+     */
+    public static StormProfile fromSystemProperties() {
+        return new StormProfile(
+                Integer.getInteger(PREFIX + "incidents", 300),
+                Integer.getInteger(PREFIX + "warmup-incidents", 30),
+                Integer.getInteger(PREFIX + "calls-per-incident", 4),
+                Integer.getInteger(PREFIX + "duration-seconds", 60),
+                Long.getLong(PREFIX + "poll-interval-ms", 1000),
+                Long.getLong(PREFIX + "propagation-poll-interval-ms", 20),
+                Long.getLong(PREFIX + "step-delay-ms", 2000),
+                Long.getLong(PREFIX + "propagation-timeout-ms", 30_000),
+                Integer.getInteger(PREFIX + "concurrency", 64),
+                Long.getLong(PREFIX + "seed", 20241201));
+    }
+
+    /**
+     * ウォームアップ用の負荷条件（同じ密度で事案数だけを減らす）
+     */
+    public StormProfile warmup() {
+        int warmupDuration = Math.max(1, (int) ((long) durationSeconds * warmupIncidents / incidents));
+        return new StormProfile(Math.max(1, warmupIncidents), 0, callsPerIncident, warmupDuration,
+                pollIntervalMs, propagationPollIntervalMs, stepDelayMs, propagationTimeoutMs, concurrency, seed + 1);
+    }
+}
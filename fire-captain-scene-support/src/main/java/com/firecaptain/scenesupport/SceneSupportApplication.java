@@ -1,10 +1,13 @@
 package com.firecaptain.scenesupport;
 
+import com.firecaptain.common.client.ReactiveClientConfig;
+import com.firecaptain.common.exception.GlobalExceptionHandler;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Import;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
@@ -23,6 +26,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  * - Spring Boot 3.2.0
  * - Spring Cloud Netflix Eureka（サービスディスカバリー）
  * - Spring Cloud OpenFeign（サービス間通信）
+ * - Spring WebClient + Reactor Netty（ノンブロッキング HTTP/2 サービス間通信）
  * - Spring Cache（キャッシュ機能）
  * - Spring Async（非同期処理）
  * - Spring Scheduling（スケジューリング）
@@ -36,6 +40,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @EnableCaching
 @EnableAsync
 @EnableScheduling
+@Import({ReactiveClientConfig.class, GlobalExceptionHandler.class})
 public class SceneSupportApplication {
 
     /**
@@ -0,0 +1,303 @@
+package com.firecaptain.scenesupport.asset;
+
+import com.firecaptain.scenesupport.dto.AssetFeatureDto;
+import com.firecaptain.scenesupport.dto.AssetFeatureDto.AssetType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * ジオ資産パック（読み取り専用）
+ *
+ * {@link AssetPackBuilder} で生成したファイルをメモリマップし、
+ * 半径検索・近傍検索をマップ領域上で直接（コピーなしで）実行します。
+ * 名称などの属性は、結果として返す行だけをデコードします。
+ * インスタンスは不変で、複数スレッドから同時に検索できます。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public class AssetPack {
+
+    /** 1度あたりの距離（メートル、平均地球半径） */
+    private static final double METERS_PER_DEGREE = 6_371_008.8 * Math.PI / 180;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final AssetPackLayout layout;
+    private final long packVersion;
+    private final LocalDateTime builtAt;
+    private final int nodeSize;
+    private final int[] levelBounds;
+
+    private AssetPack(Path path, ByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.capacity() < AssetPackLayout.HEADER_SIZE
+                || buffer.getInt(AssetPackLayout.OFFSET_MAGIC) != AssetPackLayout.MAGIC) {
+            throw new IllegalStateException("Not an asset pack: " + path);
+        }
+        int formatVersion = buffer.getInt(AssetPackLayout.OFFSET_FORMAT_VERSION);
+        if (formatVersion != AssetPackLayout.FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported asset pack format " + formatVersion + ": " + path);
+        }
+        this.layout = new AssetPackLayout(
+                buffer.getInt(AssetPackLayout.OFFSET_FEATURE_COUNT),
+                buffer.getInt(AssetPackLayout.OFFSET_NODE_COUNT),
+                buffer.getInt(AssetPackLayout.OFFSET_LEVEL_COUNT),
+                buffer.getInt(AssetPackLayout.OFFSET_NAME_BYTES));
+        if (layout.totalSize != buffer.capacity()) {
+            throw new IllegalStateException("Truncated asset pack: " + path);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(AssetPackLayout.HEADER_SIZE, buffer.capacity() - AssetPackLayout.HEADER_SIZE));
+        if ((int) crc.getValue() != buffer.getInt(AssetPackLayout.OFFSET_CRC)) {
+            throw new IllegalStateException("Asset pack checksum mismatch: " + path);
+        }
+
+        this.packVersion = buffer.getLong(AssetPackLayout.OFFSET_PACK_VERSION);
+        this.builtAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(buffer.getLong(AssetPackLayout.OFFSET_BUILT_AT)), ZoneId.systemDefault());
+        this.nodeSize = buffer.getInt(AssetPackLayout.OFFSET_NODE_SIZE);
+        this.levelBounds = new int[layout.levelCount];
+        for (int level = 0; level < levelBounds.length; level++) {
+            levelBounds[level] = buffer.getInt((int) layout.levelBoundsOffset + level * 4);
+        }
+    }
+
+    /**
+     * パックファイルをメモリマップして開きます。
+     * マップ領域はファイルを閉じた後も有効で、参照がなくなった時点で解放されます。
+     *
+     * @param path パックファイル
+     * @return 資産パック
+     * @throws IOException 読み込みに失敗した場合
+     * @throws IllegalStateException ファイルが壊れている場合
+     */
+    public static AssetPack open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Asset pack exceeds 2GB: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new AssetPack(path, mapped.order(ByteOrder.LITTLE_ENDIAN));
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getPackVersion() {
+        return packVersion;
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    public int getFeatureCount() {
+        return layout.featureCount;
+    }
+
+    public long getSizeBytes() {
+        return layout.totalSize;
+    }
+
+    /**
+     * 指定地点から半径内の資産を距離順に検索します。
+     *
+     * @param latitude     緯度
+     * @param longitude    経度
+     * @param radiusMeters 半径（メートル）
+     * @param types        対象の資産種別（空の場合はすべて）
+     * @param limit        最大件数
+     * @return 距離順の資産
+     */
+    public List<AssetFeatureDto> findWithinRadius(double latitude, double longitude, double radiusMeters,
+                                                  Set<AssetType> types, int limit) {
+        if (layout.featureCount == 0 || limit <= 0) {
+            return List.of();
+        }
+        int typeMask = typeMask(types);
+        double latDelta = radiusMeters / METERS_PER_DEGREE;
+        double lonDelta = radiusMeters / (METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 1e-6));
+        int queryMinLat = AssetPackLayout.toFixed(latitude - latDelta);
+        int queryMinLon = AssetPackLayout.toFixed(longitude - lonDelta);
+        int queryMaxLat = AssetPackLayout.toFixed(latitude + latDelta);
+        int queryMaxLon = AssetPackLayout.toFixed(longitude + lonDelta);
+
+        List<Candidate> hits = new ArrayList<>();
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = layout.nodeCount - 1;
+        while (top > 0) {
+            int node = stack[--top];
+            int first = child(node);
+            int end = Math.min(first + nodeSize, levelEnd(first));
+            for (int pos = first; pos < end; pos++) {
+                if ((mask(pos) & typeMask) == 0) {
+                    continue;
+                }
+                int box = (int) layout.boxesOffset + pos * 16;
+                if (buffer.getInt(box + 8) < queryMinLat || buffer.getInt(box + 12) < queryMinLon
+                        || buffer.getInt(box) > queryMaxLat || buffer.getInt(box + 4) > queryMaxLon) {
+                    continue;
+                }
+                if (pos < layout.featureCount) {
+                    double distance = boxDistance(pos, latitude, longitude);
+                    if (distance <= radiusMeters) {
+                        hits.add(new Candidate(pos, distance));
+                    }
+                } else {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    stack[top++] = pos;
+                }
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(Candidate::distance));
+        List<AssetFeatureDto> results = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int i = 0; i < hits.size() && i < limit; i++) {
+            results.add(toDto(hits.get(i)));
+        }
+        return results;
+    }
+
+    /**
+     * 指定地点に近い資産を k 件検索します（最良優先探索）。
+     *
+     * @param latitude          緯度
+     * @param longitude         経度
+     * @param k                 件数
+     * @param types             対象の資産種別（空の場合はすべて）
+     * @param maxDistanceMeters 最大距離（メートル）
+     * @return 距離順の資産
+     */
+    public List<AssetFeatureDto> findNearest(double latitude, double longitude, int k,
+                                             Set<AssetType> types, double maxDistanceMeters) {
+        if (layout.featureCount == 0 || k <= 0) {
+            return List.of();
+        }
+        int typeMask = typeMask(types);
+        List<AssetFeatureDto> results = new ArrayList<>(k);
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance));
+        int node = layout.nodeCount - 1;
+
+        while (true) {
+            int first = child(node);
+            int end = Math.min(first + nodeSize, levelEnd(first));
+            for (int pos = first; pos < end; pos++) {
+                if ((mask(pos) & typeMask) == 0) {
+                    continue;
+                }
+                double distance = boxDistance(pos, latitude, longitude);
+                if (distance <= maxDistanceMeters) {
+                    queue.add(new Candidate(pos, distance));
+                }
+            }
+
+            // 先頭が葉であれば、残りのどのノードよりも近いことが確定している
+            while (!queue.isEmpty() && queue.peek().node() < layout.featureCount) {
+                results.add(toDto(queue.poll()));
+                if (results.size() == k) {
+                    return results;
+                }
+            }
+            Candidate next = queue.poll();
+            if (next == null) {
+                return results;
+            }
+            node = next.node();
+        }
+    }
+
+    private int child(int node) {
+        return buffer.getInt((int) layout.childOffset + node * 4);
+    }
+
+    private int mask(int node) {
+        return buffer.get((int) layout.typeMaskOffset + node);
+    }
+
+    /**
+     * ノード番号が属する階層の終端を返します。
+     */
+    private int levelEnd(int node) {
+        for (int bound : levelBounds) {
+            if (node < bound) {
+                return bound;
+            }
+        }
+        return layout.nodeCount;
+    }
+
+    /**
+     * 地点から外接矩形までの距離（メートル、正距円筒近似）を返します。
+     */
+    private double boxDistance(int node, double latitude, double longitude) {
+        int box = (int) layout.boxesOffset + node * 16;
+        double lat = clamp(latitude, buffer.getInt(box), buffer.getInt(box + 8));
+        double lon = clamp(longitude, buffer.getInt(box + 4), buffer.getInt(box + 12));
+        double dy = (lat - latitude) * METERS_PER_DEGREE;
+        double dx = (lon - longitude) * METERS_PER_DEGREE * Math.cos(Math.toRadians(latitude));
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private static double clamp(double value, int minFixed, int maxFixed) {
+        return Math.max(AssetPackLayout.toDegrees(minFixed), Math.min(value, AssetPackLayout.toDegrees(maxFixed)));
+    }
+
+    private static int typeMask(Set<AssetType> types) {
+        if (types == null || types.isEmpty()) {
+            return 0xFF;
+        }
+        int mask = 0;
+        for (AssetType type : types) {
+            mask |= 1 << type.ordinal();
+        }
+        return mask;
+    }
+
+    private AssetFeatureDto toDto(Candidate candidate) {
+        int row = candidate.node();
+        int box = (int) layout.boxesOffset + row * 16;
+        int nameStart = buffer.getInt((int) layout.nameOffsetsOffset + row * 4);
+        int nameEnd = buffer.getInt((int) layout.nameOffsetsOffset + (row + 1) * 4);
+        byte[] name = new byte[nameEnd - nameStart];
+        buffer.get((int) layout.namesOffset + nameStart, name);
+
+        return AssetFeatureDto.builder()
+                .id(buffer.getLong((int) layout.idsOffset + row * 8))
+                .type(AssetType.values()[Integer.numberOfTrailingZeros(mask(row))])
+                .name(new String(name, StandardCharsets.UTF_8))
+                .magnitude(buffer.getInt((int) layout.magnitudeOffset + row * 4))
+                .minLatitude(AssetPackLayout.toDegrees(buffer.getInt(box)))
+                .minLongitude(AssetPackLayout.toDegrees(buffer.getInt(box + 4)))
+                .maxLatitude(AssetPackLayout.toDegrees(buffer.getInt(box + 8)))
+                .maxLongitude(AssetPackLayout.toDegrees(buffer.getInt(box + 12)))
+                .distanceMeters(candidate.distance())
+                .build();
+    }
+
+    private record Candidate(int node, double distance) {
+    }
+}
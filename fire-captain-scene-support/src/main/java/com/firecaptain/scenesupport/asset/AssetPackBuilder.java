@@ -0,0 +1,306 @@
+package com.firecaptain.scenesupport.asset;
+
+import com.firecaptain.scenesupport.dto.AssetFeatureDto.AssetType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * ジオ資産パック生成処理
+ *
+ * 消火栓・建物・危険物施設の一覧から、パック済みヒルベルトR木と列指向の属性ストアを
+ * 1ファイルにまとめたバイナリパックを生成します（オフライン処理）。
+ * 出力は一時ファイルに書き込んでからアトミックに置き換えるため、
+ * 稼働中のサービスが書き込み途中のファイルを読み込むことはありません。
+ *
+ * コマンドライン: {@code AssetPackBuilder <入力CSV> <出力ファイル> <パックバージョン>}
+ * CSV形式: {@code type,id,minLat,minLon,maxLat,maxLon,magnitude,name}
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+public class AssetPackBuilder {
+
+    /** R木のノードサイズ */
+    public static final int DEFAULT_NODE_SIZE = 16;
+
+    private static final int HILBERT_MAX = (1 << 16) - 1;
+
+    private final long packVersion;
+    private final int nodeSize;
+    private final List<Feature> features = new ArrayList<>();
+
+    /**
+     * 生成対象の資産
+     *
+     * @param type      資産種別
+     * @param id        資産ID
+     * @param minLat    外接矩形の最小緯度
+     * @param minLon    外接矩形の最小経度
+     * @param maxLat    外接矩形の最大緯度
+     * @param maxLon    外接矩形の最大経度
+     * @param magnitude 種別ごとの規模
+     * @param name      名称
+     */
+    public record Feature(AssetType type, long id, double minLat, double minLon, double maxLat, double maxLon,
+                          int magnitude, String name) {
+
+        /**
+         * 点資産（消火栓など）を生成します。
+         */
+        public static Feature point(AssetType type, long id, double lat, double lon, int magnitude, String name) {
+            return new Feature(type, id, lat, lon, lat, lon, magnitude, name);
+        }
+    }
+
+    public AssetPackBuilder(long packVersion) {
+        this(packVersion, DEFAULT_NODE_SIZE);
+    }
+
+    public AssetPackBuilder(long packVersion, int nodeSize) {
+        if (nodeSize < 2 || nodeSize > 256) {
+            throw new IllegalArgumentException("Node size must be between 2 and 256: " + nodeSize);
+        }
+        this.packVersion = packVersion;
+        this.nodeSize = nodeSize;
+    }
+
+    /**
+     * 資産を追加します。
+     *
+     * @param feature 資産
+     * @return このビルダー
+     */
+    public AssetPackBuilder add(Feature feature) {
+        if (feature.minLat() > feature.maxLat() || feature.minLon() > feature.maxLon()) {
+            throw new IllegalArgumentException("Invalid bounding box for asset " + feature.id());
+        }
+        features.add(feature);
+        return this;
+    }
+
+    /**
+     * パックを生成し、指定パスへアトミックに配置します。
+     *
+     * @param target 出力先
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void write(Path target) throws IOException {
+        int n = features.size();
+        List<Feature> sorted = sortByHilbert();
+
+        // 各階層の終端ノード番号（葉の階層から根まで）
+        List<Integer> levelBounds = new ArrayList<>();
+        int count = n;
+        int nodeCount = n;
+        levelBounds.add(nodeCount);
+        if (n > 0) {
+            do {
+                count = (count + nodeSize - 1) / nodeSize;
+                nodeCount += count;
+                levelBounds.add(nodeCount);
+            } while (count != 1);
+        }
+
+        byte[][] names = new byte[n][];
+        int nameBytes = 0;
+        for (int i = 0; i < n; i++) {
+            String name = sorted.get(i).name();
+            names[i] = name != null ? name.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            nameBytes += names[i].length;
+        }
+
+        AssetPackLayout layout = new AssetPackLayout(n, nodeCount, levelBounds.size(), nameBytes);
+        if (layout.totalSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Asset pack exceeds 2GB: " + layout.totalSize);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) layout.totalSize).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (int level = 0; level < levelBounds.size(); level++) {
+            buffer.putInt((int) layout.levelBoundsOffset + level * 4, levelBounds.get(level));
+        }
+
+        // 葉ノード＋属性列
+        for (int i = 0; i < n; i++) {
+            Feature feature = sorted.get(i);
+            putBox(buffer, layout, i,
+                    AssetPackLayout.toFixed(feature.minLat()), AssetPackLayout.toFixed(feature.minLon()),
+                    AssetPackLayout.toFixed(feature.maxLat()), AssetPackLayout.toFixed(feature.maxLon()));
+            buffer.put((int) layout.typeMaskOffset + i, (byte) (1 << feature.type().ordinal()));
+            buffer.putLong((int) layout.idsOffset + i * 8, feature.id());
+            buffer.putInt((int) layout.magnitudeOffset + i * 4, feature.magnitude());
+        }
+        int nameOffset = 0;
+        for (int i = 0; i < n; i++) {
+            buffer.putInt((int) layout.nameOffsetsOffset + i * 4, nameOffset);
+            buffer.put((int) layout.namesOffset + nameOffset, names[i]);
+            nameOffset += names[i].length;
+        }
+        buffer.putInt((int) layout.nameOffsetsOffset + n * 4, nameOffset);
+
+        // 内部ノード: 下位階層を nodeSize 件ずつまとめる
+        int parent = n;
+        int levelStart = 0;
+        for (int level = 0; level < levelBounds.size() - 1; level++) {
+            int levelEnd = levelBounds.get(level);
+            for (int child = levelStart; child < levelEnd; child += nodeSize) {
+                int last = Math.min(child + nodeSize, levelEnd);
+                int minLat = Integer.MAX_VALUE;
+                int minLon = Integer.MAX_VALUE;
+                int maxLat = Integer.MIN_VALUE;
+                int maxLon = Integer.MIN_VALUE;
+                int typeMask = 0;
+                for (int i = child; i < last; i++) {
+                    int box = (int) layout.boxesOffset + i * 16;
+                    minLat = Math.min(minLat, buffer.getInt(box));
+                    minLon = Math.min(minLon, buffer.getInt(box + 4));
+                    maxLat = Math.max(maxLat, buffer.getInt(box + 8));
+                    maxLon = Math.max(maxLon, buffer.getInt(box + 12));
+                    typeMask |= buffer.get((int) layout.typeMaskOffset + i);
+                }
+                putBox(buffer, layout, parent, minLat, minLon, maxLat, maxLon);
+                buffer.putInt((int) layout.childOffset + parent * 4, child);
+                buffer.put((int) layout.typeMaskOffset + parent, (byte) typeMask);
+                parent++;
+            }
+            levelStart = levelEnd;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), AssetPackLayout.HEADER_SIZE, buffer.capacity() - AssetPackLayout.HEADER_SIZE);
+
+        buffer.putInt(AssetPackLayout.OFFSET_MAGIC, AssetPackLayout.MAGIC);
+        buffer.putInt(AssetPackLayout.OFFSET_FORMAT_VERSION, AssetPackLayout.FORMAT_VERSION);
+        buffer.putLong(AssetPackLayout.OFFSET_PACK_VERSION, packVersion);
+        buffer.putLong(AssetPackLayout.OFFSET_BUILT_AT, System.currentTimeMillis());
+        buffer.putInt(AssetPackLayout.OFFSET_FEATURE_COUNT, n);
+        buffer.putInt(AssetPackLayout.OFFSET_NODE_SIZE, nodeSize);
+        buffer.putInt(AssetPackLayout.OFFSET_NODE_COUNT, nodeCount);
+        buffer.putInt(AssetPackLayout.OFFSET_LEVEL_COUNT, levelBounds.size());
+        buffer.putInt(AssetPackLayout.OFFSET_CRC, (int) crc.getValue());
+        buffer.putInt(AssetPackLayout.OFFSET_NAME_BYTES, nameBytes);
+
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            buffer.rewind();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private List<Feature> sortByHilbert() {
+        double minLat = Double.MAX_VALUE;
+        double minLon = Double.MAX_VALUE;
+        double maxLat = -Double.MAX_VALUE;
+        double maxLon = -Double.MAX_VALUE;
+        for (Feature feature : features) {
+            minLat = Math.min(minLat, feature.minLat());
+            minLon = Math.min(minLon, feature.minLon());
+            maxLat = Math.max(maxLat, feature.maxLat());
+            maxLon = Math.max(maxLon, feature.maxLon());
+        }
+        double latSpan = Math.max(maxLat - minLat, 1e-9);
+        double lonSpan = Math.max(maxLon - minLon, 1e-9);
+
+        long[] keys = new long[features.size()];
+        Integer[] order = new Integer[features.size()];
+        for (int i = 0; i < features.size(); i++) {
+            Feature feature = features.get(i);
+            double centerLat = (feature.minLat() + feature.maxLat()) / 2;
+            double centerLon = (feature.minLon() + feature.maxLon()) / 2;
+            int x = (int) Math.floor(HILBERT_MAX * (centerLon - minLon) / lonSpan);
+            int y = (int) Math.floor(HILBERT_MAX * (centerLat - minLat) / latSpan);
+            keys[i] = hilbert(x, y);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> keys[i]));
+
+        List<Feature> sorted = new ArrayList<>(features.size());
+        for (Integer index : order) {
+            sorted.add(features.get(index));
+        }
+        return sorted;
+    }
+
+    /**
+     * 2次元座標（0〜65535）をヒルベルト曲線上の位置に変換します。
+     */
+    static long hilbert(int x, int y) {
+        long d = 0;
+        for (int s = 1 << 15; s > 0; s >>= 1) {
+            int rx = (x & s) > 0 ? 1 : 0;
+            int ry = (y & s) > 0 ? 1 : 0;
+            d += (long) s * s * ((3 * rx) ^ ry);
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = HILBERT_MAX - x;
+                    y = HILBERT_MAX - y;
+                }
+                int t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return d;
+    }
+
+    private static void putBox(ByteBuffer buffer, AssetPackLayout layout, int node,
+                               int minLat, int minLon, int maxLat, int maxLon) {
+        int box = (int) layout.boxesOffset + node * 16;
+        buffer.putInt(box, minLat);
+        buffer.putInt(box + 4, minLon);
+        buffer.putInt(box + 8, maxLat);
+        buffer.putInt(box + 12, maxLon);
+    }
+
+    /**
+     * CSVからパックを生成します。
+     *
+     * @param args 入力CSV、出力ファイル、パックバージョン
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: AssetPackBuilder <input.csv> <output.fcap> <pack-version>");
+            System.exit(2);
+        }
+        AssetPackBuilder builder = new AssetPackBuilder(Long.parseLong(args[2]));
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#") || line.startsWith("type,")) {
+                    continue;
+                }
+                String[] columns = line.split(",", 8);
+                builder.add(new Feature(
+                        AssetType.valueOf(columns[0].trim()),
+                        Long.parseLong(columns[1].trim()),
+                        Double.parseDouble(columns[2].trim()),
+                        Double.parseDouble(columns[3].trim()),
+                        Double.parseDouble(columns[4].trim()),
+                        Double.parseDouble(columns[5].trim()),
+                        Integer.parseInt(columns[6].trim()),
+                        columns.length > 7 ? columns[7].trim() : ""));
+            }
+        }
+        builder.write(Path.of(args[1]));
+        System.out.printf("Wrote %d assets to %s (version %s)%n", builder.features.size(), args[1], args[2]);
+    }
+}
@@ -0,0 +1,128 @@
+package com.firecaptain.scenesupport.asset;
+
+import com.firecaptain.common.exception.ResourceNotFoundException;
+import com.firecaptain.scenesupport.dto.AssetPackInfoDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ジオ資産パック保持クラス
+ *
+ * 現在のパックを保持し、パックファイルの更新を検知して新しいパックにアトミックに切り替えます。
+ * 切り替え前に取得した旧パックはマップ領域が有効なまま残るため、
+ * 実行中の検索は旧パックでそのまま完了します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class AssetPackHolder {
+
+    private final Path packPath;
+    private final AtomicReference<LoadedPack> current = new AtomicReference<>();
+    private volatile FileTime lastSeenModified;
+
+    public AssetPackHolder(@Value("${fire-captain.scene-support.asset-pack.path}") String packPath,
+                           MeterRegistry meterRegistry) {
+        this.packPath = Path.of(packPath);
+        Gauge.builder("fire_captain_asset_pack_version", current,
+                        ref -> ref.get() != null ? ref.get().pack().getPackVersion() : -1)
+                .description("Version of the memory-mapped geospatial asset pack in use")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        if (!refresh()) {
+            log.warn("Asset pack not available at startup, asset queries are disabled until it appears: path={}",
+                    packPath);
+        }
+    }
+
+    /**
+     * パックファイルの更新を確認し、新しいバージョンであれば切り替えます。
+     *
+     * @return 有効なパックを保持している場合 true
+     */
+    @Scheduled(fixedDelayString = "${fire-captain.scene-support.asset-pack.check-interval-ms:30000}")
+    public synchronized boolean refresh() {
+        FileTime modified;
+        try {
+            modified = Files.getLastModifiedTime(packPath);
+        } catch (IOException e) {
+            return current.get() != null;
+        }
+        if (modified.equals(lastSeenModified)) {
+            return current.get() != null;
+        }
+
+        try {
+            AssetPack pack = AssetPack.open(packPath);
+            lastSeenModified = modified;
+            LoadedPack previous = current.get();
+            if (previous != null && previous.pack().getPackVersion() == pack.getPackVersion()) {
+                return true;
+            }
+            current.set(new LoadedPack(pack, LocalDateTime.now()));
+            log.info("Asset pack loaded: version={}, features={}, bytes={}, previousVersion={}",
+                    pack.getPackVersion(), pack.getFeatureCount(), pack.getSizeBytes(),
+                    previous != null ? previous.pack().getPackVersion() : null);
+        } catch (IOException | RuntimeException e) {
+            // 壊れたパックは読み込まず、現在のパックで提供を続ける
+            lastSeenModified = modified;
+            log.error("Failed to load asset pack, keeping current pack: path={}", packPath, e);
+        }
+        return current.get() != null;
+    }
+
+    /**
+     * 現在のパックを取得します。
+     * 1回の検索の間は、戻り値のパックを使い続けてください。
+     *
+     * @return 資産パック
+     * @throws ResourceNotFoundException パックが読み込まれていない場合
+     */
+    public AssetPack get() {
+        LoadedPack loaded = current.get();
+        if (loaded == null) {
+            throw new ResourceNotFoundException("Asset pack is not loaded");
+        }
+        return loaded.pack();
+    }
+
+    /**
+     * 現在のパック情報を取得します。
+     *
+     * @return パック情報
+     */
+    public AssetPackInfoDto getInfo() {
+        LoadedPack loaded = current.get();
+        if (loaded == null) {
+            throw new ResourceNotFoundException("Asset pack is not loaded");
+        }
+        AssetPack pack = loaded.pack();
+        return AssetPackInfoDto.builder()
+                .packVersion(pack.getPackVersion())
+                .builtAt(pack.getBuiltAt())
+                .loadedAt(loaded.loadedAt())
+                .featureCount(pack.getFeatureCount())
+                .sizeBytes(pack.getSizeBytes())
+                .build();
+    }
+
+    private record LoadedPack(AssetPack pack, LocalDateTime loadedAt) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.firecaptain.scenesupport.asset;
+
+/**
+ * ジオ資産パックのバイナリレイアウト
+ *
+ * リトルエンディアン。ヘッダーの後に各セクションを8バイト境界で配置します。
+ * <pre>
+ * ヘッダー（64バイト）
+ *   0  int   マジック "FCAP"
+ *   4  int   フォーマットバージョン
+ *   8  long  パックバージョン
+ *   16 long  生成時刻（エポックミリ秒）
+ *   24 int   資産件数 n
+ *   28 int   ノードサイズ（子ノード数の上限）
+ *   32 int   ノード数（葉 n 件を含む）
+ *   36 int   階層数
+ *   40 int   本体（ヘッダー以降）のCRC32
+ *   44 int   名称ブロブのバイト数
+ * 本体
+ *   int[階層数]        各階層の終端ノード番号（排他）
+ *   int[ノード数 * 4]  外接矩形（minLat, minLon, maxLat, maxLon。1e-7度単位）
+ *   int[ノード数]      先頭子ノード番号（葉は未使用）
+ *   byte[ノード数]     配下に含まれる資産種別のビットマスク
+ *   long[n]            資産ID
+ *   int[n]             規模
+ *   int[n + 1]         名称のオフセット
+ *   byte[...]          名称（UTF-8）
+ * </pre>
+ * 葉ノード i は属性列の i 行目に対応します（ヒルベルト順）。
+ */
+final class AssetPackLayout {
+
+    static final int MAGIC = 0x50414346;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 64;
+
+    static final int OFFSET_MAGIC = 0;
+    static final int OFFSET_FORMAT_VERSION = 4;
+    static final int OFFSET_PACK_VERSION = 8;
+    static final int OFFSET_BUILT_AT = 16;
+    static final int OFFSET_FEATURE_COUNT = 24;
+    static final int OFFSET_NODE_SIZE = 28;
+    static final int OFFSET_NODE_COUNT = 32;
+    static final int OFFSET_LEVEL_COUNT = 36;
+    static final int OFFSET_CRC = 40;
+    static final int OFFSET_NAME_BYTES = 44;
+
+    /** 座標の固定小数点スケール（1e-7度 ≒ 1.1cm） */
+    static final double COORDINATE_SCALE = 1e7;
+
+    final int featureCount;
+    final int nodeCount;
+    final int levelCount;
+    final int nameBytes;
+
+    final long levelBoundsOffset;
+    final long boxesOffset;
+    final long childOffset;
+    final long typeMaskOffset;
+    final long idsOffset;
+    final long magnitudeOffset;
+    final long nameOffsetsOffset;
+    final long namesOffset;
+    final long totalSize;
+
+    AssetPackLayout(int featureCount, int nodeCount, int levelCount, int nameBytes) {
+        this.featureCount = featureCount;
+        this.nodeCount = nodeCount;
+        this.levelCount = levelCount;
+        this.nameBytes = nameBytes;
+
+        long offset = HEADER_SIZE;
+        levelBoundsOffset = offset;
+        offset = align(offset + 4L * levelCount);
+        boxesOffset = offset;
+        offset = align(offset + 16L * nodeCount);
+        childOffset = offset;
+        offset = align(offset + 4L * nodeCount);
+        typeMaskOffset = offset;
+        offset = align(offset + nodeCount);
+        idsOffset = offset;
+        offset = align(offset + 8L * featureCount);
+        magnitudeOffset = offset;
+        offset = align(offset + 4L * featureCount);
+        nameOffsetsOffset = offset;
+        offset = align(offset + 4L * (featureCount + 1));
+        namesOffset = offset;
+        totalSize = align(offset + nameBytes);
+    }
+
+    static int toFixed(double degrees) {
+        return (int) Math.round(degrees * COORDINATE_SCALE);
+    }
+
+    static double toDegrees(int fixed) {
+        return fixed / COORDINATE_SCALE;
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+}
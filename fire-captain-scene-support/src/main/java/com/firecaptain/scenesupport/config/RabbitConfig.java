@@ -0,0 +1,74 @@
+package com.firecaptain.scenesupport.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RabbitMQ設定クラス
+ *
+ * 現場支援要求キューと、支援パッケージ更新用の緊急通報イベントキューを定義します。
+ * 支援パッケージはインスタンスごとにメモリで保持するため、緊急通報イベントはインスタンスごとの
+ * 一時キューで全インスタンスに配信します（共有キューでは1つのインスタンスにしか届かない）。
+ */
+@Configuration
+public class RabbitConfig {
+
+    @Value("${fire-captain.scene-support.queue.name}")
+    private String supportRequestQueue;
+
+    @Value("${fire-captain.scene-support.queue.exchange}")
+    private String sceneExchange;
+
+    @Value("${fire-captain.scene-support.queue.routing-key}")
+    private String supportRequestRoutingKey;
+
+    @Value("${fire-captain.scene-support.emergency-events.exchange}")
+    private String emergencyEventsExchange;
+
+    @Value("${fire-captain.scene-support.emergency-events.routing-key}")
+    private String emergencyEventsRoutingKey;
+
+    @Bean
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public TopicExchange sceneEventsExchange() {
+        return new TopicExchange(sceneExchange, true, false);
+    }
+
+    @Bean
+    public Queue supportRequestQueue() {
+        return new Queue(supportRequestQueue, true);
+    }
+
+    @Bean
+    public Binding supportRequestBinding(Queue supportRequestQueue, TopicExchange sceneEventsExchange) {
+        return BindingBuilder.bind(supportRequestQueue).to(sceneEventsExchange).with(supportRequestRoutingKey);
+    }
+
+    @Bean
+    public TopicExchange emergencyEventsExchange() {
+        return new TopicExchange(emergencyEventsExchange, true, false);
+    }
+
+    @Bean
+    public Queue emergencyEventsQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding emergencyEventsBinding(Queue emergencyEventsQueue, TopicExchange emergencyEventsExchange) {
+        return BindingBuilder.bind(emergencyEventsQueue).to(emergencyEventsExchange).with(emergencyEventsRoutingKey);
+    }
+}
@@ -0,0 +1,88 @@
+package com.firecaptain.scenesupport.controller;
+
+import com.firecaptain.scenesupport.asset.AssetPackHolder;
+import com.firecaptain.scenesupport.dto.AssetFeatureDto;
+import com.firecaptain.scenesupport.dto.AssetFeatureDto.AssetType;
+import com.firecaptain.scenesupport.dto.AssetPackInfoDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 現場資産コントローラー
+ *
+ * メモリマップしたジオ資産パックから、現場周辺の消火栓・建物・危険物施設を検索します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/scene-supports/assets")
+@RequiredArgsConstructor
+public class SceneAssetController {
+
+    /** 1回の検索で返す最大件数 */
+    private static final int MAX_RESULTS = 1000;
+
+    /** 検索半径の上限（メートル） */
+    private static final double MAX_RADIUS_METERS = 50_000;
+
+    private final AssetPackHolder assetPackHolder;
+
+    /**
+     * 半径内の資産を距離順に取得します。
+     *
+     * @param latitude     緯度
+     * @param longitude    経度
+     * @param radiusMeters 半径（メートル）
+     * @param types        資産種別（省略時はすべて）
+     * @param limit        最大件数
+     * @return 資産一覧
+     */
+    @GetMapping("/nearby")
+    public List<AssetFeatureDto> findNearby(
+            @RequestParam("lat") double latitude,
+            @RequestParam("lon") double longitude,
+            @RequestParam(defaultValue = "200") double radiusMeters,
+            @RequestParam(required = false) Set<AssetType> types,
+            @RequestParam(defaultValue = "100") int limit) {
+        return assetPackHolder.get().findWithinRadius(latitude, longitude,
+                Math.min(radiusMeters, MAX_RADIUS_METERS), types, Math.min(limit, MAX_RESULTS));
+    }
+
+    /**
+     * 近い資産を k 件取得します。
+     *
+     * @param latitude          緯度
+     * @param longitude         経度
+     * @param k                 件数
+     * @param types             資産種別（省略時はすべて）
+     * @param maxDistanceMeters 最大距離（メートル）
+     * @return 資産一覧
+     */
+    @GetMapping("/nearest")
+    public List<AssetFeatureDto> findNearest(
+            @RequestParam("lat") double latitude,
+            @RequestParam("lon") double longitude,
+            @RequestParam(defaultValue = "5") int k,
+            @RequestParam(required = false) Set<AssetType> types,
+            @RequestParam(defaultValue = "2000") double maxDistanceMeters) {
+        return assetPackHolder.get().findNearest(latitude, longitude,
+                Math.min(k, MAX_RESULTS), types, Math.min(maxDistanceMeters, MAX_RADIUS_METERS));
+    }
+
+    /**
+     * 使用中のジオ資産パックの情報を取得します。
+     *
+     * @return パック情報
+     */
+    @GetMapping("/pack")
+    public AssetPackInfoDto getPackInfo() {
+        return assetPackHolder.getInfo();
+    }
+}
@@ -0,0 +1,70 @@
+package com.firecaptain.scenesupport.controller;
+
+import com.firecaptain.common.client.ReactiveIncidentClient;
+import com.firecaptain.common.dto.IncidentContextDto;
+import com.firecaptain.scenesupport.dto.SupportPackageDeltaDto;
+import com.firecaptain.scenesupport.dto.SupportPackageDto;
+import com.firecaptain.scenesupport.service.SupportPackageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 現場支援コントローラー
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/api/scene-supports")
+@RequiredArgsConstructor
+public class SceneSupportController {
+
+    private final ReactiveIncidentClient reactiveIncidentClient;
+    private final SupportPackageService supportPackageService;
+
+    /**
+     * 事案コンテキスト（緊急通報＋出動指令）を取得します。
+     *
+     * 下流サービスへの呼び出しはノンブロッキングで並行に実行され、
+     * 待機中にリクエストスレッドを保持しません。
+     *
+     * @param emergencyReportId 通報ID
+     * @return 事案コンテキスト
+     */
+    @GetMapping("/incidents/{emergencyReportId}/context")
+    public Mono<IncidentContextDto> getIncidentContext(@PathVariable Long emergencyReportId) {
+        return reactiveIncidentClient.getIncidentContext(emergencyReportId);
+    }
+
+    /**
+     * 事案の支援パッケージを取得します。
+     * 同じ事案への同時要求は、1回の組み立て結果を共有します。
+     *
+     * @param emergencyReportId 通報ID
+     * @return 支援パッケージ
+     */
+    @GetMapping("/incidents/{emergencyReportId}/support-package")
+    public CompletableFuture<SupportPackageDto> getSupportPackage(@PathVariable Long emergencyReportId) {
+        return supportPackageService.getSupportPackage(emergencyReportId);
+    }
+
+    /**
+     * 保持しているバージョン以降の支援パッケージの差分を取得します。
+     *
+     * @param emergencyReportId 通報ID
+     * @param sinceVersion      保持しているバージョン
+     * @return 差分（古すぎるバージョンの場合はパッケージ全体）
+     */
+    @GetMapping("/incidents/{emergencyReportId}/support-package/changes")
+    public CompletableFuture<SupportPackageDeltaDto> getSupportPackageChanges(@PathVariable Long emergencyReportId,
+                                                                             @RequestParam long sinceVersion) {
+        return supportPackageService.getChanges(emergencyReportId, sinceVersion);
+    }
+}
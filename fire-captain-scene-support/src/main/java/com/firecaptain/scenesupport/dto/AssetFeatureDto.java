@@ -0,0 +1,64 @@
+package com.firecaptain.scenesupport.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 現場資産DTOクラス
+ *
+ * 消火栓・建物・危険物施設など、現場周辺の資産（ジオ資産パックの1要素）を表します。
+ * 点資産（消火栓など）は最小・最大座標が同一になります。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssetFeatureDto {
+
+    /** 資産ID（元データのID） */
+    private Long id;
+
+    /** 資産種別 */
+    private AssetType type;
+
+    /** 名称（消火栓番号・建物名・危険物品名など） */
+    private String name;
+
+    /**
+     * 種別ごとの規模
+     * 消火栓: 吐出量（L/min）、建物: 階数、危険物施設: 貯蔵量（kg）
+     */
+    private Integer magnitude;
+
+    /** 外接矩形の最小緯度 */
+    private Double minLatitude;
+
+    /** 外接矩形の最小経度 */
+    private Double minLongitude;
+
+    /** 外接矩形の最大緯度 */
+    private Double maxLatitude;
+
+    /** 外接矩形の最大経度 */
+    private Double maxLongitude;
+
+    /** 検索地点からの距離（メートル、外接矩形の内側は0） */
+    private Double distanceMeters;
+
+    /**
+     * 資産種別
+     */
+    public enum AssetType {
+        /** 消火栓 */
+        HYDRANT,
+        /** 建物 */
+        BUILDING,
+        /** 危険物施設 */
+        HAZMAT_STORAGE
+    }
+}
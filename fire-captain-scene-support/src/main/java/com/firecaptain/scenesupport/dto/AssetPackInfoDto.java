@@ -0,0 +1,39 @@
+package com.firecaptain.scenesupport.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * ジオ資産パック情報DTOクラス
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssetPackInfoDto {
+
+    /** パックバージョン */
+    private Long packVersion;
+
+    /** パック生成時刻 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime builtAt;
+
+    /** 読み込み時刻 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime loadedAt;
+
+    /** 資産件数 */
+    private Integer featureCount;
+
+    /** ファイルサイズ（バイト） */
+    private Long sizeBytes;
+}
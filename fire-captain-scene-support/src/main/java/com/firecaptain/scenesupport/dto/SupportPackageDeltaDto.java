@@ -0,0 +1,53 @@
+package com.firecaptain.scenesupport.dto;
+
+import com.firecaptain.common.dto.DispatchDto;
+import com.firecaptain.common.dto.EmergencyReportDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 現場支援パッケージ差分DTOクラス
+ *
+ * 要求元が保持しているバージョン（fromVersion）から最新バージョン（toVersion）までの差分です。
+ * 差分を構成できない古いバージョンが指定された場合は、snapshot に最新のパッケージ全体を格納します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupportPackageDeltaDto {
+
+    /** 対象の通報ID */
+    private Long emergencyReportId;
+
+    /** 差分の起点バージョン */
+    private Long fromVersion;
+
+    /** 差分適用後のバージョン */
+    private Long toVersion;
+
+    /** パッケージ全体（差分を構成できない場合のみ） */
+    private SupportPackageDto snapshot;
+
+    /** 変更後の緊急通報（変更がない場合は null） */
+    private EmergencyReportDto emergencyReport;
+
+    /** 追加・変更された出動指令 */
+    private List<DispatchDto> dispatches;
+
+    /** 削除された出動指令のID */
+    private List<Long> removedDispatchIds;
+
+    /** 追加・変更された資産 */
+    private List<AssetFeatureDto> assets;
+
+    /** 削除された資産のID */
+    private List<Long> removedAssetIds;
+}
@@ -0,0 +1,47 @@
+package com.firecaptain.scenesupport.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.firecaptain.common.dto.DispatchDto;
+import com.firecaptain.common.dto.EmergencyReportDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 現場支援パッケージDTOクラス
+ *
+ * 事案ごとに出動部隊へ提供する支援情報（通報・出動指令・周辺資産）のスナップショットです。
+ * 内容が変わるたびにバージョンが1ずつ増えます。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupportPackageDto {
+
+    /** 対象の通報ID */
+    private Long emergencyReportId;
+
+    /** パッケージのバージョン */
+    private Long version;
+
+    /** スナップショット生成時刻 */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime generatedAt;
+
+    /** 緊急通報 */
+    private EmergencyReportDto emergencyReport;
+
+    /** 出動指令 */
+    private List<DispatchDto> dispatches;
+
+    /** 現場周辺の資産（消火栓・建物・危険物施設） */
+    private List<AssetFeatureDto> assets;
+}
@@ -0,0 +1,53 @@
+package com.firecaptain.scenesupport.messaging;
+
+import com.firecaptain.common.dto.EmergencyReportEvent;
+import com.firecaptain.common.dto.SceneSupportRequestEvent;
+import com.firecaptain.scenesupport.service.SupportPackageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 支援パッケージ イベントリスナー
+ *
+ * 現場支援要求を受けてパッケージを準備し、通報の変更を保持中のパッケージへ反映します。
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SupportPackageEventListener {
+
+    private final SupportPackageService supportPackageService;
+
+    /**
+     * 現場支援要求を受信し、支援パッケージを準備します。
+     * 同じ事案への要求が集中しても、組み立ては1回にまとめられます。
+     *
+     * @param event 現場支援要求イベント
+     */
+    @RabbitListener(queues = "${fire-captain.scene-support.queue.name}")
+    public void onSupportRequested(SceneSupportRequestEvent event) {
+        supportPackageService.getSupportPackage(event.getEmergencyReportId())
+                .whenComplete((supportPackage, error) -> {
+                    if (error != null) {
+                        log.warn("Failed to prepare support package: emergencyReportId={}, unitCode={}",
+                                event.getEmergencyReportId(), event.getUnitCode(), error);
+                    }
+                });
+    }
+
+    /**
+     * 通報の変更を、保持中の支援パッケージへ反映します。
+     * インスタンスごとの一時キューから受信するため、全インスタンスが同じイベントを受け取ります。
+     *
+     * @param event 緊急通報イベント
+     */
+    @RabbitListener(queues = "#{emergencyEventsQueue.name}")
+    public void onEmergencyReportEvent(EmergencyReportEvent event) {
+        supportPackageService.applyEmergencyReport(event.getReport());
+    }
+}
@@ -0,0 +1,379 @@
+package com.firecaptain.scenesupport.service;
+
+import com.firecaptain.common.client.ReactiveIncidentClient;
+import com.firecaptain.common.dto.DispatchDto;
+import com.firecaptain.common.dto.EmergencyReportDto;
+import com.firecaptain.common.exception.ResourceNotFoundException;
+import com.firecaptain.common.util.SingleFlight;
+import com.firecaptain.scenesupport.asset.AssetPackHolder;
+import com.firecaptain.scenesupport.dto.AssetFeatureDto;
+import com.firecaptain.scenesupport.dto.SupportPackageDeltaDto;
+import com.firecaptain.scenesupport.dto.SupportPackageDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * 現場支援パッケージサービス
+ *
+ * 事案ごとの支援パッケージ（通報・出動指令・周辺資産）を組み立て、バージョン付きの
+ * スナップショットとして保持します。
+ * - 同じ事案への同時要求は、シングルフライトで1回の組み立て結果を共有
+ * - 組み立て後は差分がある場合のみバージョンを上げ、直近の差分を保持
+ * - 要求元は保持しているバージョンを指定して、差分だけを取得できる
+ * - 有効期限を過ぎたパッケージは現在のスナップショットを返しつつバックグラウンドで再構築
+ * - 差分として反映するのは通報の変更だけ。出動指令の変更はイベントがないため、再構築でのみ反映される
+ *
+ * @author Fire Captain System
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class SupportPackageService {
+
+    private final ReactiveIncidentClient reactiveIncidentClient;
+    private final AssetPackHolder assetPackHolder;
+    private final SingleFlight<Long, SupportPackageDto> singleFlight;
+    private final ConcurrentMap<Long, PackageState> states = new ConcurrentHashMap<>();
+
+    private final long maxAgeMillis;
+    private final int deltaLogSize;
+    private final long idleEvictionMillis;
+    private final double assetRadiusMeters;
+    private final int assetLimit;
+
+    public SupportPackageService(ReactiveIncidentClient reactiveIncidentClient,
+                                 AssetPackHolder assetPackHolder,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${fire-captain.scene-support.support-package.max-age-ms:10000}") long maxAgeMillis,
+                                 @Value("${fire-captain.scene-support.support-package.delta-log-size:32}") int deltaLogSize,
+                                 @Value("${fire-captain.scene-support.support-package.idle-eviction-ms:1800000}") long idleEvictionMillis,
+                                 @Value("${fire-captain.scene-support.support-package.asset-radius-meters:300}") double assetRadiusMeters,
+                                 @Value("${fire-captain.scene-support.support-package.asset-limit:200}") int assetLimit) {
+        this.reactiveIncidentClient = reactiveIncidentClient;
+        this.assetPackHolder = assetPackHolder;
+        this.singleFlight = new SingleFlight<>("support-package", meterRegistry);
+        this.maxAgeMillis = maxAgeMillis;
+        this.deltaLogSize = deltaLogSize;
+        this.idleEvictionMillis = idleEvictionMillis;
+        this.assetRadiusMeters = assetRadiusMeters;
+        this.assetLimit = assetLimit;
+        Gauge.builder("fire_captain_support_packages_active", states, Map::size)
+                .description("Number of incidents with a cached support package")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 支援パッケージを取得します。
+     *
+     * @param emergencyReportId 通報ID
+     * @return 最新の支援パッケージ
+     */
+    public CompletableFuture<SupportPackageDto> getSupportPackage(Long emergencyReportId) {
+        PackageState state = states.get(emergencyReportId);
+        if (state == null) {
+            return rebuild(emergencyReportId);
+        }
+        state.touch();
+        if (state.isStale(maxAgeMillis)) {
+            rebuild(emergencyReportId);
+        }
+        return CompletableFuture.completedFuture(state.snapshot());
+    }
+
+    /**
+     * 指定バージョン以降の差分を取得します。
+     *
+     * @param emergencyReportId 通報ID
+     * @param sinceVersion      要求元が保持しているバージョン
+     * @return 差分（差分を構成できない場合はパッケージ全体）
+     */
+    public CompletableFuture<SupportPackageDeltaDto> getChanges(Long emergencyReportId, long sinceVersion) {
+        return getSupportPackage(emergencyReportId).thenApply(snapshot -> {
+            PackageState state = states.get(emergencyReportId);
+            return state != null
+                    ? state.changesSince(sinceVersion)
+                    : fullSnapshot(snapshot, sinceVersion);
+        });
+    }
+
+    /**
+     * 支援パッケージを再構築します（要求・イベントによる更新のきっかけ）。
+     * 同じ事案の再構築が実行中の場合は、その結果を共有します。
+     *
+     * @param emergencyReportId 通報ID
+     * @return 再構築後の支援パッケージ
+     */
+    public CompletableFuture<SupportPackageDto> rebuild(Long emergencyReportId) {
+        return singleFlight.execute(emergencyReportId, () -> reactiveIncidentClient
+                .getIncidentContext(emergencyReportId)
+                .map(context -> install(emergencyReportId, context.getEmergencyReport(),
+                        context.getDispatches(), findAssets(context.getEmergencyReport())))
+                .toFuture());
+    }
+
+    /**
+     * 通報の変更を、保持中のパッケージへ差分として反映します。
+     * パッケージを保持していない事案は対象外です（次回の要求時に組み立てる）。
+     *
+     * @param report 変更後の通報
+     */
+    public void applyEmergencyReport(EmergencyReportDto report) {
+        PackageState state = states.get(report.getId());
+        if (state == null) {
+            return;
+        }
+        SupportPackageDto current = state.snapshot();
+        install(report.getId(), report, current.getDispatches(), current.getAssets());
+    }
+
+    /**
+     * 一定時間参照されていないパッケージを破棄します。
+     */
+    @Scheduled(fixedDelayString = "${fire-captain.scene-support.support-package.eviction-interval-ms:60000}")
+    public void evictIdlePackages() {
+        long threshold = System.currentTimeMillis() - idleEvictionMillis;
+        int before = states.size();
+        states.values().removeIf(state -> state.lastAccessedAt < threshold);
+        if (before != states.size()) {
+            log.debug("Evicted idle support packages: evicted={}, remaining={}", before - states.size(), states.size());
+        }
+    }
+
+    private List<AssetFeatureDto> findAssets(EmergencyReportDto report) {
+        if (report.getLocationLatitude() == null || report.getLocationLongitude() == null) {
+            return List.of();
+        }
+        try {
+            return assetPackHolder.get().findWithinRadius(report.getLocationLatitude(),
+                    report.getLocationLongitude(), assetRadiusMeters, Set.of(), assetLimit);
+        } catch (ResourceNotFoundException e) {
+            // 資産パック未配置でも通報・指令は提供する
+            return List.of();
+        }
+    }
+
+    private SupportPackageDto install(Long emergencyReportId, EmergencyReportDto report,
+                                      List<DispatchDto> dispatches, List<AssetFeatureDto> assets) {
+        PackageState state = states.computeIfAbsent(emergencyReportId, id -> new PackageState());
+        return state.install(SupportPackageDto.builder()
+                .emergencyReportId(emergencyReportId)
+                .generatedAt(LocalDateTime.now())
+                .emergencyReport(report)
+                .dispatches(dispatches)
+                .assets(assets)
+                .build());
+    }
+
+    /**
+     * 事案ごとのパッケージ状態（スナップショット＋直近の差分ログ）
+     */
+    private final class PackageState {
+
+        private SupportPackageDto snapshot;
+        private final Deque<SupportPackageDeltaDto> deltas = new ArrayDeque<>();
+        private volatile long refreshedAt;
+        private volatile long lastAccessedAt = System.currentTimeMillis();
+
+        synchronized SupportPackageDto snapshot() {
+            return snapshot;
+        }
+
+        void touch() {
+            lastAccessedAt = System.currentTimeMillis();
+        }
+
+        boolean isStale(long maxAge) {
+            return System.currentTimeMillis() - refreshedAt > maxAge;
+        }
+
+        /**
+         * 組み立てたパッケージを取り込み、内容が変わっていればバージョンを上げます。
+         */
+        synchronized SupportPackageDto install(SupportPackageDto assembled) {
+            refreshedAt = System.currentTimeMillis();
+            touch();
+            if (snapshot == null) {
+                snapshot = assembled.toBuilder().version(1L).build();
+                return snapshot;
+            }
+
+            // 組み立て中に届いたイベントの方が新しければ、通報はそちらを維持する
+            if (isOlder(assembled.getEmergencyReport(), snapshot.getEmergencyReport())) {
+                assembled = assembled.toBuilder().emergencyReport(snapshot.getEmergencyReport()).build();
+            }
+            SupportPackageDeltaDto delta = diff(snapshot, assembled);
+            if (delta == null) {
+                return snapshot;
+            }
+            snapshot = assembled.toBuilder().version(delta.getToVersion()).build();
+            deltas.addLast(delta);
+            while (deltas.size() > deltaLogSize) {
+                deltas.removeFirst();
+            }
+            return snapshot;
+        }
+
+        synchronized SupportPackageDeltaDto changesSince(long sinceVersion) {
+            SupportPackageDto current = snapshot;
+            long currentVersion = current.getVersion();
+            if (sinceVersion == currentVersion) {
+                return emptyDelta(current);
+            }
+            SupportPackageDeltaDto oldest = deltas.peekFirst();
+            if (sinceVersion > currentVersion || oldest == null || sinceVersion < oldest.getFromVersion()) {
+                return fullSnapshot(current, sinceVersion);
+            }
+
+            // 差分ログを順に畳み込む（後の変更が前の変更を上書き）
+            EmergencyReportDto report = null;
+            Map<Long, DispatchDto> dispatches = new LinkedHashMap<>();
+            Set<Long> removedDispatchIds = new LinkedHashSet<>();
+            Map<Long, AssetFeatureDto> assets = new LinkedHashMap<>();
+            Set<Long> removedAssetIds = new LinkedHashSet<>();
+            Iterator<SupportPackageDeltaDto> iterator = deltas.iterator();
+            while (iterator.hasNext()) {
+                SupportPackageDeltaDto delta = iterator.next();
+                if (delta.getFromVersion() < sinceVersion) {
+                    continue;
+                }
+                if (delta.getEmergencyReport() != null) {
+                    report = delta.getEmergencyReport();
+                }
+                merge(delta.getDispatches(), delta.getRemovedDispatchIds(), DispatchDto::getId,
+                        dispatches, removedDispatchIds);
+                merge(delta.getAssets(), delta.getRemovedAssetIds(), AssetFeatureDto::getId,
+                        assets, removedAssetIds);
+            }
+            return SupportPackageDeltaDto.builder()
+                    .emergencyReportId(current.getEmergencyReportId())
+                    .fromVersion(sinceVersion)
+                    .toVersion(currentVersion)
+                    .emergencyReport(report)
+                    .dispatches(new ArrayList<>(dispatches.values()))
+                    .removedDispatchIds(new ArrayList<>(removedDispatchIds))
+                    .assets(new ArrayList<>(assets.values()))
+                    .removedAssetIds(new ArrayList<>(removedAssetIds))
+                    .build();
+        }
+    }
+
+    /**
+     * 2つのパッケージの差分を求めます。
+     *
+     * @return 差分（変更がない場合は null）
+     */
+    private static SupportPackageDeltaDto diff(SupportPackageDto previous, SupportPackageDto next) {
+        EmergencyReportDto report = Objects.equals(previous.getEmergencyReport(), next.getEmergencyReport())
+                ? null : next.getEmergencyReport();
+        List<DispatchDto> dispatches = changed(previous.getDispatches(), next.getDispatches(), DispatchDto::getId);
+        List<Long> removedDispatchIds = removed(previous.getDispatches(), next.getDispatches(), DispatchDto::getId);
+        List<AssetFeatureDto> assets = changed(previous.getAssets(), next.getAssets(), AssetFeatureDto::getId);
+        List<Long> removedAssetIds = removed(previous.getAssets(), next.getAssets(), AssetFeatureDto::getId);
+
+        if (report == null && dispatches.isEmpty() && removedDispatchIds.isEmpty()
+                && assets.isEmpty() && removedAssetIds.isEmpty()) {
+            return null;
+        }
+        return SupportPackageDeltaDto.builder()
+                .emergencyReportId(next.getEmergencyReportId())
+                .fromVersion(previous.getVersion())
+                .toVersion(previous.getVersion() + 1)
+                .emergencyReport(report)
+                .dispatches(dispatches)
+                .removedDispatchIds(removedDispatchIds)
+                .assets(assets)
+                .removedAssetIds(removedAssetIds)
+                .build();
+    }
+
+    private static <T> List<T> changed(List<T> previous, List<T> next, Function<T, Long> idOf) {
+        Map<Long, T> previousById = index(previous, idOf);
+        List<T> changed = new ArrayList<>();
+        for (T item : next) {
+            if (!item.equals(previousById.get(idOf.apply(item)))) {
+                changed.add(item);
+            }
+        }
+        return changed;
+    }
+
+    private static <T> List<Long> removed(List<T> previous, List<T> next, Function<T, Long> idOf) {
+        Map<Long, T> nextById = index(next, idOf);
+        List<Long> removed = new ArrayList<>();
+        for (T item : previous) {
+            Long id = idOf.apply(item);
+            if (!nextById.containsKey(id)) {
+                removed.add(id);
+            }
+        }
+        return removed;
+    }
+
+    private static <T> Map<Long, T> index(List<T> items, Function<T, Long> idOf) {
+        Map<Long, T> byId = new LinkedHashMap<>();
+        for (T item : items) {
+            byId.put(idOf.apply(item), item);
+        }
+        return byId;
+    }
+
+    private static <T> void merge(List<T> upserted, List<Long> removedIds, Function<T, Long> idOf,
+                                  Map<Long, T> mergedUpserts, Set<Long> mergedRemovals) {
+        for (T item : upserted) {
+            Long id = idOf.apply(item);
+            mergedRemovals.remove(id);
+            mergedUpserts.put(id, item);
+        }
+        for (Long id : removedIds) {
+            mergedUpserts.remove(id);
+            mergedRemovals.add(id);
+        }
+    }
+
+    private static boolean isOlder(EmergencyReportDto candidate, EmergencyReportDto current) {
+        return candidate != null && current != null
+                && candidate.getUpdatedAt() != null && current.getUpdatedAt() != null
+                && candidate.getUpdatedAt().isBefore(current.getUpdatedAt());
+    }
+
+    private static SupportPackageDeltaDto fullSnapshot(SupportPackageDto current, long sinceVersion) {
+        return SupportPackageDeltaDto.builder()
+                .emergencyReportId(current.getEmergencyReportId())
+                .fromVersion(sinceVersion)
+                .toVersion(current.getVersion())
+                .snapshot(current)
+                .build();
+    }
+
+    private static SupportPackageDeltaDto emptyDelta(SupportPackageDto current) {
+        return SupportPackageDeltaDto.builder()
+                .emergencyReportId(current.getEmergencyReportId())
+                .fromVersion(current.getVersion())
+                .toVersion(current.getVersion())
+                .dispatches(List.of())
+                .removedDispatchIds(List.of())
+                .assets(List.of())
+                .removedAssetIds(List.of())
+                .build();
+    }
+}